@@ -1,3 +1,6 @@
+-- inventory.status is a TINYINT code since migration V6 (see table inventory_status):
+-- 0 Available, 1 Borrowed, 2 Processing, 3 Lost, 4 Damaged, 5 Discarded
+
 -- start to borrow books
 CREATE PROCEDURE sp_BorrowBook
     @UserId INT,
@@ -10,10 +13,10 @@ BEGIN
         BEGIN TRANSACTION;
         
         -- check if the book is available
-        DECLARE @Status NVARCHAR(50);
+        DECLARE @Status TINYINT;
         SELECT @Status = status FROM inventory WHERE inventory_id = @InventoryId;
         
-        IF @Status != 'Available'
+        IF @Status != 0
         BEGIN
             RAISERROR ('此書籍目前不可借閱', 16, 1);
             RETURN;
@@ -27,7 +30,7 @@ BEGIN
         END
 
         -- update inventory status
-        UPDATE inventory SET status = 'Borrowed' WHERE inventory_id = @InventoryId;
+        UPDATE inventory SET status = 1 WHERE inventory_id = @InventoryId;
         
         -- create borrowing record
         INSERT INTO borrowing_records (user_id, inventory_id, borrowing_time)
@@ -73,7 +76,7 @@ BEGIN
         WHERE record_id = @RecordId;
 
         -- update inventory status
-        UPDATE inventory SET status = 'Available' WHERE inventory_id = @InventoryId;
+        UPDATE inventory SET status = 0 WHERE inventory_id = @InventoryId;
         
         COMMIT TRANSACTION;
     END TRY
@@ -0,0 +1,59 @@
+package Library.System.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * JwtUtil 基準測試 - 量測 Token 生成與驗證的吞吐量及每次操作的記憶體配置
+ * 
+ * 每個借閱相關 API 都會驗證並解析 Token，登入則會生成 Token
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+    
+    private JwtUtil jwtUtil;
+    
+    private String token;
+    
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey",
+                "your-super-secret-jwt-key-must-be-at-least-256-bits-long-for-security");
+        ReflectionTestUtils.setField(jwtUtil, "expirationTime", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "expiringSoonThreshold", 3600000L);
+        ReflectionTestUtils.setField(jwtUtil, "maxSessionAge", 604800000L);
+        token = jwtUtil.generateToken(42, "0912345678");
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42, "0912345678");
+    }
+    
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+    
+    @Benchmark
+    public Integer getUserIdFromToken() {
+        return jwtUtil.getUserIdFromToken(token);
+    }
+}
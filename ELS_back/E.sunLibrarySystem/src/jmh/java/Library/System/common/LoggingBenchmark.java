@@ -0,0 +1,115 @@
+package Library.System.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * 日誌管線基準測試 - 比較同步寫檔、非同步佇列與取樣後的借書成功事件吞吐量
+ *
+ * 使用獨立的 LoggerContext 寫入暫存檔，不受 logback-test.xml 的 WARN 等級影響；
+ * 非同步模式的設定與 logback-spring.xml 相同（佇列 8192、neverBlock）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"sync", "async", "asyncSampled"})
+    private String mode;
+
+    private LoggerContext context;
+
+    private Logger logger;
+
+    private LogSampler logSampler;
+
+    private File logFile;
+
+    @Setup
+    public void setup() throws IOException {
+        logFile = File.createTempFile("logging-benchmark", ".log");
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg %kvp%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(logFile.getAbsolutePath());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (!"sync".equals(mode)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        logger = context.getLogger("Library.System.service.BorrowingService");
+
+        logSampler = new LogSampler();
+        ReflectionTestUtils.setField(logSampler, "permitsPerSecond", "asyncSampled".equals(mode) ? 20 : -1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void borrowSuccess() {
+        long suppressed = logSampler.tryAcquire("borrow.success");
+        if (suppressed >= 0) {
+            logger.atInfo().setMessage("借書成功")
+                    .addKeyValue("event", "borrow.success")
+                    .addKeyValue("userId", 42)
+                    .addKeyValue("inventoryId", 1001)
+                    .addKeyValue("recordId", 73)
+                    .addKeyValue("sampled.suppressed", suppressed)
+                    .log();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package Library.System.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PasswordUtil 基準測試 - 量測註冊與登入時的密碼雜湊成本
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordUtilBenchmark {
+    
+    private String salt;
+    
+    private String hash;
+    
+    @Setup
+    public void setup() {
+        salt = PasswordUtil.generateSalt();
+        hash = PasswordUtil.hashPassword("password123", salt);
+    }
+    
+    @Benchmark
+    public String hashPassword() {
+        return PasswordUtil.hashPassword("password123", salt);
+    }
+    
+    @Benchmark
+    public boolean verifyPassword() {
+        return PasswordUtil.verifyPassword("password123", salt, hash);
+    }
+    
+    @Benchmark
+    public String generateSalt() {
+        return PasswordUtil.generateSalt();
+    }
+}
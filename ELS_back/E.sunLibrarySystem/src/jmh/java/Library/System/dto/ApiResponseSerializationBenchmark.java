@@ -0,0 +1,65 @@
+package Library.System.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ApiResponse 序列化基準測試 - 量測 /api/books/available 回應的 Jackson 序列化成本
+ * 
+ * ObjectMapper 以 Spring Boot 相同的 Jackson2ObjectMapperBuilder 建立（含 JavaTimeModule）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+    
+    /** 回應中的庫存項目數量 */
+    @Param({"10", "1000"})
+    private int size;
+    
+    private ObjectMapper objectMapper;
+    
+    private ApiResponse<List<InventoryResponse>> response;
+    
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        
+        List<InventoryResponse> items = new ArrayList<>(size);
+        LocalDateTime storeTime = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            String isbn = String.valueOf(9789865020000L + i);
+            BookResponse book = new BookResponse(isbn, "原子習慣 " + i, "詹姆斯‧克利爾",
+                    "本書作者詹姆斯‧克利爾是習慣養成領域的專家，他將複雜的行為科學簡化為實用的策略。",
+                    "https://example.com/atomic-habits.jpg");
+            items.add(new InventoryResponse(i, isbn, storeTime, "Available", book));
+        }
+        response = ApiResponse.success("查詢成功", items);
+    }
+    
+    @Benchmark
+    public byte[] serializeInventoryList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
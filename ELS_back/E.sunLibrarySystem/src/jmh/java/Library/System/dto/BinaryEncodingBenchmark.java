@@ -0,0 +1,106 @@
+package Library.System.dto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * 回應編碼基準測試 - 比較 JSON、CBOR、Smile 對 /api/books/all 與 /api/borrowing/history 大型回應的序列化與解析成本
+ *
+ * ObjectMapper 與 WebMvcConfig 相同，由 Jackson2ObjectMapperBuilder 換上對應的 JsonFactory 建立；
+ * 解析以 readTree 模擬用戶端不綁定型別的解碼。各格式的回應大小在 setup 時輸出。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryEncodingBenchmark {
+
+    /** 回應編碼 */
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    /** 回應中的項目數量 */
+    @Param({"10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private ApiResponse<List<InventoryResponse>> catalog;
+
+    private ApiResponse<List<BorrowingResponse>> history;
+
+    private byte[] catalogBytes;
+
+    private byte[] historyBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+
+        List<InventoryResponse> items = new ArrayList<>(size);
+        List<BorrowingResponse> records = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            String isbn = String.valueOf(9789865020000L + i);
+            BookResponse book = new BookResponse(isbn, "原子習慣 " + i, "詹姆斯‧克利爾",
+                    "本書作者詹姆斯‧克利爾是習慣養成領域的專家，他將複雜的行為科學簡化為實用的策略。",
+                    "https://example.com/atomic-habits.jpg");
+            items.add(new InventoryResponse(i, isbn, now.minusDays(i % 365), "Available", book));
+            records.add(new BorrowingResponse(i, 1, i, now.minusDays(i % 365 + 14), i % 10 == 0 ? null : now.minusDays(i % 365),
+                    "測試使用者", "原子習慣 " + i, "詹姆斯‧克利爾", isbn, i % 10 == 0 ? "借閱中" : "已歸還"));
+        }
+        catalog = ApiResponse.success("查詢成功", items);
+        history = ApiResponse.success("查詢成功", records);
+        catalogBytes = objectMapper.writeValueAsBytes(catalog);
+        historyBytes = objectMapper.writeValueAsBytes(history);
+        System.out.printf("%n[%s] catalog %,d bytes, history %,d bytes%n", format, catalogBytes.length, historyBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeCatalog() throws IOException {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+
+    @Benchmark
+    public byte[] serializeHistory() throws IOException {
+        return objectMapper.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public JsonNode parseCatalog() throws IOException {
+        return objectMapper.readTree(catalogBytes);
+    }
+
+    @Benchmark
+    public JsonNode parseHistory() throws IOException {
+        return objectMapper.readTree(historyBytes);
+    }
+}
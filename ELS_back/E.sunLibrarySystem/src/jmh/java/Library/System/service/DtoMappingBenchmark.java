@@ -0,0 +1,88 @@
+package Library.System.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import Library.System.dto.BorrowingResponse;
+import Library.System.dto.InventoryResponse;
+import Library.System.entity.Book;
+import Library.System.entity.Inventory;
+import Library.System.entity.InventoryStatus;
+
+/**
+ * DTO 轉換基準測試 - 量測實體轉換為回應物件的成本
+ * 
+ * 每次操作轉換一本庫存項目或建立一筆借閱回應
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+    
+    private BookService bookService;
+    
+    private Inventory inventory;
+    
+    private List<Inventory> inventories;
+    
+    private LocalDateTime borrowingTime;
+    
+    @Setup
+    public void setup() {
+        bookService = new BookService();
+        inventory = createInventory(1);
+        inventories = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            inventories.add(createInventory(i));
+        }
+        borrowingTime = LocalDateTime.now();
+    }
+    
+    @Benchmark
+    public InventoryResponse convertToInventoryResponse() {
+        return bookService.convertToInventoryResponse(inventory);
+    }
+    
+    @Benchmark
+    public void convertHundredInventories(Blackhole blackhole) {
+        for (Inventory item : inventories) {
+            blackhole.consume(bookService.convertToInventoryResponse(item));
+        }
+    }
+    
+    @Benchmark
+    public BorrowingResponse borrowingResponseConstruction() {
+        return new BorrowingResponse(
+            1, 42, 7, borrowingTime, null,
+            "王小明", "原子習慣", "詹姆斯‧克利爾", "9789865020059", "借閱中"
+        );
+    }
+    
+    private static Inventory createInventory(int index) {
+        String isbn = String.valueOf(9789865020000L + index);
+        Book book = new Book(isbn, "原子習慣 " + index, "詹姆斯‧克利爾",
+                "本書作者詹姆斯‧克利爾是習慣養成領域的專家，他將複雜的行為科學簡化為實用的策略。",
+                "https://example.com/atomic-habits.jpg");
+        Inventory inventory = new Inventory(isbn, InventoryStatus.AVAILABLE);
+        inventory.setInventoryId(index);
+        inventory.setBook(book);
+        return inventory;
+    }
+}
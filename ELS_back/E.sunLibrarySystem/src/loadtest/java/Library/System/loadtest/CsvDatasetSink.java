@@ -0,0 +1,94 @@
+package Library.System.loadtest;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+
+/**
+ * CSV 輸出 - 每個資料表一個檔案，自動編號欄位以 1 開始的連號直接寫出
+ * 
+ * 載入 SQL Server（需保留自動編號）：
+ * <pre>
+ * BULK INSERT inventory FROM 'C:\dataset\inventory.csv'
+ *     WITH (FORMAT = 'CSV', FIRSTROW = 2, KEEPIDENTITY, CODEPAGE = '65001', TABLOCK);
+ * </pre>
+ * 依 books、inventory、users、borrowing_records 的順序載入以符合外鍵。
+ */
+public class CsvDatasetSink implements DatasetSink {
+    
+    private final Path directory;
+    
+    private BufferedWriter writer;
+    private boolean identity;
+    private int nextIdentity;
+    
+    public CsvDatasetSink(Path directory) throws Exception {
+        this.directory = Files.createDirectories(directory);
+    }
+    
+    @Override
+    public void begin(String table, String identityColumn, String... columns) throws Exception {
+        writer = Files.newBufferedWriter(directory.resolve(table + ".csv"), StandardCharsets.UTF_8);
+        identity = identityColumn != null;
+        nextIdentity = 1;
+        if (identity) {
+            writer.write(identityColumn);
+            writer.write(',');
+        }
+        writer.write(String.join(",", columns));
+        writer.newLine();
+    }
+    
+    @Override
+    public void row(Object... values) throws Exception {
+        if (identity) {
+            writer.write(Integer.toString(nextIdentity++));
+            writer.write(',');
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeValue(values[i]);
+        }
+        writer.newLine();
+    }
+    
+    private void writeValue(Object value) throws Exception {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Timestamp timestamp ? timestamp.toString() : value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(text);
+        }
+    }
+    
+    @Override
+    public void end() throws Exception {
+        writer.close();
+        writer = null;
+    }
+    
+    @Override
+    public int[] identities(String table, String identityColumn, int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+        }
+        return ids;
+    }
+    
+    @Override
+    public void close() throws Exception {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
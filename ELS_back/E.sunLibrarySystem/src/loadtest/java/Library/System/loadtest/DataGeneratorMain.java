@@ -0,0 +1,58 @@
+package Library.System.loadtest;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 合成資料產生器命令列入口
+ * 
+ * 寫入既有資料庫（資料表由 Flyway 遷移建立，需先以同一資料庫啟動應用程式一次執行 V1 至最新版本的遷移）：
+ * mvn -P loadtest test-compile exec:exec -Dloadtest.main=Library.System.loadtest.DataGeneratorMain \
+ *     -Dloadtest.args="target=jdbc url=jdbc:sqlserver://localhost:1433;databaseName=EsunLibrarySystem;useBulkCopyForBatchInsert=true;encrypt=true;trustServerCertificate=true user=sa password=..."
+ * 
+ * 輸出 CSV 供 BULK INSERT：
+ * mvn -P loadtest test-compile exec:exec -Dloadtest.main=Library.System.loadtest.DataGeneratorMain \
+ *     -Dloadtest.args="target=csv dir=target/dataset books=1000000 loans=6500000"
+ * 
+ * 規格參數見 DatasetSpec，未指定時使用約一千萬列的 DatasetSpec.LARGE。
+ */
+public class DataGeneratorMain {
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("參數格式應為 key=value: " + arg);
+            }
+            values.put(arg.substring(0, separator).trim().toLowerCase(Locale.ROOT), arg.substring(separator + 1).trim());
+        }
+        
+        DatasetSpec spec = DatasetSpec.from(values, DatasetSpec.LARGE);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(spec);
+        System.out.println("資料集規格: " + spec);
+        
+        SyntheticDataGenerator.Result result;
+        String target = values.getOrDefault("target", "csv");
+        if ("jdbc".equals(target)) {
+            try (Connection connection = DriverManager.getConnection(
+                        values.get("url"), values.get("user"), values.getOrDefault("password", ""));
+                 JdbcDatasetSink sink = new JdbcDatasetSink(connection, Integer.parseInt(values.getOrDefault("batch", "5000")))) {
+                result = generator.generate(sink);
+            }
+        } else if ("csv".equals(target)) {
+            try (CsvDatasetSink sink = new CsvDatasetSink(Path.of(values.getOrDefault("dir", "target/dataset")))) {
+                result = generator.generate(sink);
+            }
+        } else {
+            throw new IllegalArgumentException("target 只支援 jdbc 或 csv: " + target);
+        }
+        
+        System.out.printf("完成 - 共 %,d 列，耗時 %,d ms（%,.0f 列/秒）%n",
+                result.rows(), result.millis(), result.rows() * 1000.0 / Math.max(1, result.millis()));
+    }
+}
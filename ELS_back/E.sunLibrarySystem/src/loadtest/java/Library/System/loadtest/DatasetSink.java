@@ -0,0 +1,40 @@
+package Library.System.loadtest;
+
+/**
+ * 資料集輸出目標 - 合成資料依資料表逐列寫入
+ * 
+ * 實作：
+ * - JdbcDatasetSink：JDBC 批次寫入任何資料庫（H2、SQL Server）
+ * - CsvDatasetSink：輸出 CSV 檔，供 BULK INSERT / bcp 大量載入
+ */
+public interface DatasetSink extends AutoCloseable {
+    
+    /**
+     * 開始寫入一個資料表
+     * 
+     * @param table 資料表名稱
+     * @param identityColumn 自動編號欄位名稱，沒有時為 null
+     * @param columns 要寫入的欄位（不含自動編號欄位）
+     */
+    void begin(String table, String identityColumn, String... columns) throws Exception;
+    
+    /**
+     * 寫入一列資料，值的順序與 begin 的欄位相同
+     */
+    void row(Object... values) throws Exception;
+    
+    /**
+     * 結束目前資料表的寫入
+     */
+    void end() throws Exception;
+    
+    /**
+     * 取得剛寫入資料表的自動編號，順序與寫入順序相同
+     * 
+     * @param table 資料表名稱
+     * @param identityColumn 自動編號欄位名稱
+     * @param count 剛寫入的列數
+     * @return int[] 自動編號
+     */
+    int[] identities(String table, String identityColumn, int count) throws Exception;
+}
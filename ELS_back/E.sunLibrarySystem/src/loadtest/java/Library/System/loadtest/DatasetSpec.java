@@ -0,0 +1,62 @@
+package Library.System.loadtest;
+
+import java.util.Map;
+
+/**
+ * 合成資料集規格
+ * 
+ * 參數（key=value）：
+ * - books: 書籍數量
+ * - copies: 單本書最多館藏數（熱門書館藏較多，冷門書多為 1 本）
+ * - members: 使用者數量
+ * - loans: 借閱紀錄總數（含借閱中）
+ * - active: 借閱中的紀錄數，對應館藏狀態為 Borrowed
+ * - skew: 書籍熱門度的 Zipf 指數
+ * - member-skew: 使用者借閱量的 Zipf 指數
+ * - history-days: 歷史借閱紀錄分佈的天數
+ * - seed: 亂數種子
+ */
+public record DatasetSpec(int books, int copies, int members, int loans, int active,
+                          double skew, double memberSkew, int historyDays, long seed) {
+    
+    /** 約一千萬列的預設規格（100 萬書籍、約 140 萬館藏、100 萬使用者、650 萬借閱紀錄） */
+    public static final DatasetSpec LARGE = new DatasetSpec(1_000_000, 5, 1_000_000, 6_500_000, 50_000, 1.0, 0.6, 730, 42);
+    
+    /**
+     * 以 key=value 參數覆寫預設規格
+     * 
+     * @param values 參數
+     * @param defaults 未指定的參數使用的預設值
+     * @return DatasetSpec 資料集規格
+     */
+    public static DatasetSpec from(Map<String, String> values, DatasetSpec defaults) {
+        DatasetSpec spec = new DatasetSpec(
+                intValue(values, "books", defaults.books()),
+                intValue(values, "copies", defaults.copies()),
+                intValue(values, "members", defaults.members()),
+                intValue(values, "loans", defaults.loans()),
+                intValue(values, "active", defaults.active()),
+                Double.parseDouble(values.getOrDefault("skew", Double.toString(defaults.skew()))),
+                Double.parseDouble(values.getOrDefault("member-skew", Double.toString(defaults.memberSkew()))),
+                intValue(values, "history-days", defaults.historyDays()),
+                Long.parseLong(values.getOrDefault("seed", Long.toString(defaults.seed()))));
+        if (spec.books() <= 0 || spec.copies() <= 0 || spec.members() <= 0) {
+            throw new IllegalArgumentException("books、copies、members 必須大於 0");
+        }
+        if (spec.active() > spec.loans()) {
+            throw new IllegalArgumentException("active 不可大於 loans");
+        }
+        return spec;
+    }
+    
+    private static int intValue(Map<String, String> values, String key, int defaultValue) {
+        return Integer.parseInt(values.getOrDefault(key, Integer.toString(defaultValue)).replace("_", ""));
+    }
+    
+    @Override
+    public String toString() {
+        return "books=" + books + ", copies<=" + copies + ", members=" + members + ", loans=" + loans
+                + ", active=" + active + ", skew=" + skew + ", member-skew=" + memberSkew
+                + ", history-days=" + historyDays + ", seed=" + seed;
+    }
+}
@@ -0,0 +1,111 @@
+package Library.System.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 圖書館 API 客戶端 - 以真實 HTTP 呼叫受測應用程式，並將回應歸類為結果代碼
+ * 
+ * 結果代碼：
+ * - OK：2xx 回應
+ * - ApiResponse 的 errorCode 加上訊息（例如 BORROW_ERROR: 書籍不可借閱）
+ * - HTTP_狀態碼：沒有 errorCode 的錯誤回應
+ */
+public class LibraryClient {
+    
+    /** 成功的結果代碼 */
+    public static final String OK = "OK";
+    
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    
+    public LibraryClient(HttpClient httpClient, String baseUrl, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * 單次呼叫的結果
+     * 
+     * @param outcome 結果代碼
+     * @param data 成功時的 ApiResponse.data，失敗時為 null
+     */
+    public record Result(String outcome, JsonNode data) {
+        
+        public boolean isOk() {
+            return OK.equals(outcome);
+        }
+    }
+    
+    public Result login(String phoneNumber, String password) throws IOException, InterruptedException {
+        return post("/api/auth/login", null,
+                objectMapper.createObjectNode().put("phoneNumber", phoneNumber).put("password", password));
+    }
+    
+    public Result browse() throws IOException, InterruptedException {
+        return get("/api/books/available", null);
+    }
+    
+    public Result borrow(String token, int inventoryId) throws IOException, InterruptedException {
+        return post("/api/borrowing/borrow", token, objectMapper.createObjectNode().put("inventoryId", inventoryId));
+    }
+    
+    public Result returnBook(String token, int inventoryId) throws IOException, InterruptedException {
+        return post("/api/borrowing/return", token, objectMapper.createObjectNode().put("inventoryId", inventoryId));
+    }
+    
+    public Result history(String token) throws IOException, InterruptedException {
+        return get("/api/borrowing/history", token);
+    }
+    
+    private Result get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+    
+    private Result post(String path, String token, JsonNode body) throws IOException, InterruptedException {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build());
+    }
+    
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+    
+    private Result send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        JsonNode body = parse(response.body());
+        if (response.statusCode() / 100 == 2) {
+            return new Result(OK, body == null ? null : body.path("data"));
+        }
+        if (body != null && body.hasNonNull("errorCode")) {
+            return new Result(body.get("errorCode").asText() + ": " + body.path("message").asText(), null);
+        }
+        return new Result("HTTP_" + response.statusCode(), null);
+    }
+    
+    private JsonNode parse(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package Library.System.loadtest;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 壓力測試參數 - 以 key=value 形式從命令列解析
+ * 
+ * 可用參數（括號內為預設值）：
+ * - duration: 正式量測秒數 (60)
+ * - warmup: 暖機秒數，不列入統計 (10)
+ * - users: 同時執行的虛擬使用者數量 (200)
+ * - mix: 操作比例 (login=5,browse=40,borrow=20,return=15,history=20)
+ * - think: 每次操作後的思考時間毫秒數 (0)
+ * - seed: 亂數種子，相同種子產生相同的資料與操作順序 (42)
+ * 
+ * 合成資料集參數見 DatasetSpec，預設為 1000 本書、每本最多 3 本館藏、
+ * 與虛擬使用者同數量的會員、每位會員 20 筆歷史借閱紀錄。
+ */
+public class LoadTestConfig {
+    
+    private static final String DEFAULT_MIX = "login=5,browse=40,borrow=20,return=15,history=20";
+    
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final int users;
+    private final long thinkMillis;
+    private final long seed;
+    private final DatasetSpec dataset;
+    
+    /** 依操作累計的權重，用於加權隨機選擇 */
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, Integer> mix;
+    
+    private LoadTestConfig(Map<String, String> values) {
+        this.durationSeconds = Integer.parseInt(values.getOrDefault("duration", "60"));
+        this.warmupSeconds = Integer.parseInt(values.getOrDefault("warmup", "10"));
+        this.users = Integer.parseInt(values.getOrDefault("users", "200"));
+        this.thinkMillis = Long.parseLong(values.getOrDefault("think", "0"));
+        this.seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        this.dataset = DatasetSpec.from(values, new DatasetSpec(1000, 3, users, users * 20, users, 1.0, 0.6, 365, seed));
+        if (dataset.members() < users) {
+            throw new IllegalArgumentException("members 不可少於虛擬使用者數量 users");
+        }
+        
+        this.mix = parseMix(values.getOrDefault("mix", DEFAULT_MIX));
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("mix 的權重總和必須大於 0");
+        }
+    }
+    
+    /**
+     * 解析命令列參數
+     * 
+     * @param args key=value 形式的參數
+     * @return LoadTestConfig 壓力測試參數
+     */
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("參數格式應為 key=value: " + arg);
+            }
+            values.put(arg.substring(0, separator).trim().toLowerCase(Locale.ROOT), arg.substring(separator + 1).trim());
+        }
+        return new LoadTestConfig(values);
+    }
+    
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("mix 格式應為 operation=weight: " + part);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+    
+    /**
+     * 依操作比例隨機選擇下一個操作
+     * 
+     * @param random 虛擬使用者自己的亂數產生器
+     * @return Operation 下一個操作
+     */
+    public Operation pick(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+    
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+    
+    public int getUsers() {
+        return users;
+    }
+    
+    public long getThinkMillis() {
+        return thinkMillis;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public DatasetSpec getDataset() {
+        return dataset;
+    }
+    
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+    
+    @Override
+    public String toString() {
+        return "duration=" + durationSeconds + "s, warmup=" + warmupSeconds + "s, users=" + users
+                + ", think=" + thinkMillis + "ms, mix=" + mix + ", dataset=[" + dataset + "]";
+    }
+}
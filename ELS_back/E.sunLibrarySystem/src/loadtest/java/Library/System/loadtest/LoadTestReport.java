@@ -0,0 +1,124 @@
+package Library.System.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 壓力測試結果 - 依操作記錄延遲分佈與結果代碼
+ * 
+ * 延遲以 HdrHistogram Recorder 記錄（微秒），可被所有虛擬使用者同時寫入。
+ */
+public class LoadTestReport {
+    
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, ConcurrentHashMap<String, LongAdder>> outcomes = new EnumMap<>(Operation.class);
+    
+    public LoadTestReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(1, HIGHEST_TRACKABLE_MICROS, 3));
+            outcomes.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+    
+    /**
+     * 記錄一次操作
+     * 
+     * @param operation 操作種類
+     * @param nanos 耗時（奈秒）
+     * @param outcome 結果代碼
+     */
+    public void record(Operation operation, long nanos, String outcome) {
+        recorders.get(operation).recordValue(Math.max(1, Math.min(nanos / 1000, HIGHEST_TRACKABLE_MICROS)));
+        outcomes.get(operation).computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+    
+    /**
+     * 輸出結果表格並寫出 JSON 檔
+     * 
+     * @param out 輸出目標
+     * @param elapsedSeconds 實際量測秒數
+     * @param config 壓力測試參數
+     * @param jsonFile JSON 結果檔路徑
+     */
+    public void print(PrintStream out, double elapsedSeconds, LoadTestConfig config, Path jsonFile) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("config", config.toString());
+        json.put("elapsedSeconds", elapsedSeconds);
+        Map<String, Object> operationsJson = new LinkedHashMap<>();
+        
+        out.println();
+        out.println("==== 壓力測試結果 (" + config + ") ====");
+        out.printf("%-8s %9s %9s %9s %9s %9s %9s %9s %8s%n",
+                "op", "count", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p999(ms)", "max(ms)", "errors");
+        
+        long totalCount = 0;
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            Map<String, Long> breakdown = new TreeMap<>();
+            outcomes.get(operation).forEach((outcome, adder) -> breakdown.put(outcome, adder.sum()));
+            long errors = count - breakdown.getOrDefault(LibraryClient.OK, 0L);
+            totalCount += count;
+            totalErrors += errors;
+            
+            out.printf("%-8s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7.2f%%%n",
+                    operation, count, count / elapsedSeconds,
+                    ms(histogram.getValueAtPercentile(50)), ms(histogram.getValueAtPercentile(90)),
+                    ms(histogram.getValueAtPercentile(99)), ms(histogram.getValueAtPercentile(99.9)),
+                    ms(histogram.getMaxValue()), errors * 100.0 / count);
+            
+            Map<String, Object> operationJson = new LinkedHashMap<>();
+            operationJson.put("count", count);
+            operationJson.put("throughput", count / elapsedSeconds);
+            operationJson.put("p50Ms", ms(histogram.getValueAtPercentile(50)));
+            operationJson.put("p90Ms", ms(histogram.getValueAtPercentile(90)));
+            operationJson.put("p99Ms", ms(histogram.getValueAtPercentile(99)));
+            operationJson.put("p999Ms", ms(histogram.getValueAtPercentile(99.9)));
+            operationJson.put("maxMs", ms(histogram.getMaxValue()));
+            operationJson.put("outcomes", breakdown);
+            operationsJson.put(operation.name(), operationJson);
+        }
+        out.printf("%-8s %9d %9.1f %59.2f%%%n", "TOTAL", totalCount, totalCount / elapsedSeconds,
+                totalCount == 0 ? 0 : totalErrors * 100.0 / totalCount);
+        
+        out.println();
+        out.println("---- 錯誤分類 ----");
+        for (Operation operation : Operation.values()) {
+            outcomes.get(operation).forEach((outcome, adder) -> {
+                if (!LibraryClient.OK.equals(outcome)) {
+                    out.printf("%-8s %9d  %s%n", operation, adder.sum(), outcome);
+                }
+            });
+        }
+        
+        json.put("operations", operationsJson);
+        Files.createDirectories(jsonFile.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(jsonFile.toFile(), json);
+        out.println();
+        out.println("結果已寫出至 " + jsonFile);
+    }
+    
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
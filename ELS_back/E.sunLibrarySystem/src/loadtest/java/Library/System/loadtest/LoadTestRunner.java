@@ -0,0 +1,116 @@
+/**
+ * 壓力測試執行器 - 在筆電上不需 SQL Server 即可量測系統容量
+ * 
+ * 執行流程：
+ * 1. 以 loadtest profile 啟動應用程式（H2 記憶體資料庫、SQL Server 相容模式、隨機埠號）
+ * 2. 以 SyntheticDataGenerator 批次寫入合成書目、會員與歷史借閱紀錄，虛擬使用者以合成會員登入
+ * 3. 以虛擬執行緒執行登入、瀏覽、借書、還書、查詢歷史的混合工作負載
+ * 4. 暖機後正式量測，輸出吞吐量、延遲百分位數與錯誤分類，並寫出 target/loadtest-result.json
+ * 
+ * 執行方式：
+ * mvn -P loadtest test-compile exec:exec -Dloadtest.args="duration=60 users=200 books=1000 loans=20000"
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Library.System.Application;
+
+public class LoadTestRunner {
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.println("壓力測試參數: " + config);
+        
+        SpringApplication application = new SpringApplication(Application.class);
+        application.setAdditionalProfiles("loadtest");
+        try (ConfigurableApplicationContext context = application.run("--server.port=0");
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient httpClient = HttpClient.newBuilder().executor(executor).build();
+            LibraryClient client = new LibraryClient(httpClient, "http://localhost:" + port, new ObjectMapper());
+            
+            SyntheticDataGenerator.Result dataset;
+            try (Connection connection = context.getBean(DataSource.class).getConnection();
+                 JdbcDatasetSink sink = new JdbcDatasetSink(connection, 1000)) {
+                dataset = new SyntheticDataGenerator(config.getDataset()).generate(sink);
+            }
+            System.out.printf("已建立合成資料集 - 共 %d 列，耗時: %d ms%n", dataset.rows(), dataset.millis());
+            
+            ZipfDistribution popularity = new ZipfDistribution(dataset.inventoryIds().length, config.getDataset().skew());
+            List<VirtualUser> users = signInUsers(client, config, dataset.inventoryIds(), popularity, executor);
+            System.out.printf("虛擬使用者已登入: %d%n", users.size());
+            
+            System.out.printf("暖機 %d 秒...%n", config.getWarmupSeconds());
+            runWorkload(users, new LoadTestReport(), config.getWarmupSeconds(), executor);
+            
+            System.out.printf("正式量測 %d 秒...%n", config.getDurationSeconds());
+            LoadTestReport report = new LoadTestReport();
+            long start = System.nanoTime();
+            runWorkload(users, report, config.getDurationSeconds(), executor);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            
+            report.print(System.out, elapsedSeconds, config, Path.of("target", "loadtest-result.json"));
+        }
+    }
+    
+    /**
+     * 以合成會員帳號建立虛擬使用者並登入
+     */
+    private static List<VirtualUser> signInUsers(LibraryClient client, LoadTestConfig config, int[] inventoryIds,
+                                                 ZipfDistribution popularity, ExecutorService executor) throws Exception {
+        List<Future<VirtualUser>> futures = new ArrayList<>();
+        for (int i = 0; i < config.getUsers(); i++) {
+            VirtualUser user = new VirtualUser(client, config, inventoryIds, popularity,
+                    SyntheticDataGenerator.phoneNumber(i), SyntheticDataGenerator.PASSWORD, config.getSeed() * 31 + i);
+            futures.add(executor.submit(() -> {
+                user.signIn();
+                return user;
+            }));
+        }
+        
+        List<VirtualUser> users = new ArrayList<>(futures.size());
+        for (Future<VirtualUser> future : futures) {
+            users.add(future.get());
+        }
+        return users;
+    }
+    
+    /**
+     * 所有虛擬使用者同時執行工作負載直到指定秒數結束
+     */
+    private static void runWorkload(List<VirtualUser> users, LoadTestReport report, int seconds,
+                                    ExecutorService executor) throws Exception {
+        if (seconds <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<?>> futures = new ArrayList<>(users.size());
+        for (VirtualUser user : users) {
+            futures.add(executor.submit(() -> user.run(deadline, report)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package Library.System.loadtest;
+
+/**
+ * 壓力測試的工作負載操作種類
+ */
+public enum Operation {
+    
+    /** POST /api/auth/login */
+    LOGIN,
+    
+    /** GET /api/books/available */
+    BROWSE,
+    
+    /** POST /api/borrowing/borrow */
+    BORROW,
+    
+    /** POST /api/borrowing/return */
+    RETURN,
+    
+    /** GET /api/borrowing/history */
+    HISTORY
+}
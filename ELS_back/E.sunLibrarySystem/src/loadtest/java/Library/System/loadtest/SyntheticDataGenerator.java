@@ -0,0 +1,335 @@
+/**
+ * 合成資料產生器 - 依規格產生書籍、館藏、使用者與借閱紀錄
+ * 
+ * 此產生器提供接近真實分佈的效能測試資料，包含以下特性：
+ * 1. 可重現 - 相同規格與種子產生相同的資料（時間欄位以執行當天為基準）
+ * 2. 熱門度偏斜 - 書籍被借閱的機率依 Zipf 分佈，熱門書的館藏數也較多
+ * 3. 借閱量偏斜 - 少數使用者貢獻大部分借閱紀錄
+ * 4. 長尾歷史 - 借閱紀錄依時間遞增分佈在 history-days 天內，最後 active 筆為借閱中
+ * 5. 大量寫入 - 透過 DatasetSink 以 JDBC 批次寫入或輸出 CSV 供大量載入
+ * 6. 彙總表 - 依產生的借閱紀錄寫入 user_borrowing_stats、user_author_stats 與最近 30 天的
+ *    book_popularity_hourly，內容與 V4、V5 遷移的回填語句相同（遷移只在建立資料表時回填一次）
+ * 
+ * 所有使用者的密碼皆為 PASSWORD，手機號碼為 phoneNumber(0..members-1)，
+ * 壓力測試可直接以這些帳號登入。
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.loadtest;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import Library.System.common.PasswordUtil;
+import Library.System.entity.InventoryStatus;
+
+public class SyntheticDataGenerator {
+    
+    /** 所有合成使用者共用的密碼 */
+    public static final String PASSWORD = "password123";
+    
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    
+    /** book_popularity_hourly 回填的天數，與 V5 遷移相同 */
+    private static final int POPULARITY_DAYS = 30;
+    
+    private static final String[] INTRODUCTIONS = {
+        "合成書目，用於效能測試。",
+        "本書以淺顯的方式介紹核心概念，並搭配大量範例，適合初學者入門與自學。",
+        "作者整理多年實務經驗，從基礎原理談到進階應用，書中每一章都附有練習題與延伸閱讀，"
+            + "協助讀者建立完整的知識體系，也適合作為課程教材或團隊讀書會使用。",
+        null
+    };
+    
+    private final DatasetSpec spec;
+    
+    public SyntheticDataGenerator(DatasetSpec spec) {
+        this.spec = spec;
+    }
+    
+    /**
+     * 產生結果
+     * 
+     * @param inventoryIds 館藏的庫存ID
+     * @param userIds 使用者ID，索引與 phoneNumber 的索引相同
+     * @param rows 寫入的總列數
+     * @param millis 耗時（毫秒）
+     */
+    public record Result(int[] inventoryIds, int[] userIds, long rows, long millis) {
+    }
+    
+    /**
+     * 第 index 位合成使用者的手機號碼
+     */
+    public static String phoneNumber(int index) {
+        return String.format("09%08d", index);
+    }
+    
+    /**
+     * 第 index 本合成書籍的 ISBN
+     */
+    public static String isbn(int index) {
+        return String.format("979%010d", index);
+    }
+    
+    /**
+     * 產生資料並寫入輸出目標
+     * 
+     * @param sink 輸出目標
+     * @return Result 產生結果
+     */
+    public Result generate(DatasetSink sink) throws Exception {
+        long start = System.nanoTime();
+        Random random = new Random(spec.seed());
+        ZipfDistribution bookPopularity = new ZipfDistribution(spec.books(), spec.skew());
+        ZipfDistribution memberActivity = new ZipfDistribution(spec.members(), spec.memberSkew());
+        long anchor = Timestamp.valueOf(LocalDate.now().atStartOfDay()).getTime();
+        
+        // 書籍
+        sink.begin("books", null, "isbn", "name", "author", "introduction", "image_url");
+        for (int i = 0; i < spec.books(); i++) {
+            sink.row(isbn(i), "合成書籍 " + i, "作者 " + (i % Math.max(1, spec.books() / 5)),
+                    INTRODUCTIONS[i % INTRODUCTIONS.length], null);
+        }
+        sink.end();
+        progress("books", spec.books(), start);
+        
+        // 館藏數依熱門度遞減：前幾名接近 copies，大多數冷門書為 1 本
+        int[] firstCopy = new int[spec.books() + 1];
+        for (int i = 0; i < spec.books(); i++) {
+            double popularity = 1.0 - (double) bookPopularity.rankOfIndex(i) / spec.books();
+            int copies = 1 + (int) Math.round((spec.copies() - 1) * Math.pow(popularity, 20));
+            if (copies < spec.copies() && random.nextInt(3) == 0) {
+                copies++;
+            }
+            firstCopy[i + 1] = firstCopy[i] + copies;
+        }
+        int inventoryCount = firstCopy[spec.books()];
+        
+        // 先決定借閱中的館藏，寫入館藏時狀態才會一致
+        int activeLoans = Math.min(spec.active(), inventoryCount);
+        BitSet borrowed = new BitSet(inventoryCount);
+        for (int attempts = 0; borrowed.cardinality() < activeLoans && attempts < activeLoans * 8; attempts++) {
+            borrowed.set(pickCopy(bookPopularity, firstCopy, random));
+        }
+        activeLoans = borrowed.cardinality();
+        
+        Timestamp storeTime = new Timestamp(anchor - spec.historyDays() * DAY_MILLIS);
+        sink.begin("inventory", "inventory_id", "isbn", "store_time", "status");
+        for (int book = 0; book < spec.books(); book++) {
+            String isbn = isbn(book);
+            for (int copy = firstCopy[book]; copy < firstCopy[book + 1]; copy++) {
+                InventoryStatus status = borrowed.get(copy) ? InventoryStatus.BORROWED : InventoryStatus.AVAILABLE;
+                sink.row(isbn, storeTime, status.getCode());
+            }
+        }
+        sink.end();
+        int[] inventoryIds = sink.identities("inventory", "inventory_id", inventoryCount);
+        progress("inventory", inventoryCount, start);
+        
+        // 使用者（共用同一組鹽值與雜湊，避免產生時重複計算；鹽值取自種子以維持可重現）
+        byte[] saltBytes = new byte[16];
+        random.nextBytes(saltBytes);
+        String salt = Base64.getEncoder().encodeToString(saltBytes);
+        String passwordHash = PasswordUtil.hashPassword(PASSWORD, salt);
+        sink.begin("users", "user_id", "phone_number", "password_hash", "salt", "user_name", "registration_time", "last_login_time");
+        for (int i = 0; i < spec.members(); i++) {
+            long registered = anchor - (spec.historyDays() + random.nextInt(365)) * DAY_MILLIS;
+            long lastLogin = anchor - random.nextInt(Math.max(1, spec.historyDays())) * DAY_MILLIS;
+            sink.row(phoneNumber(i), passwordHash, salt, "讀者" + i, new Timestamp(registered), new Timestamp(lastLogin));
+        }
+        sink.end();
+        int[] userIds = sink.identities("users", "user_id", spec.members());
+        progress("users", spec.members(), start);
+        
+        // 已歸還的歷史紀錄依時間遞增，最後寫入借閱中的紀錄；同時累計彙總表的內容
+        LoanAggregates aggregates = new LoanAggregates(spec.members(), Math.max(1, spec.books() / 5), spec.loans(),
+                System.currentTimeMillis() - POPULARITY_DAYS * DAY_MILLIS);
+        int historical = spec.loans() - activeLoans;
+        long historyStart = anchor - spec.historyDays() * DAY_MILLIS;
+        long step = historical == 0 ? 0 : (spec.historyDays() - 1) * DAY_MILLIS / historical;
+        sink.begin("borrowing_records", "record_id", "user_id", "inventory_id", "borrowing_time", "return_time");
+        for (int i = 0; i < historical; i++) {
+            long borrowedAt = historyStart + i * step + (step > 0 ? (long) (random.nextDouble() * step) : 0);
+            long returnedAt = Math.min(anchor, borrowedAt + (1 + random.nextInt(28)) * DAY_MILLIS);
+            int member = memberActivity.sample(random);
+            int copy = pickCopy(bookPopularity, firstCopy, random);
+            sink.row(userIds[member], inventoryIds[copy], new Timestamp(borrowedAt), new Timestamp(returnedAt));
+            aggregates.add(member, bookOf(firstCopy, copy), borrowedAt, returnedAt);
+        }
+        for (int copy = borrowed.nextSetBit(0); copy >= 0; copy = borrowed.nextSetBit(copy + 1)) {
+            long borrowedAt = anchor - random.nextInt(28) * DAY_MILLIS - random.nextInt((int) DAY_MILLIS);
+            int member = memberActivity.sample(random);
+            sink.row(userIds[member], inventoryIds[copy], new Timestamp(borrowedAt), null);
+            aggregates.add(member, bookOf(firstCopy, copy), borrowedAt, -1);
+        }
+        sink.end();
+        progress("borrowing_records", spec.loans(), start);
+        
+        long aggregateRows = aggregates.write(sink, userIds);
+        progress("彙總表", aggregateRows, start);
+        
+        long rows = (long) spec.books() + inventoryCount + spec.members() + historical + activeLoans + aggregateRows;
+        return new Result(inventoryIds, userIds, rows, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+    
+    /**
+     * 依熱門度挑一本書，再隨機挑其中一本館藏
+     */
+    private static int pickCopy(ZipfDistribution bookPopularity, int[] firstCopy, Random random) {
+        int book = bookPopularity.sample(random);
+        int copies = firstCopy[book + 1] - firstCopy[book];
+        return firstCopy[book] + random.nextInt(copies);
+    }
+    
+    /**
+     * 館藏所屬的書籍索引
+     */
+    private static int bookOf(int[] firstCopy, int copy) {
+        int index = Arrays.binarySearch(firstCopy, copy);
+        if (index >= 0) {
+            // 館藏數至少為 1，firstCopy 嚴格遞增，找到時即為該書的第一本館藏
+            return index;
+        }
+        return -index - 2;
+    }
+    
+    private static void progress(String table, long rows, long startNanos) {
+        System.out.printf("[%s] %-18s %,12d 列，累計 %,d ms%n", LocalDateTime.now().toLocalTime().withNano(0),
+                table, rows, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+    
+    /**
+     * 借閱紀錄的彙總 - 對應 V4 的 user_borrowing_stats、user_author_stats 與 V5 的 book_popularity_hourly
+     * 
+     * 使用者統計以陣列累計；作者與每小時熱門度先把 (使用者, 作者)、(書籍, 小時) 編碼為 long 收集，
+     * 寫出前排序再計算連續相同值的個數，避免上千萬筆借閱建立同樣數量的 Map 項目。
+     */
+    private static final class LoanAggregates {
+        
+        /** 每小時熱門度的小時偏移位數，30 天約 720 小時 */
+        private static final int HOUR_BITS = 20;
+        
+        private final int authors;
+        
+        private final long popularitySince;
+        
+        private final long firstHour;
+        
+        private final int[] totalLoans;
+        
+        private final int[] activeLoans;
+        
+        private final long[] loanSeconds;
+        
+        private final long[] authorKeys;
+        
+        private long[] hourKeys = new long[1024];
+        
+        private int loans;
+        
+        private int recentLoans;
+        
+        LoanAggregates(int members, int authors, int expectedLoans, long popularitySince) {
+            this.authors = authors;
+            this.popularitySince = popularitySince;
+            this.firstHour = epochHour(popularitySince);
+            this.totalLoans = new int[members];
+            this.activeLoans = new int[members];
+            this.loanSeconds = new long[members];
+            this.authorKeys = new long[expectedLoans];
+        }
+        
+        /**
+         * 累計一筆借閱
+         * 
+         * @param returnedAt 歸還時間（epoch 毫秒），借閱中為 -1
+         */
+        void add(int member, int book, long borrowedAt, long returnedAt) {
+            totalLoans[member]++;
+            if (returnedAt < 0) {
+                activeLoans[member]++;
+            } else {
+                // 與 DATEDIFF(SECOND, ...) 相同，以跨越的秒數邊界計算
+                loanSeconds[member] += Math.floorDiv(returnedAt, 1000) - Math.floorDiv(borrowedAt, 1000);
+            }
+            authorKeys[loans++] = (long) member * authors + book % authors;
+            if (borrowedAt >= popularitySince) {
+                if (recentLoans == hourKeys.length) {
+                    hourKeys = Arrays.copyOf(hourKeys, recentLoans * 2);
+                }
+                hourKeys[recentLoans++] = ((long) book << HOUR_BITS) | (epochHour(borrowedAt) - firstHour);
+            }
+        }
+        
+        /**
+         * 寫出三個彙總表
+         * 
+         * @return long 寫入的列數
+         */
+        long write(DatasetSink sink, int[] userIds) throws Exception {
+            long rows = 0;
+            sink.begin("user_borrowing_stats", null,
+                    "user_id", "total_loans", "active_loans", "returned_loans", "total_loan_seconds", "stats_version");
+            for (int member = 0; member < totalLoans.length; member++) {
+                if (totalLoans[member] > 0) {
+                    sink.row(userIds[member], totalLoans[member], activeLoans[member],
+                            totalLoans[member] - activeLoans[member], loanSeconds[member], 0);
+                    rows++;
+                }
+            }
+            sink.end();
+            
+            Arrays.sort(authorKeys, 0, loans);
+            sink.begin("user_author_stats", null, "user_id", "author", "loans");
+            for (int i = 0; i < loans; ) {
+                int end = runEnd(authorKeys, i, loans);
+                long key = authorKeys[i];
+                sink.row(userIds[(int) (key / authors)], "作者 " + (key % authors), end - i);
+                rows++;
+                i = end;
+            }
+            sink.end();
+            
+            Arrays.sort(hourKeys, 0, recentLoans);
+            sink.begin("book_popularity_hourly", null, "isbn", "bucket_hour", "borrow_count");
+            for (int i = 0; i < recentLoans; ) {
+                int end = runEnd(hourKeys, i, recentLoans);
+                long key = hourKeys[i];
+                long hour = firstHour + (key & ((1L << HOUR_BITS) - 1));
+                LocalDateTime bucket = LocalDateTime.ofEpochSecond(hour * 3600, 0, ZoneOffset.UTC);
+                sink.row(isbn((int) (key >>> HOUR_BITS)), Timestamp.valueOf(bucket), end - i);
+                rows++;
+                i = end;
+            }
+            sink.end();
+            return rows;
+        }
+        
+        /**
+         * 以資料庫中的本地時間計算所在的小時（與 DATEADD(HOUR, DATEDIFF(HOUR, 0, t), 0) 相同）
+         */
+        private static long epochHour(long epochMillis) {
+            LocalDateTime local = new Timestamp(epochMillis).toLocalDateTime().truncatedTo(ChronoUnit.HOURS);
+            return local.toEpochSecond(ZoneOffset.UTC) / 3600;
+        }
+        
+        private static int runEnd(long[] keys, int from, int to) {
+            int end = from + 1;
+            while (end < to && keys[end] == keys[from]) {
+                end++;
+            }
+            return end;
+        }
+    }
+}
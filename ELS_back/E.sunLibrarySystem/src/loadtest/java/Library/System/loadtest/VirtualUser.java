@@ -0,0 +1,118 @@
+package Library.System.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 虛擬使用者 - 依操作比例反覆呼叫 API，並自行記住目前借閱中的館藏以便歸還
+ * 
+ * 採封閉模型（每個使用者完成一次操作才發出下一次），延遲數據不含排隊等待時間。
+ */
+public class VirtualUser {
+    
+    private final LibraryClient client;
+    private final LoadTestConfig config;
+    private final int[] inventoryIds;
+    private final ZipfDistribution popularity;
+    private final String phoneNumber;
+    private final String password;
+    private final Random random;
+    
+    /** 目前的 JWT Token */
+    private String token;
+    
+    /** 自己借閱中的庫存ID */
+    private final List<Integer> borrowed = new ArrayList<>();
+    
+    public VirtualUser(LibraryClient client, LoadTestConfig config, int[] inventoryIds, ZipfDistribution popularity,
+                       String phoneNumber, String password, long seed) {
+        this.client = client;
+        this.config = config;
+        this.inventoryIds = inventoryIds;
+        this.popularity = popularity;
+        this.phoneNumber = phoneNumber;
+        this.password = password;
+        this.random = new Random(seed);
+    }
+    
+    /**
+     * 登入取得 Token（開始壓測前呼叫）
+     */
+    public void signIn() throws Exception {
+        LibraryClient.Result result = client.login(phoneNumber, password);
+        if (!result.isOk()) {
+            throw new IllegalStateException("虛擬使用者登入失敗: " + phoneNumber + " - " + result.outcome());
+        }
+        token = result.data().path("token").asText();
+    }
+    
+    /**
+     * 持續執行操作直到截止時間
+     * 
+     * @param deadlineNanos 截止時間（System.nanoTime）
+     * @param report 結果記錄
+     */
+    public void run(long deadlineNanos, LoadTestReport report) {
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            Operation operation = config.pick(random);
+            // 沒有借閱中的館藏時改為借書，維持借還比例
+            if (operation == Operation.RETURN && borrowed.isEmpty()) {
+                operation = Operation.BORROW;
+            }
+            
+            long start = System.nanoTime();
+            String outcome;
+            try {
+                outcome = execute(operation);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                outcome = e.getClass().getSimpleName();
+            }
+            report.record(operation, System.nanoTime() - start, outcome);
+            
+            if (config.getThinkMillis() > 0) {
+                try {
+                    Thread.sleep(config.getThinkMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    private String execute(Operation operation) throws Exception {
+        switch (operation) {
+            case LOGIN -> {
+                LibraryClient.Result result = client.login(phoneNumber, password);
+                if (result.isOk()) {
+                    token = result.data().path("token").asText();
+                }
+                return result.outcome();
+            }
+            case BROWSE -> {
+                return client.browse().outcome();
+            }
+            case BORROW -> {
+                // 依熱門度挑選館藏，熱門館藏的借閱衝突較多，較接近真實情況
+                int inventoryId = inventoryIds[popularity.sample(random)];
+                LibraryClient.Result result = client.borrow(token, inventoryId);
+                if (result.isOk()) {
+                    borrowed.add(inventoryId);
+                }
+                return result.outcome();
+            }
+            case RETURN -> {
+                int inventoryId = borrowed.remove(random.nextInt(borrowed.size()));
+                return client.returnBook(token, inventoryId).outcome();
+            }
+            case HISTORY -> {
+                return client.history(token).outcome();
+            }
+            default -> throw new IllegalStateException("未知的操作: " + operation);
+        }
+    }
+}
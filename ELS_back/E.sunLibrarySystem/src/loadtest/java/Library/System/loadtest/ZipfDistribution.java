@@ -0,0 +1,103 @@
+package Library.System.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf 分佈取樣器 - 第 k 名被選中的機率與 1 / k^s 成正比
+ * 
+ * 預先計算累積分佈（n 個 double），取樣時以二分搜尋定位名次，
+ * 再以與 n 互質的步長把名次打散到元素索引，避免熱門元素集中在編號最前面。
+ */
+public class ZipfDistribution {
+    
+    private final int size;
+    private final double[] cumulative;
+    private final long stride;
+    
+    /**
+     * @param size 元素數量
+     * @param exponent 偏斜程度 s，1.0 接近真實借閱熱門度，0 為均勻分佈
+     */
+    public ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Zipf 分佈的元素數量必須大於 0");
+        }
+        this.size = size;
+        this.cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        this.stride = coprimeStride(size);
+    }
+    
+    /**
+     * 取樣一個元素索引
+     * 
+     * @param random 亂數產生器
+     * @return int 0 到 size - 1 的元素索引
+     */
+    public int sample(Random random) {
+        return indexOfRank(sampleRank(random));
+    }
+    
+    /**
+     * 取樣一個名次（0 為最熱門）
+     */
+    public int sampleRank(Random random) {
+        int position = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = position >= 0 ? position : -position - 1;
+        return Math.min(rank, size - 1);
+    }
+    
+    /**
+     * 名次對應的元素索引
+     */
+    public int indexOfRank(int rank) {
+        return (int) ((rank * stride) % size);
+    }
+    
+    /**
+     * 元素索引對應的名次（indexOfRank 的反函數）
+     */
+    public int rankOfIndex(int index) {
+        return (int) ((index * modInverse(stride, size)) % size);
+    }
+    
+    private static long coprimeStride(int size) {
+        long stride = Math.max(1, (long) (size * 0.6180339887)) | 1;
+        while (gcd(stride, size) != 1) {
+            stride += 2;
+        }
+        return stride % Math.max(1, size);
+    }
+    
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+    
+    private static long modInverse(long value, long modulus) {
+        if (modulus == 1) {
+            return 0;
+        }
+        long t = 0;
+        long newT = 1;
+        long r = modulus;
+        long newR = value % modulus;
+        while (newR != 0) {
+            long quotient = r / newR;
+            long temp = t - quotient * newT;
+            t = newT;
+            newT = temp;
+            temp = r - quotient * newR;
+            r = newR;
+            newR = temp;
+        }
+        return t < 0 ? t + modulus : t;
+    }
+}
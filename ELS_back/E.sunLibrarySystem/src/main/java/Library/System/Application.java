@@ -21,16 +21,26 @@ package Library.System;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class Application {
 
+	/** 啟動步驟緩衝容量，足以涵蓋所有 Bean 的實例化步驟（超過時捨棄後續步驟） */
+	private static final int STARTUP_STEP_CAPACITY = 4096;
+
 	/**
 	 * 應用程式主要入口方法
 	 * 
+	 * 以 BufferingApplicationStartup 記錄啟動步驟，供啟動時間報告（StartupReport）列出實例化最久的 Bean。
+	 * 
 	 * @param args 命令行參數
 	 */
 	public static void main(String[] args) {
-		SpringApplication.run(Application.class, args);
+		SpringApplication application = new SpringApplication(Application.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		application.run(args);
 	}
 }
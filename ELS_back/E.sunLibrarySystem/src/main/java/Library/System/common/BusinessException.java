@@ -0,0 +1,32 @@
+/**
+ * 業務規則失敗例外 - 服務層已記錄失敗指標與 WARN 日誌的預期失敗
+ * 
+ * 例如使用者不存在、書籍不可借閱、密碼錯誤等。服務層的 catch 只將此型別原樣重新拋出，
+ * 其他 RuntimeException（資料存取錯誤、狀態轉換錯誤等）一律視為系統錯誤，
+ * 記錄 ERROR 日誌與 system_error 指標。
+ * 
+ * 訊息會直接回傳給使用者，因此應為可讀的中文說明。
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.common;
+
+public class BusinessException extends RuntimeException {
+    
+    /**
+     * @param message 回傳給使用者的錯誤訊息
+     */
+    public BusinessException(String message) {
+        super(message);
+    }
+    
+    /**
+     * @param message 回傳給使用者的錯誤訊息
+     * @param cause 原始例外
+     */
+    public BusinessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
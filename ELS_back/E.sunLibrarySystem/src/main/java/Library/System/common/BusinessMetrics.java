@@ -0,0 +1,94 @@
+/**
+ * 業務指標工具類別 - 統一記錄借閱、圖書目錄與認證操作的 Micrometer 指標
+ * 
+ * 此元件封裝各服務共用的指標記錄方式，包含以下功能：
+ * 1. 操作耗時 - 以 Timer 記錄每次操作的耗時並發布百分位數直方圖
+ * 2. 失敗原因 - 以 Counter 依業務失敗原因分類計數（例如不可借閱、密碼錯誤）
+ * 
+ * 指標名稱（Prometheus 格式會轉為底線並加上 _seconds 等後綴）：
+ * - library.borrowing / library.borrowing.failures - 借閱相關操作
+ * - library.catalog / library.catalog.failures - 圖書目錄相關操作
+ * - library.auth / library.auth.failures - 註冊與登入
+ * 
+ * 標籤：
+ * - operation: 操作名稱（borrow、return、login...）
+ * - outcome: success 或 failure
+ * - reason: 失敗原因（僅 failures 計數器）
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.common;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Component
+public class BusinessMetrics {
+    
+    /** 借閱操作的指標名稱 */
+    public static final String BORROWING = "library.borrowing";
+    
+    /** 圖書目錄操作的指標名稱 */
+    public static final String CATALOG = "library.catalog";
+    
+    /** 認證操作的指標名稱 */
+    public static final String AUTH = "library.auth";
+    
+    /** 成功結果標籤值 */
+    public static final String SUCCESS = "success";
+    
+    /** 失敗結果標籤值 */
+    public static final String FAILURE = "failure";
+    
+    /** 指標註冊中心 */
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    /**
+     * 開始計時
+     * 
+     * @return Timer.Sample 計時樣本，操作結束時傳入 stop
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+    
+    /**
+     * 結束計時並記錄到對應的 Timer
+     * 
+     * @param sample 開始計時時取得的樣本
+     * @param name 指標名稱（BORROWING、CATALOG、AUTH）
+     * @param operation 操作名稱
+     * @param outcome 操作結果（SUCCESS 或 FAILURE）
+     */
+    public void stop(Timer.Sample sample, String name, String operation, String outcome) {
+        sample.stop(Timer.builder(name)
+                .description("Business operation latency")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+    
+    /**
+     * 依失敗原因計數
+     * 
+     * @param name 指標名稱（BORROWING、CATALOG、AUTH）
+     * @param operation 操作名稱
+     * @param reason 失敗原因
+     */
+    public void failure(String name, String operation, String reason) {
+        Counter.builder(name + ".failures")
+                .description("Business operation failures by reason")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -6,6 +6,7 @@
  * 2. Token 驗證 - 檢查 Token 的有效性和完整性
  * 3. 資料提取 - 從 Token 中提取使用者資訊
  * 4. 過期檢查 - 監控 Token 的過期狀態
+ * 5. Token 刷新 - 為即將過期的有效 Token 簽發新 Token（滑動會話）
  * 
  * 安全特性：
  * - 使用 HMAC-SHA 演算法進行數位簽章
@@ -16,6 +17,8 @@
  * 配置參數：
  * - jwt.secret: JWT 簽章密鑰（於 application.properties 中設定）
  * - jwt.expiration: Token 過期時間（毫秒）
+ * - jwt.refresh-threshold: 剩餘時間低於此值時允許刷新（毫秒）
+ * - jwt.max-session-age: 自登入起算的最長會話時間，超過後必須重新登入（毫秒）
  * 
  * @author MaxLin
  * @version 1.0
@@ -45,8 +48,8 @@ public class JwtUtil {
     /** 日誌記錄器 */
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
     
-    /** Token 即將過期的時間閾值（1小時，單位：毫秒） */
-    private static final long EXPIRING_SOON_THRESHOLD = 3600000L;
+    /** 原始登入時間的聲明名稱，刷新時沿用以限制會話總長度 */
+    private static final String AUTH_TIME_CLAIM = "authTime";
     
     /** JWT 簽章密鑰，從配置文件注入 */
     @Value("${jwt.secret}")
@@ -56,6 +59,14 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long expirationTime;
     
+    /** Token 即將過期的時間閾值（預設1小時，單位：毫秒），從配置文件注入 */
+    @Value("${jwt.refresh-threshold:3600000}")
+    private long expiringSoonThreshold;
+    
+    /** 會話最長存活時間（預設7天，單位：毫秒），從配置文件注入 */
+    @Value("${jwt.max-session-age:604800000}")
+    private long maxSessionAge;
+    
     /** 加密用的密鑰物件，延遲初始化 */
     private SecretKey key;
     
@@ -84,13 +95,29 @@ public class JwtUtil {
      * @throws RuntimeException 當 Token 生成失敗時
      */
     public String generateToken(Integer userId, String phoneNumber) {
+        return generateToken(userId, phoneNumber, System.currentTimeMillis());
+    }
+    
+    /**
+     * 生成 JWT Token（指定原始登入時間）
+     * 
+     * 過期時間不超過原始登入時間加上會話最長存活時間，刷新後的 Token 也不會延長會話
+     * 
+     * @param userId 使用者唯一識別碼
+     * @param phoneNumber 使用者手機號碼
+     * @param authTime 原始登入時間（epoch 毫秒），刷新 Token 時沿用
+     * @return String 生成的 JWT Token 字串
+     * @throws RuntimeException 當 Token 生成失敗時
+     */
+    private String generateToken(Integer userId, String phoneNumber, long authTime) {
         try {
             Date now = new Date();
-            Date expiryDate = new Date(now.getTime() + expirationTime);
+            Date expiryDate = new Date(Math.min(now.getTime() + expirationTime, authTime + maxSessionAge));
             
             String token = Jwts.builder()
                     .setSubject(String.valueOf(userId))      // 設定使用者ID為主體
                     .claim("phoneNumber", phoneNumber)       // 添加手機號碼聲明
+                    .claim(AUTH_TIME_CLAIM, authTime)        // 添加原始登入時間聲明
                     .setIssuedAt(now)                       // 設定發行時間
                     .setExpiration(expiryDate)              // 設定過期時間
                     .signWith(getKey())                     // 使用密鑰簽章
@@ -211,10 +238,75 @@ public class JwtUtil {
             long timeUntilExpiration = expiration.getTime() - now.getTime();
             
             // 剩餘時間少於閾值時認為即將過期
-            return timeUntilExpiration < EXPIRING_SOON_THRESHOLD;
+            return timeUntilExpiration < expiringSoonThreshold;
         } catch (Exception e) {
             logger.error("Error checking token expiration", e);
             return false;
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 刷新 JWT Token（滑動會話）
+     * 
+     * 僅依據 Token 本身的聲明簽發新 Token，不需查詢使用者資料表，
+     * 因此可避免重新登入所需的資料庫查詢與密碼雜湊運算。
+     * - Token 必須仍然有效（簽章正確且尚未過期）
+     * - 剩餘時間尚未低於刷新閾值時，直接回傳原 Token
+     * - 自原始登入起超過會話最長存活時間時，拒絕刷新並要求重新登入
+     * - 新 Token 的過期時間不超過原始登入時間加上會話最長存活時間
+     * 
+     * @param token 目前持有的 JWT Token
+     * @return String 新的 JWT Token；尚未進入刷新區間時為原 Token
+     * @throws io.jsonwebtoken.JwtException 當 Token 無效或已過期時
+     * @throws RuntimeException 當會話已超過最長存活時間時
+     */
+    public String refreshToken(String token) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(getKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        
+        if (!isTokenExpiringSoon(token)) {
+            logger.debug("Token not yet in refresh window for user: {}", claims.getSubject());
+            return token;
+        }
+        
+        // 舊版 Token 沒有登入時間聲明時，以發行時間代替
+        long now = System.currentTimeMillis();
+        Long authTime = claims.get(AUTH_TIME_CLAIM, Long.class);
+        if (authTime == null) {
+            authTime = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : now;
+        }
+        if (now - authTime > maxSessionAge) {
+            logger.info("Session exceeded max age, refresh rejected for user: {}", claims.getSubject());
+            throw new RuntimeException("登入已超過最長有效期限，請重新登入");
+        }
+        
+        Integer userId = Integer.parseInt(claims.getSubject());
+        String refreshed = generateToken(userId, claims.get("phoneNumber", String.class), authTime);
+        logger.debug("Refreshed JWT token for user: {}", userId);
+        return refreshed;
+    }
+    
+    /**
+     * 取得 Token 的過期時間
+     * 
+     * @param token JWT Token 字串
+     * @return Date Token 過期時間
+     * @throws RuntimeException 當 Token 無效或解析失敗時
+     */
+    public Date getExpirationFromToken(String token) {
+        try {
+            return Jwts.parserBuilder()
+                    .setSigningKey(getKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody()
+                    .getExpiration();
+        } catch (Exception e) {
+            logger.error("Error extracting expiration from token", e);
+            throw new RuntimeException("Invalid token", e);
+        }
+    }
+} 
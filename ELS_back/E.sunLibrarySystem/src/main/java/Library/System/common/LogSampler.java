@@ -0,0 +1,85 @@
+/**
+ * 日誌取樣器 - 限制成功路徑的結構化日誌每秒輸出數量
+ * 
+ * 高流量時每次借書、登入都寫一筆 INFO 會讓日誌成為瓶頸，因此成功事件依事件名稱每秒最多放行
+ * logging.sampling.success-per-second 筆，其餘略過並累計次數，下一筆放行的事件會帶上
+ * sampled.suppressed 欄位，仍可從日誌推算實際流量。失敗事件不經過取樣，一律完整記錄。
+ * 
+ * 使用方式：
+ * <pre>
+ * long suppressed = logSampler.tryAcquire("borrow.success");
+ * if (suppressed >= 0) {
+ *     logger.atInfo().setMessage("借書成功")
+ *             .addKeyValue("event", "borrow.success")
+ *             .addKeyValue("userId", userId)
+ *             .addKeyValue("sampled.suppressed", suppressed)
+ *             .log();
+ * }
+ * </pre>
+ * 
+ * 配置參數：
+ * - logging.sampling.success-per-second: 每個事件每秒最多輸出筆數，負數表示不取樣
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.common;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LogSampler {
+    
+    /** 每個事件每秒最多輸出筆數，從配置文件注入 */
+    @Value("${logging.sampling.success-per-second:20}")
+    private int permitsPerSecond;
+    
+    /** 各事件目前這一秒的配額狀態 */
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    
+    /**
+     * 嘗試取得一次輸出配額
+     * 
+     * @param event 事件名稱
+     * @return long -1 表示本次應略過；否則為上次輸出後被略過的次數
+     */
+    public long tryAcquire(String event) {
+        if (permitsPerSecond < 0) {
+            return 0;
+        }
+        Window window = windows.get(event);
+        if (window == null) {
+            window = windows.computeIfAbsent(event, key -> new Window());
+        }
+        return window.tryAcquire(System.currentTimeMillis() / 1000, permitsPerSecond);
+    }
+    
+    /**
+     * 單一事件的每秒配額
+     */
+    private static final class Window {
+        
+        private long second;
+        private int used;
+        private long suppressed;
+        
+        synchronized long tryAcquire(long now, int limit) {
+            if (now != second) {
+                second = now;
+                used = 0;
+            }
+            if (used >= limit) {
+                suppressed++;
+                return -1;
+            }
+            used++;
+            long result = suppressed;
+            suppressed = 0;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/**
+ * 手機號碼布隆過濾器 - 提供「手機號碼是否已註冊」的記憶體快速判斷
+ *
+ * 此元件在記憶體中維護所有已註冊手機號碼的布隆過濾器，包含以下功能：
+ * 1. 快速否定判斷 - 「一定未註冊」時可直接略過資料庫查詢
+ * 2. 增量更新 - 每次註冊成功後加入新號碼
+ * 3. 啟動時重建 - 由 PhoneNumberFilterInitializer 串流載入 users.phone_number
+ *
+ * 特性說明：
+ * - 布隆過濾器只會有偽陽性（可能已註冊），不會有偽陰性
+ * - 偽陽性時仍會回到資料庫確認，因此結果永遠正確
+ * - 尚未完成載入前一律回報「可能存在」，確保不會誤判
+ * - 位元陣列使用 AtomicLongArray，可安全地被多執行緒同時讀寫
+ *
+ * 配置參數：
+ * - user.phone-filter.expected-insertions: 預期號碼數量（決定位元陣列大小）
+ * - user.phone-filter.false-positive-rate: 目標偽陽性率
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class PhoneNumberBloomFilter {
+
+    /** 日誌記錄器 */
+    private static final Logger logger = LoggerFactory.getLogger(PhoneNumberBloomFilter.class);
+
+    /** 預期加入的手機號碼數量，從配置文件注入 */
+    @Value("${user.phone-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    /** 目標偽陽性率，從配置文件注入 */
+    @Value("${user.phone-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /** 位元陣列，每個 long 存放 64 個位元 */
+    private AtomicLongArray bits;
+
+    /** 位元陣列的總位元數 */
+    private long bitSize;
+
+    /** 每個元素使用的雜湊函數數量 */
+    private int hashCount;
+
+    /** 已加入的元素數量（近似值，重複加入也會計算） */
+    private final LongAdder insertions = new LongAdder();
+
+    /** 是否已完成啟動時的資料載入 */
+    private volatile boolean ready = false;
+
+    /**
+     * 依據配置參數計算最佳的位元數與雜湊函數數量並配置位元陣列
+     *
+     * m = -n * ln(p) / (ln 2)^2，k = m / n * ln 2
+     */
+    @PostConstruct
+    void init() {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("user.phone-filter.expected-insertions 必須大於 0");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("user.phone-filter.false-positive-rate 必須介於 0 與 1 之間");
+        }
+
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+
+        logger.info("Phone number bloom filter allocated: {} bits ({} KB), {} hash functions, target fpp: {}",
+                   bitSize, (words * 8L) / 1024, hashCount, falsePositiveRate);
+    }
+
+    /**
+     * 將手機號碼加入過濾器
+     *
+     * @param phoneNumber 已註冊的手機號碼
+     */
+    public void put(String phoneNumber) {
+        if (phoneNumber == null) {
+            return;
+        }
+        long hash1 = murmur64(phoneNumber);
+        long hash2 = secondaryHash(hash1);
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(hash1 + i * hash2));
+        }
+        insertions.increment();
+    }
+
+    /**
+     * 判斷手機號碼是否「可能」已註冊
+     *
+     * 回傳 false 代表一定未註冊，可直接略過資料庫查詢；
+     * 回傳 true 代表可能已註冊，需要由資料庫確認。
+     *
+     * @param phoneNumber 要檢查的手機號碼
+     * @return boolean true表示可能存在，false表示一定不存在
+     */
+    public boolean mightContain(String phoneNumber) {
+        if (!ready || phoneNumber == null) {
+            return true;
+        }
+        long hash1 = murmur64(phoneNumber);
+        long hash2 = secondaryHash(hash1);
+        for (int i = 1; i <= hashCount; i++) {
+            if (!getBit(index(hash1 + i * hash2))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 標記啟動時的資料載入已完成，之後才會給出「一定不存在」的判斷
+     */
+    public void markReady() {
+        this.ready = true;
+    }
+
+    /**
+     * 是否已完成資料載入
+     *
+     * @return boolean true表示可用於快速判斷
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 取得已加入的元素數量（近似值）
+     *
+     * @return long 加入次數
+     */
+    public long getInsertionCount() {
+        return insertions.sum();
+    }
+
+    /**
+     * 依目前加入數量估算實際的偽陽性率
+     *
+     * @return double 估計偽陽性率 (1 - e^(-kn/m))^k
+     */
+    public double getExpectedFalsePositiveRate() {
+        double n = insertions.sum();
+        return Math.pow(1 - Math.exp(-hashCount * n / bitSize), hashCount);
+    }
+
+    /**
+     * 雙重雜湊 (double hashing)：以兩個雜湊值組合出 k 個索引，避免計算 k 次完整雜湊
+     */
+    private long index(long combinedHash) {
+        // 取正值避免負數索引
+        return (combinedHash & Long.MAX_VALUE) % bitSize;
+    }
+
+    /**
+     * 由主雜湊值衍生第二個雜湊值（SplitMix64 混合函數），強制為奇數以避免退化
+     */
+    private static long secondaryHash(long hash) {
+        long z = hash + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) | 1L;
+    }
+
+    private void setBit(long bitIndex) {
+        int word = (int) (bitIndex >>> 6);
+        long mask = 1L << bitIndex;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private boolean getBit(long bitIndex) {
+        return (bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) != 0;
+    }
+
+    /**
+     * MurmurHash64A 雜湊函數
+     */
+    private static long murmur64(String value) {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        long h = 0x9747b28cL ^ data.length;
+        final long m = 0xc6a4a7935bd1e995L;
+        int i = 0;
+        for (; i + 8 <= data.length; i += 8) {
+            long k = (data[i] & 0xffL)
+                    | (data[i + 1] & 0xffL) << 8
+                    | (data[i + 2] & 0xffL) << 16
+                    | (data[i + 3] & 0xffL) << 24
+                    | (data[i + 4] & 0xffL) << 32
+                    | (data[i + 5] & 0xffL) << 40
+                    | (data[i + 6] & 0xffL) << 48
+                    | (data[i + 7] & 0xffL) << 56;
+            k *= m;
+            k ^= k >>> 47;
+            k *= m;
+            h ^= k;
+            h *= m;
+        }
+        int remaining = data.length - i;
+        if (remaining > 0) {
+            for (int j = remaining - 1; j >= 0; j--) {
+                h ^= (data[i + j] & 0xffL) << (8 * j);
+            }
+            h *= m;
+        }
+        h ^= h >>> 47;
+        h *= m;
+        h ^= h >>> 47;
+        return h;
+    }
+}
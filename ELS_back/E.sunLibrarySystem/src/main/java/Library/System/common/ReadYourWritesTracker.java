@@ -0,0 +1,113 @@
+/**
+ * 讀己之寫追蹤器 - 讓剛借書或還書的使用者在短時間內讀取主資料庫
+ *
+ * 啟用唯讀副本後，唯讀交易會被路由到副本，而副本可能落後主資料庫數秒；
+ * 使用者剛借完書立刻查詢「未歸還書籍」時，可能看不到剛建立的紀錄。此元件包含以下功能：
+ * 1. 記錄寫入 - 借書、還書成功後記錄該使用者的最後寫入時間
+ * 2. 固定主庫 - 查詢前若該使用者仍在時間窗內，本次交易改走主資料庫
+ * 3. 定期清除 - 移除超過時間窗的紀錄，避免佔用記憶體
+ *
+ * 特性說明：
+ * - 固定狀態以 ThreadLocal 保存，交易結束時自動清除
+ * - 必須在交易中第一個 SQL 之前呼叫 pinIfRecentWriter（連線由 LazyConnectionDataSourceProxy 延遲取得）
+ * - 未設定 app.datasource.replica.url 時所有方法皆不做任何事
+ *
+ * 配置參數：
+ * - app.datasource.replica.read-your-writes-ms: 寫入後固定讀取主資料庫的時間窗
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.common;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class ReadYourWritesTracker {
+
+    /** 目前執行緒的交易是否固定使用主資料庫 */
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    /** 唯讀副本連線字串，未設定時不啟用 */
+    @Value("${app.datasource.replica.url:}")
+    private String replicaUrl;
+
+    /** 寫入後固定讀取主資料庫的時間窗（毫秒） */
+    @Value("${app.datasource.replica.read-your-writes-ms:10000}")
+    private long windowMillis;
+
+    /** 使用者ID → 最後寫入時間（System.nanoTime） */
+    private final ConcurrentHashMap<Integer, Long> lastWrites = new ConcurrentHashMap<>();
+
+    /**
+     * 記錄使用者剛完成寫入
+     *
+     * @param userId 使用者ID
+     */
+    public void recordWrite(Integer userId) {
+        if (isEnabled() && userId != null) {
+            lastWrites.put(userId, System.nanoTime());
+        }
+    }
+
+    /**
+     * 若使用者在時間窗內有寫入，將目前交易固定在主資料庫
+     *
+     * @param userId 使用者ID
+     */
+    public void pinIfRecentWriter(Integer userId) {
+        if (!isEnabled() || userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Long writtenAt = lastWrites.get(userId);
+        if (writtenAt == null) {
+            return;
+        }
+        if (isExpired(writtenAt, System.nanoTime())) {
+            lastWrites.remove(userId, writtenAt);
+            return;
+        }
+
+        PINNED.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PINNED.remove();
+            }
+        });
+    }
+
+    /**
+     * 目前交易是否固定使用主資料庫
+     *
+     * @return boolean true表示不可路由到副本
+     */
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * 每分鐘清除超過時間窗的寫入紀錄
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(writtenAt -> isExpired(writtenAt, now));
+    }
+
+    private boolean isEnabled() {
+        return replicaUrl != null && !replicaUrl.isBlank();
+    }
+
+    private boolean isExpired(long writtenAt, long now) {
+        return now - writtenAt > TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+}
@@ -0,0 +1,45 @@
+package Library.System.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import Library.System.service.BookPopularityService;
+
+/**
+ * 書籍熱門度初始化 - 啟動時由 book_popularity_hourly 重建最近 30 天的每小時借閱計數
+ * 
+ * 載入失敗時排行只包含啟動後的借閱次數，下次重新啟動時再重建。
+ */
+@Component
+public class BookPopularityInitializer implements CommandLineRunner {
+    
+    /** 日誌記錄器，用於記錄熱門度計數重建的過程 */
+    private static final Logger logger = LoggerFactory.getLogger(BookPopularityInitializer.class);
+    
+    @Autowired
+    private BookPopularityService bookPopularityService;
+    
+    /** 啟動工作執行器，faststart 設定檔下改在背景執行 */
+    @Autowired
+    private StartupTasks startupTasks;
+    
+    @Override
+    public void run(String... args) throws Exception {
+        startupTasks.run("book-popularity", this::rebuild);
+    }
+    
+    private void rebuild() {
+        logger.info("開始重建書籍熱門度計數...");
+        
+        try {
+            long start = System.currentTimeMillis();
+            int rows = bookPopularityService.rebuild();
+            logger.info("書籍熱門度計數重建完成 - 計數列數: {}, 耗時: {} ms", rows, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("書籍熱門度計數重建失敗，排行只包含啟動後的借閱: {}", e.getMessage(), e);
+        }
+    }
+}
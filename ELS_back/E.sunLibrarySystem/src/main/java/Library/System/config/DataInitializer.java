@@ -11,6 +11,7 @@ import org.springframework.stereotype.Component;
 
 import Library.System.entity.Book;
 import Library.System.entity.Inventory;
+import Library.System.entity.InventoryStatus;
 import Library.System.repository.BookRepository;
 import Library.System.repository.InventoryRepository;
 
@@ -26,8 +27,16 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private InventoryRepository inventoryRepository;
     
+    /** 啟動工作執行器，faststart 設定檔下改在背景執行 */
+    @Autowired
+    private StartupTasks startupTasks;
+    
     @Override
     public void run(String... args) throws Exception {
+        startupTasks.run("data-initializer", this::initializeData);
+    }
+    
+    private void initializeData() {
         logger.info("開始檢查資料初始化...");
         
         long bookCount = bookRepository.count();
@@ -70,7 +79,7 @@ public class DataInitializer implements CommandLineRunner {
                 logger.debug("成功保存書籍: ISBN: {}, 書名: {}", savedBook.getIsbn(), savedBook.getName());
                 
                 // 為每本書創建庫存項目
-                Inventory inventory = new Inventory(savedBook.getIsbn(), "Available");
+                Inventory inventory = new Inventory(savedBook.getIsbn(), InventoryStatus.AVAILABLE);
                 Inventory savedInventory = inventoryRepository.save(inventory);
                 logger.debug("成功創建庫存: 庫存ID: {}, ISBN: {}", savedInventory.getInventoryId(), savedInventory.getIsbn());
                 
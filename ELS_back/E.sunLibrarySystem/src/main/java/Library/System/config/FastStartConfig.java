@@ -0,0 +1,42 @@
+package Library.System.config;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 快速啟動設定 - spring.main.lazy-initialization=true（faststart 設定檔）時仍須立即建立的 Bean
+ *
+ * 延遲初始化只在 Bean 第一次被使用時才建立，下列 Bean 若延遲建立會失去作用，因此排除：
+ * - 含 @Scheduled 方法的 Bean：排程只在 Bean 建立時註冊，延遲建立時永遠不會執行
+ * - MeterBinder：指標在註冊中心建立時綁定，延遲建立時啟動後的指標會缺漏
+ * 其餘 Bean（控制器、服務、未使用的自動配置）延遲到第一次請求時建立。
+ */
+@Configuration
+public class FastStartConfig {
+
+    /**
+     * 延遲初始化排除條件
+     *
+     * @return LazyInitializationExcludeFilter 排程與指標 Bean 一律立即建立
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerScheduledAndMeterBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (MeterBinder.class.isAssignableFrom(beanType) || hasScheduledMethod(beanType));
+    }
+
+    private static boolean hasScheduledMethod(Class<?> beanType) {
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType, method -> found.set(true),
+                method -> !found.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+        return found.get();
+    }
+}
@@ -0,0 +1,39 @@
+package Library.System.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import Library.System.common.PhoneNumberBloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 指標配置 - 註冊業務元件的狀態量測
+ * 
+ * HTTP 請求延遲、JVM、HikariCP 連線池等指標由 Spring Boot Actuator 自動註冊，
+ * 此處只補上應用程式自身元件（如手機號碼布隆過濾器）的狀態。
+ */
+@Configuration
+public class MetricsConfig {
+    
+    /**
+     * 手機號碼布隆過濾器狀態指標
+     * 
+     * @param phoneNumberFilter 手機號碼布隆過濾器
+     * @return MeterBinder 註冊就緒狀態、加入數量與估計偽陽性率
+     */
+    @Bean
+    public MeterBinder phoneNumberFilterMetrics(PhoneNumberBloomFilter phoneNumberFilter) {
+        return registry -> {
+            Gauge.builder("library.phone_filter.ready", phoneNumberFilter, filter -> filter.isReady() ? 1 : 0)
+                    .description("手機號碼布隆過濾器是否已完成載入")
+                    .register(registry);
+            Gauge.builder("library.phone_filter.insertions", phoneNumberFilter, PhoneNumberBloomFilter::getInsertionCount)
+                    .description("手機號碼布隆過濾器已加入的號碼數量")
+                    .register(registry);
+            Gauge.builder("library.phone_filter.false_positive_rate", phoneNumberFilter, PhoneNumberBloomFilter::getExpectedFalsePositiveRate)
+                    .description("手機號碼布隆過濾器估計偽陽性率")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package Library.System.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import Library.System.dto.ApiResponse;
+import Library.System.dto.BookResponse;
+import Library.System.dto.BorrowBookRequest;
+import Library.System.dto.BorrowingResponse;
+import Library.System.dto.BorrowingStatsResponse;
+import Library.System.dto.InventoryResponse;
+import Library.System.dto.LoginRequest;
+import Library.System.dto.PopularBookResponse;
+import Library.System.dto.UserRegistrationRequest;
+import Library.System.entity.Book;
+import Library.System.entity.BookPopularityHourly;
+import Library.System.entity.BorrowingRecord;
+import Library.System.entity.BorrowingRecordArchive;
+import Library.System.entity.Inventory;
+import Library.System.entity.InventoryStatus;
+import Library.System.entity.User;
+import Library.System.entity.UserAuthorStats;
+import Library.System.entity.UserBorrowingStats;
+import Library.System.monitor.CacheRegionStats;
+import Library.System.monitor.LatencyWindowStats;
+import Library.System.monitor.SlowQueryEntry;
+import Library.System.monitor.SqlEndpointStats;
+import Library.System.service.InventoryStreamService;
+
+/**
+ * 原生映像設定 - GraalVM native-image 建置時無法由靜態分析得知的反射與資源（mvn -P native native:compile）
+ *
+ * - JSON 綁定：ApiResponse 的 data 為泛型，AOT 只看得到 ApiResponse 本身，實際放入的 DTO、直接序列化的
+ *   實體（Book、Inventory）、監控快照類別與庫存狀態串流的變更需另外登錄；由 @RegisterReflectionForBinding 產生 Jackson 所需的
+ *   建構子、getter / setter 與 @JsonValue / @JsonCreator 提示
+ * - JPA 實體：Spring 的 AOT 已依 PersistenceManagedTypes 登錄實體，此處再補上欄位與建構子，避免 Hibernate
+ *   以欄位存取時因版本差異而缺漏
+ * - JJWT 0.11：Jwts / CompressionCodecs 以類別名稱反射建立實作，Serializer / Deserializer 以 ServiceLoader 載入
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+@RegisterReflectionForBinding({
+        ApiResponse.class, BookResponse.class, BorrowBookRequest.class, BorrowingResponse.class,
+        BorrowingStatsResponse.class, InventoryResponse.class, LoginRequest.class, PopularBookResponse.class,
+        UserRegistrationRequest.class, Book.class, Inventory.class, InventoryStatus.class,
+        CacheRegionStats.class, LatencyWindowStats.class, SlowQueryEntry.class, SqlEndpointStats.class,
+        InventoryStreamService.Change.class })
+public class NativeImageConfig {
+
+    /** JPA 實體類別 */
+    static final Class<?>[] ENTITIES = { Book.class, Inventory.class, User.class, BorrowingRecord.class,
+            BorrowingRecordArchive.class, BookPopularityHourly.class, UserAuthorStats.class, UserBorrowingStats.class };
+
+    /** JJWT 以類別名稱反射建立的實作 */
+    static final String[] JJWT_REFLECTIVE_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer" };
+
+    /**
+     * 實體與 JJWT 的執行期提示
+     */
+    static class Hints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> entity : ENTITIES) {
+                hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+            for (String type : JJWT_REFLECTIVE_TYPES) {
+                hints.reflection().registerTypeIfPresent(classLoader, type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package Library.System.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import Library.System.service.UserService;
+
+/**
+ * 手機號碼布隆過濾器初始化 - 啟動時串流載入所有已註冊手機號碼
+ * 
+ * 載入失敗時過濾器維持「未就緒」狀態，註冊檢查會全部回到資料庫查詢，不影響正確性。
+ */
+@Component
+public class PhoneNumberFilterInitializer implements CommandLineRunner {
+    
+    /** 日誌記錄器，用於記錄過濾器載入的過程 */
+    private static final Logger logger = LoggerFactory.getLogger(PhoneNumberFilterInitializer.class);
+    
+    @Autowired
+    private UserService userService;
+    
+    /** 啟動工作執行器，faststart 設定檔下改在背景執行 */
+    @Autowired
+    private StartupTasks startupTasks;
+    
+    @Override
+    public void run(String... args) throws Exception {
+        startupTasks.run("phone-number-filter", this::loadFilter);
+    }
+    
+    private void loadFilter() {
+        logger.info("開始載入手機號碼布隆過濾器...");
+        
+        try {
+            long start = System.currentTimeMillis();
+            long count = userService.loadPhoneNumberFilter();
+            logger.info("手機號碼布隆過濾器載入完成 - 數量: {}, 耗時: {} ms", count, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("手機號碼布隆過濾器載入失敗，註冊檢查將直接查詢資料庫: {}", e.getMessage(), e);
+        }
+    }
+}
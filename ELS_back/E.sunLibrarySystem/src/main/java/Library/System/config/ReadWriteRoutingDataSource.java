@@ -0,0 +1,111 @@
+package Library.System.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import Library.System.common.ReadYourWritesTracker;
+import Library.System.monitor.ReplicaLagMonitor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 讀寫分離路由資料來源 - 依目前交易決定連線取自主資料庫或唯讀副本
+ *
+ * 路由規則（依序判斷）：
+ * 1. 非唯讀交易或不在交易中 → 主資料庫
+ * 2. 使用者剛寫入、交易被 ReadYourWritesTracker 固定 → 主資料庫
+ * 3. 副本不可用或延遲超過門檻 → 主資料庫
+ * 4. 其餘唯讀交易 → 副本；取得副本連線失敗時退回主資料庫並標記副本不可用
+ *
+ * 必須由 LazyConnectionDataSourceProxy 包裝：交易開始時唯讀旗標尚未設定，
+ * 延遲到第一個 SQL 才取得實際連線，路由時才看得到正確的交易屬性。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /** 主資料庫的路由鍵 */
+    static final String PRIMARY = "primary";
+
+    /** 唯讀副本的路由鍵 */
+    static final String REPLICA = "replica";
+
+    /** 日誌記錄器 */
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    /** 副本延遲監控 */
+    private final ReplicaLagMonitor lagMonitor;
+
+    /** 各路由原因的連線數：write、read、read_your_writes、replica_unavailable、replica_error */
+    private final Map<String, Counter> routedConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.routedConnections = Map.of(
+                "write", routedCounter(meterRegistry, PRIMARY, "write"),
+                "read_your_writes", routedCounter(meterRegistry, PRIMARY, "read_your_writes"),
+                "replica_unavailable", routedCounter(meterRegistry, PRIMARY, "replica_unavailable"),
+                "replica_error", routedCounter(meterRegistry, PRIMARY, "replica_error"),
+                "read", routedCounter(meterRegistry, REPLICA, "read"));
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return REPLICA.equals(route()) ? REPLICA : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String route = route();
+        if (!"read".equals(route)) {
+            routedConnections.get(route).increment();
+            return getResolvedDataSources().get(PRIMARY).getConnection();
+        }
+
+        try {
+            Connection connection = getResolvedDataSources().get(REPLICA).getConnection();
+            routedConnections.get(route).increment();
+            return connection;
+        } catch (SQLException e) {
+            logger.warn("取得唯讀副本連線失敗，改用主資料庫: {}", e.getMessage());
+            lagMonitor.markUnavailable(e.getMessage());
+            routedConnections.get("replica_error").increment();
+            return getResolvedDataSources().get(PRIMARY).getConnection();
+        }
+    }
+
+    /**
+     * 依目前交易判斷路由原因，只有 read 會路由到副本
+     */
+    private String route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return "write";
+        }
+        if (ReadYourWritesTracker.isPinnedToPrimary()) {
+            return "read_your_writes";
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            return "replica_unavailable";
+        }
+        return "read";
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("library.datasource.routed_connections")
+                .description("讀寫分離路由取得的連線數")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * 唯讀副本資料來源配置 - 將唯讀交易路由到資料庫的唯讀副本
+ *
+ * 只在設定 app.datasource.replica.url 時啟用，取代 Spring Boot 自動建立的單一連線池：
+ * 1. primaryDataSource - 主資料庫連線池，沿用 spring.datasource.* 與 spring.datasource.hikari.*
+ * 2. replicaDataSource - 唯讀副本連線池，設定於 app.datasource.replica.*（帳號密碼未設定時沿用主資料庫）
+ * 3. dataSource - LazyConnectionDataSourceProxy 包裝的 ReadWriteRoutingDataSource，供 JPA、Flyway 與 JdbcTemplate 使用
+ *
+ * 特性說明：
+ * - 兩個連線池各自由 DataSourceProxyPostProcessor 代理，SQL 統計、慢查詢與追蹤照常運作
+ * - Flyway 遷移與所有寫入交易一律使用主資料庫
+ * - 副本狀態由 ReplicaLagMonitor 定期檢查，延遲超過門檻時唯讀交易自動退回主資料庫
+ *
+ * 配置參數：
+ * - app.datasource.replica.url / username / password: 唯讀副本連線資訊
+ * - app.datasource.replica.hikari.*: 唯讀副本連線池設定
+ * - app.datasource.replica.max-lag-seconds: 可接受的最大複寫延遲
+ * - app.datasource.replica.lag-query: 在副本上執行、回傳延遲秒數的查詢（空白時只檢查連線）
+ * - app.datasource.replica.lag-check-interval-ms: 延遲檢查間隔
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import Library.System.monitor.ReplicaLagMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * 主資料庫連線池
+     *
+     * @param properties spring.datasource.* 設定
+     * @return HikariDataSource 主資料庫連線池
+     */
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * 唯讀副本連線池
+     *
+     * @param properties 主資料庫設定，提供驅動程式與預設帳號密碼
+     * @return HikariDataSource 唯讀副本連線池
+     */
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isBlank() ? properties.determineUsername() : username)
+                .password(username.isBlank() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    /**
+     * 唯讀副本延遲監控
+     *
+     * @param replica 唯讀副本連線池
+     * @return ReplicaLagMonitor 延遲監控
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag-seconds:5}") double maxLagSeconds,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLagSeconds, meterRegistry);
+    }
+
+    /**
+     * 應用程式使用的讀寫分離資料來源
+     *
+     * @return DataSource 延遲取得連線的路由資料來源
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+    }
+}
@@ -0,0 +1,46 @@
+package Library.System.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import Library.System.service.BookService;
+
+/**
+ * 二級快取預熱 - 啟動時載入所有書籍到 Book 快取區域
+ * 
+ * 目錄與借閱歷史查詢不再 JOIN 書籍，預熱後第一次請求也不需補查書籍；
+ * 載入失敗時未命中的書籍會在查詢時批次載入，不影響正確性。
+ */
+@Component
+public class SecondLevelCacheInitializer implements CommandLineRunner {
+    
+    /** 日誌記錄器，用於記錄快取預熱的過程 */
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheInitializer.class);
+    
+    @Autowired
+    private BookService bookService;
+    
+    /** 啟動工作執行器，faststart 設定檔下改在背景執行 */
+    @Autowired
+    private StartupTasks startupTasks;
+    
+    @Override
+    public void run(String... args) throws Exception {
+        startupTasks.run("second-level-cache", this::warmUp);
+    }
+    
+    private void warmUp() {
+        logger.info("開始預熱書籍二級快取...");
+        
+        try {
+            long start = System.currentTimeMillis();
+            int count = bookService.findAllBooks().size();
+            logger.info("書籍二級快取預熱完成 - 數量: {}, 耗時: {} ms", count, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("書籍二級快取預熱失敗，未命中的書籍將在查詢時載入: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -18,6 +18,9 @@
  * - /api/auth/** - 公開存取（註冊、登入）
  * - /api/books/** - 公開存取（圖書查詢）
  * - /api/borrowing/** - 公開存取（借閱功能，實際權限在業務邏輯中控制）
+ * - /api/admin/** - 僅限本機存取（效能診斷）
+ * - /actuator/health - 公開存取（健康檢查）
+ * - /actuator/prometheus - 僅限本機存取（業務指標、連線池與快取狀態、各端點延遲）
  * - 其他端點 - 需要身份驗證
  * 
  * @author MaxLin
@@ -32,6 +35,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.web.cors.CorsConfigurationSource;
 
 @Configuration
@@ -66,6 +70,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()     // 認證相關端點：允許所有人存取
                 .requestMatchers("/api/books/**").permitAll()    // 圖書查詢端點：允許所有人存取
                 .requestMatchers("/api/borrowing/**").permitAll() // 借閱相關端點：允許所有人存取（業務邏輯中會檢查 JWT）
+                .requestMatchers("/actuator/health").permitAll() // 健康檢查端點：允許所有人存取
+                .requestMatchers("/api/admin/**", "/actuator/prometheus").access( // 效能診斷與 Prometheus 抓取端點：僅限本機存取
+                        new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')"))
                 .anyRequest().authenticated()                    // 其他所有端點：需要身份驗證
             )
             
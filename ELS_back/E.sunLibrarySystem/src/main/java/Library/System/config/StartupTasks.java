@@ -0,0 +1,134 @@
+package Library.System.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 啟動工作執行器 - 執行資料初始化、快取預熱等啟動工作並記錄各工作的耗時
+ *
+ * app.startup.async-initializers=false（預設）時在呼叫端直接執行，與原本的 CommandLineRunner 相同；
+ * 為 true 時（faststart 設定檔）交由單一背景執行緒依提交順序執行，不佔用啟動的關鍵路徑，
+ * 也維持各工作之間原本的先後關係（例如庫存狀態數量在資料初始化之後載入）。
+ * 所有提交的工作都會捕捉例外，失敗只記錄日誌，與各初始化器原本的處理方式一致。
+ */
+@Component
+public class StartupTasks {
+
+    /** 日誌記錄器 */
+    private static final Logger logger = LoggerFactory.getLogger(StartupTasks.class);
+
+    /** 是否在背景執行啟動工作 */
+    @Value("${app.startup.async-initializers:false}")
+    private boolean async;
+
+    /** 工作名稱 → 耗時（毫秒），依完成順序 */
+    private final Map<String, Long> durations = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /** 尚未完成的工作數量 */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /** 背景執行緒，第一次提交時建立 */
+    private ExecutorService executor;
+
+    /** 所有已提交工作完成時的時間（毫秒），尚未完成時為 0 */
+    private volatile long completedAt;
+
+    /**
+     * 執行啟動工作
+     *
+     * @param name 工作名稱（啟動報告中顯示）
+     * @param task 工作內容
+     */
+    public void run(String name, Runnable task) {
+        pending.incrementAndGet();
+        completedAt = 0;
+        Runnable timed = () -> {
+            long start = System.currentTimeMillis();
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.error("啟動工作失敗: {}, 錯誤: {}", name, e.getMessage(), e);
+            } finally {
+                long end = System.currentTimeMillis();
+                durations.put(name, end - start);
+                if (pending.decrementAndGet() == 0) {
+                    completedAt = end;
+                }
+            }
+        };
+        if (async) {
+            executor().execute(timed);
+        } else {
+            timed.run();
+        }
+    }
+
+    /**
+     * 等待已提交的工作完成（測試與啟動報告使用）
+     *
+     * @param timeout 最長等待時間
+     * @param unit 時間單位
+     * @return boolean 是否已全部完成
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!async || pending.get() == 0) {
+            return pending.get() == 0;
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        executor().execute(latch::countDown);
+        return latch.await(timeout, unit) && pending.get() == 0;
+    }
+
+    /**
+     * 是否在背景執行啟動工作
+     * @return boolean 是否非同步
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * 查詢已完成工作的耗時
+     * @return Map 工作名稱 → 耗時（毫秒）
+     */
+    public Map<String, Long> getDurations() {
+        synchronized (durations) {
+            return new LinkedHashMap<>(durations);
+        }
+    }
+
+    /**
+     * 取得所有已提交工作完成的時間
+     * @return long epoch 毫秒，尚有工作執行中時為 0
+     */
+    public long getCompletedAt() {
+        return completedAt;
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("startup-tasks").daemon().factory());
+        }
+        return executor;
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
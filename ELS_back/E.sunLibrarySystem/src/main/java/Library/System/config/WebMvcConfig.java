@@ -0,0 +1,73 @@
+package Library.System.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import Library.System.monitor.PerfInterceptor;
+import Library.System.monitor.SqlStatementInterceptor;
+
+/**
+ * Spring MVC 配置 - 註冊效能監控用的攔截器與二進位回應格式
+ *
+ * 二進位格式：用戶端以 Accept: application/cbor 或 application/x-jackson-smile 要求時，
+ * 回應改以 CBOR / Smile 編碼（大量目錄與借閱歷史回應的體積與解析成本較低），
+ * 未指定或接受任意格式時仍以 JSON 回應。
+ *
+ * 庫存狀態串流為長連線，非同步處理期間攔截器只會執行 preHandle，因此排除在兩個攔截器之外。
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    
+    /** 庫存狀態串流端點 */
+    private static final String INVENTORY_STREAM_PATH = "/api/books/availability/stream";
+    
+    /** SQL 語句攔截器，統計每個請求的語句數量 */
+    @Autowired
+    private SqlStatementInterceptor sqlStatementInterceptor;
+    
+    /** 效能攔截器，記錄業務端點的延遲分佈 */
+    @Autowired
+    private PerfInterceptor perfInterceptor;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlStatementInterceptor).addPathPatterns("/api/**")
+                .excludePathPatterns(INVENTORY_STREAM_PATH);
+        registry.addInterceptor(perfInterceptor).addPathPatterns("/api/auth/**", "/api/books/**", "/api/borrowing/**")
+                .excludePathPatterns(INVENTORY_STREAM_PATH);
+    }
+    
+    /**
+     * CBOR 轉換器
+     *
+     * 取代 Spring MVC 預設的 CBOR 轉換器（位置在 JSON 之後），改用 Spring Boot 設定過的
+     * Jackson2ObjectMapperBuilder，日期格式與時區等 spring.jackson.* 設定與 JSON 回應一致
+     *
+     * @param builder Spring Boot 的 ObjectMapper 建構器（每次注入為新的實例）
+     * @return MappingJackson2CborHttpMessageConverter CBOR 轉換器
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+    
+    /**
+     * Smile 轉換器，設定方式同 CBOR
+     *
+     * @param builder Spring Boot 的 ObjectMapper 建構器（每次注入為新的實例）
+     * @return MappingJackson2SmileHttpMessageConverter Smile 轉換器
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
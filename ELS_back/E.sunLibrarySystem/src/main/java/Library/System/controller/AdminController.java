@@ -0,0 +1,253 @@
+/**
+ * 管理控制器 - 提供維運人員在事故期間查詢的效能診斷端點
+ * 
+ * 此控制器只允許本機存取（見 SecurityConfig），包含以下功能：
+ * 1. SQL 統計 - 各端點每次請求的平均語句數與 JDBC 耗時，用於發現 N+1 查詢
+ * 2. 延遲儀表板 - 各端點 1m / 5m / 1h 的延遲百分位數、吞吐量與錯誤率
+ * 3. 慢查詢 - 最近超過門檻的 SQL 語句、綁定參數與發出語句的 Repository 方法
+ * 4. 飛行記錄器 - 啟動、傾印與停止包含業務事件的 JFR 錄製
+ * 5. 借閱紀錄封存 - 不等排程，立即將歸還已久的借閱紀錄搬到封存表
+ * 6. 二級快取統計 - 各快取區域的命中率與自資料庫載入的實體數
+ * 7. 啟動時間報告 - 各啟動階段與第一個請求距 JVM 啟動的時間、啟動工作耗時與最慢的 Bean
+ * 
+ * API端點：
+ * - GET /api/admin/perf - 查詢各端點延遲儀表板
+ * - GET /api/admin/sql-stats - 查詢各端點 SQL 統計
+ * - POST /api/admin/sql-stats/reset - 清除 SQL 統計
+ * - GET /api/admin/slow-queries - 查詢最近的慢查詢
+ * - POST /api/admin/slow-queries/reset - 清除慢查詢紀錄
+ * - GET /api/admin/jfr - 查詢 JFR 錄製狀態
+ * - POST /api/admin/jfr/start - 啟動 JFR 錄製
+ * - POST /api/admin/jfr/dump - 傾印目前的 JFR 錄製
+ * - POST /api/admin/jfr/stop - 停止 JFR 錄製
+ * - POST /api/admin/borrowing-archive/run - 立即執行借閱紀錄封存
+ * - GET /api/admin/cache-stats - 查詢二級快取統計
+ * - GET /api/admin/startup-report - 查詢啟動時間報告
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import Library.System.dto.ApiResponse;
+import Library.System.monitor.FlightRecordingManager;
+import Library.System.monitor.LatencyWindowStats;
+import Library.System.monitor.PerfMonitor;
+import Library.System.monitor.SecondLevelCacheStats;
+import Library.System.monitor.SlowQueryEntry;
+import Library.System.monitor.SlowQueryListener;
+import Library.System.monitor.SqlEndpointStats;
+import Library.System.monitor.SqlStatementInterceptor;
+import Library.System.monitor.StartupReport;
+import Library.System.service.BorrowingArchiveService;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    
+    /** 日誌記錄器，用於記錄管理操作 */
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+    
+    /** SQL 語句攔截器，保存各端點的 SQL 統計 */
+    @Autowired
+    private SqlStatementInterceptor sqlStatementInterceptor;
+    
+    /** 效能監控器，保存各端點的延遲分佈 */
+    @Autowired
+    private PerfMonitor perfMonitor;
+    
+    /** 慢查詢監聽器，保存最近超過門檻的 SQL 語句 */
+    @Autowired
+    private SlowQueryListener slowQueryListener;
+    
+    /** 飛行記錄器管理，控制 JFR 錄製 */
+    @Autowired
+    private FlightRecordingManager flightRecordingManager;
+    
+    /** 借閱紀錄封存服務 */
+    @Autowired
+    private BorrowingArchiveService borrowingArchiveService;
+    
+    /** 二級快取統計 */
+    @Autowired
+    private SecondLevelCacheStats secondLevelCacheStats;
+    
+    /** 啟動時間報告 */
+    @Autowired
+    private StartupReport startupReport;
+    
+    /**
+     * 查詢各端點的延遲儀表板
+     * 
+     * @return ResponseEntity 端點名稱 → 視窗（1m / 5m / 1h）→ 延遲百分位數、吞吐量與錯誤率
+     */
+    @GetMapping("/perf")
+    public ResponseEntity<ApiResponse<Map<String, Map<String, LatencyWindowStats>>>> getPerf() {
+        return ResponseEntity.ok(ApiResponse.success("查詢成功", perfMonitor.getSnapshot()));
+    }
+    
+    /**
+     * 查詢各端點的 SQL 統計
+     * 
+     * @return ResponseEntity 依平均語句數由高到低排序的端點統計
+     */
+    @GetMapping("/sql-stats")
+    public ResponseEntity<ApiResponse<List<SqlEndpointStats>>> getSqlStats() {
+        return ResponseEntity.ok(ApiResponse.success("查詢成功", sqlStatementInterceptor.getEndpointStats()));
+    }
+    
+    /**
+     * 清除 SQL 統計
+     * 
+     * @return ResponseEntity 操作結果
+     */
+    @PostMapping("/sql-stats/reset")
+    public ResponseEntity<ApiResponse<Void>> resetSqlStats() {
+        sqlStatementInterceptor.reset();
+        logger.info("SQL 統計已清除");
+        return ResponseEntity.ok(ApiResponse.success("清除成功"));
+    }
+    
+    /**
+     * 查詢二級快取統計
+     * 
+     * @return ResponseEntity 實體載入次數、查詢快取命中數與各快取區域的命中率
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success("查詢成功", secondLevelCacheStats.getSnapshot()));
+    }
+    
+    /**
+     * 查詢啟動時間報告
+     * 
+     * @return ResponseEntity 各啟動階段距 JVM 啟動的毫秒數、啟動工作耗時與實例化最久的 Bean
+     */
+    @GetMapping("/startup-report")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStartupReport() {
+        return ResponseEntity.ok(ApiResponse.success("查詢成功", startupReport.getReport()));
+    }
+    
+    /**
+     * 查詢最近的慢查詢
+     * 
+     * @return ResponseEntity 由新到舊排序的慢查詢，包含 SQL、綁定參數與 Repository 方法
+     */
+    @GetMapping("/slow-queries")
+    public ResponseEntity<ApiResponse<List<SlowQueryEntry>>> getSlowQueries() {
+        return ResponseEntity.ok(ApiResponse.success("查詢成功", slowQueryListener.getRecent()));
+    }
+    
+    /**
+     * 清除慢查詢紀錄
+     * 
+     * @return ResponseEntity 操作結果
+     */
+    @PostMapping("/slow-queries/reset")
+    public ResponseEntity<ApiResponse<Void>> resetSlowQueries() {
+        slowQueryListener.reset();
+        logger.info("慢查詢紀錄已清除");
+        return ResponseEntity.ok(ApiResponse.success("清除成功"));
+    }
+    
+    /**
+     * 查詢 JFR 錄製狀態
+     * 
+     * @return ResponseEntity 錄製狀態
+     */
+    @GetMapping("/jfr")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getJfrStatus() {
+        return ResponseEntity.ok(ApiResponse.success("查詢成功", flightRecordingManager.getStatus()));
+    }
+    
+    /**
+     * 啟動 JFR 錄製
+     * 
+     * @param settings JFR 設定名稱（default / profile）
+     * @return ResponseEntity 錄製狀態
+     */
+    @PostMapping("/jfr/start")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> startJfr(@RequestParam(defaultValue = "default") String settings) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("錄製已啟動", flightRecordingManager.start(settings)));
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            logger.warn("啟動 JFR 錄製失敗: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), "JFR_ERROR"));
+        }
+    }
+    
+    /**
+     * 傾印目前的 JFR 錄製，錄製持續進行
+     * 
+     * @return ResponseEntity 傾印檔案路徑
+     */
+    @PostMapping("/jfr/dump")
+    public ResponseEntity<ApiResponse<String>> dumpJfr() {
+        try {
+            Path file = flightRecordingManager.dump();
+            return ResponseEntity.ok(ApiResponse.success("傾印成功", file.toString()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), "JFR_ERROR"));
+        } catch (IOException e) {
+            logger.error("傾印 JFR 錄製失敗: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("傾印失敗: " + e.getMessage(), "SYSTEM_ERROR"));
+        }
+    }
+    
+    /**
+     * 停止 JFR 錄製並輸出錄製檔
+     * 
+     * @return ResponseEntity 錄製檔路徑
+     */
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<ApiResponse<String>> stopJfr() {
+        try {
+            Path file = flightRecordingManager.stop();
+            return ResponseEntity.ok(ApiResponse.success("錄製已停止", file.toString()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), "JFR_ERROR"));
+        } catch (IOException e) {
+            logger.error("停止 JFR 錄製失敗: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("停止失敗: " + e.getMessage(), "SYSTEM_ERROR"));
+        }
+    }
+    
+    /**
+     * 立即執行借閱紀錄封存（與排程相同的分批與節流設定）
+     * 
+     * @return ResponseEntity 本次搬移的紀錄數
+     */
+    @PostMapping("/borrowing-archive/run")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> runBorrowingArchive() {
+        try {
+            int archived = borrowingArchiveService.archiveReturnedRecords();
+            logger.info("手動執行借閱紀錄封存完成: {} 筆", archived);
+            return ResponseEntity.ok(ApiResponse.success("封存完成", Map.of("archived", archived)));
+        } catch (IllegalStateException e) {
+            logger.warn("執行借閱紀錄封存失敗: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), "ARCHIVE_ERROR"));
+        }
+    }
+}
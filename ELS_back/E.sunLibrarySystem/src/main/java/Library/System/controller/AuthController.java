@@ -6,10 +6,13 @@
  * 2. 使用者登入 - 驗證身份並產生 JWT Token
  * 3. 輸入資料驗證 - 確保請求資料的正確性
  * 4. 錯誤處理 - 提供友善的錯誤訊息
+ * 5. Token 刷新 - 為即將過期的 Token 簽發新 Token，減少重新登入次數
  * 
  * API端點：
  * - POST /api/auth/register - 使用者註冊
  * - POST /api/auth/login - 使用者登入
+ * - POST /api/auth/refresh - 刷新 JWT Token
+ * - GET /api/auth/check-phone - 檢查手機號碼是否可註冊
  * 
  * @author MaxLin
  * @version 1.0
@@ -25,9 +28,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import Library.System.common.JwtUtil;
@@ -64,7 +70,7 @@ public class AuthController {
      */
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<Map<String, Object>>> register(@Valid @RequestBody UserRegistrationRequest request) {
-        logger.info("收到使用者註冊請求 - 手機號碼: {}, 使用者名稱: {}", 
+        logger.debug("收到使用者註冊請求 - 手機號碼: {}, 使用者名稱: {}", 
                    request.getPhoneNumber(), request.getUserName());
         
         try {
@@ -82,12 +88,12 @@ public class AuthController {
             userData.put("phoneNumber", user.getPhoneNumber());
             userData.put("registrationTime", user.getRegistrationTime());
             
-            logger.info("使用者註冊成功 - 使用者ID: {}, 手機號碼: {}", 
+            logger.debug("使用者註冊成功 - 使用者ID: {}, 手機號碼: {}", 
                        user.getUserId(), user.getPhoneNumber());
             
             return ResponseEntity.ok(ApiResponse.success("註冊成功", userData));
         } catch (RuntimeException e) {
-            logger.warn("使用者註冊失敗 - 業務邏輯錯誤: 手機號碼: {}, 錯誤: {}", 
+            logger.debug("使用者註冊失敗 - 業務邏輯錯誤: 手機號碼: {}, 錯誤: {}", 
                        request.getPhoneNumber(), e.getMessage());
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage(), "REGISTRATION_ERROR"));
@@ -109,7 +115,7 @@ public class AuthController {
      */
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<Map<String, Object>>> login(@Valid @RequestBody LoginRequest request) {
-        logger.info("收到使用者登入請求 - 手機號碼: {}", request.getPhoneNumber());
+        logger.debug("收到使用者登入請求 - 手機號碼: {}", request.getPhoneNumber());
         
         try {
             // 驗證使用者身份
@@ -126,12 +132,12 @@ public class AuthController {
             loginData.put("token", token);
             loginData.put("lastLoginTime", user.getLastLoginTime());
             
-            logger.info("使用者登入成功 - 使用者ID: {}, 手機號碼: {}", 
+            logger.debug("使用者登入成功 - 使用者ID: {}, 手機號碼: {}", 
                        user.getUserId(), user.getPhoneNumber());
             
             return ResponseEntity.ok(ApiResponse.success("登入成功", loginData));
         } catch (RuntimeException e) {
-            logger.warn("使用者登入失敗 - 業務邏輯錯誤: 手機號碼: {}, 錯誤: {}", 
+            logger.debug("使用者登入失敗 - 業務邏輯錯誤: 手機號碼: {}, 錯誤: {}", 
                        request.getPhoneNumber(), e.getMessage());
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage(), "LOGIN_ERROR"));
@@ -142,4 +148,80 @@ public class AuthController {
                     .body(ApiResponse.error("登入失敗，請稍後再試", "SYSTEM_ERROR"));
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Token 刷新 API
+     * 
+     * 為仍然有效且即將過期的 Token 簽發新 Token，只依據 Token 內容處理，
+     * 不查詢使用者資料表；尚未進入刷新區間時回傳原 Token
+     * 
+     * @param token 使用者的 JWT Token，從 Authorization header 取得
+     * @return ResponseEntity 包含新 Token 的 API 回應
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> refresh(
+            @RequestHeader(value = "Authorization", required = false) String token) {
+        logger.debug("收到 Token 刷新請求");
+        
+        if (token == null || token.trim().isEmpty()) {
+            logger.warn("Token 刷新失敗 - 缺少 Authorization header");
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.error("缺少 Authorization Token", "MISSING_TOKEN"));
+        }
+        
+        String jwtToken = token.replace("Bearer ", "");
+        if (!jwtUtil.validateToken(jwtToken)) {
+            logger.warn("Token 刷新失敗 - Token 驗證失敗");
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.error("無效的 Token", "INVALID_TOKEN"));
+        }
+        
+        try {
+            String refreshedToken = jwtUtil.refreshToken(jwtToken);
+            boolean refreshed = !refreshedToken.equals(jwtToken);
+            
+            Map<String, Object> tokenData = new HashMap<>();
+            tokenData.put("token", refreshedToken);
+            tokenData.put("refreshed", refreshed);
+            tokenData.put("expiresAt", jwtUtil.getExpirationFromToken(refreshedToken).getTime());
+            
+            logger.debug("Token 刷新完成 - 是否簽發新 Token: {}", refreshed);
+            return ResponseEntity.ok(ApiResponse.success(refreshed ? "Token 已刷新" : "Token 尚未需要刷新", tokenData));
+        } catch (RuntimeException e) {
+            logger.warn("Token 刷新失敗 - 業務邏輯錯誤: {}", e.getMessage());
+            return ResponseEntity.status(401)
+                    .body(ApiResponse.error(e.getMessage(), "REFRESH_ERROR"));
+        }
+    }
+    
+    /**
+     * 手機號碼可用性檢查 API
+     * 
+     * 供註冊表單在使用者輸入時即時檢查手機號碼是否已被註冊，
+     * 大多數未註冊的號碼可由布隆過濾器直接判定，不需查詢資料庫。
+     * 過濾器只反映本節點啟動時載入與之後在本節點註冊的號碼，其他節點剛註冊的號碼可能仍回報可用，
+     * 實際註冊時由資料庫唯一約束擋下並回應「手機號碼已註冊」
+     * 
+     * @param phoneNumber 要檢查的手機號碼
+     * @return ResponseEntity 包含是否可註冊的 API 回應
+     */
+    @GetMapping("/check-phone")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> checkPhoneNumber(@RequestParam String phoneNumber) {
+        logger.debug("收到手機號碼可用性檢查請求 - 手機號碼: {}", phoneNumber);
+        
+        try {
+            boolean registered = userService.existsByPhoneNumber(phoneNumber);
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("phoneNumber", phoneNumber);
+            result.put("available", !registered);
+            
+            return ResponseEntity.ok(ApiResponse.success("查詢成功", result));
+        } catch (Exception e) {
+            logger.error("手機號碼可用性檢查失敗 - 系統錯誤: 手機號碼: {}, 錯誤: {}", 
+                        phoneNumber, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("查詢失敗，請稍後再試", "SYSTEM_ERROR"));
+        }
+    }
+} 
@@ -6,9 +6,13 @@
  * 2. 圖書庫存資訊查詢 - 顯示圖書的可借閱狀態
  * 3. 圖書新增 - 添加新的圖書到系統中（測試功能）
  * 4. 庫存管理 - 管理圖書的庫存項目（測試功能）
+ * 5. 熱門排行 - 本週 / 本月最常借閱的圖書
+ * 6. 狀態串流 - 推送庫存的可借閱狀態變更，前端不需重新查詢整個目錄
  * 
  * API端點：
- * - GET /api/books/available - 查詢可借閱圖書
+ * - GET /api/books/available - 查詢可借閱圖書（由目錄快照回傳預先編碼的位元組）
+ * - GET /api/books/availability/stream - 訂閱庫存狀態變更（Server-Sent Events）
+ * - GET /api/books/popular - 查詢熱門圖書排行
  * - GET /api/books/{isbn} - 根據ISBN查詢圖書
  * - GET /api/books/search/name - 根據書名搜尋圖書
  * - GET /api/books/search/author - 根據作者搜尋圖書
@@ -28,21 +32,31 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import Library.System.common.LogSampler;
 import Library.System.dto.ApiResponse;
 import Library.System.dto.InventoryResponse;
+import Library.System.dto.PopularBookResponse;
 import Library.System.entity.Book;
 import Library.System.entity.Inventory;
+import Library.System.service.BookPopularityService;
 import Library.System.service.BookService;
+import Library.System.service.CatalogSnapshotService;
+import Library.System.service.InventoryStreamService;
 
 @RestController
 @RequestMapping("/api/books")
@@ -56,20 +70,50 @@ public class BookController {
     @Autowired
     private BookService bookService;
     
+    /** 書籍熱門度服務，提供最常借閱的圖書排行 */
+    @Autowired
+    private BookPopularityService bookPopularityService;
+    
+    /** 目錄快照服務，提供預先編碼的可借閱目錄 */
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+    
+    /** 庫存狀態串流服務，推送可借閱狀態變更 */
+    @Autowired
+    private InventoryStreamService inventoryStreamService;
+    
+    /** 日誌取樣器，限制目錄瀏覽成功事件的日誌輸出量 */
+    @Autowired
+    private LogSampler logSampler;
+    
     /**
      * 查詢所有可借閱的圖書（包含庫存資訊）
      * 
-     * 回傳系統中所有圖書的清單，每本書都會附帶庫存狀態資訊
+     * 回傳系統中所有圖書的清單，每本書都會附帶庫存狀態資訊。
+     * 用戶端接受 JSON 時直接回傳目錄快照的位元組（支援 gzip 與 If-None-Match），
+     * 要求其他格式（CBOR、Smile）或快照尚未建立時改走查詢
      * 
+     * @param accept Accept 標頭
+     * @param acceptEncoding Accept-Encoding 標頭
+     * @param ifNoneMatch If-None-Match 標頭
      * @return ResponseEntity 包含圖書列表的 API 回應
      */
     @GetMapping("/available")
-    public ResponseEntity<ApiResponse<List<InventoryResponse>>> getAvailableBooks() {
+    public ResponseEntity<?> getAvailableBooks(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.debug("收到查詢可借閱圖書請求");
         
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getSnapshot();
+        if (snapshot != null && prefersJson(accept)) {
+            browsed("available", snapshot.size());
+            return snapshotResponse(snapshot, acceptEncoding, ifNoneMatch);
+        }
+        
         try {
             List<InventoryResponse> books = bookService.getAllBooksWithInventory();
-            logger.info("成功查詢可借閱圖書 - 數量: {}", books.size());
+            browsed("available", books.size());
             return ResponseEntity.ok(ApiResponse.success("查詢成功", books));
         } catch (RuntimeException e) {
             logger.warn("查詢可借閱圖書失敗 - 業務邏輯錯誤: {}", e.getMessage());
@@ -82,6 +126,63 @@ public class BookController {
         }
     }
     
+    /**
+     * 訂閱庫存狀態變更
+     * 
+     * 以 Server-Sent Events 推送借書、還書與新增庫存造成的狀態變更（availability 事件），
+     * 瀏覽器重新連線時依 Last-Event-ID 補送遺漏的變更，無法補送時送出 resync 事件。
+     * 連線數已達上限時回應 503，由 Retry-After 告知用戶端稍後重試
+     * 
+     * @param lastEventId Last-Event-ID 標頭
+     * @return ResponseEntity 事件串流
+     */
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAvailability(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = inventoryStreamService.subscribe(lastEventId);
+        if (emitter == null) {
+            logger.warn("庫存狀態串流連線數已達上限 - 目前連線數: {}", inventoryStreamService.getClientCount());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        logger.debug("建立庫存狀態串流連線 - Last-Event-ID: {}", lastEventId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(emitter);
+    }
+    
+    /**
+     * 查詢熱門圖書排行
+     * 
+     * 由記憶體中的每小時借閱計數選出最常借閱的圖書，不需彙總借閱紀錄
+     * 
+     * @param period 排行期間（week 或 month）
+     * @param limit 排行筆數
+     * @return ResponseEntity 包含熱門圖書排行的 API 回應
+     */
+    @GetMapping("/popular")
+    public ResponseEntity<ApiResponse<List<PopularBookResponse>>> getPopularBooks(
+            @RequestParam(defaultValue = "week") String period,
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.debug("收到查詢熱門圖書請求 - 期間: {}, 筆數: {}", period, limit);
+        
+        try {
+            List<PopularBookResponse> books = bookPopularityService.getPopularBooks(
+                    BookPopularityService.Period.from(period), limit);
+            browsed("popular", books.size());
+            return ResponseEntity.ok(ApiResponse.success("查詢成功", books));
+        } catch (RuntimeException e) {
+            logger.warn("查詢熱門圖書失敗 - 業務邏輯錯誤: 期間: {}, 錯誤: {}", period, e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), "POPULAR_QUERY_ERROR"));
+        } catch (Exception e) {
+            logger.error("查詢熱門圖書失敗 - 系統錯誤: 期間: {}, 錯誤: {}", period, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("查詢失敗，請稍後再試", "SYSTEM_ERROR"));
+        }
+    }
+    
     /**
      * 根據 ISBN 查詢特定圖書
      * 
@@ -194,7 +295,7 @@ public class BookController {
         
         try {
             List<InventoryResponse> books = bookService.getAllBooksWithInventory();
-            logger.info("成功查詢所有圖書 - 數量: {}", books.size());
+            browsed("all", books.size());
             return ResponseEntity.ok(ApiResponse.success("查詢成功", books));
         } catch (RuntimeException e) {
             logger.warn("查詢所有圖書失敗 - 業務邏輯錯誤: {}", e.getMessage());
@@ -278,4 +379,74 @@ public class BookController {
                     .body(ApiResponse.error("添加失敗，請稍後再試", "SYSTEM_ERROR"));
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 以目錄快照建立回應；ETag 相符時回傳 304
+     */
+    private ResponseEntity<byte[]> snapshotResponse(CatalogSnapshotService.Snapshot snapshot,
+                                                    String acceptEncoding, String ifNoneMatch) {
+        if (ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(snapshot.etag()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.etag())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? snapshot.gzip() : snapshot.json());
+    }
+    
+    /**
+     * Accept 未指定，或第一個媒體類型與 JSON 相容（application/json 或接受任意格式）
+     */
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).get(0).isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Accept-Encoding 是否包含 gzip（q=0 表示拒絕）
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 記錄目錄瀏覽成功事件（依 LogSampler 取樣）
+     * 
+     * @param endpoint 查詢端點名稱
+     * @param count 回傳圖書數量
+     */
+    private void browsed(String endpoint, int count) {
+        long suppressed = logSampler.tryAcquire("catalog.browse");
+        if (suppressed >= 0) {
+            logger.atInfo().setMessage("成功查詢圖書目錄")
+                    .addKeyValue("event", "catalog.browse")
+                    .addKeyValue("endpoint", endpoint)
+                    .addKeyValue("count", count)
+                    .addKeyValue("sampled.suppressed", suppressed)
+                    .log();
+        }
+    }
+}
@@ -8,6 +8,7 @@
  * 4. 未歸還圖書查詢 - 查看使用者目前借閱中的圖書
  * 5. 可借閱圖書查詢 - 查看系統中可借閱的圖書
  * 6. 圖書可借閱狀態檢查 - 檢查特定圖書是否可借閱
+ * 7. 借閱統計 - 查看使用者的借閱次數、平均借閱時間與最常借閱的作者
  * 
  * 權限管理：
  * - 所有 API 都需要有效的 JWT Token 進行身份驗證
@@ -16,8 +17,9 @@
  * API端點：
  * - POST /api/borrowing/borrow - 借書
  * - POST /api/borrowing/return - 還書
- * - GET /api/borrowing/history - 查詢借閱歷史
+ * - GET /api/borrowing/history - 查詢借閱歷史（includeArchived=true 時包含已封存的紀錄）
  * - GET /api/borrowing/active - 查詢未歸還圖書
+ * - GET /api/borrowing/stats - 查詢借閱統計
  * - GET /api/borrowing/available-books - 查詢可借閱圖書
  * - GET /api/borrowing/check-availability/{inventoryId} - 檢查圖書可借閱狀態
  * 
@@ -42,14 +44,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import Library.System.common.JwtUtil;
 import Library.System.dto.ApiResponse;
 import Library.System.dto.BorrowBookRequest;
 import Library.System.dto.BorrowingResponse;
+import Library.System.dto.BorrowingStatsResponse;
 import Library.System.entity.BorrowingRecord;
 import Library.System.service.BorrowingService;
+import Library.System.service.BorrowingStatsService;
 
 @RestController
 @RequestMapping("/api/borrowing")
@@ -63,6 +68,10 @@ public class BorrowingController {
     @Autowired
     private BorrowingService borrowingService;
     
+    /** 借閱統計服務，提供遞增維護的使用者借閱統計 */
+    @Autowired
+    private BorrowingStatsService borrowingStatsService;
+    
     /** JWT 工具類，負責 Token 的驗證和解析 */
     @Autowired
     private JwtUtil jwtUtil;
@@ -81,19 +90,17 @@ public class BorrowingController {
             @RequestHeader(value = "Authorization", required = false) String token,
             @RequestBody BorrowBookRequest request) {
         
-        logger.info("收到借書請求 - 庫存ID: {}", request.getInventoryId());
+        logger.debug("收到借書請求 - 庫存ID: {}", request.getInventoryId());
         
         try {
             // 記錄接收到的 token（僅記錄長度，不記錄內容以保護隱私）
             if (token != null) {
                 logger.debug("收到 Authorization header，長度: {}", token.length());
-            } else {
-                logger.warn("缺少 Authorization header");
             }
             
             // 檢查 token 是否為空
             if (token == null || token.trim().isEmpty()) {
-                logger.warn("借書失敗 - Token 為空或無效");
+                unauthorized("borrow", "missing_token");
                 return ResponseEntity.status(401)
                         .body(ApiResponse.error("缺少 Authorization Token", "MISSING_TOKEN"));
             }
@@ -103,14 +110,14 @@ public class BorrowingController {
             logger.debug("處理 JWT token，長度: {}", jwtToken.length());
             
             if (!jwtUtil.validateToken(jwtToken)) {
-                logger.warn("借書失敗 - Token 驗證失敗");
+                unauthorized("borrow", "invalid_token");
                 return ResponseEntity.status(401)
                         .body(ApiResponse.error("無效的 Token", "INVALID_TOKEN"));
             }
             
             // 從 token 中獲取使用者 ID 並執行借閱
             Integer userId = jwtUtil.getUserIdFromToken(jwtToken);
-            logger.info("Token 驗證成功，使用者ID: {}", userId);
+            logger.debug("Token 驗證成功，使用者ID: {}", userId);
             
             BorrowingRecord record = borrowingService.borrowBook(userId, request.getInventoryId());
             
@@ -121,13 +128,13 @@ public class BorrowingController {
             response.put("borrowingTime", record.getBorrowingTime());
             response.put("message", "借書成功");
             
-            logger.info("借書成功 - 使用者ID: {}, 庫存ID: {}, 紀錄ID: {}", 
-                       userId, request.getInventoryId(), record.getRecordId());
+            logger.debug("借書成功 - 使用者ID: {}, 庫存ID: {}, 紀錄ID: {}", 
+                        userId, request.getInventoryId(), record.getRecordId());
             
             return ResponseEntity.ok(ApiResponse.success("借書成功", response));
             
         } catch (RuntimeException e) {
-            logger.warn("借書失敗 - 業務邏輯錯誤: {}", e.getMessage());
+            logger.debug("借書失敗 - 業務邏輯錯誤: {}", e.getMessage());
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage(), "BORROW_ERROR"));
         } catch (Exception e) {
@@ -151,7 +158,7 @@ public class BorrowingController {
             @RequestHeader("Authorization") String token,
             @RequestBody BorrowBookRequest request) {
         
-        logger.info("收到還書請求 - 庫存ID: {}", request.getInventoryId());
+        logger.debug("收到還書請求 - 庫存ID: {}", request.getInventoryId());
         
         try {
             // 移除 "Bearer " 前綴並驗證 Token
@@ -159,14 +166,14 @@ public class BorrowingController {
             logger.debug("處理還書 JWT token，長度: {}", jwtToken.length());
             
             if (!jwtUtil.validateToken(jwtToken)) {
-                logger.warn("還書失敗 - Token 驗證失敗");
+                unauthorized("return", "invalid_token");
                 return ResponseEntity.status(401)
                         .body(ApiResponse.error("無效的 Token", "INVALID_TOKEN"));
             }
             
             // 從 token 中獲取使用者 ID 並執行還書
             Integer userId = jwtUtil.getUserIdFromToken(jwtToken);
-            logger.info("還書 Token 驗證成功，使用者ID: {}", userId);
+            logger.debug("還書 Token 驗證成功，使用者ID: {}", userId);
             
             BorrowingRecord record = borrowingService.returnBook(userId, request.getInventoryId());
             
@@ -177,13 +184,13 @@ public class BorrowingController {
             response.put("returnTime", record.getReturnTime());
             response.put("message", "還書成功");
             
-            logger.info("還書成功 - 使用者ID: {}, 庫存ID: {}, 紀錄ID: {}", 
-                       userId, request.getInventoryId(), record.getRecordId());
+            logger.debug("還書成功 - 使用者ID: {}, 庫存ID: {}, 紀錄ID: {}", 
+                        userId, request.getInventoryId(), record.getRecordId());
             
             return ResponseEntity.ok(ApiResponse.success("還書成功", response));
             
         } catch (RuntimeException e) {
-            logger.warn("還書失敗 - 業務邏輯錯誤: {}", e.getMessage());
+            logger.debug("還書失敗 - 業務邏輯錯誤: {}", e.getMessage());
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage(), "RETURN_ERROR"));
         } catch (Exception e) {
@@ -196,14 +203,16 @@ public class BorrowingController {
     /**
      * 查詢借閱歷史 API
      * 
-     * 查詢使用者的所有借閱紀錄
+     * 查詢使用者的借閱紀錄；歸還已久的紀錄會被搬到封存表，需指定 includeArchived 才會一併查詢
      * 
      * @param token 使用者的 JWT Token
+     * @param includeArchived 是否包含已封存的較舊紀錄（預設 false）
      * @return ResponseEntity 包含借閱歷史的 API 回應
      */
     @GetMapping("/history")
     public ResponseEntity<ApiResponse<List<BorrowingResponse>>> getBorrowingHistory(
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         
         logger.debug("收到查詢借閱歷史請求");
         
@@ -213,7 +222,7 @@ public class BorrowingController {
             logger.debug("處理查詢歷史 JWT token，長度: {}", jwtToken.length());
             
             if (!jwtUtil.validateToken(jwtToken)) {
-                logger.warn("查詢借閱歷史失敗 - Token 驗證失敗");
+                unauthorized("history", "invalid_token");
                 return ResponseEntity.status(401)
                         .body(ApiResponse.error("無效的 Token", "INVALID_TOKEN"));
             }
@@ -222,9 +231,9 @@ public class BorrowingController {
             Integer userId = jwtUtil.getUserIdFromToken(jwtToken);
             logger.debug("查詢借閱歷史 Token 驗證成功，使用者ID: {}", userId);
             
-            List<BorrowingResponse> history = borrowingService.getUserBorrowingHistory(userId);
+            List<BorrowingResponse> history = borrowingService.getUserBorrowingHistory(userId, includeArchived);
             
-            logger.info("成功查詢借閱歷史 - 使用者ID: {}, 紀錄數量: {}", userId, history.size());
+            logger.debug("成功查詢借閱歷史 - 使用者ID: {}, 紀錄數量: {}", userId, history.size());
             
             return ResponseEntity.ok(ApiResponse.success("查詢成功", history));
             
@@ -259,7 +268,7 @@ public class BorrowingController {
             logger.debug("處理查詢未歸還圖書 JWT token，長度: {}", jwtToken.length());
             
             if (!jwtUtil.validateToken(jwtToken)) {
-                logger.warn("查詢未歸還圖書失敗 - Token 驗證失敗");
+                unauthorized("active", "invalid_token");
                 return ResponseEntity.status(401)
                         .body(ApiResponse.error("無效的 Token", "INVALID_TOKEN"));
             }
@@ -270,7 +279,7 @@ public class BorrowingController {
             
             List<BorrowingResponse> activeBorrowings = borrowingService.getUserActiveBorrowings(userId);
             
-            logger.info("成功查詢未歸還圖書 - 使用者ID: {}, 未歸還數量: {}", userId, activeBorrowings.size());
+            logger.debug("成功查詢未歸還圖書 - 使用者ID: {}, 未歸還數量: {}", userId, activeBorrowings.size());
             
             return ResponseEntity.ok(ApiResponse.success("查詢成功", activeBorrowings));
             
@@ -285,6 +294,50 @@ public class BorrowingController {
         }
     }
     
+    /**
+     * 查詢借閱統計 API
+     * 
+     * 查詢使用者的總借閱次數、借閱中數量、平均借閱時間與最常借閱的作者；
+     * 統計於借還書時遞增維護，不需彙總借閱紀錄
+     * 
+     * @param token 使用者的 JWT Token
+     * @return ResponseEntity 包含借閱統計的 API 回應
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<BorrowingStatsResponse>> getBorrowingStats(
+            @RequestHeader("Authorization") String token) {
+        
+        logger.debug("收到查詢借閱統計請求");
+        
+        try {
+            // 移除 "Bearer " 前綴並驗證 Token
+            String jwtToken = token.replace("Bearer ", "");
+            
+            if (!jwtUtil.validateToken(jwtToken)) {
+                unauthorized("stats", "invalid_token");
+                return ResponseEntity.status(401)
+                        .body(ApiResponse.error("無效的 Token", "INVALID_TOKEN"));
+            }
+            
+            // 從 token 中獲取使用者 ID 並查詢借閱統計
+            Integer userId = jwtUtil.getUserIdFromToken(jwtToken);
+            BorrowingStatsResponse stats = borrowingStatsService.getUserStats(userId);
+            
+            logger.debug("成功查詢借閱統計 - 使用者ID: {}, 總借閱次數: {}", userId, stats.getTotalLoans());
+            
+            return ResponseEntity.ok(ApiResponse.success("查詢成功", stats));
+            
+        } catch (RuntimeException e) {
+            logger.warn("查詢借閱統計失敗 - 業務邏輯錯誤: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage(), "QUERY_ERROR"));
+        } catch (Exception e) {
+            logger.error("查詢借閱統計失敗 - 系統錯誤: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("查詢失敗，請稍後再試", "SYSTEM_ERROR"));
+        }
+    }
+    
     /**
      * 查詢可借閱圖書 API
      * 
@@ -304,7 +357,7 @@ public class BorrowingController {
             response.put("books", availableBooks);
             response.put("count", availableBooks.size());
             
-            logger.info("成功查詢可借閱圖書 - 數量: {}", availableBooks.size());
+            logger.debug("成功查詢可借閱圖書 - 數量: {}", availableBooks.size());
             
             return ResponseEntity.ok(ApiResponse.success("查詢成功", response));
             
@@ -341,7 +394,7 @@ public class BorrowingController {
             response.put("isAvailable", isAvailable);
             response.put("status", isAvailable ? "可借閱" : "不可借閱");
             
-            logger.info("成功檢查圖書可借閱狀態 - 庫存ID: {}, 可借閱: {}", inventoryId, isAvailable);
+            logger.debug("成功檢查圖書可借閱狀態 - 庫存ID: {}, 可借閱: {}", inventoryId, isAvailable);
             
             return ResponseEntity.ok(ApiResponse.success("查詢成功", response));
             
@@ -355,4 +408,17 @@ public class BorrowingController {
                     .body(ApiResponse.error("查詢失敗，請稍後再試", "SYSTEM_ERROR"));
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 記錄未通過 Token 驗證的請求（失敗事件不取樣）
+     * 
+     * @param operation 操作名稱
+     * @param reason 失敗原因
+     */
+    private void unauthorized(String operation, String reason) {
+        logger.atWarn().setMessage("Token 驗證失敗")
+                .addKeyValue("event", operation + ".unauthorized")
+                .addKeyValue("reason", reason)
+                .log();
+    }
+}
@@ -0,0 +1,105 @@
+package Library.System.dto;
+
+import java.util.List;
+
+public class BorrowingStatsResponse {
+    private Integer userId;
+    private int totalLoans;
+    private int activeLoans;
+    private int returnedLoans;
+    private Long averageLoanSeconds;
+    private List<AuthorLoans> favouriteAuthors;
+
+    public BorrowingStatsResponse() {}
+
+    public BorrowingStatsResponse(Integer userId, int totalLoans, int activeLoans, int returnedLoans,
+                                  Long averageLoanSeconds, List<AuthorLoans> favouriteAuthors) {
+        this.userId = userId;
+        this.totalLoans = totalLoans;
+        this.activeLoans = activeLoans;
+        this.returnedLoans = returnedLoans;
+        this.averageLoanSeconds = averageLoanSeconds;
+        this.favouriteAuthors = favouriteAuthors;
+    }
+
+    // Getters and Setters
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public int getTotalLoans() {
+        return totalLoans;
+    }
+
+    public void setTotalLoans(int totalLoans) {
+        this.totalLoans = totalLoans;
+    }
+
+    public int getActiveLoans() {
+        return activeLoans;
+    }
+
+    public void setActiveLoans(int activeLoans) {
+        this.activeLoans = activeLoans;
+    }
+
+    public int getReturnedLoans() {
+        return returnedLoans;
+    }
+
+    public void setReturnedLoans(int returnedLoans) {
+        this.returnedLoans = returnedLoans;
+    }
+
+    /** 已歸還借閱的平均借閱秒數，尚無已歸還紀錄時為 null */
+    public Long getAverageLoanSeconds() {
+        return averageLoanSeconds;
+    }
+
+    public void setAverageLoanSeconds(Long averageLoanSeconds) {
+        this.averageLoanSeconds = averageLoanSeconds;
+    }
+
+    public List<AuthorLoans> getFavouriteAuthors() {
+        return favouriteAuthors;
+    }
+
+    public void setFavouriteAuthors(List<AuthorLoans> favouriteAuthors) {
+        this.favouriteAuthors = favouriteAuthors;
+    }
+
+    /**
+     * 作者與借閱次數
+     */
+    public static class AuthorLoans {
+        private String author;
+        private int loans;
+
+        public AuthorLoans() {}
+
+        public AuthorLoans(String author, int loans) {
+            this.author = author;
+            this.loans = loans;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public void setAuthor(String author) {
+            this.author = author;
+        }
+
+        public int getLoans() {
+            return loans;
+        }
+
+        public void setLoans(int loans) {
+            this.loans = loans;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package Library.System.dto;
+
+public class PopularBookResponse {
+    private int rank;
+    private int borrowCount;
+    private BookResponse book;
+
+    public PopularBookResponse() {}
+
+    public PopularBookResponse(int rank, int borrowCount, BookResponse book) {
+        this.rank = rank;
+        this.borrowCount = borrowCount;
+        this.book = book;
+    }
+
+    // Getters and Setters
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    /** 排行時間範圍內的借閱次數 */
+    public int getBorrowCount() {
+        return borrowCount;
+    }
+
+    public void setBorrowCount(int borrowCount) {
+        this.borrowCount = borrowCount;
+    }
+
+    public BookResponse getBook() {
+        return book;
+    }
+
+    public void setBook(BookResponse book) {
+        this.book = book;
+    }
+}
@@ -10,6 +10,9 @@
  * - 表名：books
  * - 主鍵：isbn (國際標準書號)
  * - 支援中文內容儲存
+ * - 二級快取：READ_WRITE，新增後幾乎不會變更（區域設定見 ehcache.xml）
+ * - 快取未命中時每次最多以一個 IN 查詢批次載入 100 本
+ * - 由 LAZY 關聯載入時為 Hibernate 代理物件，JSON 序列化時忽略代理的內部屬性
  * 
  * @author MaxLin
  * @version 1.0
@@ -17,6 +20,12 @@
  */
 package Library.System.entity;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -24,6 +33,9 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "books")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@BatchSize(size = 100)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Book {
     
     /** 國際標準書號，作為圖書的唯一識別碼和主鍵 */
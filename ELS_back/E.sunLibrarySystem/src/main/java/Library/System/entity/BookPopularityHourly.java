@@ -0,0 +1,113 @@
+/**
+ * 書籍每小時借閱次數實體類別 - 對應資料庫中的 book_popularity_hourly 表
+ *
+ * 此實體類別保存 BookPopularityService 記憶體計數的持久化結果，用於啟動時重建熱門排行。
+ *
+ * 資料庫對應：
+ * - 表名：book_popularity_hourly
+ * - 主鍵：(isbn, bucket_hour)
+ * - 只透過 BookPopularityHourlyRepository 的累加語句更新，不以實體寫回
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "book_popularity_hourly")
+@IdClass(BookPopularityHourly.Key.class)
+public class BookPopularityHourly {
+
+    /** 國際標準書號 */
+    @Id
+    @Column(name = "isbn", length = 13)
+    private String isbn;
+
+    /** 計數區間的起始時間（整點） */
+    @Id
+    @Column(name = "bucket_hour")
+    private LocalDateTime bucketHour;
+
+    /** 此小時內的借閱次數 */
+    @Column(name = "borrow_count")
+    private Integer borrowCount;
+
+    // Constructors
+
+    /**
+     * 預設建構子
+     */
+    public BookPopularityHourly() {}
+
+    // Getters
+
+    /**
+     * 取得 ISBN
+     * @return 國際標準書號
+     */
+    public String getIsbn() {
+        return isbn;
+    }
+
+    /**
+     * 取得計數區間的起始時間
+     * @return 整點時間
+     */
+    public LocalDateTime getBucketHour() {
+        return bucketHour;
+    }
+
+    /**
+     * 取得借閱次數
+     * @return 此小時內的借閱次數
+     */
+    public Integer getBorrowCount() {
+        return borrowCount;
+    }
+
+    /**
+     * 複合主鍵 (isbn, bucket_hour)
+     */
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String isbn;
+
+        private LocalDateTime bucketHour;
+
+        public Key() {}
+
+        public Key(String isbn, LocalDateTime bucketHour) {
+            this.isbn = isbn;
+            this.bucketHour = bucketHour;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(isbn, key.isbn) && Objects.equals(bucketHour, key.bucketHour);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(isbn, bucketHour);
+        }
+    }
+}
@@ -11,6 +11,9 @@
  * - 表名：borrowing_records
  * - 主鍵：record_id (自動遞增)
  * - 外鍵：user_id (關聯到 users 表)、inventory_id (關聯到 inventory 表)
+ * - 關聯：user、inventory 皆為 LAZY，依用途使用具名 fetch plan：
+ *   「BorrowingRecord.inventory」（借閱清單，書籍由二級快取取得）、
+ *   「BorrowingRecord.inventoryBook」（借還書結果，含庫存與書籍，不載入含密碼雜湊的使用者）
  * 
  * @author MaxLin
  * @version 1.0
@@ -30,10 +33,17 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "borrowing_records")
+@NamedEntityGraph(name = "BorrowingRecord.inventory", attributeNodes = @NamedAttributeNode("inventory"))
+@NamedEntityGraph(name = "BorrowingRecord.inventoryBook",
+        attributeNodes = @NamedAttributeNode(value = "inventory", subgraph = "inventory.book"),
+        subgraphs = @NamedSubgraph(name = "inventory.book", attributeNodes = @NamedAttributeNode("book")))
 public class BorrowingRecord {
     
     /** 借閱記錄唯一識別碼，主鍵，自動遞增 */
@@ -58,14 +68,14 @@ public class BorrowingRecord {
     @Column(name = "return_time")
     private LocalDateTime returnTime;
     
-    /** 關聯的使用者實體，避免在JSON序列化時造成循環引用 */
-    @ManyToOne(fetch = FetchType.EAGER)
+    /** 關聯的使用者實體（LAZY），避免在JSON序列化時造成循環引用 */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
     @JsonIgnore
     private User user;
     
-    /** 關聯的庫存實體，避免在JSON序列化時造成循環引用 */
-    @ManyToOne(fetch = FetchType.EAGER)
+    /** 關聯的庫存實體（LAZY），避免在JSON序列化時造成循環引用 */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "inventory_id", insertable = false, updatable = false)
     @JsonIgnore
     private Inventory inventory;
@@ -0,0 +1,196 @@
+/**
+ * 封存借閱記錄實體類別 - 對應資料庫中的 borrowing_records_archive 表
+ *
+ * 此實體類別代表已歸還且超過保留期限、由 borrowing_records 搬移過來的借閱記錄，包含以下功能：
+ * 1. 保存原始借閱記錄（沿用原本的 record_id）
+ * 2. 記錄封存時間
+ * 3. 供「包含較舊紀錄」的借閱歷史查詢使用
+ *
+ * 資料庫對應：
+ * - 表名：borrowing_records_archive
+ * - 主鍵：record_id (沿用 borrowing_records 的值，不自動遞增)
+ * - 封存表不建立外鍵，關聯只用於查詢時帶出使用者與書籍資訊；歷史查詢使用具名 fetch plan「BorrowingRecordArchive.inventory」
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.entity;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "borrowing_records_archive")
+@NamedEntityGraph(name = "BorrowingRecordArchive.inventory", attributeNodes = @NamedAttributeNode("inventory"))
+public class BorrowingRecordArchive {
+
+    /** 借閱記錄唯一識別碼，沿用原借閱記錄的主鍵 */
+    @Id
+    @Column(name = "record_id")
+    private Integer recordId;
+
+    /** 借閱者的使用者ID */
+    @Column(name = "user_id")
+    private Integer userId;
+
+    /** 被借閱圖書的庫存ID */
+    @Column(name = "inventory_id")
+    private Integer inventoryId;
+
+    /** 借閱開始時間 */
+    @Column(name = "borrowing_time")
+    private LocalDateTime borrowingTime;
+
+    /** 歸還時間（封存紀錄一定已歸還） */
+    @Column(name = "return_time")
+    private LocalDateTime returnTime;
+
+    /** 搬入封存表的時間 */
+    @Column(name = "archived_time")
+    private LocalDateTime archivedTime;
+
+    /** 關聯的使用者實體，存取時才載入 */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @JsonIgnore
+    private User user;
+
+    /** 關聯的庫存實體，歷史查詢時依 fetch plan 一併載入 */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "inventory_id", insertable = false, updatable = false)
+    @JsonIgnore
+    private Inventory inventory;
+
+    // Constructors
+
+    /**
+     * 預設建構子
+     */
+    public BorrowingRecordArchive() {}
+
+    // Getters and Setters
+
+    /**
+     * 取得借閱記錄ID
+     * @return 借閱記錄唯一識別碼
+     */
+    public Integer getRecordId() {
+        return recordId;
+    }
+
+    /**
+     * 設定借閱記錄ID
+     * @param recordId 借閱記錄唯一識別碼
+     */
+    public void setRecordId(Integer recordId) {
+        this.recordId = recordId;
+    }
+
+    /**
+     * 取得使用者ID
+     * @return 借閱者的使用者ID
+     */
+    public Integer getUserId() {
+        return userId;
+    }
+
+    /**
+     * 設定使用者ID
+     * @param userId 借閱者的使用者ID
+     */
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * 取得庫存ID
+     * @return 被借閱圖書的庫存ID
+     */
+    public Integer getInventoryId() {
+        return inventoryId;
+    }
+
+    /**
+     * 設定庫存ID
+     * @param inventoryId 被借閱圖書的庫存ID
+     */
+    public void setInventoryId(Integer inventoryId) {
+        this.inventoryId = inventoryId;
+    }
+
+    /**
+     * 取得借閱時間
+     * @return 借閱開始的時間
+     */
+    public LocalDateTime getBorrowingTime() {
+        return borrowingTime;
+    }
+
+    /**
+     * 設定借閱時間
+     * @param borrowingTime 借閱開始的時間
+     */
+    public void setBorrowingTime(LocalDateTime borrowingTime) {
+        this.borrowingTime = borrowingTime;
+    }
+
+    /**
+     * 取得歸還時間
+     * @return 歸還時間
+     */
+    public LocalDateTime getReturnTime() {
+        return returnTime;
+    }
+
+    /**
+     * 設定歸還時間
+     * @param returnTime 歸還時間
+     */
+    public void setReturnTime(LocalDateTime returnTime) {
+        this.returnTime = returnTime;
+    }
+
+    /**
+     * 取得封存時間
+     * @return 搬入封存表的時間
+     */
+    public LocalDateTime getArchivedTime() {
+        return archivedTime;
+    }
+
+    /**
+     * 設定封存時間
+     * @param archivedTime 搬入封存表的時間
+     */
+    public void setArchivedTime(LocalDateTime archivedTime) {
+        this.archivedTime = archivedTime;
+    }
+
+    /**
+     * 取得關聯的使用者實體
+     * @return 借閱者物件
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * 取得關聯的庫存實體
+     * @return 被借閱的庫存項目物件
+     */
+    public Inventory getInventory() {
+        return inventory;
+    }
+}
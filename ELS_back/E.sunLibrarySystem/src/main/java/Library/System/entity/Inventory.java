@@ -3,7 +3,7 @@
  * 
  * 此實體類別代表圖書館系統中的圖書庫存管理，包含以下功能：
  * 1. 圖書庫存項目管理（每本實體書的狀態追蹤）
- * 2. 圖書狀態管理（可借閱、已借出、遺失等）
+ * 2. 圖書狀態管理（可借閱、已借出、遺失等），狀態變更須符合 InventoryStatus 的轉換表
  * 3. 入庫時間記錄
  * 4. 與圖書實體的關聯關係
  * 
@@ -11,6 +11,12 @@
  * - 表名：inventory
  * - 主鍵：inventory_id (自動遞增)
  * - 外鍵：isbn (關聯到 books 表)
+ * - 狀態：status 為 TINYINT 代碼，由 InventoryStatusConverter 轉換
+ * - 並行控制：以 DIRTY 樂觀鎖更新，UPDATE 的 WHERE 條件帶上變更前的狀態，
+ *   狀態已被其他交易或預存程序變更時更新 0 列並拋出 OptimisticLockingFailureException
+ * - 關聯：book 為 LAZY，需要書籍資料時使用具名 fetch plan「Inventory.book」或由二級快取載入
+ * - 二級快取：NONSTRICT_READ_WRITE，存活時間短（區域設定見 ehcache.xml）；狀態也會由預存程序與其他執行個體
+ *   直接更新，快取只供顯示用的讀取，借還書以 InventoryRepository.findCurrentById 直接讀取資料庫
  * 
  * @author MaxLin
  * @version 1.0
@@ -20,6 +26,12 @@ package Library.System.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLockType;
+import org.hibernate.annotations.OptimisticLocking;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -28,10 +40,16 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "inventory")
+@NamedEntityGraph(name = "Inventory.book", attributeNodes = @NamedAttributeNode("book"))
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@DynamicUpdate
+@OptimisticLocking(type = OptimisticLockType.DIRTY)
 public class Inventory {
     
     /** 庫存項目唯一識別碼，主鍵，自動遞增 */
@@ -48,12 +66,12 @@ public class Inventory {
     @Column(name = "store_time")
     private LocalDateTime storeTime = LocalDateTime.now();
     
-    /** 圖書狀態（available-可借閱、borrowed-已借出、lost-遺失等） */
+    /** 圖書狀態（可借閱、已借出、遺失等），資料庫保存 TINYINT 代碼 */
     @Column(name = "status", nullable = false)
-    private String status;
+    private InventoryStatus status;
     
-    /** 關聯的圖書實體，透過 ISBN 建立關聯 */
-    @ManyToOne(fetch = FetchType.EAGER)
+    /** 關聯的圖書實體，透過 ISBN 建立關聯（LAZY，在交易內存取時多半由二級快取取得） */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "isbn", insertable = false, updatable = false)
     private Book book;
     
@@ -70,7 +88,7 @@ public class Inventory {
      * @param isbn 圖書ISBN
      * @param status 圖書狀態
      */
-    public Inventory(String isbn, String status) {
+    public Inventory(String isbn, InventoryStatus status) {
         this.isbn = isbn;
         this.status = status;
         this.storeTime = LocalDateTime.now();
@@ -130,16 +148,26 @@ public class Inventory {
      * 取得圖書狀態
      * @return 圖書當前狀態
      */
-    public String getStatus() {
+    public InventoryStatus getStatus() {
         return status;
     }
     
     /**
-     * 設定圖書狀態
-     * @param status 圖書當前狀態
+     * 變更圖書狀態，只允許 InventoryStatus 轉換表中列出的轉換
+     * 
+     * 此處只檢查載入時的狀態；寫入時由 DIRTY 樂觀鎖確認資料庫中的狀態仍是載入時的狀態
+     * 
+     * @param target 目標狀態
+     * @return InventoryStatus 變更前的狀態
+     * @throws IllegalStateException 不允許由目前狀態轉換到目標狀態時
      */
-    public void setStatus(String status) {
-        this.status = status;
+    public InventoryStatus transitionTo(InventoryStatus target) {
+        InventoryStatus previous = status;
+        if (!previous.canTransitionTo(target)) {
+            throw new IllegalStateException("庫存狀態不可由 " + previous + " 變更為 " + target);
+        }
+        this.status = target;
+        return previous;
     }
     
     /**
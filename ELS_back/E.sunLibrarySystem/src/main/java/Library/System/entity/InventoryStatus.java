@@ -0,0 +1,141 @@
+/**
+ * 庫存狀態列舉 - 對應 inventory.status 的 TINYINT 代碼與允許的狀態轉換
+ *
+ * 此列舉取代原本以 NVARCHAR 字串保存的狀態，包含以下功能：
+ * 1. 狀態代碼 - 資料庫只保存 1 位元組的代碼（見 V6 遷移），由 InventoryStatusConverter 轉換
+ * 2. 顯示名稱 - JSON 序列化仍輸出原本的字串（Available、Borrowed...），前端不需修改
+ * 3. 狀態轉換表 - 以 EnumMap 列出每個狀態允許轉換到的狀態，Inventory.transitionTo 依此驗證
+ *
+ * 狀態轉換：
+ * - Available → Borrowed、Processing、Lost、Damaged
+ * - Borrowed → Available、Lost、Damaged
+ * - Processing → Available、Damaged、Discarded
+ * - Lost → Available（尋回）、Discarded
+ * - Damaged → Processing（送修）、Discarded
+ * - Discarded 為終止狀態
+ *
+ * 注意：代碼已寫入資料庫與 DB/ 下的預存程序，只能新增，不可變更既有代碼
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.entity;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum InventoryStatus {
+
+    /** 可借閱 */
+    AVAILABLE(0, "Available"),
+
+    /** 已借出 */
+    BORROWED(1, "Borrowed"),
+
+    /** 處理中（上架、整理、修復） */
+    PROCESSING(2, "Processing"),
+
+    /** 遺失 */
+    LOST(3, "Lost"),
+
+    /** 損毀 */
+    DAMAGED(4, "Damaged"),
+
+    /** 已報廢 */
+    DISCARDED(5, "Discarded");
+
+    /** 依代碼索引的狀態，代碼與 ordinal 相同 */
+    private static final InventoryStatus[] BY_CODE = values();
+
+    /** 狀態轉換表：目前狀態 → 允許轉換到的狀態 */
+    private static final Map<InventoryStatus, Set<InventoryStatus>> TRANSITIONS = new EnumMap<>(InventoryStatus.class);
+
+    static {
+        TRANSITIONS.put(AVAILABLE, EnumSet.of(BORROWED, PROCESSING, LOST, DAMAGED));
+        TRANSITIONS.put(BORROWED, EnumSet.of(AVAILABLE, LOST, DAMAGED));
+        TRANSITIONS.put(PROCESSING, EnumSet.of(AVAILABLE, DAMAGED, DISCARDED));
+        TRANSITIONS.put(LOST, EnumSet.of(AVAILABLE, DISCARDED));
+        TRANSITIONS.put(DAMAGED, EnumSet.of(PROCESSING, DISCARDED));
+        TRANSITIONS.put(DISCARDED, EnumSet.noneOf(InventoryStatus.class));
+    }
+
+    /** 資料庫保存的代碼 */
+    private final byte code;
+
+    /** 顯示名稱，與舊版字串欄位的值相同 */
+    private final String label;
+
+    InventoryStatus(int code, String label) {
+        this.code = (byte) code;
+        this.label = label;
+    }
+
+    /**
+     * 取得資料庫保存的代碼
+     * @return 狀態代碼
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * 取得顯示名稱（JSON 序列化使用）
+     * @return 狀態名稱
+     */
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * 檢查是否可由目前狀態轉換到目標狀態
+     *
+     * @param target 目標狀態
+     * @return boolean 是否允許
+     */
+    public boolean canTransitionTo(InventoryStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    /**
+     * 依資料庫代碼取得狀態
+     *
+     * @param code 狀態代碼
+     * @return InventoryStatus 對應的狀態
+     * @throws IllegalArgumentException 代碼不存在時
+     */
+    public static InventoryStatus fromCode(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("未知的庫存狀態代碼: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * 依顯示名稱取得狀態（不分大小寫，JSON 反序列化使用）
+     *
+     * @param label 狀態名稱
+     * @return InventoryStatus 對應的狀態
+     * @throws IllegalArgumentException 名稱不存在時
+     */
+    @JsonCreator
+    public static InventoryStatus fromLabel(String label) {
+        for (InventoryStatus status : BY_CODE) {
+            if (status.label.equalsIgnoreCase(label)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("未知的庫存狀態: " + label);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
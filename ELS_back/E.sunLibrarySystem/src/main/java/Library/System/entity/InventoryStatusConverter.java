@@ -0,0 +1,21 @@
+package Library.System.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 庫存狀態轉換器 - InventoryStatus 與資料庫 TINYINT 代碼互相轉換
+ */
+@Converter(autoApply = true)
+public class InventoryStatusConverter implements AttributeConverter<InventoryStatus, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(InventoryStatus status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public InventoryStatus convertToEntityAttribute(Byte code) {
+        return code != null ? InventoryStatus.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * 使用者作者借閱統計實體類別 - 對應資料庫中的 user_author_stats 表
+ *
+ * 此實體類別記錄每位使用者借閱各作者書籍的次數，用於找出使用者最常借閱的作者。
+ *
+ * 資料庫對應：
+ * - 表名：user_author_stats
+ * - 主鍵：(user_id, author)
+ * - 只透過 UserAuthorStatsRepository 的遞增語句更新，不以實體寫回
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "user_author_stats")
+@IdClass(UserAuthorStats.Key.class)
+public class UserAuthorStats {
+
+    /** 使用者ID */
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    /** 作者名稱 */
+    @Id
+    @Column(name = "author")
+    private String author;
+
+    /** 借閱此作者書籍的次數 */
+    @Column(name = "loans")
+    private Integer loans;
+
+    // Constructors
+
+    /**
+     * 預設建構子
+     */
+    public UserAuthorStats() {}
+
+    // Getters
+
+    /**
+     * 取得使用者ID
+     * @return 使用者ID
+     */
+    public Integer getUserId() {
+        return userId;
+    }
+
+    /**
+     * 取得作者名稱
+     * @return 作者名稱
+     */
+    public String getAuthor() {
+        return author;
+    }
+
+    /**
+     * 取得借閱次數
+     * @return 借閱此作者書籍的次數
+     */
+    public Integer getLoans() {
+        return loans;
+    }
+
+    /**
+     * 複合主鍵 (user_id, author)
+     */
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Integer userId;
+
+        private String author;
+
+        public Key() {}
+
+        public Key(Integer userId, String author) {
+            this.userId = userId;
+            this.author = author;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(userId, key.userId) && Objects.equals(author, key.author);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, author);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * 使用者借閱統計實體類別 - 對應資料庫中的 user_borrowing_stats 表
+ *
+ * 此實體類別保存每位使用者的借閱彙總數字，由借書、還書時遞增更新，包含以下資訊：
+ * 1. 借閱次數（總數、借閱中、已歸還）
+ * 2. 已歸還借閱的累計借閱秒數（計算平均借閱時間）
+ * 3. 統計版本（每次更新加一，用於判斷記憶體中的統計是否為最新）
+ *
+ * 資料庫對應：
+ * - 表名：user_borrowing_stats
+ * - 主鍵：user_id
+ * - 只透過 UserBorrowingStatsRepository 的遞增語句更新，不以實體寫回
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "user_borrowing_stats")
+public class UserBorrowingStats {
+
+    /** 使用者ID，主鍵 */
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    /** 總借閱次數 */
+    @Column(name = "total_loans")
+    private Integer totalLoans;
+
+    /** 借閱中（未歸還）的數量 */
+    @Column(name = "active_loans")
+    private Integer activeLoans;
+
+    /** 已歸還的借閱次數 */
+    @Column(name = "returned_loans")
+    private Integer returnedLoans;
+
+    /** 已歸還借閱的累計借閱秒數 */
+    @Column(name = "total_loan_seconds")
+    private Long totalLoanSeconds;
+
+    /** 統計版本，每次更新加一 */
+    @Column(name = "stats_version")
+    private Long statsVersion;
+
+    /** 最後更新時間 */
+    @Column(name = "updated_time")
+    private LocalDateTime updatedTime;
+
+    // Constructors
+
+    /**
+     * 預設建構子
+     */
+    public UserBorrowingStats() {}
+
+    // Getters
+
+    /**
+     * 取得使用者ID
+     * @return 使用者ID
+     */
+    public Integer getUserId() {
+        return userId;
+    }
+
+    /**
+     * 取得總借閱次數
+     * @return 總借閱次數
+     */
+    public Integer getTotalLoans() {
+        return totalLoans;
+    }
+
+    /**
+     * 取得借閱中的數量
+     * @return 未歸還的借閱數量
+     */
+    public Integer getActiveLoans() {
+        return activeLoans;
+    }
+
+    /**
+     * 取得已歸還的借閱次數
+     * @return 已歸還的借閱次數
+     */
+    public Integer getReturnedLoans() {
+        return returnedLoans;
+    }
+
+    /**
+     * 取得已歸還借閱的累計借閱秒數
+     * @return 累計借閱秒數
+     */
+    public Long getTotalLoanSeconds() {
+        return totalLoanSeconds;
+    }
+
+    /**
+     * 取得統計版本
+     * @return 統計版本
+     */
+    public Long getStatsVersion() {
+        return statsVersion;
+    }
+
+    /**
+     * 取得最後更新時間
+     * @return 最後更新時間
+     */
+    public LocalDateTime getUpdatedTime() {
+        return updatedTime;
+    }
+}
@@ -0,0 +1,94 @@
+package Library.System.event;
+
+/**
+ * 借閱事件 - 借書、還書成功後由 BorrowingService 在交易中發布
+ *
+ * 監聽器在同一個交易中執行，寫入失敗時與借閱紀錄一起回滾；
+ * 只應在交易提交後生效的處理（例如更新記憶體快取）需自行註冊 afterCommit。
+ */
+public class BorrowingEvent {
+
+    /** 事件種類 */
+    public enum Type {
+        /** 借書 */
+        BORROW,
+        /** 還書 */
+        RETURN
+    }
+
+    /** 事件種類 */
+    private final Type type;
+
+    /** 使用者ID */
+    private final Integer userId;
+
+    /** 庫存ID */
+    private final Integer inventoryId;
+
+    /** 書籍 ISBN（借書事件） */
+    private final String isbn;
+
+    /** 書籍作者（借書事件，可能為 null） */
+    private final String author;
+
+    /** 借閱秒數（還書事件） */
+    private final long loanSeconds;
+
+    private BorrowingEvent(Type type, Integer userId, Integer inventoryId, String isbn, String author, long loanSeconds) {
+        this.type = type;
+        this.userId = userId;
+        this.inventoryId = inventoryId;
+        this.isbn = isbn;
+        this.author = author;
+        this.loanSeconds = loanSeconds;
+    }
+
+    /**
+     * 建立借書事件
+     *
+     * @param userId 使用者ID
+     * @param inventoryId 庫存ID
+     * @param isbn 書籍 ISBN
+     * @param author 書籍作者
+     * @return BorrowingEvent 借書事件
+     */
+    public static BorrowingEvent borrowed(Integer userId, Integer inventoryId, String isbn, String author) {
+        return new BorrowingEvent(Type.BORROW, userId, inventoryId, isbn, author, 0);
+    }
+
+    /**
+     * 建立還書事件
+     *
+     * @param userId 使用者ID
+     * @param inventoryId 庫存ID
+     * @param loanSeconds 借閱秒數
+     * @return BorrowingEvent 還書事件
+     */
+    public static BorrowingEvent returned(Integer userId, Integer inventoryId, long loanSeconds) {
+        return new BorrowingEvent(Type.RETURN, userId, inventoryId, null, null, loanSeconds);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public Integer getInventoryId() {
+        return inventoryId;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public long getLoanSeconds() {
+        return loanSeconds;
+    }
+}
@@ -0,0 +1,20 @@
+package Library.System.event;
+
+/**
+ * 目錄變更事件 - 新增書籍或庫存成功後由 BookService 在交易中發布
+ *
+ * 與 BorrowingEvent 相同，只應在交易提交後生效的處理需以 @TransactionalEventListener(AFTER_COMMIT) 監聽。
+ */
+public class CatalogChangedEvent {
+
+    /** 異動的書籍 ISBN */
+    private final String isbn;
+
+    public CatalogChangedEvent(String isbn) {
+        this.isbn = isbn;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+}
@@ -0,0 +1,46 @@
+package Library.System.event;
+
+import Library.System.entity.InventoryStatus;
+
+/**
+ * 庫存狀態變更事件 - 借書、還書、新增庫存成功後由 BorrowingService / BookService 在交易中發布
+ *
+ * 與 BorrowingEvent 相同，只應在交易提交後生效的處理需以 @TransactionalEventListener(AFTER_COMMIT) 監聽。
+ */
+public class InventoryStatusChangedEvent {
+
+    /** 庫存ID */
+    private final Integer inventoryId;
+
+    /** 書籍 ISBN */
+    private final String isbn;
+
+    /** 變更前狀態（新增庫存時為 null） */
+    private final InventoryStatus previous;
+
+    /** 變更後狀態 */
+    private final InventoryStatus current;
+
+    public InventoryStatusChangedEvent(Integer inventoryId, String isbn, InventoryStatus previous, InventoryStatus current) {
+        this.inventoryId = inventoryId;
+        this.isbn = isbn;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public Integer getInventoryId() {
+        return inventoryId;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public InventoryStatus getPrevious() {
+        return previous;
+    }
+
+    public InventoryStatus getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,49 @@
+package Library.System.monitor;
+
+/**
+ * 單一二級快取區域的統計快照 - 命中、未命中、寫入次數與目前的項目數
+ */
+public class CacheRegionStats {
+    
+    /** 區域名稱（實體類別名稱或查詢快取區域） */
+    private final String region;
+    
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    private final long elementsInMemory;
+    
+    public CacheRegionStats(String region, long hits, long misses, long puts, long elementsInMemory) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.elementsInMemory = elementsInMemory;
+    }
+    
+    public String getRegion() {
+        return region;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public long getPuts() {
+        return puts;
+    }
+    
+    /** 目前的項目數，快取提供者不支援時為 -1 */
+    public long getElementsInMemory() {
+        return elementsInMemory;
+    }
+    
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
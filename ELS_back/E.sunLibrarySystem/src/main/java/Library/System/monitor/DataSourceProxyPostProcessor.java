@@ -0,0 +1,43 @@
+package Library.System.monitor;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * 資料來源代理後處理器 - 以 datasource-proxy 包裝應用程式的 DataSource
+ * 
+ * 所有 QueryExecutionListener Bean 都會掛到代理上，JDBC 執行因此可被計數與量測。
+ * 監聽器以 ObjectProvider 延遲取得，避免後處理器提早初始化其他 Bean。
+ * 包裝其他資料來源的 Bean（如讀寫分離的 LazyConnectionDataSourceProxy）不再代理，
+ * 其目標連線池已各自被代理，避免同一條 SQL 被計算兩次。
+ */
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+    
+    /** 要掛載到代理上的查詢監聽器 */
+    private final ObjectProvider<QueryExecutionListener> listeners;
+    
+    public DataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+        this.listeners = listeners;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                && !(bean instanceof DelegatingDataSource) && !(bean instanceof AbstractRoutingDataSource)) {
+            ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+            listeners.orderedStream().forEach(builder::listener);
+            return builder.build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,134 @@
+package Library.System.monitor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 單一端點的延遲紀錄 - 以 HdrHistogram Recorder 無鎖記錄延遲，並保留最近 60 分鐘的每分鐘直方圖
+ * 
+ * 請求執行緒只會呼叫 record（Recorder 與 LongAdder 皆不配置記憶體）；
+ * 合併、換槽等需要配置記憶體的工作都在查詢與排程執行緒上完成。
+ */
+final class EndpointLatency {
+    
+    /** 環狀緩衝區的槽數，每槽一分鐘，共保留一小時 */
+    static final int SLOTS = 60;
+    
+    /** 可記錄的最大延遲（微秒），超過者以此值計 */
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    
+    /** 有效位數，2 位代表百分位數誤差在 1% 以內 */
+    static final int SIGNIFICANT_DIGITS = 2;
+    
+    /** 端點名稱，格式為「HTTP 方法 路徑樣板」 */
+    private final String name;
+    
+    /** 請求執行緒寫入的無鎖記錄器 */
+    private final Recorder recorder = new Recorder(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    
+    /** 目前尚未歸槽的 5xx 與 4xx 次數 */
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    
+    /** 每分鐘一槽的直方圖與錯誤次數（稀疏分佈使用 PackedHistogram 節省記憶體） */
+    private final PackedHistogram[] slots = new PackedHistogram[SLOTS];
+    private final long[] slotServerErrors = new long[SLOTS];
+    private final long[] slotClientErrors = new long[SLOTS];
+    
+    /** 從 Recorder 取出區間直方圖時重複使用的物件 */
+    private Histogram recycled;
+    
+    /** 目前寫入中的槽位與其開始時間 */
+    private int current;
+    private long currentSlotStartMillis;
+    
+    /** 端點第一次被記錄的時間，用於計算不足一個視窗時的實際長度 */
+    private final long createdMillis;
+    
+    EndpointLatency(String name, long nowMillis) {
+        this.name = name;
+        this.createdMillis = nowMillis;
+        this.currentSlotStartMillis = nowMillis;
+    }
+    
+    String getName() {
+        return name;
+    }
+    
+    /**
+     * 記錄一次請求（請求執行緒呼叫，不配置記憶體）
+     * 
+     * @param micros 請求耗時（微秒）
+     * @param status HTTP 狀態碼
+     */
+    void record(long micros, int status) {
+        recorder.recordValue(Math.max(1, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        }
+    }
+    
+    /**
+     * 換到下一個一分鐘槽位（排程執行緒呼叫）
+     * 
+     * @param nowMillis 目前時間
+     */
+    synchronized void rotate(long nowMillis) {
+        drain();
+        current = (current + 1) % SLOTS;
+        if (slots[current] != null) {
+            slots[current].reset();
+        }
+        slotServerErrors[current] = 0;
+        slotClientErrors[current] = 0;
+        currentSlotStartMillis = nowMillis;
+    }
+    
+    /**
+     * 計算最近幾分鐘的統計，包含目前槽位中尚未滿一分鐘的資料
+     * 
+     * @param window 視窗名稱
+     * @param minutes 視窗長度（分鐘）
+     * @param nowMillis 目前時間
+     * @return LatencyWindowStats 視窗統計
+     */
+    synchronized LatencyWindowStats window(String window, int minutes, long nowMillis) {
+        drain();
+        PackedHistogram merged = new PackedHistogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long server = 0;
+        long client = 0;
+        for (int i = 0; i < minutes; i++) {
+            int index = (current - i + SLOTS) % SLOTS;
+            if (slots[index] != null) {
+                merged.add(slots[index]);
+            }
+            server += slotServerErrors[index];
+            client += slotClientErrors[index];
+        }
+        
+        long windowMillis = TimeUnit.MINUTES.toMillis(minutes - 1) + (nowMillis - currentSlotStartMillis);
+        long elapsedMillis = Math.max(1, Math.min(windowMillis, nowMillis - createdMillis));
+        return new LatencyWindowStats(window, merged, server, client, elapsedMillis);
+    }
+    
+    /**
+     * 將 Recorder 與錯誤計數中尚未歸槽的資料併入目前槽位
+     */
+    private void drain() {
+        recycled = recorder.getIntervalHistogram(recycled);
+        if (recycled.getTotalCount() > 0) {
+            if (slots[current] == null) {
+                slots[current] = new PackedHistogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            }
+            slots[current].add(recycled);
+        }
+        slotServerErrors[current] += serverErrors.sumThenReset();
+        slotClientErrors[current] += clientErrors.sumThenReset();
+    }
+}
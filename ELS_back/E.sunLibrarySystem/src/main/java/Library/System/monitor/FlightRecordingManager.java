@@ -0,0 +1,182 @@
+/**
+ * 飛行記錄器管理 - 在執行中的應用程式上啟動、傾印與停止 JFR 錄製
+ * 
+ * 錄製內容除了 JDK 內建事件（GC、鎖競爭、執行緒、I/O）外，也包含 monitor.jfr 套件的業務事件
+ * （借書、還書、登入、目錄查詢），可在 JDK Mission Control 中以時間軸對照業務操作與 GC / 鎖事件。
+ * 同一時間只允許一個由此管理的錄製。
+ * 
+ * 配置參數：
+ * - monitor.jfr.directory: 錄製檔輸出目錄
+ * - monitor.jfr.max-age-minutes: 錄製保留的最長時間（環狀緩衝）
+ * - monitor.jfr.max-size-mb: 錄製保留的最大容量
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.monitor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import Library.System.monitor.jfr.BorrowEvent;
+import Library.System.monitor.jfr.CatalogQueryEvent;
+import Library.System.monitor.jfr.LoginEvent;
+import Library.System.monitor.jfr.ReturnEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+@Component
+public class FlightRecordingManager {
+    
+    /** 日誌記錄器，用於記錄錄製的啟動與停止 */
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingManager.class);
+    
+    /** 錄製檔名使用的時間格式 */
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    /** 業務事件類別 */
+    private static final List<Class<? extends Event>> LIBRARY_EVENTS =
+            List.of(BorrowEvent.class, ReturnEvent.class, LoginEvent.class, CatalogQueryEvent.class);
+    
+    /** 錄製檔輸出目錄 */
+    @Value("${monitor.jfr.directory:logs/jfr}")
+    private String directory;
+    
+    /** 錄製保留的最長時間（分鐘） */
+    @Value("${monitor.jfr.max-age-minutes:30}")
+    private long maxAgeMinutes;
+    
+    /** 錄製保留的最大容量（MB） */
+    @Value("${monitor.jfr.max-size-mb:250}")
+    private long maxSizeMb;
+    
+    /** 目前由此管理的錄製 */
+    private Recording recording;
+    
+    /**
+     * 啟動錄製
+     * 
+     * @param settings JFR 設定名稱：default（約 1% 開銷）或 profile（較詳細，約 2% 開銷）
+     * @return Map<String, Object> 錄製狀態
+     * @throws IllegalStateException 當已有錄製進行中時
+     * @throws IllegalArgumentException 當設定名稱不存在時
+     */
+    public synchronized Map<String, Object> start(String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("已有錄製進行中: " + recording.getName());
+        }
+        closeQuietly();
+        
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("無法載入 JFR 設定: " + settings, e);
+        }
+        
+        Recording newRecording = new Recording(configuration);
+        newRecording.setName("library-" + LocalDateTime.now().format(FILE_TIME));
+        newRecording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+        newRecording.setMaxSize(maxSizeMb * 1024 * 1024);
+        newRecording.setToDisk(true);
+        for (Class<? extends Event> eventType : LIBRARY_EVENTS) {
+            newRecording.enable(eventType).withThreshold(Duration.ZERO);
+        }
+        newRecording.start();
+        recording = newRecording;
+        
+        logger.info("JFR 錄製已啟動 - 名稱: {}, 設定: {}", newRecording.getName(), settings);
+        return getStatus();
+    }
+    
+    /**
+     * 將目前錄製的內容傾印到檔案，錄製持續進行
+     * 
+     * @return Path 傾印檔案路徑
+     * @throws IllegalStateException 當沒有錄製進行中時
+     * @throws IOException 當寫檔失敗時
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("目前沒有錄製進行中");
+        }
+        Path target = outputFile("-dump-" + LocalDateTime.now().format(FILE_TIME));
+        recording.dump(target);
+        logger.info("JFR 錄製已傾印 - 檔案: {}", target);
+        return target;
+    }
+    
+    /**
+     * 停止錄製並輸出最終的錄製檔
+     * 
+     * @return Path 錄製檔路徑
+     * @throws IllegalStateException 當沒有錄製進行中時
+     * @throws IOException 當寫檔失敗時
+     */
+    public synchronized Path stop() throws IOException {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("目前沒有錄製進行中");
+        }
+        Path target = outputFile("");
+        recording.stop();
+        recording.dump(target);
+        closeQuietly();
+        logger.info("JFR 錄製已停止 - 檔案: {}", target);
+        return target;
+    }
+    
+    /**
+     * 查詢錄製狀態
+     * 
+     * @return Map<String, Object> 狀態、名稱、開始時間、保留設定
+     */
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("name", recording.getName());
+        status.put("startTime", recording.getStartTime());
+        status.put("maxAgeMinutes", maxAgeMinutes);
+        status.put("maxSizeMb", maxSizeMb);
+        status.put("directory", Path.of(directory).toAbsolutePath().toString());
+        return status;
+    }
+    
+    @PreDestroy
+    synchronized void shutdown() {
+        closeQuietly();
+    }
+    
+    private Path outputFile(String suffix) throws IOException {
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+        return dir.resolve(recording.getName() + suffix + ".jfr").toAbsolutePath();
+    }
+    
+    private void closeQuietly() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package Library.System.monitor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import Library.System.config.StartupTasks;
+import Library.System.entity.InventoryStatus;
+import Library.System.repository.InventoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 庫存狀態計數 - 以狀態為鍵的 EnumMap 記錄各狀態的庫存數量與狀態轉換次數
+ *
+ * 啟動完成後以一次 GROUP BY 查詢載入各狀態數量，之後只在交易提交後遞增 / 遞減，不再查詢資料庫。
+ * 指標：library.inventory.status（status，目前數量）與 library.inventory.transitions（from、to，轉換次數，
+ * 只註冊轉換表允許的組合）。
+ */
+@Component
+public class InventoryStatusCounters implements MeterBinder {
+
+    /** 日誌記錄器 */
+    private static final Logger logger = LoggerFactory.getLogger(InventoryStatusCounters.class);
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private StartupTasks startupTasks;
+
+    /** 狀態 → 目前數量 */
+    private final Map<InventoryStatus, AtomicLong> counts = new EnumMap<>(InventoryStatus.class);
+
+    /** 轉換前狀態 → 轉換後狀態 → 轉換次數，bindTo 之後才有值 */
+    private final Map<InventoryStatus, Map<InventoryStatus, Counter>> transitions = new EnumMap<>(InventoryStatus.class);
+
+    public InventoryStatusCounters() {
+        for (InventoryStatus status : InventoryStatus.values()) {
+            counts.put(status, new AtomicLong());
+            transitions.put(status, new EnumMap<>(InventoryStatus.class));
+        }
+    }
+
+    /**
+     * 啟動完成後載入各狀態的數量；以啟動工作執行，背景執行時排在資料初始化之後
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        startupTasks.run("inventory-status-counts", this::reload);
+    }
+
+    /**
+     * 由資料庫重新載入各狀態的數量
+     */
+    public void reload() {
+        Map<InventoryStatus, Long> loaded = new EnumMap<>(InventoryStatus.class);
+        for (Object[] row : inventoryRepository.countByStatus()) {
+            loaded.put((InventoryStatus) row[0], (Long) row[1]);
+        }
+        counts.forEach((status, count) -> count.set(loaded.getOrDefault(status, 0L)));
+        logger.info("庫存狀態數量載入完成: {}", loaded);
+    }
+
+    /**
+     * 記錄新增的庫存（交易提交後生效）
+     *
+     * @param status 新庫存的狀態
+     */
+    public void recordCreated(InventoryStatus status) {
+        afterCommit(() -> counts.get(status).incrementAndGet());
+    }
+
+    /**
+     * 記錄庫存狀態轉換（交易提交後生效）
+     *
+     * @param from 轉換前狀態
+     * @param to 轉換後狀態
+     */
+    public void recordTransition(InventoryStatus from, InventoryStatus to) {
+        afterCommit(() -> {
+            counts.get(from).decrementAndGet();
+            counts.get(to).incrementAndGet();
+            Counter counter = transitions.get(from).get(to);
+            if (counter != null) {
+                counter.increment();
+            }
+        });
+    }
+
+    /**
+     * 查詢各狀態的目前數量
+     *
+     * @return Map 狀態 → 數量（依狀態代碼排序）
+     */
+    public Map<InventoryStatus, Long> getCounts() {
+        Map<InventoryStatus, Long> snapshot = new EnumMap<>(InventoryStatus.class);
+        counts.forEach((status, count) -> snapshot.put(status, count.get()));
+        return snapshot;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (InventoryStatus status : InventoryStatus.values()) {
+            Gauge.builder("library.inventory.status", counts.get(status), AtomicLong::get)
+                    .description("各狀態的庫存數量")
+                    .tag("status", status.getLabel())
+                    .register(registry);
+            for (InventoryStatus target : InventoryStatus.values()) {
+                if (status.canTransitionTo(target)) {
+                    transitions.get(status).put(target, Counter.builder("library.inventory.transitions")
+                            .description("庫存狀態轉換次數")
+                            .tag("from", status.getLabel())
+                            .tag("to", target.getLabel())
+                            .register(registry));
+                }
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package Library.System.monitor;
+
+import org.HdrHistogram.AbstractHistogram;
+
+/**
+ * 延遲視窗統計 - 單一端點在某個時間視窗內的延遲百分位數、吞吐量與錯誤率
+ * 
+ * 延遲單位為毫秒，吞吐量單位為每秒請求數。
+ */
+public class LatencyWindowStats {
+    
+    private final String window;
+    private final long requests;
+    private final double throughputPerSecond;
+    private final long serverErrors;
+    private final long clientErrors;
+    private final double errorRate;
+    private final double p50Ms;
+    private final double p90Ms;
+    private final double p99Ms;
+    private final double p999Ms;
+    private final double maxMs;
+    
+    LatencyWindowStats(String window, AbstractHistogram histogram, long serverErrors, long clientErrors, long elapsedMillis) {
+        this.window = window;
+        this.requests = histogram.getTotalCount();
+        this.throughputPerSecond = requests * 1000.0 / elapsedMillis;
+        this.serverErrors = serverErrors;
+        this.clientErrors = clientErrors;
+        this.errorRate = requests == 0 ? 0 : (double) (serverErrors + clientErrors) / requests;
+        this.p50Ms = toMillis(histogram.getValueAtPercentile(50));
+        this.p90Ms = toMillis(histogram.getValueAtPercentile(90));
+        this.p99Ms = toMillis(histogram.getValueAtPercentile(99));
+        this.p999Ms = toMillis(histogram.getValueAtPercentile(99.9));
+        this.maxMs = toMillis(histogram.getMaxValue());
+    }
+    
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+    
+    public String getWindow() {
+        return window;
+    }
+    
+    public long getRequests() {
+        return requests;
+    }
+    
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+    
+    public long getServerErrors() {
+        return serverErrors;
+    }
+    
+    public long getClientErrors() {
+        return clientErrors;
+    }
+    
+    public double getErrorRate() {
+        return errorRate;
+    }
+    
+    public double getP50Ms() {
+        return p50Ms;
+    }
+    
+    public double getP90Ms() {
+        return p90Ms;
+    }
+    
+    public double getP99Ms() {
+        return p99Ms;
+    }
+    
+    public double getP999Ms() {
+        return p999Ms;
+    }
+    
+    public double getMaxMs() {
+        return maxMs;
+    }
+}
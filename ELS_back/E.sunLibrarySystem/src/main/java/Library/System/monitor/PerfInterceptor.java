@@ -0,0 +1,40 @@
+package Library.System.monitor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 效能攔截器 - 量測控制器請求的延遲並交給 PerfMonitor 記錄
+ * 
+ * 開始時間存放在每個執行緒重複使用的 long[] 中，避免在請求路徑上裝箱或設定請求屬性。
+ */
+@Component
+public class PerfInterceptor implements HandlerInterceptor {
+    
+    /** 每個執行緒一個的開始時間容器 */
+    private static final ThreadLocal<long[]> START_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+    
+    /** 效能監控器 */
+    @Autowired
+    private PerfMonitor perfMonitor;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        START_NANOS.get()[0] = System.nanoTime();
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            long micros = (System.nanoTime() - START_NANOS.get()[0]) / 1000;
+            int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+            perfMonitor.record(handlerMethod, request, micros, status);
+        }
+    }
+}
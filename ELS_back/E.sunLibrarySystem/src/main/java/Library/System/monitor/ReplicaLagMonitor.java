@@ -0,0 +1,137 @@
+package Library.System.monitor;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 唯讀副本延遲監控 - 定期檢查副本是否可連線以及複寫延遲，決定唯讀交易能否路由到副本
+ *
+ * 副本無法連線、延遲查詢失敗或延遲超過門檻時標記為不可用，唯讀交易改走主資料庫；
+ * 下一次檢查恢復正常後自動切回。啟動後第一次檢查完成前一律視為不可用。
+ * 只在設定 app.datasource.replica.url 時由 ReplicaDataSourceConfig 建立。
+ */
+public class ReplicaLagMonitor {
+
+    /** 日誌記錄器 */
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /** 檢查查詢的逾時秒數 */
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    /** 唯讀副本連線池 */
+    private final DataSource replica;
+
+    /** 回傳延遲秒數的查詢，空白時只檢查連線 */
+    private final String lagQuery;
+
+    /** 可接受的最大延遲秒數 */
+    private final double maxLagSeconds;
+
+    /** 副本目前是否可用 */
+    private volatile boolean available = false;
+
+    /** 最近一次測得的延遲秒數，無法取得時為 NaN */
+    private volatile double lagSeconds = Double.NaN;
+
+    /** 是否已記錄過狀態（第一次檢查的結果一定會記錄） */
+    private boolean reported = false;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, double maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+
+        Gauge.builder("library.datasource.replica.lag", this, ReplicaLagMonitor::getLagSeconds)
+                .description("唯讀副本的複寫延遲秒數")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("library.datasource.replica.available", this, monitor -> monitor.isReplicaUsable() ? 1 : 0)
+                .description("唯讀副本是否接收唯讀交易（1 / 0）")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 檢查副本連線與延遲，間隔由 app.datasource.replica.lag-check-interval-ms 設定
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            double lag = 0;
+            if (lagQuery != null && !lagQuery.isBlank()) {
+                statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+                try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    lag = resultSet.next() ? resultSet.getDouble(1) : 0;
+                }
+            } else if (!connection.isValid(CHECK_TIMEOUT_SECONDS)) {
+                throw new SQLException("副本連線驗證失敗");
+            }
+            lagSeconds = lag;
+            if (lag > maxLagSeconds) {
+                update(false, "延遲 " + lag + " 秒超過門檻 " + maxLagSeconds + " 秒");
+            } else {
+                update(true, null);
+            }
+        } catch (SQLException e) {
+            lagSeconds = Double.NaN;
+            update(false, e.getMessage());
+        }
+    }
+
+    /**
+     * 取得副本連線失敗時立即標記為不可用，直到下一次檢查成功
+     *
+     * @param reason 失敗原因
+     */
+    public void markUnavailable(String reason) {
+        update(false, reason);
+    }
+
+    /**
+     * 唯讀交易目前是否可以路由到副本
+     *
+     * @return boolean true表示副本可用且延遲在門檻內
+     */
+    public boolean isReplicaUsable() {
+        return available;
+    }
+
+    /**
+     * 取得最近一次測得的延遲秒數
+     *
+     * @return double 延遲秒數，無法取得時為 NaN
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * 更新可用狀態，只在第一次與狀態改變時記錄日誌
+     */
+    private synchronized void update(boolean usable, String reason) {
+        if (reported && available == usable) {
+            return;
+        }
+        reported = true;
+        available = usable;
+        if (usable) {
+            logger.info("唯讀副本可用，唯讀交易改由副本處理");
+        } else {
+            logger.atWarn().setMessage("唯讀副本不可用，唯讀交易改由主資料庫處理")
+                    .addKeyValue("event", "datasource.replica.unavailable")
+                    .addKeyValue("reason", reason)
+                    .log();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package Library.System.monitor;
+
+/**
+ * Repository 呼叫上下文 - 記錄目前執行緒正在執行的 Repository 方法
+ * 
+ * 由 RepositoryCallerPostProcessor 在每次 Repository 呼叫前後設定，
+ * 讓 JDBC 層的監聽器（如 SlowQueryListener）能得知語句是由哪個 Repository 方法發出。
+ * 巢狀呼叫時以內層方法為準，離開時還原前一個值。
+ */
+public final class RepositoryCallContext {
+    
+    /** 目前執行中的 Repository 方法，格式為「介面名稱.方法名稱」 */
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    
+    private RepositoryCallContext() {
+    }
+    
+    /**
+     * 進入 Repository 方法
+     * 
+     * @param caller Repository 方法名稱
+     * @return String 進入前的值，離開時需傳回 exit()
+     */
+    static String enter(String caller) {
+        String previous = CURRENT.get();
+        CURRENT.set(caller);
+        return previous;
+    }
+    
+    /**
+     * 離開 Repository 方法並還原前一個值
+     * 
+     * @param previous enter() 回傳的值
+     */
+    static void exit(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+    
+    /**
+     * 取得目前執行中的 Repository 方法
+     * 
+     * @return String Repository 方法名稱；不在 Repository 呼叫內（例如交易提交時的 flush）則為 null
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+}
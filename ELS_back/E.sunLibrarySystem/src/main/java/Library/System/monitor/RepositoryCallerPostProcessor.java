@@ -0,0 +1,45 @@
+package Library.System.monitor;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repository 呼叫者後處理器 - 在每個 Spring Data Repository 代理上加入記錄呼叫方法的攔截器
+ * 
+ * 於 Repository FactoryBean 初始化前註冊 RepositoryFactoryCustomizer，
+ * 建立代理時加入攔截器，將「介面名稱.方法名稱」寫入 RepositoryCallContext，
+ * 並在追蹤進行中時為每次 Repository 呼叫建立一個 repository 區段。
+ */
+@Component
+public class RepositoryCallerPostProcessor implements BeanPostProcessor {
+    
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            callerInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+    
+    private static MethodInterceptor callerInterceptor(String repositoryName) {
+        return invocation -> {
+            String caller = repositoryName + "." + invocation.getMethod().getName();
+            String previous = RepositoryCallContext.enter(caller);
+            TraceSpan span = TraceContext.startSpan("repository", caller);
+            Throwable failure = null;
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                TraceContext.endSpan(span, failure);
+                RepositoryCallContext.exit(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package Library.System.monitor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 二級快取統計 - 由 Hibernate Statistics 取得各快取區域的命中率與實體載入次數
+ * 
+ * 需設定 hibernate.generate_statistics=true；未啟用時各數值皆為 0。
+ * 指標：library.cache.l2.requests（region、result=hit/miss）、library.cache.l2.puts、
+ * library.cache.l2.size（region）與 library.hibernate.entity.loads（自資料庫載入的實體數）。
+ */
+@Component
+public class SecondLevelCacheStats implements MeterBinder {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    /**
+     * 查詢目前的快取統計
+     * 
+     * @return Map 實體載入 / 擷取次數、查詢快取命中數與各區域統計
+     */
+    public Map<String, Object> getSnapshot() {
+        Statistics statistics = statistics();
+        List<CacheRegionStats> regions = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.add(new CacheRegionStats(region, regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                        regionStatistics.getPutCount(), regionStatistics.getElementCountInMemory()));
+            }
+        }
+        
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        snapshot.put("entityLoads", statistics.getEntityLoadCount());
+        snapshot.put("entityFetches", statistics.getEntityFetchCount());
+        snapshot.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        snapshot.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        snapshot.put("regions", regions);
+        return snapshot;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = statistics();
+        FunctionCounter.builder("library.hibernate.entity.loads", statistics, Statistics::getEntityLoadCount)
+                .description("自資料庫載入的實體數")
+                .register(registry);
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            FunctionCounter.builder("library.cache.l2.requests", regionStatistics, CacheRegionStatistics::getHitCount)
+                    .description("二級快取查找次數")
+                    .tag("region", region)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("library.cache.l2.requests", regionStatistics, CacheRegionStatistics::getMissCount)
+                    .description("二級快取查找次數")
+                    .tag("region", region)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("library.cache.l2.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                    .description("寫入二級快取的項目數")
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder("library.cache.l2.size", regionStatistics, CacheRegionStatistics::getElementCountInMemory)
+                    .description("二級快取區域目前的項目數")
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+    
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
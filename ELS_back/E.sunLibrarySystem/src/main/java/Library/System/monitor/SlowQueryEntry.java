@@ -0,0 +1,54 @@
+package Library.System.monitor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 慢查詢紀錄 - 單一次超過門檻的 JDBC 執行
+ * 
+ * 批次執行時 parameters 包含每一批的參數；不在 Repository 呼叫內發出的語句（例如交易提交時的 flush），
+ * caller 為 null。
+ */
+public class SlowQueryEntry {
+    
+    private final LocalDateTime time;
+    private final long elapsedMs;
+    private final String caller;
+    private final String thread;
+    private final List<String> queries;
+    private final List<List<String>> parameters;
+    
+    SlowQueryEntry(LocalDateTime time, long elapsedMs, String caller, String thread,
+                   List<String> queries, List<List<String>> parameters) {
+        this.time = time;
+        this.elapsedMs = elapsedMs;
+        this.caller = caller;
+        this.thread = thread;
+        this.queries = queries;
+        this.parameters = parameters;
+    }
+    
+    public LocalDateTime getTime() {
+        return time;
+    }
+    
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+    
+    public String getCaller() {
+        return caller;
+    }
+    
+    public String getThread() {
+        return thread;
+    }
+    
+    public List<String> getQueries() {
+        return queries;
+    }
+    
+    public List<List<String>> getParameters() {
+        return parameters;
+    }
+}
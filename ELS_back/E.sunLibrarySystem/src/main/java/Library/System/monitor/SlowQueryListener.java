@@ -0,0 +1,161 @@
+/**
+ * 慢查詢監聽器 - 記錄執行時間超過門檻的 SQL 語句、綁定參數與發出語句的 Repository 方法
+ * 
+ * 此監聽器掛在 datasource-proxy 代理上（見 DataSourceProxyPostProcessor），包含以下功能：
+ * 1. 慢查詢保存 - 只保留最近 N 筆超過門檻的執行，供 /api/admin/slow-queries 查詢
+ * 2. 呼叫者追蹤 - 由 RepositoryCallContext 取得發出語句的 Repository 方法
+ * 3. 指標輸出 - 以 library.sql.slow_queries 計時器依呼叫者輸出次數與耗時
+ * 4. 日誌 - 每筆慢查詢輸出一筆結構化 WARN 日誌
+ * 
+ * 綁定參數預設只保留型別（例如 1=?String），不保留值：登入與註冊的語句會綁定密碼雜湊、鹽值與手機號碼，
+ * 而慢查詢會保存在記憶體並由管理端點回傳。需要以實際值重現執行計畫時，再明確開啟 include-parameter-values。
+ * 
+ * 配置參數：
+ * - monitor.slow-query.threshold-ms: 慢查詢門檻（毫秒）
+ * - monitor.slow-query.capacity: 保留的慢查詢筆數
+ * - monitor.slow-query.include-parameter-values: 是否保留綁定參數的實際值（預設 false）
+ * - monitor.slow-query.max-parameter-length: 保留實際值時，單一參數值保留的最大字元數
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.monitor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+@Component
+public class SlowQueryListener implements QueryExecutionListener {
+    
+    /** 日誌記錄器，用於記錄慢查詢 */
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryListener.class);
+    
+    /** 不在 Repository 呼叫內發出的語句，指標標籤使用此值 */
+    private static final String NO_CALLER = "none";
+    
+    /** 慢查詢門檻（毫秒） */
+    @Value("${monitor.slow-query.threshold-ms:200}")
+    private long thresholdMs;
+    
+    /** 保留的慢查詢筆數 */
+    @Value("${monitor.slow-query.capacity:100}")
+    private int capacity;
+    
+    /** 是否保留綁定參數的實際值，預設只保留型別 */
+    @Value("${monitor.slow-query.include-parameter-values:false}")
+    private boolean includeParameterValues;
+    
+    /** 單一參數值保留的最大字元數 */
+    @Value("${monitor.slow-query.max-parameter-length:200}")
+    private int maxParameterLength;
+    
+    /** 指標註冊中心 */
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    /** 最近的慢查詢，最新的在最前面 */
+    private final ArrayDeque<SlowQueryEntry> recent = new ArrayDeque<>();
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed < thresholdMs) {
+            return;
+        }
+        
+        String caller = RepositoryCallContext.current();
+        List<String> queries = new ArrayList<>(queryInfoList.size());
+        List<List<String>> parameters = new ArrayList<>();
+        for (QueryInfo queryInfo : queryInfoList) {
+            queries.add(queryInfo.getQuery());
+            for (List<ParameterSetOperation> batch : queryInfo.getParametersList()) {
+                parameters.add(formatParameters(batch));
+            }
+        }
+        
+        SlowQueryEntry entry = new SlowQueryEntry(LocalDateTime.now(), elapsed, caller,
+                Thread.currentThread().getName(), queries, parameters);
+        synchronized (recent) {
+            recent.addFirst(entry);
+            while (recent.size() > capacity) {
+                recent.removeLast();
+            }
+        }
+        
+        Timer.builder("library.sql.slow_queries")
+                .description("執行時間超過門檻的 SQL 語句")
+                .tag("caller", caller == null ? NO_CALLER : caller)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.MILLISECONDS);
+        
+        logger.atWarn().setMessage("慢查詢")
+                .addKeyValue("event", "sql.slow")
+                .addKeyValue("elapsedMs", elapsed)
+                .addKeyValue("caller", caller)
+                .addKeyValue("sql", queries.size() == 1 ? queries.get(0) : queries)
+                .log();
+    }
+    
+    /**
+     * 取得最近的慢查詢
+     * 
+     * @return List<SlowQueryEntry> 由新到舊排序的慢查詢
+     */
+    public List<SlowQueryEntry> getRecent() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+    
+    /**
+     * 清除保存的慢查詢（指標不受影響）
+     */
+    public void reset() {
+        synchronized (recent) {
+            recent.clear();
+        }
+    }
+    
+    /**
+     * 將一批綁定參數格式化為「位置=值」字串，過長的值會被截斷；
+     * 未開啟 include-parameter-values 時以「位置=?型別」遮蔽實際值
+     */
+    private List<String> formatParameters(List<ParameterSetOperation> batch) {
+        List<String> formatted = new ArrayList<>(batch.size());
+        for (ParameterSetOperation operation : batch) {
+            Object[] args = operation.getArgs();
+            boolean isNull = "setNull".equals(operation.getMethod().getName()) || args.length < 2 || args[1] == null;
+            if (!includeParameterValues) {
+                formatted.add(args[0] + "=" + (isNull ? "null" : "?" + args[1].getClass().getSimpleName()));
+                continue;
+            }
+            String value = isNull ? "null" : String.valueOf(args[1]);
+            if (value.length() > maxParameterLength) {
+                value = value.substring(0, maxParameterLength) + "...";
+            }
+            formatted.add(args[0] + "=" + value);
+        }
+        return formatted;
+    }
+}
@@ -0,0 +1,326 @@
+/**
+ * 區段匯出器 - 在背景執行緒將完成的追蹤區段寫入 JSON Lines 檔案或送往 OTLP 收集器
+ * 
+ * 請求執行緒只把區段放進有界佇列，I/O 全部在背景執行緒進行，包含以下功能：
+ * 1. JSON Lines - 每個區段一行 JSON，附加寫入本機檔案，可直接以 jq 分析；
+ *    檔案超過 max-file-size-mb 時依序改名為 .1、.2 …，最多保留 max-files 個舊檔
+ * 2. OTLP/HTTP - 以 OTLP JSON 格式 POST 到相容的收集器（例如 OpenTelemetry Collector 的 /v1/traces）
+ * 3. 背壓保護 - 佇列滿時直接丟棄並累計 library.tracing.spans.dropped，不阻塞請求
+ * 
+ * 配置參數：
+ * - monitor.tracing.export.file: JSON Lines 檔案路徑，空值表示不寫檔
+ * - monitor.tracing.export.otlp-endpoint: OTLP/HTTP 端點，空值表示不送出
+ * - monitor.tracing.export.queue-size: 等待匯出的追蹤數量上限
+ * - monitor.tracing.export.max-file-size-mb: JSON Lines 檔案輪替的大小
+ * - monitor.tracing.export.max-files: 保留的已輪替檔案數量
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.monitor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class SpanExporter {
+    
+    /** 日誌記錄器，用於記錄匯出失敗 */
+    private static final Logger logger = LoggerFactory.getLogger(SpanExporter.class);
+    
+    /** 每次匯出最多合併的追蹤數量 */
+    private static final int MAX_BATCH = 256;
+    
+    /** JSON Lines 檔案路徑 */
+    @Value("${monitor.tracing.export.file:logs/traces.jsonl}")
+    private String file;
+    
+    /** OTLP/HTTP 端點 */
+    @Value("${monitor.tracing.export.otlp-endpoint:}")
+    private String otlpEndpoint;
+    
+    /** 等待匯出的追蹤數量上限 */
+    @Value("${monitor.tracing.export.queue-size:2048}")
+    private int queueSize;
+    
+    /** JSON Lines 檔案輪替的大小（MB） */
+    @Value("${monitor.tracing.export.max-file-size-mb:50}")
+    private long maxFileSizeMb;
+    
+    /** 保留的已輪替檔案數量 */
+    @Value("${monitor.tracing.export.max-files:3}")
+    private int maxFiles;
+    
+    /** 服務名稱，填入 OTLP resource 的 service.name */
+    @Value("${spring.application.name:E.sunLibrarySystem}")
+    private String serviceName;
+    
+    /** JSON 序列化 */
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /** 指標註冊中心 */
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private BlockingQueue<List<TraceSpan>> queue;
+    
+    private ObjectMapper spanMapper;
+    
+    private HttpClient httpClient;
+    
+    private Counter dropped;
+    
+    private Thread worker;
+    
+    /** 目前寫入的 JSON Lines 檔案，只由匯出執行緒使用，輪替或關閉時為 null */
+    private BufferedWriter writer;
+    
+    private volatile boolean running;
+    
+    @PostConstruct
+    void start() {
+        if (file.isBlank() && otlpEndpoint.isBlank()) {
+            logger.info("未設定追蹤匯出目的地，區段將不會被匯出");
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueSize);
+        spanMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        if (!otlpEndpoint.isBlank()) {
+            httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        }
+        dropped = Counter.builder("library.tracing.spans.dropped")
+                .description("因匯出佇列已滿而丟棄的追蹤區段")
+                .register(meterRegistry);
+        
+        running = true;
+        worker = new Thread(this::drainLoop, "span-exporter");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        worker.join(2000);
+        List<List<TraceSpan>> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        deliver(remaining);
+        closeWriter();
+    }
+    
+    /**
+     * 排入一次請求的所有區段，佇列已滿時丟棄
+     * 
+     * @param spans 同一個追蹤的區段
+     */
+    public void export(List<TraceSpan> spans) {
+        if (queue != null && !queue.offer(spans)) {
+            dropped.increment(spans.size());
+        }
+    }
+    
+    private void drainLoop() {
+        List<List<TraceSpan>> batch = new ArrayList<>(MAX_BATCH);
+        while (running) {
+            try {
+                List<TraceSpan> first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("追蹤區段匯出失敗: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void deliver(List<List<TraceSpan>> traces) {
+        if (traces.isEmpty()) {
+            return;
+        }
+        if (!file.isBlank()) {
+            writeJsonLines(traces);
+        }
+        if (httpClient != null) {
+            postOtlp(traces);
+        }
+    }
+    
+    private void writeJsonLines(List<List<TraceSpan>> traces) {
+        Path path = Path.of(file);
+        try {
+            if (writer == null) {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (List<TraceSpan> spans : traces) {
+                for (TraceSpan span : spans) {
+                    writer.write(spanMapper.writeValueAsString(span));
+                    writer.newLine();
+                }
+            }
+            writer.flush();
+            if (Files.size(path) >= maxFileSizeMb * 1024 * 1024) {
+                rotate(path);
+            }
+        } catch (IOException e) {
+            logger.warn("寫入追蹤檔案失敗 - 檔案: {}, 錯誤: {}", file, e.getMessage());
+            closeWriter();
+        }
+    }
+    
+    /**
+     * 關閉目前的檔案，將 file 改名為 file.1，原有的 file.N 改為 file.N+1，超過 max-files 的舊檔刪除
+     */
+    private void rotate(Path path) throws IOException {
+        closeWriter();
+        Files.deleteIfExists(rotated(path, maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path source = rotated(path, i);
+            if (Files.exists(source)) {
+                Files.move(source, rotated(path, i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 0) {
+            Files.move(path, rotated(path, 1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(path);
+        }
+    }
+    
+    private static Path rotated(Path path, int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+    
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("關閉追蹤檔案失敗 - 檔案: {}, 錯誤: {}", file, e.getMessage());
+        }
+        writer = null;
+    }
+    
+    private void postOtlp(List<List<TraceSpan>> traces) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(toOtlp(traces));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(otlpEndpoint))
+                    .timeout(Duration.ofSeconds(5))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 300) {
+                logger.warn("OTLP 收集器拒絕追蹤區段 - 端點: {}, 狀態碼: {}", otlpEndpoint, response.statusCode());
+            }
+        } catch (IOException e) {
+            logger.warn("送出追蹤區段失敗 - 端點: {}, 錯誤: {}", otlpEndpoint, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * 轉換為 OTLP/JSON 的 ExportTraceServiceRequest 結構
+     */
+    private Map<String, Object> toOtlp(List<List<TraceSpan>> traces) {
+        List<Map<String, Object>> otlpSpans = new ArrayList<>();
+        for (List<TraceSpan> spans : traces) {
+            for (TraceSpan span : spans) {
+                Map<String, Object> otlpSpan = new LinkedHashMap<>();
+                otlpSpan.put("traceId", span.getTraceId());
+                otlpSpan.put("spanId", span.getSpanId());
+                if (span.getParentSpanId() != null) {
+                    otlpSpan.put("parentSpanId", span.getParentSpanId());
+                }
+                otlpSpan.put("name", span.getName());
+                otlpSpan.put("kind", spanKind(span.getLayer()));
+                otlpSpan.put("startTimeUnixNano", String.valueOf(span.getStartEpochNanos()));
+                otlpSpan.put("endTimeUnixNano", String.valueOf(span.getStartEpochNanos() + span.getDurationNanos()));
+                
+                List<Map<String, Object>> attributes = new ArrayList<>();
+                attributes.add(attribute("library.layer", span.getLayer()));
+                if (span.getAttributes() != null) {
+                    span.getAttributes().forEach((key, value) -> attributes.add(attribute(key, value)));
+                }
+                otlpSpan.put("attributes", attributes);
+                if (span.getError() != null) {
+                    otlpSpan.put("status", Map.of("code", 2, "message", span.getError()));
+                }
+                otlpSpans.add(otlpSpan);
+            }
+        }
+        
+        Map<String, Object> resource = Map.of("attributes", List.of(attribute("service.name", serviceName)));
+        Map<String, Object> scopeSpans = Map.of("scope", Map.of("name", "Library.System.monitor"), "spans", otlpSpans);
+        return Map.of("resourceSpans", List.of(Map.of("resource", resource, "scopeSpans", List.of(scopeSpans))));
+    }
+    
+    /**
+     * 區段種類：HTTP 根區段為 SERVER(2)，SQL 為 CLIENT(3)，其餘為 INTERNAL(1)
+     */
+    private static int spanKind(String layer) {
+        return switch (layer) {
+            case "http" -> 2;
+            case "sql" -> 3;
+            default -> 1;
+        };
+    }
+    
+    private static Map<String, Object> attribute(String key, Object value) {
+        Map<String, Object> anyValue = value instanceof Number number && !(value instanceof Double || value instanceof Float)
+                ? Map.of("intValue", String.valueOf(number.longValue()))
+                : Map.of("stringValue", String.valueOf(value));
+        return Map.of("key", key, "value", anyValue);
+    }
+}
@@ -0,0 +1,60 @@
+package Library.System.monitor;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 單一端點的 SQL 統計 - 累計請求數、語句數與 JDBC 耗時，可被多執行緒同時更新
+ */
+public class SqlEndpointStats {
+    
+    /** 端點名稱，格式為「HTTP 方法 路徑樣板」 */
+    private final String endpoint;
+    
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder jdbcMillis = new LongAdder();
+    private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+    
+    public SqlEndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    /**
+     * 累計一次請求的統計結果
+     * 
+     * @param snapshot 請求的 SQL 統計
+     */
+    void record(SqlStatementCounter.Snapshot snapshot) {
+        requests.increment();
+        statements.add(snapshot.getStatements());
+        jdbcMillis.add(snapshot.getJdbcMillis());
+        maxStatements.accumulate(snapshot.getStatements());
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    public long getRequests() {
+        return requests.sum();
+    }
+    
+    public long getTotalStatements() {
+        return statements.sum();
+    }
+    
+    public long getMaxStatements() {
+        return maxStatements.get();
+    }
+    
+    public double getAvgStatements() {
+        long count = requests.sum();
+        return count == 0 ? 0 : (double) statements.sum() / count;
+    }
+    
+    public double getAvgJdbcMillis() {
+        long count = requests.sum();
+        return count == 0 ? 0 : (double) jdbcMillis.sum() / count;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * SQL 語句計數器 - 以執行緒為單位統計一段工作中發出的 SQL 語句數量與 JDBC 耗時
+ * 
+ * 此類別是 N+1 查詢偵測的核心，包含以下功能：
+ * 1. 請求層級統計 - 由 SqlStatementInterceptor 在每個 HTTP 請求開始時啟動、結束時收集
+ * 2. 測試斷言 - 整合測試可直接包住一段程式碼，計算其發出的語句數量
+ * 3. 語句分類 - 依 SELECT / INSERT / UPDATE / DELETE 分別計數
+ * 
+ * 使用方式：
+ * <pre>
+ * SqlStatementCounter.start();
+ * try {
+ *     ... // 執行資料存取
+ * } finally {
+ *     SqlStatementCounter.Snapshot snapshot = SqlStatementCounter.stop();
+ * }
+ * </pre>
+ * 
+ * 特性說明：
+ * - 未呼叫 start 的執行緒不會被統計，記錄成本僅為一次 ThreadLocal 查詢
+ * - 語句由 SqlStatementListener 透過 datasource-proxy 回報，批次執行時每條語句各計一次
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.monitor;
+
+import java.util.Locale;
+
+public final class SqlStatementCounter {
+    
+    /** 目前執行緒的統計資料，null 表示未啟動統計 */
+    private static final ThreadLocal<Snapshot> CURRENT = new ThreadLocal<>();
+    
+    private SqlStatementCounter() {
+    }
+    
+    /**
+     * 在目前執行緒開始統計（已在統計中時會重新歸零）
+     */
+    public static void start() {
+        CURRENT.set(new Snapshot());
+    }
+    
+    /**
+     * 結束目前執行緒的統計並取得結果
+     * 
+     * @return Snapshot 統計結果，未啟動統計時回傳 null
+     */
+    public static Snapshot stop() {
+        Snapshot snapshot = CURRENT.get();
+        CURRENT.remove();
+        return snapshot;
+    }
+    
+    /**
+     * 取得目前執行緒進行中的統計
+     * 
+     * @return Snapshot 統計結果，未啟動統計時回傳 null
+     */
+    public static Snapshot current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * 記錄一次 JDBC 執行
+     * 
+     * @param sql 執行的 SQL 語句
+     * @param elapsedMillis 此次執行的耗時（毫秒），批次執行時只計入第一條語句
+     */
+    static void record(String sql, long elapsedMillis) {
+        Snapshot snapshot = CURRENT.get();
+        if (snapshot != null) {
+            snapshot.add(sql, elapsedMillis);
+        }
+    }
+    
+    /**
+     * 單一執行緒的 SQL 統計結果
+     */
+    public static final class Snapshot {
+        
+        private int statements;
+        private int selects;
+        private int inserts;
+        private int updates;
+        private int deletes;
+        private long jdbcMillis;
+        
+        private void add(String sql, long elapsedMillis) {
+            statements++;
+            jdbcMillis += elapsedMillis;
+            
+            String keyword = firstKeyword(sql);
+            switch (keyword) {
+                case "select", "with" -> selects++;
+                case "insert" -> inserts++;
+                case "update", "merge" -> updates++;
+                case "delete" -> deletes++;
+                default -> { }
+            }
+        }
+        
+        private static String firstKeyword(String sql) {
+            if (sql == null) {
+                return "";
+            }
+            String trimmed = sql.stripLeading();
+            int end = 0;
+            while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+                end++;
+            }
+            return trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        }
+        
+        /** @return int 語句總數 */
+        public int getStatements() {
+            return statements;
+        }
+        
+        /** @return int SELECT 語句數量 */
+        public int getSelects() {
+            return selects;
+        }
+        
+        /** @return int INSERT 語句數量 */
+        public int getInserts() {
+            return inserts;
+        }
+        
+        /** @return int UPDATE 語句數量 */
+        public int getUpdates() {
+            return updates;
+        }
+        
+        /** @return int DELETE 語句數量 */
+        public int getDeletes() {
+            return deletes;
+        }
+        
+        /** @return long JDBC 執行總耗時（毫秒） */
+        public long getJdbcMillis() {
+            return jdbcMillis;
+        }
+        
+        @Override
+        public String toString() {
+            return "statements=" + statements + " (select=" + selects + ", insert=" + inserts
+                    + ", update=" + updates + ", delete=" + deletes + "), jdbc=" + jdbcMillis + "ms";
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * SQL 語句攔截器 - 統計每個 HTTP 請求發出的 SQL 語句數量與 JDBC 耗時
+ * 
+ * 此攔截器負責 N+1 查詢的線上偵測，包含以下功能：
+ * 1. 請求統計 - 請求開始時啟動 SqlStatementCounter，完成時收集結果
+ * 2. 超標警告 - 語句數或 JDBC 耗時超過門檻時記錄警告日誌
+ * 3. 端點平均 - 依「HTTP 方法 路徑樣板」累計平均語句數，供 /api/admin/sql-stats 查詢
+ * 4. 指標輸出 - 以 library.sql.statements 分佈摘要輸出到 Micrometer
+ * 
+ * 配置參數：
+ * - monitor.sql.sample-rate: 取樣比例（0~1），正式環境可調低以減少開銷
+ * - monitor.sql.statement-threshold: 單一請求的語句數警告門檻
+ * - monitor.sql.time-threshold-ms: 單一請求的 JDBC 耗時警告門檻
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.monitor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class SqlStatementInterceptor implements HandlerInterceptor {
+    
+    /** 日誌記錄器，用於記錄語句數超標的請求 */
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementInterceptor.class);
+    
+    /** 取樣比例，1.0 表示統計所有請求 */
+    @Value("${monitor.sql.sample-rate:1.0}")
+    private double sampleRate;
+    
+    /** 單一請求的語句數警告門檻 */
+    @Value("${monitor.sql.statement-threshold:10}")
+    private int statementThreshold;
+    
+    /** 單一請求的 JDBC 耗時警告門檻（毫秒） */
+    @Value("${monitor.sql.time-threshold-ms:500}")
+    private long timeThresholdMs;
+    
+    /** 指標註冊中心 */
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    /** 各端點的累計統計 */
+    private final ConcurrentHashMap<String, SqlEndpointStats> endpointStats = new ConcurrentHashMap<>();
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            SqlStatementCounter.start();
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlStatementCounter.Snapshot snapshot = SqlStatementCounter.stop();
+        if (snapshot == null) {
+            return;
+        }
+        
+        String endpoint = resolveEndpoint(request);
+        endpointStats.computeIfAbsent(endpoint, SqlEndpointStats::new).record(snapshot);
+        DistributionSummary.builder("library.sql.statements")
+                .description("SQL statements issued per HTTP request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(snapshot.getStatements());
+        
+        if (snapshot.getStatements() > statementThreshold || snapshot.getJdbcMillis() > timeThresholdMs) {
+            logger.warn("請求 SQL 語句超過門檻 - 端點: {}, 實際路徑: {}, {}", endpoint, request.getRequestURI(), snapshot);
+        }
+    }
+    
+    /**
+     * 取得各端點的統計，依平均語句數由高到低排序
+     * 
+     * @return List<SqlEndpointStats> 端點統計列表
+     */
+    public List<SqlEndpointStats> getEndpointStats() {
+        List<SqlEndpointStats> stats = new ArrayList<>(endpointStats.values());
+        stats.sort(Comparator.comparingDouble(SqlEndpointStats::getAvgStatements).reversed());
+        return stats;
+    }
+    
+    /**
+     * 清除所有端點統計
+     */
+    public void reset() {
+        endpointStats.clear();
+    }
+    
+    /**
+     * 以路徑樣板作為端點名稱，避免 /api/books/{isbn} 之類的路徑產生大量不同的鍵
+     */
+    private static String resolveEndpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String path = pattern != null ? pattern.toString() : "UNMAPPED";
+        return request.getMethod() + " " + path;
+    }
+}
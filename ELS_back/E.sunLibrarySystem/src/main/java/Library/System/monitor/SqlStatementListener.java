@@ -0,0 +1,32 @@
+package Library.System.monitor;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * SQL 語句監聽器 - 將 datasource-proxy 攔截到的每次 JDBC 執行回報給 SqlStatementCounter
+ */
+@Component
+public class SqlStatementListener implements QueryExecutionListener {
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatementCounter.current() == null) {
+            return;
+        }
+        long elapsed = execInfo.getElapsedTime();
+        for (QueryInfo queryInfo : queryInfoList) {
+            SqlStatementCounter.record(queryInfo.getQuery(), elapsed);
+            elapsed = 0;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package Library.System.monitor;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import Library.System.config.StartupTasks;
+
+/**
+ * 啟動時間報告 - 記錄各啟動階段相對於 JVM 啟動的時間點，用於追蹤滾動部署的 time-to-first-request
+ *
+ * 階段：JVM 啟動 → Spring 容器建立完成（started）→ 可接受請求（ready）→ 啟動工作完成 → 第一個請求處理完成。
+ * 入口使用 BufferingApplicationStartup 時一併列出實例化最久的 Bean。
+ * 報告於 ready 時寫入日誌，並可由 GET /api/admin/startup-report 查詢。
+ */
+@Component
+public class StartupReport {
+
+    /** 日誌記錄器 */
+    private static final Logger logger = LoggerFactory.getLogger(StartupReport.class);
+
+    /** 報告中列出的最慢 Bean 數量 */
+    @Value("${monitor.startup.slowest-beans:10}")
+    private int slowestBeans;
+
+    @Autowired
+    private StartupTasks startupTasks;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    private Environment environment;
+
+    /** JVM 啟動時間（epoch 毫秒） */
+    private final long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    /** 各階段完成的時間（epoch 毫秒），0 表示尚未到達 */
+    private volatile long startedAt;
+
+    private volatile long readyAt;
+
+    private volatile long firstRequestAt;
+
+    /** 實例化最久的 Bean（名稱 → 毫秒），ready 時由啟動時間軸取得 */
+    private volatile Map<String, Long> slowBeans = Map.of();
+
+    @EventListener
+    public void onStarted(ApplicationStartedEvent event) {
+        startedAt = System.currentTimeMillis();
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        readyAt = System.currentTimeMillis();
+        if (applicationContext.getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            slowBeans = slowestBeans(startup.getBufferedTimeline());
+        }
+        logger.info("啟動時間報告: {}", getReport());
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestAt == 0) {
+            synchronized (this) {
+                if (firstRequestAt == 0) {
+                    firstRequestAt = System.currentTimeMillis();
+                    logger.info("第一個請求處理完成: {} {}，距 JVM 啟動 {} ms", event.getMethod(), event.getRequestUrl(),
+                            firstRequestAt - jvmStart);
+                }
+            }
+        }
+    }
+
+    /**
+     * 查詢啟動時間報告
+     *
+     * @return Map 各階段距 JVM 啟動的毫秒數（尚未到達為 null）、啟動工作耗時與最慢的 Bean
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("profiles", Arrays.asList(environment.getActiveProfiles()));
+        report.put("aot", Boolean.getBoolean("spring.aot.enabled"));
+        report.put("lazyInitialization", environment.getProperty("spring.main.lazy-initialization", Boolean.class, false));
+        report.put("asyncInitializers", startupTasks.isAsync());
+        report.put("contextStartedMs", sinceJvmStart(startedAt));
+        report.put("readyMs", sinceJvmStart(readyAt));
+        report.put("startupTasksCompletedMs", sinceJvmStart(startupTasks.getCompletedAt()));
+        report.put("firstRequestMs", sinceJvmStart(firstRequestAt));
+        report.put("startupTasks", startupTasks.getDurations());
+        report.put("slowestBeans", slowBeans);
+        return report;
+    }
+
+    private Long sinceJvmStart(long timestamp) {
+        return timestamp > 0 ? timestamp - jvmStart : null;
+    }
+
+    private Map<String, Long> slowestBeans(StartupTimeline timeline) {
+        List<StartupTimeline.TimelineEvent> instantiations = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            if ("spring.beans.instantiate".equals(event.getStartupStep().getName())) {
+                instantiations.add(event);
+            }
+        }
+        instantiations.sort(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed());
+        Map<String, Long> slowest = new LinkedHashMap<>();
+        for (StartupTimeline.TimelineEvent event : instantiations.subList(0, Math.min(slowestBeans, instantiations.size()))) {
+            slowest.put(beanName(event.getStartupStep()), event.getDuration().toMillis());
+        }
+        return slowest;
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName() + "#" + step.getId();
+    }
+}
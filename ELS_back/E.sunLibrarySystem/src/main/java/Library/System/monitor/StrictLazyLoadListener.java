@@ -0,0 +1,47 @@
+package Library.System.monitor;
+
+import org.hibernate.HibernateException;
+import org.hibernate.LazyInitializationException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 嚴格延遲載入檢查 - 在交易外初始化 LAZY 關聯時直接拋出 LazyInitializationException
+ *
+ * Session 已關閉時 Hibernate 本身就會拋出例外；此監聽器額外攔截 Session 仍開啟但沒有交易的情況
+ * （例如手動建立的 EntityManager），讓遺漏 fetch plan 的程式碼在測試中失敗，而不是默默多發查詢。
+ * 以 monitor.strict-lazy-loading=true 啟用，測試設定檔預設開啟。
+ */
+@Component
+@ConditionalOnProperty(name = "monitor.strict-lazy-loading", havingValue = "true")
+public class StrictLazyLoadListener implements LoadEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .prependListeners(EventType.LOAD, this);
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) throws HibernateException {
+        if (loadType == IMMEDIATE_LOAD && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new LazyInitializationException("在交易外延遲載入 " + event.getEntityClassName() + "#" + event.getEntityId()
+                    + "，請在查詢時以 @EntityGraph 指定 fetch plan");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package Library.System.monitor;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 追蹤上下文 - 保存目前執行緒上正在進行的追蹤與區段堆疊
+ * 
+ * 由 TraceFilter 在請求開始時 begin()、結束時 finish()；中間各層以 startSpan() / endSpan() 建立子區段。
+ * 沒有進行中的追蹤（例如排程工作）或未被取樣時，startSpan() 回傳 null，各層直接略過，幾乎沒有開銷。
+ */
+public final class TraceContext {
+    
+    /** 目前執行緒的追蹤狀態 */
+    private static final ThreadLocal<State> CURRENT = new ThreadLocal<>();
+    
+    private TraceContext() {
+    }
+    
+    /**
+     * 開始一次追蹤並建立根區段
+     * 
+     * @param traceId 追蹤ID（32 位十六進位）
+     * @param parentSpanId 上游服務的區段ID，沒有則為 null
+     * @param sampled 是否記錄區段；未取樣時仍保留追蹤ID供日誌使用
+     * @param name 根區段名稱
+     * @return TraceSpan 根區段；未取樣時為 null
+     */
+    static TraceSpan begin(String traceId, String parentSpanId, boolean sampled, String name) {
+        State state = new State(traceId, sampled);
+        CURRENT.set(state);
+        if (!sampled) {
+            return null;
+        }
+        TraceSpan root = newSpan(state, parentSpanId, "http", name);
+        state.stack.push(root);
+        return root;
+    }
+    
+    /**
+     * 結束追蹤並取出所有已完成的區段
+     * 
+     * @return List<TraceSpan> 已完成的區段（未取樣時為空）
+     */
+    static List<TraceSpan> finish() {
+        State state = CURRENT.get();
+        CURRENT.remove();
+        if (state == null || !state.sampled) {
+            return List.of();
+        }
+        return state.finished;
+    }
+    
+    /**
+     * 取得目前的追蹤ID
+     * 
+     * @return String 追蹤ID；不在追蹤內則為 null
+     */
+    public static String currentTraceId() {
+        State state = CURRENT.get();
+        return state == null ? null : state.traceId;
+    }
+    
+    /**
+     * 在目前區段下建立子區段
+     * 
+     * @param layer 所在層（controller / service / repository / sql ...）
+     * @param name 區段名稱
+     * @return TraceSpan 新區段；不在追蹤內或未取樣時為 null
+     */
+    public static TraceSpan startSpan(String layer, String name) {
+        State state = CURRENT.get();
+        if (state == null || !state.sampled) {
+            return null;
+        }
+        TraceSpan parent = state.stack.peek();
+        TraceSpan span = newSpan(state, parent == null ? null : parent.getSpanId(), layer, name);
+        state.stack.push(span);
+        return span;
+    }
+    
+    /**
+     * 結束區段
+     * 
+     * @param span startSpan() 回傳的區段，為 null 時不做任何事
+     * @param failure 執行失敗的例外，成功則為 null
+     */
+    public static void endSpan(TraceSpan span, Throwable failure) {
+        if (span == null) {
+            return;
+        }
+        State state = CURRENT.get();
+        span.end(System.nanoTime());
+        if (failure != null) {
+            span.fail(failure);
+        }
+        if (state != null) {
+            // 正常情況下就是堆疊頂端；以 remove 容錯未依序結束的區段
+            if (state.stack.peek() == span) {
+                state.stack.pop();
+            } else {
+                state.stack.remove(span);
+            }
+            state.finished.add(span);
+        }
+    }
+    
+    /**
+     * 結束仍在根區段之上、尚未結束的區段（例如持續到回應寫出為止的序列化區段）
+     * 
+     * @param root 根區段
+     */
+    static void endOpenChildren(TraceSpan root) {
+        State state = CURRENT.get();
+        if (state == null || root == null) {
+            return;
+        }
+        while (!state.stack.isEmpty() && state.stack.peek() != root) {
+            endSpan(state.stack.peek(), null);
+        }
+    }
+    
+    /**
+     * 建立新的 32 位十六進位追蹤ID
+     * 
+     * @return String 追蹤ID
+     */
+    static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return hex(random.nextLong() | 1L, 16) + hex(random.nextLong(), 16);
+    }
+    
+    private static TraceSpan newSpan(State state, String parentSpanId, String layer, String name) {
+        Instant now = Instant.now();
+        long epochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        String spanId = hex(ThreadLocalRandom.current().nextLong() | 1L, 16);
+        return new TraceSpan(state.traceId, spanId, parentSpanId, layer, name, epochNanos, System.nanoTime());
+    }
+    
+    private static String hex(long value, int digits) {
+        String text = Long.toHexString(value);
+        return text.length() >= digits ? text : "0".repeat(digits - text.length()) + text;
+    }
+    
+    /**
+     * 單一執行緒上的追蹤狀態
+     */
+    private static final class State {
+        private final String traceId;
+        private final boolean sampled;
+        private final ArrayDeque<TraceSpan> stack = new ArrayDeque<>();
+        private final List<TraceSpan> finished = new ArrayList<>();
+        
+        private State(String traceId, boolean sampled) {
+            this.traceId = traceId;
+            this.sampled = sampled;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * 追蹤過濾器 - 為每個 API 請求建立追蹤並將追蹤ID放入 MDC
+ * 
+ * 此過濾器排在 Spring Security 之前，根區段涵蓋整個請求（含安全過濾、控制器與回應序列化），包含以下功能：
+ * 1. 追蹤ID傳遞 - 依序讀取 W3C traceparent 與 X-Trace-Id 標頭，沒有則產生新的追蹤ID
+ * 2. 日誌關聯 - 追蹤ID寫入 MDC 的 traceId，所有日誌都會帶上同一個ID
+ * 3. 回應標頭 - 以 X-Trace-Id 與 traceparent 回傳追蹤ID，方便前端或呼叫端回報問題
+ * 4. 區段匯出 - 請求結束後將所有區段交給 SpanExporter 非同步匯出
+ * 
+ * 配置參數：
+ * - monitor.tracing.enabled: 是否啟用追蹤
+ * - monitor.tracing.sample-rate: 未帶 traceparent 的請求記錄區段的比例（0~1）；追蹤ID一律產生
+ * 
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.monitor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TraceFilter extends OncePerRequestFilter {
+    
+    /** W3C Trace Context 標頭 */
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    
+    /** 自訂追蹤ID標頭 */
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    
+    /** MDC 中的追蹤ID鍵值 */
+    public static final String MDC_TRACE_ID = "traceId";
+    
+    /** traceparent 格式：版本-追蹤ID-上游區段ID-旗標 */
+    private static final Pattern TRACEPARENT = Pattern.compile("^[0-9a-f]{2}-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})$");
+    
+    /** X-Trace-Id 接受 32 位十六進位或 UUID 格式 */
+    private static final Pattern TRACE_ID = Pattern.compile("^[0-9a-fA-F]{8}-?[0-9a-fA-F]{4}-?[0-9a-fA-F]{4}-?[0-9a-fA-F]{4}-?[0-9a-fA-F]{12}$");
+    
+    /** 全為 0 的追蹤ID在 W3C 規範中無效 */
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    
+    /** 是否啟用追蹤 */
+    @Value("${monitor.tracing.enabled:true}")
+    private boolean enabled;
+    
+    /** 記錄區段的比例 */
+    @Value("${monitor.tracing.sample-rate:0.05}")
+    private double sampleRate;
+    
+    /** 區段匯出器 */
+    @Autowired
+    private SpanExporter spanExporter;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String traceId = null;
+        String parentSpanId = null;
+        Boolean upstreamSampled = null;
+        
+        String traceparent = request.getHeader(TRACEPARENT_HEADER);
+        Matcher matcher = traceparent == null ? null : TRACEPARENT.matcher(traceparent);
+        if (matcher != null && matcher.matches() && !INVALID_TRACE_ID.equals(matcher.group(1))) {
+            traceId = matcher.group(1);
+            parentSpanId = matcher.group(2);
+            upstreamSampled = (Integer.parseInt(matcher.group(3), 16) & 1) == 1;
+        } else {
+            String header = request.getHeader(TRACE_ID_HEADER);
+            if (header != null && TRACE_ID.matcher(header).matches()) {
+                traceId = header.replace("-", "").toLowerCase();
+            }
+        }
+        if (traceId == null || INVALID_TRACE_ID.equals(traceId)) {
+            traceId = TraceContext.newTraceId();
+        }
+        boolean sampled = upstreamSampled != null
+                ? upstreamSampled
+                : sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        
+        TraceSpan root = TraceContext.begin(traceId, parentSpanId, sampled, request.getMethod() + " " + request.getRequestURI());
+        MDC.put(MDC_TRACE_ID, traceId);
+        response.setHeader(TRACE_ID_HEADER, traceId);
+        if (root != null) {
+            response.setHeader(TRACEPARENT_HEADER, "00-" + traceId + "-" + root.getSpanId() + "-01");
+        }
+        
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (root != null) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (pattern != null) {
+                    root.rename(request.getMethod() + " " + pattern);
+                }
+                root.attribute("http.method", request.getMethod());
+                root.attribute("http.target", request.getRequestURI());
+                root.attribute("http.status_code", response.getStatus());
+                TraceContext.endOpenChildren(root);
+                TraceContext.endSpan(root, failure);
+            }
+            List<TraceSpan> spans = TraceContext.finish();
+            MDC.remove(MDC_TRACE_ID);
+            if (!spans.isEmpty()) {
+                spanExporter.export(spans);
+            }
+        }
+    }
+}
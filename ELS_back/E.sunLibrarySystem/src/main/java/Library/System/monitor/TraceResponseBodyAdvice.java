@@ -0,0 +1,34 @@
+package Library.System.monitor;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 追蹤回應序列化 - 在回應本文寫出前開始 serialization 區段
+ * 
+ * 區段由 TraceFilter 在請求結束時一併結束，因此涵蓋 Jackson 序列化與寫出回應的時間。
+ */
+@ControllerAdvice
+public class TraceResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+    
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        TraceSpan span = TraceContext.startSpan("serialization", selectedConverterType.getSimpleName());
+        if (span != null) {
+            span.attribute("content.type", String.valueOf(selectedContentType));
+        }
+        return body;
+    }
+}
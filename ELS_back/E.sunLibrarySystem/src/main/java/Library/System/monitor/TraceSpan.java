@@ -0,0 +1,99 @@
+package Library.System.monitor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 追蹤區段 - 請求處理過程中某一層（HTTP、控制器、服務、Repository、SQL）的一次執行
+ * 
+ * 開始時間為 epoch 奈秒，持續時間以 System.nanoTime() 量測，避免系統時鐘調整造成負值。
+ */
+public class TraceSpan {
+    
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String layer;
+    private String name;
+    private final long startEpochNanos;
+    private final long startNanoTime;
+    private long durationNanos;
+    private String error;
+    private Map<String, Object> attributes;
+    
+    TraceSpan(String traceId, String spanId, String parentSpanId, String layer, String name,
+              long startEpochNanos, long startNanoTime) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.layer = layer;
+        this.name = name;
+        this.startEpochNanos = startEpochNanos;
+        this.startNanoTime = startNanoTime;
+    }
+    
+    void end(long endNanoTime) {
+        this.durationNanos = endNanoTime - startNanoTime;
+    }
+    
+    void rename(String name) {
+        this.name = name;
+    }
+    
+    void fail(Throwable throwable) {
+        this.error = throwable.getClass().getSimpleName();
+    }
+    
+    /**
+     * 加入區段屬性
+     * 
+     * @param key 屬性名稱
+     * @param value 屬性值
+     */
+    public void attribute(String key, Object value) {
+        if (attributes == null) {
+            attributes = new LinkedHashMap<>();
+        }
+        attributes.put(key, value);
+    }
+    
+    long getStartNanoTime() {
+        return startNanoTime;
+    }
+    
+    public String getTraceId() {
+        return traceId;
+    }
+    
+    public String getSpanId() {
+        return spanId;
+    }
+    
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+    
+    public String getLayer() {
+        return layer;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+    
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+}
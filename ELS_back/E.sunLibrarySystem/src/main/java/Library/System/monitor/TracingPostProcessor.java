@@ -0,0 +1,55 @@
+package Library.System.monitor;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import Library.System.common.JwtUtil;
+
+/**
+ * 追蹤後處理器 - 為控制器、服務與 JwtUtil 的每次方法呼叫建立追蹤區段
+ * 
+ * 追蹤攔截器排在既有的攔截器（例如 @Transactional）之前，服務區段因此包含交易提交與 flush 的時間。
+ * Repository 區段由 RepositoryCallerPostProcessor 建立，SQL 區段由 TracingQueryListener 建立。
+ */
+@Component
+public class TracingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+    
+    public TracingPostProcessor() {
+        ClassFilter traced = new ComposablePointcut(new AnnotationMatchingPointcut(RestController.class, true))
+                .union(new AnnotationMatchingPointcut(Service.class, true).getClassFilter())
+                .union(new RootClassFilter(JwtUtil.class))
+                .getClassFilter();
+        this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(traced), tracingInterceptor());
+        this.beforeExistingAdvisors = true;
+        setProxyTargetClass(true);
+    }
+    
+    private static MethodInterceptor tracingInterceptor() {
+        return invocation -> {
+            Class<?> type = invocation.getMethod().getDeclaringClass();
+            String layer = type.isAnnotationPresent(RestController.class) ? "controller"
+                    : type.isAnnotationPresent(Service.class) ? "service" : "component";
+            TraceSpan span = TraceContext.startSpan(layer, type.getSimpleName() + "." + invocation.getMethod().getName());
+            if (span == null) {
+                return invocation.proceed();
+            }
+            Throwable failure = null;
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                TraceContext.endSpan(span, failure);
+            }
+        };
+    }
+}
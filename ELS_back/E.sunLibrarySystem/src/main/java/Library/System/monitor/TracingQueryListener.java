@@ -0,0 +1,46 @@
+package Library.System.monitor;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * 追蹤查詢監聽器 - 為每次 JDBC 執行建立 sql 區段，掛在發出語句的 Repository 或服務區段之下
+ * 
+ * 區段於 beforeQuery 開始、afterQuery 結束，兩者在同一個執行緒上依序呼叫，區段暫存在 ThreadLocal。
+ */
+@Component
+public class TracingQueryListener implements QueryExecutionListener {
+    
+    /** 區段中保留的 SQL 最大長度 */
+    private static final int MAX_STATEMENT_LENGTH = 1000;
+    
+    /** 目前執行中的 sql 區段 */
+    private static final ThreadLocal<TraceSpan> CURRENT = new ThreadLocal<>();
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        TraceSpan span = TraceContext.startSpan("sql", execInfo.isBatch() ? "batch" : "statement");
+        if (span != null) {
+            String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+            span.attribute("db.statement", sql.length() > MAX_STATEMENT_LENGTH ? sql.substring(0, MAX_STATEMENT_LENGTH) : sql);
+            if (queryInfoList.size() > 1) {
+                span.attribute("db.statement_count", queryInfoList.size());
+            }
+            CURRENT.set(span);
+        }
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        TraceSpan span = CURRENT.get();
+        if (span != null) {
+            CURRENT.remove();
+            TraceContext.endSpan(span, execInfo.getThrowable());
+        }
+    }
+}
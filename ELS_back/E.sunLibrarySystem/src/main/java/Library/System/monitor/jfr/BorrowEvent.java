@@ -0,0 +1,27 @@
+package Library.System.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 借書 JFR 事件
+ */
+@Name("library.Borrow")
+@Label("Borrow Book")
+@Category({"Library", "Borrowing"})
+@Description("BorrowingService.borrowBook 的一次執行")
+public class BorrowEvent extends LibraryOperationEvent {
+    
+    @Label("User ID")
+    private int userId;
+    
+    @Label("Inventory ID")
+    private int inventoryId;
+    
+    public BorrowEvent(Integer userId, Integer inventoryId) {
+        this.userId = userId == null ? 0 : userId;
+        this.inventoryId = inventoryId == null ? 0 : inventoryId;
+    }
+}
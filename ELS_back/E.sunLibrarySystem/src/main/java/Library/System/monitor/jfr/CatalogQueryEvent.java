@@ -0,0 +1,35 @@
+package Library.System.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 圖書目錄查詢 JFR 事件
+ */
+@Name("library.CatalogQuery")
+@Label("Catalog Query")
+@Category({"Library", "Catalog"})
+@Description("圖書目錄列表查詢的一次執行，包含 DTO 轉換")
+public class CatalogQueryEvent extends LibraryOperationEvent {
+    
+    @Label("Query")
+    private String query;
+    
+    @Label("Result Size")
+    private int resultSize;
+    
+    public CatalogQueryEvent(String query) {
+        this.query = query;
+    }
+    
+    /**
+     * 設定回傳筆數
+     * 
+     * @param resultSize 回傳筆數
+     */
+    public void setResultSize(int resultSize) {
+        this.resultSize = resultSize;
+    }
+}
@@ -0,0 +1,50 @@
+package Library.System.monitor.jfr;
+
+import Library.System.monitor.TraceContext;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * 業務操作 JFR 事件的共同基底 - 記錄結果、錯誤訊息與追蹤ID
+ * 
+ * 使用方式：建立事件後立即 begin()，操作結束時呼叫 finish(outcome)。
+ * 未錄製或事件被停用時 shouldCommit() 為 false，finish() 不會做任何欄位設定，開銷可忽略。
+ * 持續時間由 JFR 依 begin() 與 commit() 自動計算；事件發生位置固定，因此不擷取堆疊以降低開銷。
+ */
+@Category("Library")
+@StackTrace(false)
+public abstract class LibraryOperationEvent extends Event {
+    
+    @Label("Outcome")
+    protected String outcome;
+    
+    @Label("Message")
+    protected String message;
+    
+    @Label("Trace ID")
+    protected String traceId;
+    
+    /**
+     * 記錄失敗訊息（業務錯誤或系統錯誤的例外訊息）
+     * 
+     * @param message 錯誤訊息
+     */
+    public void fail(String message) {
+        this.message = message;
+    }
+    
+    /**
+     * 結束並提交事件
+     * 
+     * @param outcome 操作結果（success / failure）
+     */
+    public void finish(String outcome) {
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.traceId = TraceContext.currentTraceId();
+            commit();
+        }
+    }
+}
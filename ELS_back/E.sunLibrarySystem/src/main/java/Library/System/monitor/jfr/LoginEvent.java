@@ -0,0 +1,28 @@
+package Library.System.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 登入 JFR 事件（不記錄手機號碼，錄製檔可能會被分享給他人分析）
+ */
+@Name("library.Login")
+@Label("Login")
+@Category({"Library", "Authentication"})
+@Description("UserService.loginUser 的一次執行，包含密碼雜湊驗證")
+public class LoginEvent extends LibraryOperationEvent {
+    
+    @Label("User ID")
+    private int userId;
+    
+    /**
+     * 設定登入成功的使用者ID
+     * 
+     * @param userId 使用者ID
+     */
+    public void setUserId(Integer userId) {
+        this.userId = userId == null ? 0 : userId;
+    }
+}
@@ -0,0 +1,27 @@
+package Library.System.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 還書 JFR 事件
+ */
+@Name("library.Return")
+@Label("Return Book")
+@Category({"Library", "Borrowing"})
+@Description("BorrowingService.returnBook 的一次執行")
+public class ReturnEvent extends LibraryOperationEvent {
+    
+    @Label("User ID")
+    private int userId;
+    
+    @Label("Inventory ID")
+    private int inventoryId;
+    
+    public ReturnEvent(Integer userId, Integer inventoryId) {
+        this.userId = userId == null ? 0 : userId;
+        this.inventoryId = inventoryId == null ? 0 : inventoryId;
+    }
+}
@@ -0,0 +1,48 @@
+package Library.System.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import Library.System.entity.BookPopularityHourly;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface BookPopularityHourlyRepository extends JpaRepository<BookPopularityHourly, BookPopularityHourly.Key> {
+
+    /**
+     * 查詢指定時間之後的每小時借閱次數（啟動時重建記憶體計數）
+     */
+    List<BookPopularityHourly> findByBucketHourGreaterThanEqual(LocalDateTime from);
+
+    /**
+     * 累加借閱次數
+     */
+    @Modifying
+    @Query("UPDATE BookPopularityHourly p SET p.borrowCount = p.borrowCount + :delta "
+            + "WHERE p.isbn = :isbn AND p.bucketHour = :bucketHour")
+    int addBorrowCount(@Param("isbn") String isbn, @Param("bucketHour") LocalDateTime bucketHour, @Param("delta") int delta);
+
+    /**
+     * 此書籍在該小時第一次寫入時建立計數列（次數為 0）
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "book_popularity_hourly"))
+    @Query(value = "INSERT INTO book_popularity_hourly (isbn, bucket_hour, borrow_count) SELECT :isbn, :bucketHour, 0 "
+            + "WHERE NOT EXISTS (SELECT 1 FROM book_popularity_hourly WHERE isbn = :isbn AND bucket_hour = :bucketHour)", nativeQuery = true)
+    int createIfMissing(@Param("isbn") String isbn, @Param("bucketHour") LocalDateTime bucketHour);
+
+    /**
+     * 刪除超出排行時間範圍的計數
+     */
+    @Modifying
+    @Query("DELETE FROM BookPopularityHourly p WHERE p.bucketHour < :cutoff")
+    int deleteByBucketHourBefore(@Param("cutoff") LocalDateTime cutoff);
+}
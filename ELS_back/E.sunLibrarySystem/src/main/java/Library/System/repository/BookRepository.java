@@ -1,7 +1,11 @@
 package Library.System.repository;
 
 import Library.System.entity.Book;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,12 +14,14 @@ import java.util.Optional;
 public interface BookRepository extends JpaRepository<Book, String> {
     
     /**
-     * 根據書名查詢書籍
+     * 根據書名查詢書籍（查詢快取，books 表異動時失效）
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Book> findByName(String name);
     
     /**
-     * 根據作者查詢書籍
+     * 根據作者查詢書籍（查詢快取，books 表異動時失效）
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Book> findByAuthor(String author);
-} 
\ No newline at end of file
+}
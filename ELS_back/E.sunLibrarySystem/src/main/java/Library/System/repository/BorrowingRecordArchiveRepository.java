@@ -0,0 +1,37 @@
+package Library.System.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import Library.System.entity.BorrowingRecordArchive;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface BorrowingRecordArchiveRepository extends JpaRepository<BorrowingRecordArchive, Integer> {
+
+    /**
+     * 查詢使用者已封存的借閱紀錄（一併載入庫存，書籍資料由二級快取取得）
+     */
+    @EntityGraph("BorrowingRecordArchive.inventory")
+    @Query("SELECT a FROM BorrowingRecordArchive a WHERE a.userId = :userId ORDER BY a.borrowingTime DESC")
+    List<BorrowingRecordArchive> findByUserIdOrderByBorrowingTimeDesc(@Param("userId") Integer userId);
+
+    /**
+     * 將指定的借閱紀錄複製到封存表（由資料庫直接 INSERT ... SELECT，不經過實體載入）
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "borrowing_records_archive"))
+    @Query(value = "INSERT INTO borrowing_records_archive (record_id, user_id, inventory_id, borrowing_time, return_time, archived_time) "
+            + "SELECT record_id, user_id, inventory_id, borrowing_time, return_time, :archivedTime FROM borrowing_records "
+            + "WHERE record_id IN (:recordIds) AND return_time IS NOT NULL", nativeQuery = true)
+    int copyFromBorrowingRecords(@Param("recordIds") List<Integer> recordIds, @Param("archivedTime") LocalDateTime archivedTime);
+}
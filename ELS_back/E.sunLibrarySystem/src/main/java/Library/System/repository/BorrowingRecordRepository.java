@@ -1,9 +1,13 @@
 package Library.System.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,15 +18,17 @@ import Library.System.entity.BorrowingRecord;
 public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord, Integer> {
     
     /**
-     * 查詢使用者的借閱紀錄
+     * 查詢使用者的借閱紀錄（一併載入庫存，書籍資料由二級快取取得）
      */
-    @Query("SELECT br FROM BorrowingRecord br LEFT JOIN FETCH br.inventory i LEFT JOIN FETCH i.book WHERE br.userId = :userId ORDER BY br.borrowingTime DESC")
+    @EntityGraph("BorrowingRecord.inventory")
+    @Query("SELECT br FROM BorrowingRecord br WHERE br.userId = :userId ORDER BY br.borrowingTime DESC")
     List<BorrowingRecord> findByUserIdOrderByBorrowingTimeDesc(@Param("userId") Integer userId);
     
     /**
-     * 查詢使用者的未歸還書籍
+     * 查詢使用者的未歸還書籍（一併載入庫存，書籍資料由二級快取取得）
      */
-    @Query("SELECT br FROM BorrowingRecord br LEFT JOIN FETCH br.inventory i LEFT JOIN FETCH i.book WHERE br.userId = :userId AND br.returnTime IS NULL")
+    @EntityGraph("BorrowingRecord.inventory")
+    @Query("SELECT br FROM BorrowingRecord br WHERE br.userId = :userId AND br.returnTime IS NULL")
     List<BorrowingRecord> findActiveBorrowingsByUserId(@Param("userId") Integer userId);
     
     /**
@@ -32,14 +38,28 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
     boolean existsActiveBorrowing(@Param("userId") Integer userId, @Param("inventoryId") Integer inventoryId);
     
     /**
-     * 查詢特定庫存的借閱紀錄
+     * 查詢特定庫存的借閱紀錄（借還書檢查只需要紀錄本身，不載入關聯）
      */
-    @Query("SELECT br FROM BorrowingRecord br LEFT JOIN FETCH br.inventory i LEFT JOIN FETCH i.book WHERE br.inventoryId = :inventoryId AND br.returnTime IS NULL")
+    @Query("SELECT br FROM BorrowingRecord br WHERE br.inventoryId = :inventoryId AND br.returnTime IS NULL")
     Optional<BorrowingRecord> findByInventoryIdAndReturnTimeIsNull(@Param("inventoryId") Integer inventoryId);
     
     /**
-     * 根據ID查詢借閱紀錄（包含關聯實體）
+     * 根據ID查詢借閱紀錄（包含庫存與書籍，不載入使用者）
      */
-    @Query("SELECT br FROM BorrowingRecord br LEFT JOIN FETCH br.inventory i LEFT JOIN FETCH i.book LEFT JOIN FETCH br.user WHERE br.recordId = :recordId")
+    @EntityGraph("BorrowingRecord.inventoryBook")
+    @Query("SELECT br FROM BorrowingRecord br WHERE br.recordId = :recordId")
     Optional<BorrowingRecord> findByIdWithAssociations(@Param("recordId") Integer recordId);
-} 
\ No newline at end of file
+    
+    /**
+     * 查詢歸還時間早於截止時間的借閱紀錄ID（由最舊的開始，供封存作業分批搬移）
+     */
+    @Query("SELECT br.recordId FROM BorrowingRecord br WHERE br.returnTime < :cutoff ORDER BY br.returnTime")
+    List<Integer> findArchivableRecordIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    /**
+     * 刪除已搬入封存表的借閱紀錄（只刪除已歸還的紀錄）
+     */
+    @Modifying
+    @Query("DELETE FROM BorrowingRecord br WHERE br.recordId IN :recordIds AND br.returnTime IS NOT NULL")
+    int deleteReturnedByRecordIdIn(@Param("recordIds") List<Integer> recordIds);
+} 
@@ -1,27 +1,51 @@
 package Library.System.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import Library.System.entity.Inventory;
+import Library.System.entity.InventoryStatus;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Integer> {
     
     /**
-     * 查詢可借閱的書籍
+     * 借還書時讀取庫存：一律查詢資料庫，並以結果更新二級快取（CacheMode.REFRESH）
+     * 
+     * 庫存狀態也會由預存程序或其他執行個體直接更新，二級快取中可能是過期的狀態，
+     * 寫入路徑不能依快取判斷能否借還
      */
-    @Query("SELECT i FROM Inventory i LEFT JOIN FETCH i.book WHERE i.status = 'Available'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("SELECT i FROM Inventory i WHERE i.inventoryId = :inventoryId")
+    Optional<Inventory> findCurrentById(@Param("inventoryId") Integer inventoryId);
+    
+    /**
+     * 查詢可借閱的書籍（書籍資料由二級快取取得，不以 JOIN 重新載入）
+     * 狀態以列舉常值撰寫，SQL 中為常數代碼，SQL Server 才能選用篩選索引 idx_inventory_available
+     */
+    @Query("SELECT i FROM Inventory i WHERE i.status = Library.System.entity.InventoryStatus.AVAILABLE")
     List<Inventory> findAvailableBooks();
     
     /**
-     * 查詢所有書籍（包含庫存信息）
+     * 查詢可借閱的書籍並一併載入書籍實體（直接序列化實體的端點使用，避免回傳未初始化的代理）
      */
-    @Query("SELECT i FROM Inventory i LEFT JOIN FETCH i.book")
+    @EntityGraph("Inventory.book")
+    @Query("SELECT i FROM Inventory i WHERE i.status = Library.System.entity.InventoryStatus.AVAILABLE")
+    List<Inventory> findAvailableWithBook();
+    
+    /**
+     * 查詢所有書籍（包含庫存信息，書籍資料由二級快取取得）
+     */
+    @Query("SELECT i FROM Inventory i")
     List<Inventory> findAllBooks();
     
     /**
@@ -32,11 +56,17 @@ public interface InventoryRepository extends JpaRepository<Inventory, Integer> {
     /**
      * 根據狀態查詢庫存
      */
-    List<Inventory> findByStatus(String status);
+    List<Inventory> findByStatus(InventoryStatus status);
+    
+    /**
+     * 依狀態統計庫存數量，每列為 [InventoryStatus, Long]
+     */
+    @Query("SELECT i.status, COUNT(i) FROM Inventory i GROUP BY i.status")
+    List<Object[]> countByStatus();
     
     /**
      * 檢查書籍是否可借閱
      */
-    @Query("SELECT COUNT(i) > 0 FROM Inventory i WHERE i.inventoryId = :inventoryId AND i.status = 'Available'")
+    @Query("SELECT COUNT(i) > 0 FROM Inventory i WHERE i.inventoryId = :inventoryId AND i.status = Library.System.entity.InventoryStatus.AVAILABLE")
     boolean isBookAvailable(@Param("inventoryId") Integer inventoryId);
 } 
\ No newline at end of file
@@ -0,0 +1,54 @@
+package Library.System.repository;
+
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import Library.System.entity.UserAuthorStats;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface UserAuthorStatsRepository extends JpaRepository<UserAuthorStats, UserAuthorStats.Key> {
+
+    /**
+     * 查詢使用者借閱各作者書籍的次數
+     */
+    List<UserAuthorStats> findByUserId(Integer userId);
+
+    /**
+     * 借閱次數加一
+     */
+    @Modifying
+    @Query("UPDATE UserAuthorStats a SET a.loans = a.loans + 1 WHERE a.userId = :userId AND a.author = :author")
+    int incrementLoans(@Param("userId") Integer userId, @Param("author") String author);
+
+    /**
+     * 使用者第一次借閱此作者的書籍時建立統計列（次數為 0）
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_author_stats"))
+    @Query(value = "INSERT INTO user_author_stats (user_id, author, loans) SELECT :userId, :author, 0 "
+            + "WHERE NOT EXISTS (SELECT 1 FROM user_author_stats WHERE user_id = :userId AND author = :author)", nativeQuery = true)
+    int createIfMissing(@Param("userId") Integer userId, @Param("author") String author);
+
+    /**
+     * 由借閱紀錄（含封存）建立使用者尚未有的作者統計列，與 UserBorrowingStatsRepository.createFromRecords 搭配使用
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_author_stats"))
+    @Query(value = "INSERT INTO user_author_stats (user_id, author, loans) SELECT :userId, b.author, COUNT(*) "
+            + "FROM (SELECT inventory_id FROM borrowing_records WHERE user_id = :userId "
+            + "UNION ALL SELECT inventory_id FROM borrowing_records_archive WHERE user_id = :userId) r "
+            + "JOIN inventory i ON i.inventory_id = r.inventory_id "
+            + "JOIN books b ON b.isbn = i.isbn "
+            + "WHERE b.author IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM user_author_stats a WHERE a.user_id = :userId AND a.author = b.author) "
+            + "GROUP BY b.author", nativeQuery = true)
+    int createFromRecords(@Param("userId") Integer userId);
+}
@@ -0,0 +1,61 @@
+package Library.System.repository;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import Library.System.entity.UserBorrowingStats;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface UserBorrowingStatsRepository extends JpaRepository<UserBorrowingStats, Integer> {
+
+    /**
+     * 借書：總借閱次數與借閱中數量各加一
+     */
+    @Modifying
+    @Query("UPDATE UserBorrowingStats s SET s.totalLoans = s.totalLoans + 1, s.activeLoans = s.activeLoans + 1, "
+            + "s.statsVersion = s.statsVersion + 1, s.updatedTime = :now WHERE s.userId = :userId")
+    int recordBorrow(@Param("userId") Integer userId, @Param("now") LocalDateTime now);
+
+    /**
+     * 還書：借閱中數量減一、已歸還次數加一，並累計借閱秒數
+     */
+    @Modifying
+    @Query("UPDATE UserBorrowingStats s SET s.activeLoans = s.activeLoans - 1, s.returnedLoans = s.returnedLoans + 1, "
+            + "s.totalLoanSeconds = s.totalLoanSeconds + :loanSeconds, s.statsVersion = s.statsVersion + 1, s.updatedTime = :now "
+            + "WHERE s.userId = :userId")
+    int recordReturn(@Param("userId") Integer userId, @Param("loanSeconds") long loanSeconds, @Param("now") LocalDateTime now);
+
+    /**
+     * 彙總表沒有此使用者時，由借閱紀錄（含封存）建立統計列
+     *
+     * 使用者第一次借書，或借閱紀錄由合成資料產生器等途徑直接寫入時使用；沒有任何紀錄時建立全零的統計列。
+     * 重建本身算一次變化，stats_version 為 1。
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_borrowing_stats"))
+    @Query(value = "INSERT INTO user_borrowing_stats (user_id, total_loans, active_loans, returned_loans, total_loan_seconds, stats_version) "
+            + "SELECT :userId, s.total_loans, s.active_loans, s.returned_loans, s.total_loan_seconds, 1 FROM ("
+            + "SELECT COUNT(*) AS total_loans, "
+            + "COALESCE(SUM(CASE WHEN r.return_time IS NULL THEN 1 ELSE 0 END), 0) AS active_loans, "
+            + "COALESCE(SUM(CASE WHEN r.return_time IS NULL THEN 0 ELSE 1 END), 0) AS returned_loans, "
+            + "COALESCE(SUM(CASE WHEN r.return_time IS NULL THEN 0 "
+            + "ELSE CAST(DATEDIFF(SECOND, r.borrowing_time, r.return_time) AS BIGINT) END), 0) AS total_loan_seconds "
+            + "FROM (SELECT borrowing_time, return_time FROM borrowing_records WHERE user_id = :userId "
+            + "UNION ALL SELECT borrowing_time, return_time FROM borrowing_records_archive WHERE user_id = :userId) r"
+            + ") s WHERE NOT EXISTS (SELECT 1 FROM user_borrowing_stats WHERE user_id = :userId)", nativeQuery = true)
+    int createFromRecords(@Param("userId") Integer userId);
+
+    /**
+     * 查詢統計版本（遞增更新後在同一個交易中讀取）
+     */
+    @Query("SELECT s.statsVersion FROM UserBorrowingStats s WHERE s.userId = :userId")
+    Long findStatsVersion(@Param("userId") Integer userId);
+}
@@ -1,12 +1,16 @@
 package Library.System.repository;
 
 import Library.System.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
@@ -27,4 +31,13 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     @Query("SELECT u FROM User u WHERE u.phoneNumber = :phoneNumber AND u.passwordHash = :passwordHash")
     Optional<User> findByPhoneNumberAndPasswordHash(@Param("phoneNumber") String phoneNumber, 
                                                    @Param("passwordHash") String passwordHash);
-} 
\ No newline at end of file
+    
+    /**
+     * 串流讀取所有已註冊的手機號碼（僅取單一欄位，供啟動時建立布隆過濾器）
+     * 
+     * 必須在交易中使用並於使用完畢後關閉串流
+     */
+    @Query("SELECT u.phoneNumber FROM User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllPhoneNumbers();
+} 
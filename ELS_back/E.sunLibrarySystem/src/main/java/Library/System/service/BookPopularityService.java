@@ -0,0 +1,385 @@
+/**
+ * 書籍熱門度服務 - 以記憶體中的每小時計數提供「本週 / 本月最常借閱」排行
+ *
+ * 首頁每次載入都對 borrowing_records 執行 GROUP BY isbn 的成本過高，此服務包含以下功能：
+ * 1. 每小時計數 - 借書交易提交後，在環狀陣列中當前小時的區間累加該 ISBN 的借閱次數
+ * 2. 區間總計 - 每個排行期間（週、月）維護區間內的總計，時間前進時扣除移出範圍的小時區間
+ * 3. 前 K 名 - 以大小為 K 的最小堆積從區間總計選出排行，不需排序全部書籍
+ * 4. 定期寫回 - 尚未寫入的次數定期累加到 book_popularity_hourly，啟動時讀回最近 30 天重建計數
+ *
+ * 特性說明：
+ * - 環狀陣列保留 30 天（720 個小時區間），記憶體用量只與期間內被借過的書籍數量有關
+ * - 寫回只累加本機新增的次數，多個應用程式執行個體共用同一張表時不會互相覆寫
+ * - 寫回失敗時次數保留在記憶體中，下次排程重試
+ * - 排行只包含本機借出與重建時讀回的次數，其他執行個體的借閱在下次重建後才會反映
+ *
+ * 配置參數：
+ * - book.popularity.flush-interval-ms: 寫回資料表的間隔
+ * - book.popularity.max-limit: 單次查詢的排行筆數上限
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import Library.System.common.BusinessMetrics;
+import Library.System.dto.BookResponse;
+import Library.System.dto.PopularBookResponse;
+import Library.System.entity.Book;
+import Library.System.entity.BookPopularityHourly;
+import Library.System.event.BorrowingEvent;
+import Library.System.repository.BookPopularityHourlyRepository;
+import Library.System.repository.BookRepository;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class BookPopularityService {
+
+    /** 日誌記錄器 */
+    private static final Logger logger = LoggerFactory.getLogger(BookPopularityService.class);
+
+    /** 環狀陣列保留的小時區間數（30 天），也是「本月」排行的範圍 */
+    static final int RING_HOURS = 30 * 24;
+
+    /** 排行順序：次數少者較小，次數相同時 ISBN 較大者較小（最小堆積的堆頂為最先被淘汰者） */
+    private static final Comparator<Map.Entry<String, Integer>> RANKING =
+            Map.Entry.<String, Integer>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+
+    /**
+     * 排行期間
+     */
+    public enum Period {
+        /** 最近 7 天 */
+        WEEK(7 * 24),
+        /** 最近 30 天 */
+        MONTH(RING_HOURS);
+
+        private final int hours;
+
+        Period(int hours) {
+            this.hours = hours;
+        }
+
+        /**
+         * 由查詢參數（week、month，不分大小寫）取得排行期間
+         *
+         * @param value 查詢參數
+         * @return Period 排行期間
+         * @throws IllegalArgumentException 不支援的排行期間
+         */
+        public static Period from(String value) {
+            for (Period period : values()) {
+                if (period.name().equalsIgnoreCase(value)) {
+                    return period;
+                }
+            }
+            throw new IllegalArgumentException("不支援的排行期間: " + value);
+        }
+    }
+
+    /** 單次查詢的排行筆數上限 */
+    @Value("${book.popularity.max-limit:50}")
+    private int maxLimit;
+
+    @Autowired
+    private BookPopularityHourlyRepository bookPopularityHourlyRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** 業務指標，記錄排行查詢耗時 */
+    @Autowired
+    private BusinessMetrics metrics;
+
+    /** 寫回使用獨立交易，失敗時整批保留在記憶體 */
+    private TransactionTemplate transactionTemplate;
+
+    /** 保護環狀陣列、區間總計與待寫回次數 */
+    private final Object lock = new Object();
+
+    /** 寫回與重建互斥，避免重建讀取資料表後、合併待寫回次數前被寫回而重複計算 */
+    private final Object flushLock = new Object();
+
+    /** 每小時區間，索引為 小時 % RING_HOURS */
+    private final HourBucket[] ring = new HourBucket[RING_HOURS];
+
+    /** 各排行期間內每個 ISBN 的借閱總計 */
+    private final EnumMap<Period, Map<String, Integer>> totals = new EnumMap<>(Period.class);
+
+    /** 尚未寫回資料表的次數：小時 → ISBN → 次數 */
+    private Map<Long, Map<String, Integer>> pending = new HashMap<>();
+
+    /** 目前所在的小時（自 1970-01-01T00:00 起算），尚未計數時為 Long.MIN_VALUE */
+    private long currentHour = Long.MIN_VALUE;
+
+    @PostConstruct
+    void init() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Period period : Period.values()) {
+            totals.put(period, new HashMap<>());
+        }
+    }
+
+    /**
+     * 借書交易提交後累加該書籍的借閱次數
+     *
+     * @param event 借書或還書事件（還書不影響熱門度）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBorrowingEvent(BorrowingEvent event) {
+        if (event.getType() == BorrowingEvent.Type.BORROW && event.getIsbn() != null) {
+            recordBorrow(event.getIsbn());
+        }
+    }
+
+    /**
+     * 在當前小時區間累加一次借閱
+     *
+     * @param isbn 書籍 ISBN
+     */
+    public void recordBorrow(String isbn) {
+        long hour = toHour(LocalDateTime.now());
+        synchronized (lock) {
+            advanceTo(hour);
+            add(hour, isbn, 1);
+            pending.computeIfAbsent(hour, h -> new HashMap<>()).merge(isbn, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 查詢熱門書籍排行
+     *
+     * @param period 排行期間
+     * @param limit 排行筆數（超過 book.popularity.max-limit 時以上限為準）
+     * @return List<PopularBookResponse> 依借閱次數由多到少排列的書籍
+     */
+    @Transactional(readOnly = true)
+    public List<PopularBookResponse> getPopularBooks(Period period, int limit) {
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
+        try {
+            List<Map.Entry<String, Integer>> top = topIsbns(period, Math.max(1, Math.min(limit, maxLimit)));
+            Map<String, Book> books = top.isEmpty() ? Map.of()
+                    : bookRepository.findAllById(top.stream().map(Map.Entry::getKey).toList()).stream()
+                            .collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+
+            List<PopularBookResponse> result = new ArrayList<>(top.size());
+            for (Map.Entry<String, Integer> entry : top) {
+                Book book = books.get(entry.getKey());
+                if (book == null) {
+                    continue;
+                }
+                result.add(new PopularBookResponse(result.size() + 1, entry.getValue(), new BookResponse(
+                        book.getIsbn(), book.getName(), book.getAuthor(), book.getIntroduction(), book.getImageUrl())));
+            }
+            outcome = BusinessMetrics.SUCCESS;
+            return result;
+        } finally {
+            metrics.stop(sample, BusinessMetrics.CATALOG, "popular", outcome);
+        }
+    }
+
+    /**
+     * 將尚未寫回的次數累加到 book_popularity_hourly，並刪除超出 30 天的計數
+     */
+    @Scheduled(fixedDelayString = "${book.popularity.flush-interval-ms:60000}",
+               initialDelayString = "${book.popularity.flush-interval-ms:60000}")
+    @PreDestroy
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Long, Map<String, Integer>> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new HashMap<>();
+            }
+
+            try {
+                LocalDateTime cutoff = toDateTime(toHour(LocalDateTime.now()) - RING_HOURS + 1);
+                transactionTemplate.executeWithoutResult(status -> {
+                    batch.forEach((hour, counts) -> {
+                        LocalDateTime bucketHour = toDateTime(hour);
+                        counts.forEach((isbn, delta) -> {
+                            if (bookPopularityHourlyRepository.addBorrowCount(isbn, bucketHour, delta) == 0) {
+                                bookPopularityHourlyRepository.createIfMissing(isbn, bucketHour);
+                                bookPopularityHourlyRepository.addBorrowCount(isbn, bucketHour, delta);
+                            }
+                        });
+                    });
+                    bookPopularityHourlyRepository.deleteByBucketHourBefore(cutoff);
+                });
+                logger.debug("書籍熱門度計數已寫回 - 小時區間數: {}", batch.size());
+            } catch (Exception e) {
+                synchronized (lock) {
+                    batch.forEach((hour, counts) -> counts.forEach((isbn, delta) ->
+                            pending.computeIfAbsent(hour, h -> new HashMap<>()).merge(isbn, delta, Integer::sum)));
+                }
+                logger.warn("書籍熱門度計數寫回失敗，下次排程重試: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 由 book_popularity_hourly 重建記憶體計數，尚未寫回的次數會保留
+     *
+     * @return int 讀回的計數列數
+     */
+    public int rebuild() {
+        synchronized (flushLock) {
+            long hour = toHour(LocalDateTime.now());
+            List<BookPopularityHourly> rows =
+                    bookPopularityHourlyRepository.findByBucketHourGreaterThanEqual(toDateTime(hour - RING_HOURS + 1));
+
+            synchronized (lock) {
+                Arrays.fill(ring, null);
+                totals.values().forEach(Map::clear);
+                currentHour = Math.max(currentHour, hour);
+                for (BookPopularityHourly row : rows) {
+                    addIfInRange(toHour(row.getBucketHour()), row.getIsbn(), row.getBorrowCount());
+                }
+                pending.forEach((bucketHour, counts) ->
+                        counts.forEach((isbn, count) -> addIfInRange(bucketHour, isbn, count)));
+            }
+            return rows.size();
+        }
+    }
+
+    /**
+     * 以最小堆積選出排行期間內借閱次數最多的 K 個 ISBN
+     */
+    private List<Map.Entry<String, Integer>> topIsbns(Period period, int k) {
+        PriorityQueue<Map.Entry<String, Integer>> heap = new PriorityQueue<>(k + 1, RANKING);
+        synchronized (lock) {
+            advanceTo(toHour(LocalDateTime.now()));
+            for (Map.Entry<String, Integer> entry : totals.get(period).entrySet()) {
+                if (heap.size() == k && RANKING.compare(entry, heap.peek()) <= 0) {
+                    continue;
+                }
+                heap.offer(Map.entry(entry.getKey(), entry.getValue()));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+        }
+        List<Map.Entry<String, Integer>> result = new ArrayList<>(heap);
+        result.sort(RANKING.reversed());
+        return result;
+    }
+
+    /**
+     * 前進到指定小時，從各期間總計扣除移出範圍的小時區間（呼叫端需持有 lock）
+     */
+    private void advanceTo(long hour) {
+        if (hour <= currentHour) {
+            return;
+        }
+        if (currentHour == Long.MIN_VALUE || hour - currentHour >= RING_HOURS) {
+            Arrays.fill(ring, null);
+            totals.values().forEach(Map::clear);
+        } else {
+            for (long h = currentHour + 1; h <= hour; h++) {
+                for (Period period : Period.values()) {
+                    expire(period, h - period.hours);
+                }
+                ring[slot(h)] = null;
+            }
+        }
+        currentHour = hour;
+    }
+
+    /**
+     * 指定小時的區間移出排行期間，從該期間的總計扣除
+     */
+    private void expire(Period period, long hour) {
+        HourBucket bucket = ring[slot(hour)];
+        if (bucket == null || bucket.hour != hour) {
+            return;
+        }
+        Map<String, Integer> periodTotals = totals.get(period);
+        bucket.counts.forEach((isbn, count) ->
+                periodTotals.computeIfPresent(isbn, (key, total) -> total > count ? total - count : null));
+    }
+
+    /**
+     * 累加到小時區間與涵蓋該小時的各期間總計（呼叫端需持有 lock，且 hour 位於保留範圍內）
+     */
+    private void add(long hour, String isbn, int count) {
+        HourBucket bucket = ring[slot(hour)];
+        if (bucket == null || bucket.hour != hour) {
+            bucket = new HourBucket(hour);
+            ring[slot(hour)] = bucket;
+        }
+        bucket.counts.merge(isbn, count, Integer::sum);
+        for (Period period : Period.values()) {
+            if (hour > currentHour - period.hours) {
+                totals.get(period).merge(isbn, count, Integer::sum);
+            }
+        }
+    }
+
+    private void addIfInRange(long hour, String isbn, int count) {
+        if (hour <= currentHour && hour > currentHour - RING_HOURS) {
+            add(hour, isbn, count);
+        }
+    }
+
+    private static int slot(long hour) {
+        return (int) Math.floorMod(hour, (long) RING_HOURS);
+    }
+
+    private static long toHour(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600L);
+    }
+
+    private static LocalDateTime toDateTime(long hour) {
+        return LocalDateTime.ofEpochSecond(hour * 3600L, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * 單一小時的借閱次數
+     */
+    private static final class HourBucket {
+
+        private final long hour;
+
+        private final Map<String, Integer> counts = new HashMap<>();
+
+        HourBucket(long hour) {
+            this.hour = hour;
+        }
+    }
+}
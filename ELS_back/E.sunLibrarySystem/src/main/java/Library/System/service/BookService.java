@@ -7,15 +7,23 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import Library.System.common.BusinessMetrics;
 import Library.System.dto.BookResponse;
 import Library.System.dto.InventoryResponse;
 import Library.System.entity.Book;
 import Library.System.entity.Inventory;
+import Library.System.entity.InventoryStatus;
+import Library.System.event.CatalogChangedEvent;
+import Library.System.event.InventoryStatusChangedEvent;
+import Library.System.monitor.InventoryStatusCounters;
+import Library.System.monitor.jfr.CatalogQueryEvent;
 import Library.System.repository.BookRepository;
 import Library.System.repository.InventoryRepository;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 @Transactional
@@ -30,30 +38,54 @@ public class BookService {
     @Autowired
     private InventoryRepository inventoryRepository;
     
+    /** 業務指標，記錄圖書目錄操作耗時與失敗原因 */
+    @Autowired
+    private BusinessMetrics metrics;
+    
+    /** 庫存狀態計數，新增庫存提交後更新可借閱數量 */
+    @Autowired
+    private InventoryStatusCounters statusCounters;
+    
+    /** 事件發布器，新增書籍或庫存後在交易中發布 CatalogChangedEvent（重建目錄快照） */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * 查詢所有可借閱的書籍
      */
+    @Transactional(readOnly = true)
     public List<InventoryResponse> getAvailableBooks() {
         logger.debug("查詢所有可借閱書籍");
         
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
+        CatalogQueryEvent event = new CatalogQueryEvent("available");
+        event.begin();
         try {
             List<Inventory> inventories = inventoryRepository.findAvailableBooks();
             List<InventoryResponse> responses = inventories.stream()
                     .map(this::convertToInventoryResponse)
                     .collect(Collectors.toList());
             
-            logger.info("成功查詢可借閱書籍 - 數量: {}", responses.size());
+            logger.debug("成功查詢可借閱書籍 - 數量: {}", responses.size());
+            event.setResultSize(responses.size());
+            outcome = BusinessMetrics.SUCCESS;
             return responses;
         } catch (Exception e) {
+            event.fail(e.getMessage());
             logger.error("查詢可借閱書籍失敗: 錯誤: {}", e.getMessage(), e);
+            metrics.failure(BusinessMetrics.CATALOG, "available", "system_error");
             throw new RuntimeException("查詢可借閱書籍失敗", e);
+        } finally {
+            metrics.stop(sample, BusinessMetrics.CATALOG, "available", outcome);
+            event.finish(outcome);
         }
     }
     
     /**
-     * 將 Inventory 轉換為 InventoryResponse
+     * 將 Inventory 轉換為 InventoryResponse（套件可見，供基準測試使用）
      */
-    private InventoryResponse convertToInventoryResponse(Inventory inventory) {
+    InventoryResponse convertToInventoryResponse(Inventory inventory) {
         Book book = inventory.getBook();
         BookResponse bookResponse = null;
         
@@ -71,7 +103,7 @@ public class BookService {
             inventory.getInventoryId(),
             inventory.getIsbn(),
             inventory.getStoreTime(),
-            inventory.getStatus(),
+            inventory.getStatus().getLabel(),
             bookResponse
         );
     }
@@ -79,26 +111,35 @@ public class BookService {
     /**
      * 根據 ISBN 查詢書籍
      */
+    @Transactional(readOnly = true)
     public Optional<Book> findByIsbn(String isbn) {
         logger.debug("根據 ISBN 查詢書籍: {}", isbn);
         
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
         try {
             Optional<Book> book = bookRepository.findById(isbn);
             if (book.isPresent()) {
                 logger.debug("成功找到書籍: ISBN: {}, 書名: {}", isbn, book.get().getName());
             } else {
                 logger.debug("未找到書籍: ISBN: {}", isbn);
+                metrics.failure(BusinessMetrics.CATALOG, "find_by_isbn", "book_not_found");
             }
+            outcome = BusinessMetrics.SUCCESS;
             return book;
         } catch (Exception e) {
             logger.error("根據 ISBN 查詢書籍失敗: ISBN: {}, 錯誤: {}", isbn, e.getMessage(), e);
+            metrics.failure(BusinessMetrics.CATALOG, "find_by_isbn", "system_error");
             throw new RuntimeException("查詢書籍失敗", e);
+        } finally {
+            metrics.stop(sample, BusinessMetrics.CATALOG, "find_by_isbn", outcome);
         }
     }
     
     /**
      * 根據書名查詢書籍
      */
+    @Transactional(readOnly = true)
     public Optional<Book> findByName(String name) {
         logger.debug("根據書名查詢書籍: {}", name);
         
@@ -119,6 +160,7 @@ public class BookService {
     /**
      * 根據作者查詢書籍
      */
+    @Transactional(readOnly = true)
     public Optional<Book> findByAuthor(String author) {
         logger.debug("根據作者查詢書籍: {}", author);
         
@@ -139,12 +181,13 @@ public class BookService {
     /**
      * 查詢所有書籍
      */
+    @Transactional(readOnly = true)
     public List<Book> findAllBooks() {
         logger.debug("查詢所有書籍");
         
         try {
             List<Book> books = bookRepository.findAll();
-            logger.info("成功查詢所有書籍 - 數量: {}", books.size());
+            logger.debug("成功查詢所有書籍 - 數量: {}", books.size());
             return books;
         } catch (Exception e) {
             logger.error("查詢所有書籍失敗: 錯誤: {}", e.getMessage(), e);
@@ -155,26 +198,39 @@ public class BookService {
     /**
      * 查詢所有書籍（包含庫存信息）
      */
+    @Transactional(readOnly = true)
     public List<InventoryResponse> getAllBooksWithInventory() {
         logger.debug("查詢所有書籍（包含庫存信息）");
         
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
+        CatalogQueryEvent event = new CatalogQueryEvent("list_all");
+        event.begin();
         try {
             List<Inventory> inventories = inventoryRepository.findAllBooks();
             List<InventoryResponse> responses = inventories.stream()
                     .map(this::convertToInventoryResponse)
                     .collect(Collectors.toList());
             
-            logger.info("成功查詢所有書籍（包含庫存信息） - 數量: {}", responses.size());
+            logger.debug("成功查詢所有書籍（包含庫存信息） - 數量: {}", responses.size());
+            event.setResultSize(responses.size());
+            outcome = BusinessMetrics.SUCCESS;
             return responses;
         } catch (Exception e) {
+            event.fail(e.getMessage());
             logger.error("查詢所有書籍（包含庫存信息）失敗: 錯誤: {}", e.getMessage(), e);
+            metrics.failure(BusinessMetrics.CATALOG, "list_all", "system_error");
             throw new RuntimeException("查詢所有書籍失敗", e);
+        } finally {
+            metrics.stop(sample, BusinessMetrics.CATALOG, "list_all", outcome);
+            event.finish(outcome);
         }
     }
     
     /**
      * 檢查書籍是否可借閱
      */
+    @Transactional(readOnly = true)
     public boolean isBookAvailable(Integer inventoryId) {
         logger.debug("檢查書籍可借閱狀態: 庫存ID: {}", inventoryId);
         
@@ -194,10 +250,13 @@ public class BookService {
     public Book addBook(String isbn, String name, String author, String introduction, String imageUrl) {
         logger.info("開始添加書籍 - ISBN: {}, 書名: {}, 作者: {}", isbn, name, author);
         
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
         try {
             // 檢查書籍是否已存在
             if (bookRepository.findById(isbn).isPresent()) {
                 logger.warn("添加書籍失敗 - 書籍已存在: ISBN: {}", isbn);
+                metrics.failure(BusinessMetrics.CATALOG, "add_book", "book_exists");
                 throw new RuntimeException("書籍已存在");
             }
             
@@ -209,16 +268,21 @@ public class BookService {
             book.setImageUrl(imageUrl);
             
             Book savedBook = bookRepository.save(book);
+            eventPublisher.publishEvent(new CatalogChangedEvent(isbn));
             logger.info("成功添加書籍 - ISBN: {}, 書名: {}, 作者: {}", 
                        savedBook.getIsbn(), savedBook.getName(), savedBook.getAuthor());
             
+            outcome = BusinessMetrics.SUCCESS;
             return savedBook;
         } catch (RuntimeException e) {
             logger.error("添加書籍失敗 - 業務邏輯錯誤: ISBN: {}, 錯誤: {}", isbn, e.getMessage());
             throw e;
         } catch (Exception e) {
             logger.error("添加書籍失敗 - 系統錯誤: ISBN: {}, 錯誤: {}", isbn, e.getMessage(), e);
+            metrics.failure(BusinessMetrics.CATALOG, "add_book", "system_error");
             throw new RuntimeException("添加書籍失敗", e);
+        } finally {
+            metrics.stop(sample, BusinessMetrics.CATALOG, "add_book", outcome);
         }
     }
     
@@ -228,23 +292,36 @@ public class BookService {
     public Inventory addInventory(String isbn) {
         logger.info("開始添加庫存 - ISBN: {}", isbn);
         
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
         try {
             Book book = bookRepository.findById(isbn)
-                    .orElseThrow(() -> new RuntimeException("書籍不存在"));
+                    .orElseThrow(() -> {
+                        metrics.failure(BusinessMetrics.CATALOG, "add_inventory", "book_not_found");
+                        return new RuntimeException("書籍不存在");
+                    });
             
-            Inventory inventory = new Inventory(isbn, "Available");
+            Inventory inventory = new Inventory(isbn, InventoryStatus.AVAILABLE);
             Inventory savedInventory = inventoryRepository.save(inventory);
+            statusCounters.recordCreated(InventoryStatus.AVAILABLE);
+            eventPublisher.publishEvent(new CatalogChangedEvent(isbn));
+            eventPublisher.publishEvent(new InventoryStatusChangedEvent(savedInventory.getInventoryId(), isbn,
+                    null, InventoryStatus.AVAILABLE));
             
             logger.info("成功添加庫存 - 庫存ID: {}, ISBN: {}, 書名: {}", 
                        savedInventory.getInventoryId(), isbn, book.getName());
             
+            outcome = BusinessMetrics.SUCCESS;
             return savedInventory;
         } catch (RuntimeException e) {
             logger.error("添加庫存失敗 - 業務邏輯錯誤: ISBN: {}, 錯誤: {}", isbn, e.getMessage());
             throw e;
         } catch (Exception e) {
             logger.error("添加庫存失敗 - 系統錯誤: ISBN: {}, 錯誤: {}", isbn, e.getMessage(), e);
+            metrics.failure(BusinessMetrics.CATALOG, "add_inventory", "system_error");
             throw new RuntimeException("添加庫存失敗", e);
+        } finally {
+            metrics.stop(sample, BusinessMetrics.CATALOG, "add_inventory", outcome);
         }
     }
 } 
\ No newline at end of file
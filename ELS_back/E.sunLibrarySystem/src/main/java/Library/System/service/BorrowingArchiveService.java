@@ -0,0 +1,202 @@
+/**
+ * 借閱紀錄封存服務 - 將歸還已久的借閱紀錄搬移到 borrowing_records_archive
+ *
+ * borrowing_records 會隨時間無限成長，而借書、還書與借閱歷史查詢都在同一張表上執行。
+ * 此服務在背景定期搬移舊資料，讓熱表只保留近期紀錄，包含以下功能：
+ * 1. 分批搬移 - 每批以 INSERT ... SELECT 複製到封存表後刪除原紀錄，兩者在同一個交易中完成
+ * 2. 節流 - 每批之間暫停一段時間，並限制每次執行的批數，避免長時間佔用交易記錄與鎖
+ * 3. 單一執行 - 排程與管理端點同時觸發時，只會有一個封存作業在執行
+ *
+ * 特性說明：
+ * - 每批筆數預設 500，低於 SQL Server 的鎖升級門檻（約 5000 個鎖），不會升級為表格鎖阻擋借還書
+ * - 只搬移 return_time 早於截止時間的紀錄，借閱中的紀錄永遠留在熱表
+ * - 複製與刪除筆數不一致時回滾該批並停止本次執行
+ *
+ * 配置參數：
+ * - borrowing.archive.enabled: 是否啟用排程封存
+ * - borrowing.archive.cron: 排程時間（預設每日 03:30）
+ * - borrowing.archive.retention-months: 歸還後保留在熱表的月數
+ * - borrowing.archive.chunk-size: 每批搬移筆數
+ * - borrowing.archive.pause-ms: 每批之間的暫停時間
+ * - borrowing.archive.max-chunks-per-run: 每次執行的最大批數
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import Library.System.common.BusinessMetrics;
+import Library.System.repository.BorrowingRecordArchiveRepository;
+import Library.System.repository.BorrowingRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+@Service
+public class BorrowingArchiveService {
+
+    /** 日誌記錄器 */
+    private static final Logger logger = LoggerFactory.getLogger(BorrowingArchiveService.class);
+
+    /** SQL Server 單一語句最多 2100 個參數，IN 清單需低於此值 */
+    private static final int MAX_CHUNK_SIZE = 2000;
+
+    /** 是否啟用排程封存 */
+    @Value("${borrowing.archive.enabled:true}")
+    private boolean enabled;
+
+    /** 歸還後保留在熱表的月數 */
+    @Value("${borrowing.archive.retention-months:12}")
+    private int retentionMonths;
+
+    /** 每批搬移筆數 */
+    @Value("${borrowing.archive.chunk-size:500}")
+    private int chunkSize;
+
+    /** 每批之間的暫停時間（毫秒） */
+    @Value("${borrowing.archive.pause-ms:200}")
+    private long pauseMillis;
+
+    /** 每次執行的最大批數，剩餘的紀錄留待下次執行 */
+    @Value("${borrowing.archive.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private BorrowingRecordArchiveRepository borrowingRecordArchiveRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** 業務指標，記錄每次封存作業的耗時 */
+    @Autowired
+    private BusinessMetrics metrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** 每批使用獨立交易，失敗時只回滾該批 */
+    private TransactionTemplate transactionTemplate;
+
+    /** 已封存的紀錄數 */
+    private Counter archivedCounter;
+
+    /** 是否有封存作業正在執行 */
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @PostConstruct
+    void init() {
+        if (retentionMonths <= 0) {
+            throw new IllegalArgumentException("borrowing.archive.retention-months 必須大於 0");
+        }
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("borrowing.archive.chunk-size 必須介於 1 與 " + MAX_CHUNK_SIZE + " 之間");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedCounter = Counter.builder("library.borrowing.archived")
+                .description("搬移到封存表的借閱紀錄數")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 排程封存：依 borrowing.archive.cron 執行
+     */
+    @Scheduled(cron = "${borrowing.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        if (running.get()) {
+            logger.info("上一次借閱紀錄封存尚未完成，略過本次排程");
+            return;
+        }
+        try {
+            archiveReturnedRecords();
+        } catch (RuntimeException e) {
+            logger.error("排程封存借閱紀錄失敗: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 分批封存歸還時間早於保留期限的借閱紀錄
+     *
+     * @return int 本次搬移的紀錄數
+     */
+    public int archiveReturnedRecords() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("封存作業正在執行中");
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(retentionMonths);
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
+        int archived = 0;
+        int chunks = 0;
+        try {
+            while (chunks < maxChunksPerRun) {
+                Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+                chunks++;
+                archived += moved;
+                if (moved < chunkSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis);
+            }
+            outcome = BusinessMetrics.SUCCESS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("借閱紀錄封存被中斷: 已搬移 {} 筆", archived);
+        } finally {
+            running.set(false);
+            metrics.stop(sample, BusinessMetrics.BORROWING, "archive", outcome);
+        }
+
+        logger.atInfo().setMessage("借閱紀錄封存完成")
+                .addKeyValue("event", "borrowing.archive")
+                .addKeyValue("cutoff", cutoff)
+                .addKeyValue("archived", archived)
+                .addKeyValue("chunks", chunks)
+                .log();
+        return archived;
+    }
+
+    /**
+     * 搬移一批紀錄：複製到封存表後刪除原紀錄（在呼叫端的交易中執行）
+     *
+     * @return int 本批搬移的紀錄數
+     */
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<Integer> recordIds = borrowingRecordRepository.findArchivableRecordIds(cutoff, PageRequest.of(0, chunkSize));
+        if (recordIds.isEmpty()) {
+            return 0;
+        }
+
+        int copied = borrowingRecordArchiveRepository.copyFromBorrowingRecords(recordIds, LocalDateTime.now());
+        int deleted = borrowingRecordRepository.deleteReturnedByRecordIdIn(recordIds);
+        if (copied != recordIds.size() || deleted != copied) {
+            throw new IllegalStateException("封存筆數不一致: 預計 " + recordIds.size() + "，複製 " + copied + "，刪除 " + deleted);
+        }
+
+        archivedCounter.increment(deleted);
+        logger.debug("已封存一批借閱紀錄: {} 筆", deleted);
+        return deleted;
+    }
+}
@@ -1,6 +1,8 @@
 package Library.System.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -8,18 +10,33 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import Library.System.common.BusinessException;
+import Library.System.common.BusinessMetrics;
+import Library.System.common.LogSampler;
+import Library.System.common.ReadYourWritesTracker;
 import Library.System.dto.BorrowingResponse;
 import Library.System.entity.Book;
 import Library.System.entity.BorrowingRecord;
+import Library.System.entity.BorrowingRecordArchive;
 import Library.System.entity.Inventory;
+import Library.System.entity.InventoryStatus;
 import Library.System.entity.User;
-import Library.System.repository.BookRepository;
+import Library.System.event.BorrowingEvent;
+import Library.System.event.InventoryStatusChangedEvent;
+import Library.System.monitor.InventoryStatusCounters;
+import Library.System.monitor.jfr.BorrowEvent;
+import Library.System.monitor.jfr.ReturnEvent;
+import Library.System.repository.BorrowingRecordArchiveRepository;
 import Library.System.repository.BorrowingRecordRepository;
 import Library.System.repository.InventoryRepository;
 import Library.System.repository.UserRepository;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class BorrowingService {
@@ -30,87 +47,129 @@ public class BorrowingService {
     @Autowired
     private BorrowingRecordRepository borrowingRecordRepository;
     
+    @Autowired
+    private BorrowingRecordArchiveRepository borrowingRecordArchiveRepository;
+    
     @Autowired
     private InventoryRepository inventoryRepository;
     
     @Autowired
     private UserRepository userRepository;
     
+    /** 業務指標，記錄借閱操作耗時與失敗原因 */
+    @Autowired
+    private BusinessMetrics metrics;
+    
+    /** 日誌取樣器，限制成功事件的日誌輸出量 */
+    @Autowired
+    private LogSampler logSampler;
+    
+    /** 事件發布器，借還書成功後在交易中發布 BorrowingEvent（更新借閱統計與熱門排行） */
     @Autowired
-    private BookRepository bookRepository;
+    private ApplicationEventPublisher eventPublisher;
+    
+    /** 讀己之寫追蹤，借還書後短時間內的查詢改走主資料庫 */
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+    
+    /** 庫存狀態計數，借還書提交後更新各狀態數量與轉換次數 */
+    @Autowired
+    private InventoryStatusCounters statusCounters;
     
     /**
      * 借書功能 - 使用資料庫交易確保資料完整性
      */
     @Transactional
     public BorrowingRecord borrowBook(Integer userId, Integer inventoryId) {
-        logger.info("開始處理借書請求 - 使用者ID: {}, 庫存ID: {}", userId, inventoryId);
+        logger.debug("開始處理借書請求 - 使用者ID: {}, 庫存ID: {}", userId, inventoryId);
         
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
+        BorrowEvent event = new BorrowEvent(userId, inventoryId);
+        event.begin();
         try {
             // 1. 檢查使用者是否存在
             Optional<User> userOpt = userRepository.findById(userId);
             if (userOpt.isEmpty()) {
-                logger.warn("借書失敗 - 使用者不存在: {}", userId);
-                throw new RuntimeException("使用者不存在");
+                throw failure("borrow", "user_not_found", "使用者不存在", userId, inventoryId);
             }
             logger.debug("使用者驗證成功: {}", userId);
             
             // 2. 檢查書籍是否存在且可借閱
-            Optional<Inventory> inventoryOpt = inventoryRepository.findById(inventoryId);
+            Optional<Inventory> inventoryOpt = inventoryRepository.findCurrentById(inventoryId);
             if (inventoryOpt.isEmpty()) {
-                logger.warn("借書失敗 - 書籍不存在: {}", inventoryId);
-                throw new RuntimeException("書籍不存在");
+                throw failure("borrow", "inventory_not_found", "書籍不存在", userId, inventoryId);
             }
             
             Inventory inventory = inventoryOpt.get();
-            String status = inventory.getStatus();
+            InventoryStatus status = inventory.getStatus();
             logger.debug("書籍庫存狀態: {} - 庫存ID: {}", status, inventoryId);
             
-            if (!"Available".equals(status)) {
-                logger.warn("借書失敗 - 書籍不可借閱，狀態: {} - 庫存ID: {}", status, inventoryId);
-                throw new RuntimeException("此書籍目前不可借閱，狀態：" + status);
+            if (status != InventoryStatus.AVAILABLE) {
+                throw failure("borrow", "not_available", "此書籍目前不可借閱，狀態：" + status, userId, inventoryId);
             }
             
             // 3. 檢查使用者是否已借閱此書籍
             if (borrowingRecordRepository.existsActiveBorrowing(userId, inventoryId)) {
-                logger.warn("借書失敗 - 使用者已借閱此書: 使用者ID: {}, 庫存ID: {}", userId, inventoryId);
-                throw new RuntimeException("您已借閱此書籍");
+                throw failure("borrow", "already_borrowed", "您已借閱此書籍", userId, inventoryId);
             }
             
             // 4. 檢查此書籍是否已被其他人借閱
             Optional<BorrowingRecord> existingBorrow = borrowingRecordRepository.findByInventoryIdAndReturnTimeIsNull(inventoryId);
             if (existingBorrow.isPresent()) {
-                logger.warn("借書失敗 - 書籍已被其他使用者借閱: 庫存ID: {}", inventoryId);
-                throw new RuntimeException("此書籍已被其他使用者借閱");
+                throw failure("borrow", "borrowed_by_other", "此書籍已被其他使用者借閱", userId, inventoryId);
             }
             
-            // 5. 更新庫存狀態為「已借閱」
-            inventory.setStatus("Borrowed");
-            inventoryRepository.save(inventory);
-            logger.info("庫存狀態已更新為已借閱: 庫存ID: {}", inventoryId);
+            // 5. 更新庫存狀態為「已借閱」（UPDATE 條件帶上目前狀態，同時借同一本時只有一筆成功）
+            inventory.transitionTo(InventoryStatus.BORROWED);
+            try {
+                inventoryRepository.saveAndFlush(inventory);
+            } catch (OptimisticLockingFailureException e) {
+                throw failure("borrow", "concurrent_update", "此書籍狀態已變更，請重新查詢後再試", userId, inventoryId);
+            }
+            statusCounters.recordTransition(status, InventoryStatus.BORROWED);
+            eventPublisher.publishEvent(new InventoryStatusChangedEvent(inventoryId, inventory.getIsbn(),
+                    status, InventoryStatus.BORROWED));
+            logger.debug("庫存狀態已更新為已借閱: 庫存ID: {}", inventoryId);
             
-            // 6. 建立借閱紀錄
+            // 6. 建立借閱紀錄（唯一篩選索引確保每本館藏只有一筆借閱中紀錄）
             BorrowingRecord record = new BorrowingRecord(userId, inventoryId);
-            record = borrowingRecordRepository.save(record);
-            logger.info("借閱紀錄已建立: 紀錄ID: {}, 使用者ID: {}, 庫存ID: {}", 
+            try {
+                record = borrowingRecordRepository.saveAndFlush(record);
+            } catch (DataIntegrityViolationException e) {
+                throw failure("borrow", "borrowed_by_other", "此書籍已被其他使用者借閱", userId, inventoryId);
+            }
+            logger.debug("借閱紀錄已建立: 紀錄ID: {}, 使用者ID: {}, 庫存ID: {}", 
                        record.getRecordId(), userId, inventoryId);
             
+            String author = inventory.getBook() != null ? inventory.getBook().getAuthor() : null;
+            eventPublisher.publishEvent(BorrowingEvent.borrowed(userId, inventoryId, inventory.getIsbn(), author));
+            
             // 7. 重新查詢以獲取關聯實體
             BorrowingRecord result = borrowingRecordRepository.findByIdWithAssociations(record.getRecordId())
                     .orElseThrow(() -> new RuntimeException("借閱紀錄創建失敗"));
             
-            logger.info("借書成功完成 - 使用者ID: {}, 庫存ID: {}, 紀錄ID: {}", 
-                       userId, inventoryId, result.getRecordId());
+            readYourWrites.recordWrite(userId);
+            success("borrow", userId, inventoryId, result.getRecordId());
+            outcome = BusinessMetrics.SUCCESS;
             return result;
             
+        } catch (BusinessException e) {
+            event.fail(e.getMessage());
+            throw e; // 業務失敗已在 failure() 中記錄
         } catch (RuntimeException e) {
-            logger.error("借書過程中發生業務邏輯錯誤: 使用者ID: {}, 庫存ID: {}, 錯誤: {}", 
-                        userId, inventoryId, e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("借書過程中發生系統錯誤: 使用者ID: {}, 庫存ID: {}, 錯誤: {}", 
-                        userId, inventoryId, e.getMessage(), e);
+            event.fail(e.getMessage());
+            logger.atError().setMessage("借書過程中發生系統錯誤")
+                    .addKeyValue("event", "borrow.error")
+                    .addKeyValue("userId", userId)
+                    .addKeyValue("inventoryId", inventoryId)
+                    .setCause(e)
+                    .log();
+            metrics.failure(BusinessMetrics.BORROWING, "borrow", "system_error");
             throw new RuntimeException("借書失敗，請稍後再試", e);
+        } finally {
+            metrics.stop(sample, BusinessMetrics.BORROWING, "borrow", outcome);
+            event.finish(outcome);
         }
     }
     
@@ -119,14 +178,17 @@ public class BorrowingService {
      */
     @Transactional
     public BorrowingRecord returnBook(Integer userId, Integer inventoryId) {
-        logger.info("開始處理還書請求 - 使用者ID: {}, 庫存ID: {}", userId, inventoryId);
+        logger.debug("開始處理還書請求 - 使用者ID: {}, 庫存ID: {}", userId, inventoryId);
         
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
+        ReturnEvent event = new ReturnEvent(userId, inventoryId);
+        event.begin();
         try {
             // 1. 檢查是否有有效的借閱紀錄
             Optional<BorrowingRecord> recordOpt = borrowingRecordRepository.findByInventoryIdAndReturnTimeIsNull(inventoryId);
             if (recordOpt.isEmpty()) {
-                logger.warn("還書失敗 - 沒有找到有效的借閱紀錄: 庫存ID: {}", inventoryId);
-                throw new RuntimeException("沒有找到有效的借閱紀錄");
+                throw failure("return", "no_active_record", "沒有找到有效的借閱紀錄", userId, inventoryId);
             }
             
             BorrowingRecord record = recordOpt.get();
@@ -134,66 +196,118 @@ public class BorrowingService {
             
             // 2. 檢查是否為借閱者本人
             if (!record.getUserId().equals(userId)) {
-                logger.warn("還書失敗 - 非借閱者本人嘗試還書: 實際借閱者ID: {}, 嘗試還書者ID: {}, 庫存ID: {}", 
-                           record.getUserId(), userId, inventoryId);
-                throw new RuntimeException("您沒有借閱此書籍，無法歸還");
+                throw failure("return", "not_borrower", "您沒有借閱此書籍，無法歸還", userId, inventoryId);
             }
             
             // 3. 更新借閱紀錄的歸還時間
             record.setReturnTime(LocalDateTime.now());
             borrowingRecordRepository.save(record);
-            logger.info("借閱紀錄已更新歸還時間: 紀錄ID: {}, 歸還時間: {}", 
+            logger.debug("借閱紀錄已更新歸還時間: 紀錄ID: {}, 歸還時間: {}", 
                        record.getRecordId(), record.getReturnTime());
             
+            long loanSeconds = record.getBorrowingTime() != null
+                    ? Duration.between(record.getBorrowingTime(), record.getReturnTime()).getSeconds() : 0;
+            eventPublisher.publishEvent(BorrowingEvent.returned(userId, inventoryId, loanSeconds));
+            
             // 4. 更新庫存狀態為「可借閱」
-            Optional<Inventory> inventoryOpt = inventoryRepository.findById(inventoryId);
+            Optional<Inventory> inventoryOpt = inventoryRepository.findCurrentById(inventoryId);
             if (inventoryOpt.isPresent()) {
                 Inventory inventory = inventoryOpt.get();
-                inventory.setStatus("Available");
-                inventoryRepository.save(inventory);
-                logger.info("庫存狀態已更新為可借閱: 庫存ID: {}", inventoryId);
+                InventoryStatus previous = inventory.getStatus();
+                if (!previous.canTransitionTo(InventoryStatus.AVAILABLE)) {
+                    throw failure("return", "invalid_status", "此書籍目前狀態無法歸還：" + previous, userId, inventoryId);
+                }
+                inventory.transitionTo(InventoryStatus.AVAILABLE);
+                try {
+                    inventoryRepository.saveAndFlush(inventory);
+                } catch (OptimisticLockingFailureException e) {
+                    throw failure("return", "concurrent_update", "此書籍狀態已變更，請重新查詢後再試", userId, inventoryId);
+                }
+                statusCounters.recordTransition(previous, InventoryStatus.AVAILABLE);
+                eventPublisher.publishEvent(new InventoryStatusChangedEvent(inventoryId, inventory.getIsbn(),
+                        previous, InventoryStatus.AVAILABLE));
+                logger.debug("庫存狀態已更新為可借閱: 庫存ID: {}", inventoryId);
             } else {
-                logger.error("還書失敗 - 書籍庫存資料異常: 庫存ID: {}", inventoryId);
-                throw new RuntimeException("書籍庫存資料異常");
+                throw failure("return", "inventory_inconsistent", "書籍庫存資料異常", userId, inventoryId);
             }
             
             // 5. 重新查詢以獲取關聯實體
             BorrowingRecord result = borrowingRecordRepository.findByIdWithAssociations(record.getRecordId())
                     .orElseThrow(() -> new RuntimeException("借閱紀錄查詢失敗"));
             
-            logger.info("還書成功完成 - 使用者ID: {}, 庫存ID: {}, 紀錄ID: {}", 
-                       userId, inventoryId, result.getRecordId());
+            readYourWrites.recordWrite(userId);
+            success("return", userId, inventoryId, result.getRecordId());
+            outcome = BusinessMetrics.SUCCESS;
             return result;
             
+        } catch (BusinessException e) {
+            event.fail(e.getMessage());
+            throw e; // 業務失敗已在 failure() 中記錄
         } catch (RuntimeException e) {
-            logger.error("還書過程中發生業務邏輯錯誤: 使用者ID: {}, 庫存ID: {}, 錯誤: {}", 
-                        userId, inventoryId, e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("還書過程中發生系統錯誤: 使用者ID: {}, 庫存ID: {}, 錯誤: {}", 
-                        userId, inventoryId, e.getMessage(), e);
+            event.fail(e.getMessage());
+            logger.atError().setMessage("還書過程中發生系統錯誤")
+                    .addKeyValue("event", "return.error")
+                    .addKeyValue("userId", userId)
+                    .addKeyValue("inventoryId", inventoryId)
+                    .setCause(e)
+                    .log();
+            metrics.failure(BusinessMetrics.BORROWING, "return", "system_error");
             throw new RuntimeException("還書失敗，請稍後再試", e);
+        } finally {
+            metrics.stop(sample, BusinessMetrics.BORROWING, "return", outcome);
+            event.finish(outcome);
         }
     }
     
     /**
-     * 查詢使用者的借閱紀錄
+     * 查詢使用者的借閱紀錄（不含已封存的紀錄）
      */
     @Transactional(readOnly = true)
     public List<BorrowingResponse> getUserBorrowingHistory(Integer userId) {
-        logger.debug("查詢使用者借閱歷史: 使用者ID: {}", userId);
+        return getUserBorrowingHistory(userId, false);
+    }
+    
+    /**
+     * 查詢使用者的借閱紀錄
+     * 
+     * 預設只查詢 borrowing_records；includeArchived 為 true 時才合併封存表中較舊的紀錄，
+     * 一般的歷史查詢不會碰到封存表。
+     * 
+     * @param userId 使用者ID
+     * @param includeArchived 是否包含已封存的紀錄
+     */
+    @Transactional(readOnly = true)
+    public List<BorrowingResponse> getUserBorrowingHistory(Integer userId, boolean includeArchived) {
+        logger.debug("查詢使用者借閱歷史: 使用者ID: {}, 包含封存: {}", userId, includeArchived);
         
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
         try {
+            readYourWrites.pinIfRecentWriter(userId);
             List<BorrowingRecord> records = borrowingRecordRepository.findByUserIdOrderByBorrowingTimeDesc(userId);
             List<BorrowingResponse> responses = records.stream()
                     .map(this::convertToBorrowingResponse)
                     .collect(Collectors.toList());
             
+            if (includeArchived) {
+                List<BorrowingRecordArchive> archived = borrowingRecordArchiveRepository.findByUserIdOrderByBorrowingTimeDesc(userId);
+                archived.stream()
+                        .map(this::convertToBorrowingResponse)
+                        .forEach(responses::add);
+                // 借閱中的紀錄可能早於已封存的紀錄，合併後重新依借閱時間排序
+                responses.sort(Comparator.comparing(BorrowingResponse::getBorrowingTime,
+                        Comparator.nullsLast(Comparator.reverseOrder())));
+            }
+            
             logger.debug("成功查詢使用者借閱歷史: 使用者ID: {}, 紀錄數量: {}", userId, responses.size());
+            outcome = BusinessMetrics.SUCCESS;
             return responses;
         } catch (Exception e) {
             logger.error("查詢使用者借閱歷史失敗: 使用者ID: {}, 錯誤: {}", userId, e.getMessage(), e);
+            metrics.failure(BusinessMetrics.BORROWING, "history", "system_error");
             throw new RuntimeException("查詢借閱歷史失敗", e);
+        } finally {
+            metrics.stop(sample, BusinessMetrics.BORROWING, includeArchived ? "history_archived" : "history", outcome);
         }
     }
     
@@ -204,17 +318,24 @@ public class BorrowingService {
     public List<BorrowingResponse> getUserActiveBorrowings(Integer userId) {
         logger.debug("查詢使用者未歸還書籍: 使用者ID: {}", userId);
         
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
         try {
+            readYourWrites.pinIfRecentWriter(userId);
             List<BorrowingRecord> records = borrowingRecordRepository.findActiveBorrowingsByUserId(userId);
             List<BorrowingResponse> responses = records.stream()
                     .map(this::convertToBorrowingResponse)
                     .collect(Collectors.toList());
             
             logger.debug("成功查詢使用者未歸還書籍: 使用者ID: {}, 未歸還數量: {}", userId, responses.size());
+            outcome = BusinessMetrics.SUCCESS;
             return responses;
         } catch (Exception e) {
             logger.error("查詢使用者未歸還書籍失敗: 使用者ID: {}, 錯誤: {}", userId, e.getMessage(), e);
+            metrics.failure(BusinessMetrics.BORROWING, "active", "system_error");
             throw new RuntimeException("查詢未歸還書籍失敗", e);
+        } finally {
+            metrics.stop(sample, BusinessMetrics.BORROWING, "active", outcome);
         }
     }
     
@@ -226,7 +347,7 @@ public class BorrowingService {
         logger.debug("查詢可借閱書籍列表");
         
         try {
-            List<Inventory> books = inventoryRepository.findAvailableBooks();
+            List<Inventory> books = inventoryRepository.findAvailableWithBook();
             logger.debug("成功查詢可借閱書籍: 數量: {}", books.size());
             return books;
         } catch (Exception e) {
@@ -252,8 +373,51 @@ public class BorrowingService {
         }
     }
     
+    /**
+     * 記錄借閱業務失敗原因（指標與完整的結構化日誌），並建立要拋出的例外
+     * 
+     * @param operation 操作名稱
+     * @param reason 失敗原因（指標標籤）
+     * @param message 回傳給使用者的錯誤訊息
+     * @param userId 使用者ID
+     * @param inventoryId 庫存ID
+     * @return BusinessException 要拋出的例外
+     */
+    private BusinessException failure(String operation, String reason, String message, Integer userId, Integer inventoryId) {
+        metrics.failure(BusinessMetrics.BORROWING, operation, reason);
+        logger.atWarn().setMessage(message)
+                .addKeyValue("event", operation + ".failure")
+                .addKeyValue("reason", reason)
+                .addKeyValue("userId", userId)
+                .addKeyValue("inventoryId", inventoryId)
+                .log();
+        return new BusinessException(message);
+    }
+    
+    /**
+     * 記錄借閱成功事件（依 LogSampler 取樣）
+     * 
+     * @param operation 操作名稱
+     * @param userId 使用者ID
+     * @param inventoryId 庫存ID
+     * @param recordId 借閱紀錄ID
+     */
+    private void success(String operation, Integer userId, Integer inventoryId, Integer recordId) {
+        long suppressed = logSampler.tryAcquire(operation + ".success");
+        if (suppressed >= 0) {
+            logger.atInfo().setMessage("borrow".equals(operation) ? "借書成功" : "還書成功")
+                    .addKeyValue("event", operation + ".success")
+                    .addKeyValue("userId", userId)
+                    .addKeyValue("inventoryId", inventoryId)
+                    .addKeyValue("recordId", recordId)
+                    .addKeyValue("sampled.suppressed", suppressed)
+                    .log();
+        }
+    }
+    
     /**
      * 將 BorrowingRecord 轉換為 BorrowingResponse
+     * （庫存已由 fetch plan 載入，書籍由二級快取取得，使用者在同一交易中只載入一次）
      */
     private BorrowingResponse convertToBorrowingResponse(BorrowingRecord record) {
         String userName = "Unknown";
@@ -266,17 +430,13 @@ public class BorrowingService {
             userName = record.getUser().getUserName();
         }
         
-        // 通過 inventoryId 查詢書籍信息
         Integer inventoryId = record.getInventoryId();
-        Optional<Inventory> inventoryOpt = inventoryRepository.findById(inventoryId);
-        if (inventoryOpt.isPresent()) {
-            Inventory inventory = inventoryOpt.get();
+        Inventory inventory = record.getInventory();
+        if (inventory != null) {
             bookIsbn = inventory.getIsbn();
             
-            // 查詢書籍詳細信息
-            Optional<Book> bookOpt = bookRepository.findById(bookIsbn);
-            if (bookOpt.isPresent()) {
-                Book book = bookOpt.get();
+            Book book = inventory.getBook();
+            if (book != null) {
                 bookName = book.getName();
                 bookAuthor = book.getAuthor();
             }
@@ -295,4 +455,25 @@ public class BorrowingService {
             status
         );
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 轉換已封存的借閱紀錄（使用者與書籍已由查詢一併載入）
+     */
+    private BorrowingResponse convertToBorrowingResponse(BorrowingRecordArchive record) {
+        Inventory inventory = record.getInventory();
+        Book book = inventory != null ? inventory.getBook() : null;
+        
+        return new BorrowingResponse(
+            record.getRecordId(),
+            record.getUserId(),
+            record.getInventoryId(),
+            record.getBorrowingTime(),
+            record.getReturnTime(),
+            record.getUser() != null ? record.getUser().getUserName() : "Unknown",
+            book != null ? book.getName() : "Unknown",
+            book != null ? book.getAuthor() : "Unknown",
+            inventory != null ? inventory.getIsbn() : "Unknown",
+            "已歸還"
+        );
+    }
+} 
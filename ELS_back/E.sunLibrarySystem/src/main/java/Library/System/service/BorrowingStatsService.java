@@ -0,0 +1,274 @@
+/**
+ * 借閱統計服務 - 遞增維護每位使用者的借閱統計，查詢時不需彙總借閱紀錄
+ *
+ * 此服務監聽 BorrowingEvent，包含以下功能：
+ * 1. 彙總表 - 在借書、還書的同一個交易中以遞增語句更新 user_borrowing_stats / user_author_stats
+ * 2. 記憶體快取 - 交易提交後把同一筆變化套用到記憶體中的統計，查詢時直接回傳
+ * 3. 統計查詢 - 總借閱次數、借閱中數量、平均借閱時間與最常借閱的作者
+ *
+ * 特性說明：
+ * - 查詢成本與借閱紀錄數量無關：快取命中時不查資料庫，未命中時只以主鍵讀取彙總表
+ * - 彙總表每次更新都會遞增 stats_version，快取只接受版本連續的變化，
+ *   已包含該變化（版本較新）時略過，版本不連續時移除快取，下次查詢重新載入
+ * - 未命中時的載入在 ConcurrentHashMap.compute 中進行，與同一使用者的提交後更新互斥
+ * - 彙總表沒有此使用者時（第一次借書，或借閱紀錄由合成資料產生器直接寫入），由借閱紀錄重建統計列
+ * - 快取數量超過上限時隨機移除一筆
+ *
+ * 配置參數：
+ * - borrowing.stats.cache-size: 記憶體中保留的使用者統計數量上限
+ * - borrowing.stats.favourite-authors: 回傳的最常借閱作者數量
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import Library.System.common.BusinessMetrics;
+import Library.System.common.ReadYourWritesTracker;
+import Library.System.dto.BorrowingStatsResponse;
+import Library.System.entity.UserAuthorStats;
+import Library.System.event.BorrowingEvent;
+import Library.System.repository.UserAuthorStatsRepository;
+import Library.System.repository.UserBorrowingStatsRepository;
+import io.micrometer.core.instrument.Timer;
+
+@Service
+public class BorrowingStatsService {
+
+    /** 日誌記錄器 */
+    private static final Logger logger = LoggerFactory.getLogger(BorrowingStatsService.class);
+
+    /** 記憶體中保留的使用者統計數量上限 */
+    @Value("${borrowing.stats.cache-size:10000}")
+    private int cacheSize;
+
+    /** 回傳的最常借閱作者數量 */
+    @Value("${borrowing.stats.favourite-authors:3}")
+    private int favouriteAuthors;
+
+    @Autowired
+    private UserBorrowingStatsRepository userBorrowingStatsRepository;
+
+    @Autowired
+    private UserAuthorStatsRepository userAuthorStatsRepository;
+
+    /** 讀己之寫追蹤，剛借還書的使用者載入統計時改走主資料庫 */
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    /** 業務指標，記錄統計查詢耗時 */
+    @Autowired
+    private BusinessMetrics metrics;
+
+    /** 使用者ID → 統計快照 */
+    private final ConcurrentHashMap<Integer, UserStats> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 在借閱交易中更新彙總表，提交後再套用到記憶體快取
+     *
+     * @param event 借書或還書事件
+     */
+    @EventListener
+    public void onBorrowingEvent(BorrowingEvent event) {
+        Integer userId = event.getUserId();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (event.getType() == BorrowingEvent.Type.BORROW) {
+            if (userBorrowingStatsRepository.recordBorrow(userId, now) == 0) {
+                rebuild(userId);
+                return;
+            }
+            String author = event.getAuthor();
+            if (author != null && !author.isBlank()
+                    && userAuthorStatsRepository.incrementLoans(userId, author) == 0) {
+                userAuthorStatsRepository.createIfMissing(userId, author);
+                userAuthorStatsRepository.incrementLoans(userId, author);
+            }
+        } else if (userBorrowingStatsRepository.recordReturn(userId, event.getLoanSeconds(), now) == 0) {
+            logger.warn("還書時找不到使用者借閱統計，由借閱紀錄重建: 使用者ID: {}", userId);
+            rebuild(userId);
+            return;
+        }
+
+        long version = userBorrowingStatsRepository.findStatsVersion(userId);
+        afterCommit(userId, () -> applyToCache(event, version));
+    }
+
+    /**
+     * 彙總表沒有此使用者時，由借閱紀錄建立統計列，提交後以重建結果取代快取
+     *
+     * 先寫出本次交易中的借閱紀錄變更，重建結果已包含觸發重建的借書或還書，不再另外遞增
+     */
+    private void rebuild(Integer userId) {
+        userBorrowingStatsRepository.flush();
+        userBorrowingStatsRepository.createFromRecords(userId);
+        userAuthorStatsRepository.createFromRecords(userId);
+        UserStats rebuilt = read(userId);
+        afterCommit(userId, () -> cache.merge(userId, rebuilt,
+                (current, fresh) -> current.version > fresh.version ? current : fresh));
+    }
+
+    /**
+     * 交易提交後更新快取；不在交易中時直接移除快取，下次查詢重新載入
+     */
+    private void afterCommit(Integer userId, Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            cache.remove(userId);
+        }
+    }
+
+    /**
+     * 查詢使用者的借閱統計
+     *
+     * @param userId 使用者ID
+     * @return BorrowingStatsResponse 借閱統計
+     */
+    @Transactional(readOnly = true)
+    public BorrowingStatsResponse getUserStats(Integer userId) {
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
+        try {
+            UserStats stats = cache.get(userId);
+            if (stats == null) {
+                stats = cache.compute(userId, (id, current) -> current != null ? current : load(id));
+                evictIfFull(userId);
+            }
+            outcome = BusinessMetrics.SUCCESS;
+            return stats.toResponse(userId, favouriteAuthors);
+        } catch (Exception e) {
+            logger.error("查詢借閱統計失敗: 使用者ID: {}, 錯誤: {}", userId, e.getMessage(), e);
+            metrics.failure(BusinessMetrics.BORROWING, "stats", "system_error");
+            throw new RuntimeException("查詢借閱統計失敗", e);
+        } finally {
+            metrics.stop(sample, BusinessMetrics.BORROWING, "stats", outcome);
+        }
+    }
+
+    /**
+     * 由彙總表載入使用者統計（尚未借過書時為全零、版本 0）
+     */
+    private UserStats load(Integer userId) {
+        readYourWrites.pinIfRecentWriter(userId);
+        return read(userId);
+    }
+
+    /**
+     * 讀取彙總表中的使用者統計
+     */
+    private UserStats read(Integer userId) {
+        Map<String, Integer> authors = new HashMap<>();
+        for (UserAuthorStats authorStats : userAuthorStatsRepository.findByUserId(userId)) {
+            authors.put(authorStats.getAuthor(), authorStats.getLoans());
+        }
+        return userBorrowingStatsRepository.findById(userId)
+                .map(stats -> new UserStats(stats.getStatsVersion(), stats.getTotalLoans(), stats.getActiveLoans(),
+                        stats.getReturnedLoans(), stats.getTotalLoanSeconds(), authors))
+                .orElseGet(() -> new UserStats(0, 0, 0, 0, 0, authors));
+    }
+
+    /**
+     * 將已提交的變化套用到快取；快取中沒有此使用者時不做任何事，下次查詢再載入
+     */
+    private void applyToCache(BorrowingEvent event, long version) {
+        cache.computeIfPresent(event.getUserId(), (id, stats) -> {
+            if (stats.version >= version) {
+                return stats;
+            }
+            if (stats.version == version - 1) {
+                return stats.apply(event, version);
+            }
+            return null;
+        });
+    }
+
+    private void evictIfFull(Integer keep) {
+        if (cache.size() <= cacheSize) {
+            return;
+        }
+        Iterator<Integer> keys = cache.keySet().iterator();
+        while (keys.hasNext() && cache.size() > cacheSize) {
+            if (!keep.equals(keys.next())) {
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * 使用者統計快照（不可變，每次變化建立新物件）
+     */
+    private static final class UserStats {
+
+        private final long version;
+
+        private final int totalLoans;
+
+        private final int activeLoans;
+
+        private final int returnedLoans;
+
+        private final long totalLoanSeconds;
+
+        private final Map<String, Integer> authors;
+
+        UserStats(long version, int totalLoans, int activeLoans, int returnedLoans, long totalLoanSeconds,
+                  Map<String, Integer> authors) {
+            this.version = version;
+            this.totalLoans = totalLoans;
+            this.activeLoans = activeLoans;
+            this.returnedLoans = returnedLoans;
+            this.totalLoanSeconds = totalLoanSeconds;
+            this.authors = authors;
+        }
+
+        UserStats apply(BorrowingEvent event, long newVersion) {
+            if (event.getType() == BorrowingEvent.Type.RETURN) {
+                return new UserStats(newVersion, totalLoans, activeLoans - 1, returnedLoans + 1,
+                        totalLoanSeconds + event.getLoanSeconds(), authors);
+            }
+            Map<String, Integer> updatedAuthors = authors;
+            String author = event.getAuthor();
+            if (author != null && !author.isBlank()) {
+                updatedAuthors = new HashMap<>(authors);
+                updatedAuthors.merge(author, 1, Integer::sum);
+            }
+            return new UserStats(newVersion, totalLoans + 1, activeLoans + 1, returnedLoans, totalLoanSeconds, updatedAuthors);
+        }
+
+        BorrowingStatsResponse toResponse(Integer userId, int favouriteAuthors) {
+            List<BorrowingStatsResponse.AuthorLoans> favourites = authors.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(favouriteAuthors)
+                    .map(entry -> new BorrowingStatsResponse.AuthorLoans(entry.getKey(), entry.getValue()))
+                    .toList();
+            Long averageLoanSeconds = returnedLoans > 0 ? totalLoanSeconds / returnedLoans : null;
+            return new BorrowingStatsResponse(userId, totalLoans, activeLoans, returnedLoans, averageLoanSeconds, favourites);
+        }
+    }
+}
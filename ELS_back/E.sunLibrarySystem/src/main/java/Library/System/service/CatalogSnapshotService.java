@@ -0,0 +1,247 @@
+/**
+ * 目錄快照服務 - 預先編碼 /api/books/available 的回應，請求直接回傳快照的位元組
+ *
+ * 可借閱目錄是請求量最大的端點，而內容只在借書、還書或新增書籍 / 庫存時改變，此服務包含以下功能：
+ * 1. 預先編碼 - 以與 JSON 回應相同的 ObjectMapper 序列化整個 ApiResponse，並另存一份 gzip 壓縮後的位元組
+ * 2. 變更觸發 - 借還書與目錄變更的交易提交後標記快照過期，在背景執行緒重建
+ * 3. 合併重建 - 第一次標記後等待 debounce-ms 才重建，期間的其他變更併入同一次重建
+ * 4. 定期重建 - 每 refresh-interval-ms 重建一次，反映其他應用程式執行個體的變更
+ *
+ * 特性說明：
+ * - 讀取只讀 volatile 參照，不會等待重建；重建完成後以新快照整個替換
+ * - 重建期間的變更會再排一次重建，快照最多落後 debounce-ms 加上一次重建的時間
+ * - 重建在讀寫交易中查詢，固定走主資料庫，不會讀到落後於觸發交易的唯讀副本
+ * - 內容未變更時保留原快照（版本與 ETag 不變），ETag 由目錄資料計算，不含回應時間戳記
+ * - 重建失敗時保留舊快照並記錄日誌；尚未建立快照時由控制器改走原本的查詢
+ * - 快照中 ApiResponse 的 timestamp 為建立快照的時間
+ *
+ * 配置參數：
+ * - catalog.snapshot.enabled: 是否啟用快照
+ * - catalog.snapshot.debounce-ms: 第一次變更到重建的等待時間
+ * - catalog.snapshot.refresh-interval-ms: 定期重建的間隔
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Library.System.config.StartupTasks;
+import Library.System.dto.ApiResponse;
+import Library.System.dto.InventoryResponse;
+import Library.System.event.BorrowingEvent;
+import Library.System.event.CatalogChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class CatalogSnapshotService {
+
+    /** 日誌記錄器 */
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    /**
+     * 目錄快照
+     *
+     * @param version 快照版本（內容變更時遞增）
+     * @param json JSON 編碼的回應本文
+     * @param gzip gzip 壓縮後的回應本文
+     * @param size 目錄項目數量
+     * @param etag 弱 ETag，由目錄資料計算
+     * @param builtAt 建立時間
+     */
+    public record Snapshot(long version, byte[] json, byte[] gzip, int size, String etag, LocalDateTime builtAt) {
+    }
+
+    /** 是否啟用快照 */
+    @Value("${catalog.snapshot.enabled:true}")
+    private boolean enabled;
+
+    /** 第一次變更到重建的等待時間（毫秒） */
+    @Value("${catalog.snapshot.debounce-ms:200}")
+    private long debounceMs;
+
+    @Autowired
+    private BookService bookService;
+
+    /** Spring Boot 設定的 ObjectMapper，與 JSON 回應的編碼一致 */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** 啟動工作執行器，第一次建立快照排在資料初始化之後 */
+    @Autowired
+    private StartupTasks startupTasks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** 重建使用讀寫交易，路由到主資料庫 */
+    private TransactionTemplate transactionTemplate;
+
+    /** 重建耗時 */
+    private Timer rebuildTimer;
+
+    /** 背景重建執行緒 */
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("catalog-snapshot").daemon().factory());
+
+    /** 是否已排定重建 */
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    /** 快照版本序號 */
+    private final AtomicLong versions = new AtomicLong();
+
+    /** 重建互斥，確保較舊的重建結果不會覆蓋較新的快照 */
+    private final Object rebuildLock = new Object();
+
+    /** 目前的快照，尚未建立時為 null */
+    private volatile Snapshot current;
+
+    @PostConstruct
+    void init() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildTimer = Timer.builder("library.catalog.snapshot.rebuild")
+                .description("目錄快照重建耗時")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 啟動完成後建立第一份快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            startupTasks.run("catalog-snapshot", this::rebuild);
+        }
+    }
+
+    /**
+     * 借書或還書交易提交後標記快照過期
+     *
+     * @param event 借書或還書事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBorrowingEvent(BorrowingEvent event) {
+        markStale();
+    }
+
+    /**
+     * 新增書籍或庫存的交易提交後標記快照過期
+     *
+     * @param event 目錄變更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        markStale();
+    }
+
+    /**
+     * 定期重建，反映其他執行個體的變更
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.refresh-interval-ms:60000}",
+            initialDelayString = "${catalog.snapshot.refresh-interval-ms:60000}")
+    public void refresh() {
+        markStale();
+    }
+
+    /**
+     * 標記快照過期；尚未排定重建時在 debounce-ms 後重建，已排定時併入該次重建
+     */
+    public void markStale() {
+        if (enabled && rebuildScheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                // 先清除旗標再查詢，重建期間提交的變更會再排一次重建
+                rebuildScheduled.set(false);
+                rebuild();
+            }, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 取得目前的快照
+     *
+     * @return Snapshot 目前的快照，停用或尚未建立時為 null
+     */
+    public Snapshot getSnapshot() {
+        return enabled ? current : null;
+    }
+
+    /**
+     * 查詢目錄並重新編碼快照；失敗時保留舊快照
+     */
+    void rebuild() {
+        synchronized (rebuildLock) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                List<InventoryResponse> items = transactionTemplate.execute(status -> bookService.getAllBooksWithInventory());
+                String etag = "W/\"" + digest(objectMapper.writeValueAsBytes(items)) + "\"";
+                Snapshot previous = current;
+                if (previous != null && previous.etag().equals(etag)) {
+                    return;
+                }
+                byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success("查詢成功", items));
+                Snapshot snapshot = new Snapshot(versions.incrementAndGet(), json, gzip(json), items.size(), etag,
+                        LocalDateTime.now());
+                current = snapshot;
+                logger.debug("目錄快照重建完成 - 版本: {}, 項目: {}, 大小: {} bytes（gzip {} bytes）",
+                        snapshot.version(), snapshot.size(), snapshot.json().length, snapshot.gzip().length);
+            } catch (Exception e) {
+                logger.error("目錄快照重建失敗，沿用舊快照: {}", e.getMessage(), e);
+            } finally {
+                sample.stop(rebuildTimer);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String digest(byte[] data) throws NoSuchAlgorithmException {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+        return HexFormat.of().formatHex(hash, 0, 16);
+    }
+}
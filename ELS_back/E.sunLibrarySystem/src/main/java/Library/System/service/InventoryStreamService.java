@@ -0,0 +1,360 @@
+/**
+ * 庫存狀態串流服務 - 以 Server-Sent Events 推送庫存的可借閱狀態變更
+ *
+ * 前端原本需重新查詢整個目錄才能得知某本書已歸還，此服務在借書、還書與新增庫存的交易提交後
+ * 推送精簡的變更事件（inventoryId、isbn、newStatus、version），包含以下功能：
+ * 1. 變更廣播 - 每個變更只編碼一次 JSON，放入所有連線的佇列，發布端不會等待任何連線
+ * 2. 有界緩衝 - 每個連線有固定容量的佇列，由該連線專屬的虛擬執行緒取出並寫出
+ * 3. 慢速淘汰 - 佇列滿時清空、移出連線清單並標記淘汰，連線執行緒寫完手上的事件後結束連線，瀏覽器會自動重新連線；
+ *    完全停止讀取的連線，寫出會在 Tomcat 的連線逾時後失敗並結束
+ * 4. 斷線續傳 - 保留最近 replay-size 個變更，重新連線時依 Last-Event-ID 補送遺漏的變更
+ * 5. 心跳 - 閒置 heartbeat-ms 後送出註解行，讓代理伺服器與瀏覽器維持連線並及早發現斷線
+ *
+ * 特性說明：
+ * - 事件名稱為 availability，id 為版本；版本以啟動時間（毫秒）為起點遞增，重新啟動後不會與舊版本重疊
+ * - Last-Event-ID 早於保留範圍、晚於目前版本或補送量超過佇列容量時，改送 resync 事件要求用戶端重新查詢目錄
+ * - 閒置連線只佔用一個停在佇列上的虛擬執行緒與 buffer-size 大小的佇列，不佔用 Tomcat 工作執行緒
+ * - 只推送本執行個體提交的變更，其他執行個體的變更由目錄快照的定期重建反映
+ * - 連線數達 max-clients 時拒絕新連線，由控制器回應 503
+ *
+ * 配置參數：
+ * - inventory.stream.max-clients: 同時連線數上限
+ * - inventory.stream.buffer-size: 每個連線的佇列容量
+ * - inventory.stream.replay-size: 保留供續傳的變更數量
+ * - inventory.stream.heartbeat-ms: 心跳間隔
+ * - inventory.stream.timeout-ms: 單一連線的最長時間，逾時後由瀏覽器重新連線
+ * - inventory.stream.retry-ms: 建議瀏覽器重新連線前等待的時間
+ *
+ * @author MaxLin
+ * @version 1.0
+ * @since 2025/08/07
+ */
+package Library.System.service;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Library.System.event.InventoryStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class InventoryStreamService {
+
+    /** 日誌記錄器 */
+    private static final Logger logger = LoggerFactory.getLogger(InventoryStreamService.class);
+
+    /** 狀態變更事件名稱 */
+    public static final String AVAILABILITY_EVENT = "availability";
+
+    /** 要求用戶端重新查詢目錄的事件名稱 */
+    public static final String RESYNC_EVENT = "resync";
+
+    /**
+     * 庫存狀態變更
+     *
+     * @param version 變更版本
+     * @param inventoryId 庫存ID
+     * @param isbn 書籍 ISBN
+     * @param newStatus 變更後狀態（值與目錄回應的 status 相同，例如 Available、Borrowed）
+     */
+    public record Change(long version, Integer inventoryId, String isbn, String newStatus) {
+    }
+
+    /** 已編碼的變更 */
+    private record Entry(long version, String json) {
+    }
+
+    /** 同時連線數上限 */
+    @Value("${inventory.stream.max-clients:5000}")
+    private int maxClients;
+
+    /** 每個連線的佇列容量 */
+    @Value("${inventory.stream.buffer-size:256}")
+    private int bufferSize;
+
+    /** 保留供續傳的變更數量 */
+    @Value("${inventory.stream.replay-size:1024}")
+    private int replaySize;
+
+    /** 心跳間隔（毫秒） */
+    @Value("${inventory.stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    /** 單一連線的最長時間（毫秒） */
+    @Value("${inventory.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    /** 建議瀏覽器重新連線前等待的時間（毫秒） */
+    @Value("${inventory.stream.retry-ms:3000}")
+    private long retryMs;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** 目前的連線 */
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+
+    /** 發布與訂閱互斥，確保版本順序與續傳範圍一致 */
+    private final Object lock = new Object();
+
+    /** 最近的變更，以版本對 replaySize 取餘數定位 */
+    private Entry[] replay;
+
+    /** 最新的版本，以啟動時間（毫秒）為起點 */
+    private long version = System.currentTimeMillis();
+
+    /** 推送的變更數量 */
+    private Counter publishedCounter;
+
+    /** 淘汰的慢速連線數量 */
+    private Counter evictedCounter;
+
+    /** 因連線數上限拒絕的連線數量 */
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        this.replay = new Entry[replaySize];
+        this.publishedCounter = Counter.builder("library.inventory.stream.published")
+                .description("推送的庫存狀態變更數量")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("library.inventory.stream.evicted")
+                .description("佇列滿而淘汰的慢速連線數量")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("library.inventory.stream.rejected")
+                .description("因連線數上限拒絕的連線數量")
+                .register(meterRegistry);
+        Gauge.builder("library.inventory.stream.clients", clients, Set::size)
+                .description("目前的串流連線數")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 庫存狀態變更的交易提交後推送給所有連線
+     *
+     * @param event 庫存狀態變更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onInventoryStatusChanged(InventoryStatusChangedEvent event) {
+        publish(event.getInventoryId(), event.getIsbn(), event.getCurrent().getLabel());
+    }
+
+    /**
+     * 推送一筆變更；佇列已滿的連線會被淘汰，不會等待
+     *
+     * @param inventoryId 庫存ID
+     * @param isbn 書籍 ISBN
+     * @param newStatus 變更後狀態
+     */
+    void publish(Integer inventoryId, String isbn, String newStatus) {
+        synchronized (lock) {
+            long next = version + 1;
+            Entry entry;
+            try {
+                entry = new Entry(next, objectMapper.writeValueAsString(new Change(next, inventoryId, isbn, newStatus)));
+            } catch (JsonProcessingException e) {
+                logger.error("庫存狀態變更編碼失敗 - 庫存ID: {}, 錯誤: {}", inventoryId, e.getMessage(), e);
+                return;
+            }
+            version = next;
+            replay[(int) (next % replaySize)] = entry;
+            for (Client client : clients) {
+                client.offer(entry);
+            }
+        }
+        publishedCounter.increment();
+    }
+
+    /**
+     * 建立串流連線
+     *
+     * @param lastEventId 瀏覽器重新連線時帶的 Last-Event-ID，首次連線為 null
+     * @return SseEmitter 串流，連線數已達上限時為 null
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (clients.size() >= maxClients) {
+            rejectedCounter.increment();
+            return null;
+        }
+        return subscribe(lastEventId, new SseEmitter(timeoutMs));
+    }
+
+    /**
+     * 以指定的 SseEmitter 建立串流連線，測試以此替換寫出的行為
+     *
+     * @param lastEventId 瀏覽器重新連線時帶的 Last-Event-ID，首次連線為 null
+     * @param emitter 串流
+     * @return SseEmitter 傳入的串流
+     */
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Client client = new Client(emitter);
+        synchronized (lock) {
+            client.resync = !fillReplay(client, parseVersion(lastEventId));
+            clients.add(client);
+        }
+        emitter.onCompletion(client::close);
+        emitter.onTimeout(() -> {
+            client.close();
+            emitter.complete();
+        });
+        emitter.onError(e -> client.close());
+        client.thread = Thread.ofVirtual().name("inventory-stream").start(client);
+        return emitter;
+    }
+
+    /**
+     * 目前的連線數
+     *
+     * @return int 連線數
+     */
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * 將 lastEventId 之後的變更放入連線的佇列；須持有 lock
+     *
+     * @return boolean 是否能完整補送，否則用戶端需重新查詢目錄
+     */
+    private boolean fillReplay(Client client, long lastEventId) {
+        if (lastEventId < 0 || lastEventId == version) {
+            return true;
+        }
+        long missed = version - lastEventId;
+        if (missed < 0 || missed > replaySize || missed > bufferSize) {
+            return false;
+        }
+        for (long v = lastEventId + 1; v <= version; v++) {
+            Entry entry = replay[(int) (v % replaySize)];
+            if (entry == null || entry.version() != v) {
+                client.queue.clear();
+                return false;
+            }
+            client.queue.offer(entry);
+        }
+        return true;
+    }
+
+    private static long parseVersion(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 結束所有連線
+     */
+    @PreDestroy
+    void shutdown() {
+        for (Client client : clients) {
+            client.close();
+            client.emitter.complete();
+        }
+    }
+
+    /**
+     * 單一串流連線，由專屬的虛擬執行緒依序寫出佇列中的變更
+     */
+    private final class Client implements Runnable {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Entry> queue;
+
+        /** 連線建立時是否需先要求用戶端重新查詢目錄 */
+        private boolean resync;
+
+        /** 佇列滿而被淘汰 */
+        private volatile boolean evicted;
+
+        /** 連線已結束 */
+        private volatile boolean closed;
+
+        private volatile Thread thread;
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * 由發布端呼叫，不會阻塞；佇列滿時清空、移出連線清單並標記淘汰，由連線執行緒結束串流
+         */
+        void offer(Entry entry) {
+            if (!evicted && !queue.offer(entry)) {
+                evicted = true;
+                queue.clear();
+                clients.remove(this);
+                evictedCounter.increment();
+            }
+        }
+
+        void close() {
+            closed = true;
+            Thread current = thread;
+            if (current != null && current != Thread.currentThread()) {
+                current.interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                emitter.send(SseEmitter.event().reconnectTime(retryMs).comment("connected"));
+                if (resync) {
+                    emitter.send(SseEmitter.event().name(RESYNC_EVENT).data("{}"));
+                }
+                while (!closed) {
+                    if (evicted) {
+                        logger.debug("串流連線消化過慢，已淘汰 - 目前連線數: {}", clients.size());
+                        emitter.complete();
+                        break;
+                    }
+                    Entry entry = queue.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                    if (entry == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().id(Long.toString(entry.version()))
+                                .name(AVAILABILITY_EVENT).data(entry.json()));
+                    }
+                }
+            } catch (InterruptedException e) {
+                // 連線結束或應用程式關閉
+            } catch (IOException | IllegalStateException e) {
+                // 用戶端已斷線，容器會透過 onError / onCompletion 通知
+                logger.debug("串流連線已中斷: {}", e.getMessage());
+            } finally {
+                closed = true;
+                clients.remove(this);
+            }
+        }
+    }
+}
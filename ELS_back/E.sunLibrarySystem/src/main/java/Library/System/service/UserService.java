@@ -21,17 +21,26 @@
 package Library.System.service;
 
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import Library.System.common.BusinessException;
+import Library.System.common.BusinessMetrics;
+import Library.System.common.LogSampler;
 import Library.System.common.PasswordUtil;
+import Library.System.common.PhoneNumberBloomFilter;
 import Library.System.entity.User;
+import Library.System.monitor.jfr.LoginEvent;
 import Library.System.repository.UserRepository;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 @Transactional
@@ -44,6 +53,18 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
     
+    /** 手機號碼布隆過濾器，「一定未註冊」時可略過資料庫查詢 */
+    @Autowired
+    private PhoneNumberBloomFilter phoneNumberFilter;
+    
+    /** 業務指標，記錄註冊與登入的耗時與失敗原因 */
+    @Autowired
+    private BusinessMetrics metrics;
+    
+    /** 日誌取樣器，限制成功事件的日誌輸出量 */
+    @Autowired
+    private LogSampler logSampler;
+    
     /**
      * 使用者註冊服務
      * 
@@ -54,20 +75,47 @@ public class UserService {
      * @param userName 使用者顯示名稱
      * @return User 新建立的使用者實體
      * @throws IllegalArgumentException 當輸入參數不符合要求時
-     * @throws RuntimeException 當手機號碼已存在或其他系統錯誤時
+     * @throws BusinessException 當手機號碼已存在時
+     * @throws RuntimeException 當發生其他系統錯誤時
      */
     public User registerUser(String phoneNumber, String password, String userName) {
-        logger.info("Attempting to register user with phone number: {}", phoneNumber);
-        
-        // 驗證輸入參數的完整性
-        validateRegistrationInput(phoneNumber, password, userName);
+        logger.debug("Attempting to register user with phone number: {}", phoneNumber);
         
-        // 檢查手機號碼是否已存在
-        if (userRepository.existsByPhoneNumber(phoneNumber)) {
-            logger.warn("Registration failed: Phone number already exists: {}", phoneNumber);
-            throw new RuntimeException("手機號碼已註冊");
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
+        try {
+            // 驗證輸入參數的完整性
+            try {
+                validateRegistrationInput(phoneNumber, password, userName);
+            } catch (IllegalArgumentException e) {
+                failure("register", "invalid_input", e.getMessage(), phoneNumber);
+                throw e;
+            }
+            
+            // 檢查手機號碼是否已存在（布隆過濾器判定一定未註冊時略過資料庫查詢，唯一約束仍為最終防線）
+            if (isPhoneNumberRegistered(phoneNumber)) {
+                failure("register", "phone_registered", "Registration failed: Phone number already exists", phoneNumber);
+                throw new BusinessException("手機號碼已註冊");
+            }
+            
+            User savedUser = createUser(phoneNumber, password, userName);
+            outcome = BusinessMetrics.SUCCESS;
+            return savedUser;
+        } finally {
+            metrics.stop(sample, BusinessMetrics.AUTH, "register", outcome);
         }
-        
+    }
+    
+    /**
+     * 加密密碼並儲存新使用者
+     * 
+     * @param phoneNumber 手機號碼
+     * @param password 使用者密碼
+     * @param userName 使用者名稱
+     * @return User 新建立的使用者實體
+     * @throws RuntimeException 當手機號碼違反唯一約束或儲存失敗時
+     */
+    private User createUser(String phoneNumber, String password, String userName) {
         try {
             // 生成安全的鹽值和密碼雜湊
             String salt = PasswordUtil.generateSalt();
@@ -76,11 +124,22 @@ public class UserService {
             // 建立並儲存新使用者
             User user = new User(phoneNumber, passwordHash, salt, userName);
             User savedUser = userRepository.save(user);
+            phoneNumberFilter.put(savedUser.getPhoneNumber());
             
-            logger.info("User registered successfully: {}", savedUser.getUserId());
+            success("register", savedUser.getUserId());
             return savedUser;
+        } catch (DataIntegrityViolationException e) {
+            // 布隆過濾器只涵蓋本節點，其他節點註冊的號碼會在此由唯一約束擋下
+            phoneNumberFilter.put(phoneNumber);
+            failure("register", "phone_registered", "Registration failed: Phone number already exists", phoneNumber);
+            throw new BusinessException("手機號碼已註冊");
         } catch (Exception e) {
-            logger.error("Error during user registration: {}", e.getMessage(), e);
+            logger.atError().setMessage("Error during user registration")
+                    .addKeyValue("event", "register.error")
+                    .addKeyValue("phoneNumber", phoneNumber)
+                    .setCause(e)
+                    .log();
+            metrics.failure(BusinessMetrics.AUTH, "register", "system_error");
             throw new RuntimeException("註冊失敗，請稍後再試", e);
         }
     }
@@ -93,42 +152,63 @@ public class UserService {
      * @param phoneNumber 手機號碼
      * @param password 使用者密碼
      * @return User 登入成功的使用者實體
-     * @throws IllegalArgumentException 當輸入參數為空時
-     * @throws RuntimeException 當使用者不存在或密碼錯誤時
+     * @throws BusinessException 當輸入參數為空、使用者不存在或密碼錯誤時
+     * @throws RuntimeException 當發生其他系統錯誤時
      */
     public User loginUser(String phoneNumber, String password) {
-        logger.info("Attempting login for phone number: {}", phoneNumber);
-        
-        // 驗證輸入參數
-        validateLoginInput(phoneNumber, password);
+        logger.debug("Attempting login for phone number: {}", phoneNumber);
         
+        Timer.Sample sample = metrics.start();
+        String outcome = BusinessMetrics.FAILURE;
+        LoginEvent event = new LoginEvent();
+        event.begin();
         try {
+            // 驗證輸入參數
+            try {
+                validateLoginInput(phoneNumber, password);
+            } catch (IllegalArgumentException e) {
+                failure("login", "invalid_input", e.getMessage(), phoneNumber);
+                throw new BusinessException(e.getMessage(), e);
+            }
+            
             // 查詢使用者是否存在
             Optional<User> userOpt = userRepository.findByPhoneNumber(phoneNumber);
             if (userOpt.isEmpty()) {
-                logger.warn("Login failed: User not found for phone number: {}", phoneNumber);
-                throw new RuntimeException("使用者不存在");
+                failure("login", "user_not_found", "Login failed: User not found", phoneNumber);
+                throw new BusinessException("使用者不存在");
             }
             
             User user = userOpt.get();
             
             // 驗證密碼正確性
             if (!PasswordUtil.verifyPassword(password, user.getSalt(), user.getPasswordHash())) {
-                logger.warn("Login failed: Invalid password for phone number: {}", phoneNumber);
-                throw new RuntimeException("密碼錯誤");
+                failure("login", "wrong_password", "Login failed: Invalid password", phoneNumber);
+                throw new BusinessException("密碼錯誤");
             }
             
             // 更新最後登入時間並儲存
             user.setLastLoginTime(LocalDateTime.now());
             User updatedUser = userRepository.save(user);
             
-            logger.info("User login successful: {}", updatedUser.getUserId());
+            success("login", updatedUser.getUserId());
+            event.setUserId(updatedUser.getUserId());
+            outcome = BusinessMetrics.SUCCESS;
             return updatedUser;
+        } catch (BusinessException e) {
+            event.fail(e.getMessage());
+            throw e; // 業務失敗已在 failure() 中記錄
         } catch (RuntimeException e) {
-            throw e; // 重新拋出業務邏輯異常
-        } catch (Exception e) {
-            logger.error("Error during user login: {}", e.getMessage(), e);
+            event.fail(e.getMessage());
+            logger.atError().setMessage("Error during user login")
+                    .addKeyValue("event", "login.error")
+                    .addKeyValue("phoneNumber", phoneNumber)
+                    .setCause(e)
+                    .log();
+            metrics.failure(BusinessMetrics.AUTH, "login", "system_error");
             throw new RuntimeException("登入失敗，請稍後再試", e);
+        } finally {
+            metrics.stop(sample, BusinessMetrics.AUTH, "login", outcome);
+            event.finish(outcome);
         }
     }
     
@@ -163,13 +243,54 @@ public class UserService {
     /**
      * 檢查指定手機號碼是否已被註冊
      * 
+     * 布隆過濾器判定一定未註冊時不查詢資料庫；過濾器只反映本節點載入與註冊過的號碼，
+     * 其他節點剛註冊的號碼在本節點重建過濾器前可能仍回報為可用
+     * 
      * @param phoneNumber 要檢查的手機號碼
      * @return boolean true表示已存在，false表示可用
      */
+    @Transactional(readOnly = true)
     public boolean existsByPhoneNumber(String phoneNumber) {
         if (phoneNumber == null || phoneNumber.trim().isEmpty()) {
             return false;
         }
+        return isPhoneNumberRegistered(phoneNumber);
+    }
+    
+    /**
+     * 重建手機號碼布隆過濾器
+     * 
+     * 以串流方式逐筆讀取 users.phone_number 並加入過濾器，
+     * 避免一次將所有使用者載入記憶體。完成後過濾器才會開始提供「一定未註冊」的判斷。
+     * 
+     * @return long 載入的手機號碼數量
+     */
+    @Transactional(readOnly = true)
+    public long loadPhoneNumberFilter() {
+        long count = 0;
+        try (Stream<String> phoneNumbers = userRepository.streamAllPhoneNumbers()) {
+            Iterator<String> iterator = phoneNumbers.iterator();
+            while (iterator.hasNext()) {
+                phoneNumberFilter.put(iterator.next());
+                count++;
+            }
+        }
+        phoneNumberFilter.markReady();
+        logger.info("Phone number bloom filter loaded: {} phone numbers", count);
+        return count;
+    }
+    
+    /**
+     * 判斷手機號碼是否已註冊：布隆過濾器判定一定不存在時直接回傳，否則由資料庫確認
+     * 
+     * @param phoneNumber 手機號碼
+     * @return boolean true表示已註冊
+     */
+    private boolean isPhoneNumberRegistered(String phoneNumber) {
+        if (!phoneNumberFilter.mightContain(phoneNumber)) {
+            logger.debug("Phone number definitely not registered (bloom filter): {}", phoneNumber);
+            return false;
+        }
         return userRepository.existsByPhoneNumber(phoneNumber);
     }
     
@@ -223,4 +344,38 @@ public class UserService {
             throw new IllegalArgumentException("密碼不能為空");
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 記錄認證失敗：累加失敗指標並輸出完整的結構化 WARN 日誌（不取樣）
+     * 
+     * @param operation 操作名稱（register / login）
+     * @param reason 失敗原因（指標標籤）
+     * @param message 日誌訊息
+     * @param phoneNumber 手機號碼
+     */
+    private void failure(String operation, String reason, String message, String phoneNumber) {
+        metrics.failure(BusinessMetrics.AUTH, operation, reason);
+        logger.atWarn().setMessage(message)
+                .addKeyValue("event", operation + ".failure")
+                .addKeyValue("reason", reason)
+                .addKeyValue("phoneNumber", phoneNumber)
+                .log();
+    }
+    
+    /**
+     * 記錄認證成功事件（依 LogSampler 取樣）
+     * 
+     * @param operation 操作名稱（register / login）
+     * @param userId 使用者ID
+     */
+    private void success(String operation, Integer userId) {
+        long suppressed = logSampler.tryAcquire(operation + ".success");
+        if (suppressed >= 0) {
+            logger.atInfo().setMessage("register".equals(operation) ? "User registered successfully" : "User login successful")
+                    .addKeyValue("event", operation + ".success")
+                    .addKeyValue("userId", userId)
+                    .addKeyValue("sampled.suppressed", suppressed)
+                    .log();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+-- EsunLibrarySystem baseline schema（H2 版本，供整合測試與壓力測試使用）
+-- 與 sqlserver/V1__baseline.sql 結構相同
+
+CREATE TABLE users (
+    user_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    phone_number VARCHAR(20) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    salt VARCHAR(255) NOT NULL,
+    user_name VARCHAR(50),
+    registration_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_login_time TIMESTAMP
+);
+
+CREATE TABLE books (
+    isbn VARCHAR(13) PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    author VARCHAR(255),
+    introduction VARCHAR(1000000),
+    image_url VARCHAR(500)
+);
+
+CREATE TABLE inventory (
+    inventory_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    isbn VARCHAR(13) NOT NULL,
+    status VARCHAR(50) DEFAULT 'Available' NOT NULL,
+    store_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (isbn) REFERENCES books(isbn)
+);
+
+CREATE TABLE borrowing_records (
+    record_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id INT NOT NULL,
+    inventory_id INT NOT NULL,
+    borrowing_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    return_time TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(user_id),
+    FOREIGN KEY (inventory_id) REFERENCES inventory(inventory_id)
+);
+
+CREATE INDEX idx_users_phone ON users(phone_number);
+CREATE INDEX idx_inventory_status ON inventory(status);
+CREATE INDEX idx_inventory_isbn ON inventory(isbn);
+CREATE INDEX idx_borrowing_user ON borrowing_records(user_id);
+CREATE INDEX idx_borrowing_inventory ON borrowing_records(inventory_id);
+CREATE INDEX idx_borrowing_return_time ON borrowing_records(return_time);
+
+ALTER TABLE inventory ADD CONSTRAINT chk_status
+    CHECK (status IN ('Available', 'Borrowed', 'Processing', 'Lost', 'Damaged', 'Discarded'));
@@ -0,0 +1,19 @@
+-- 熱門查詢索引（H2 版本）
+-- H2 不支援篩選索引 (WHERE) 與 INCLUDE，改以複合索引表達相同的查詢條件；索引名稱與 SQL Server 版本一致。
+-- 注意：H2 會為每個外鍵自動建立單欄索引（inventory.isbn、borrowing_records.user_id），
+-- 只以這些欄位為條件的查詢可能選用外鍵索引，這部分的計畫只能在 SQL Server 上驗證。
+
+CREATE INDEX idx_inventory_available ON inventory(status, isbn);
+
+CREATE INDEX idx_inventory_isbn_status ON inventory(isbn, status);
+
+CREATE INDEX idx_borrowing_active_inventory ON borrowing_records(inventory_id, return_time);
+
+CREATE INDEX idx_borrowing_active_user ON borrowing_records(user_id, return_time, inventory_id);
+
+CREATE INDEX idx_borrowing_user_time ON borrowing_records(user_id, borrowing_time DESC);
+
+DROP INDEX IF EXISTS idx_inventory_status;
+DROP INDEX IF EXISTS idx_inventory_isbn;
+DROP INDEX IF EXISTS idx_borrowing_user;
+DROP INDEX IF EXISTS idx_borrowing_return_time;
@@ -0,0 +1,14 @@
+-- 已歸還借閱紀錄的封存表（H2 版本，與 sqlserver/V3__borrowing_records_archive.sql 結構相同）
+-- H2 不支援 INCLUDE 與篩選索引，改為一般索引；
+-- idx_borrowing_returned 在 H2 無法只涵蓋已歸還的列，會被 return_time IS NULL 的查詢選用而取代 idx_borrowing_active_*，因此不建立
+
+CREATE TABLE borrowing_records_archive (
+    record_id INT PRIMARY KEY,
+    user_id INT NOT NULL,
+    inventory_id INT NOT NULL,
+    borrowing_time TIMESTAMP,
+    return_time TIMESTAMP NOT NULL,
+    archived_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_borrowing_archive_user_time ON borrowing_records_archive(user_id, borrowing_time DESC);
@@ -0,0 +1,20 @@
+-- 書籍熱門度每小時借閱次數（H2 版本，與 sqlserver/V5__book_popularity_hourly.sql 結構相同）
+-- BookPopularityService 在記憶體中以每小時區間計數，定期把新增的次數累加到此表；啟動時讀回最近 30 天重建計數
+
+CREATE TABLE book_popularity_hourly (
+    isbn VARCHAR(13) NOT NULL,
+    bucket_hour TIMESTAMP NOT NULL,
+    borrow_count INT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (isbn, bucket_hour)
+);
+
+-- 啟動重建與過期清除都依 bucket_hour 範圍掃描
+CREATE INDEX idx_book_popularity_hour ON book_popularity_hourly (bucket_hour);
+
+-- 以最近 30 天的借閱紀錄回填
+INSERT INTO book_popularity_hourly (isbn, bucket_hour, borrow_count)
+SELECT i.isbn, DATE_TRUNC('HOUR', r.borrowing_time), COUNT(*)
+FROM borrowing_records r
+JOIN inventory i ON i.inventory_id = r.inventory_id
+WHERE r.borrowing_time >= DATEADD(DAY, -30, CURRENT_TIMESTAMP)
+GROUP BY i.isbn, DATE_TRUNC('HOUR', r.borrowing_time);
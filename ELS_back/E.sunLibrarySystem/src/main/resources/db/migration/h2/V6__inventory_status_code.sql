@@ -0,0 +1,33 @@
+-- 庫存狀態改以 TINYINT 代碼保存（H2 版本，與 sqlserver/V6__inventory_status_code.sql 結構相同）
+-- 代碼：0 Available、1 Borrowed、2 Processing、3 Lost、4 Damaged、5 Discarded（只能新增，不可變更）
+
+CREATE TABLE inventory_status (
+    code TINYINT PRIMARY KEY,
+    name VARCHAR(20) NOT NULL UNIQUE
+);
+
+INSERT INTO inventory_status (code, name) VALUES
+    (0, 'Available'), (1, 'Borrowed'), (2, 'Processing'), (3, 'Lost'), (4, 'Damaged'), (5, 'Discarded');
+
+ALTER TABLE inventory ADD COLUMN status_code TINYINT;
+
+UPDATE inventory SET status_code = (SELECT s.code FROM inventory_status s WHERE s.name = inventory.status);
+
+DROP INDEX IF EXISTS idx_inventory_available;
+DROP INDEX IF EXISTS idx_inventory_isbn_status;
+
+ALTER TABLE inventory DROP CONSTRAINT chk_status;
+
+ALTER TABLE inventory DROP COLUMN status;
+
+ALTER TABLE inventory ALTER COLUMN status_code RENAME TO status;
+
+ALTER TABLE inventory ALTER COLUMN status SET DEFAULT 0;
+
+ALTER TABLE inventory ALTER COLUMN status SET NOT NULL;
+
+ALTER TABLE inventory ADD CONSTRAINT chk_status CHECK (status BETWEEN 0 AND 5);
+
+CREATE INDEX idx_inventory_available ON inventory(status, isbn);
+
+CREATE INDEX idx_inventory_isbn_status ON inventory(isbn, status);
@@ -0,0 +1,8 @@
+-- 同一本館藏同時只能有一筆借閱中的紀錄（H2 版本）
+-- H2 不支援篩選索引，改以只在借閱中才有值的計算欄位建立唯一索引（MSSQLServer 相容模式預設 NULL 互相衝突，需明確指定 NULLS DISTINCT），效果與
+-- sqlserver/V7__unique_active_borrowing.sql 的唯一篩選索引相同；查詢仍使用 V2 的 idx_borrowing_active_inventory。
+
+ALTER TABLE borrowing_records ADD COLUMN active_inventory_id INT
+    GENERATED ALWAYS AS (CASE WHEN return_time IS NULL THEN inventory_id END);
+
+CREATE UNIQUE NULLS DISTINCT INDEX ux_borrowing_active_inventory ON borrowing_records(active_inventory_id);
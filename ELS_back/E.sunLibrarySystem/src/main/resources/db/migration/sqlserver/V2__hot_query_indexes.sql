@@ -0,0 +1,31 @@
+-- 熱門查詢的覆蓋索引與篩選索引
+-- 對應 InventoryRepository / BorrowingRecordRepository 的查詢條件，取代 V1 中單欄且選擇性低的索引
+
+-- findAvailableBooks: WHERE status = 'Available'，只涵蓋可借閱的列，並帶出 JOIN books 所需的 isbn
+CREATE INDEX idx_inventory_available ON inventory(isbn)
+    INCLUDE (store_time)
+    WHERE status = 'Available';
+
+-- findByIsbn / 依 ISBN 統計各狀態數量: WHERE isbn = ? [AND status = ?]，同時作為 books 外鍵的索引
+CREATE INDEX idx_inventory_isbn_status ON inventory(isbn, status)
+    INCLUDE (store_time);
+
+-- findByInventoryIdAndReturnTimeIsNull: WHERE inventory_id = ? AND return_time IS NULL
+CREATE INDEX idx_borrowing_active_inventory ON borrowing_records(inventory_id)
+    INCLUDE (user_id, borrowing_time)
+    WHERE return_time IS NULL;
+
+-- findActiveBorrowingsByUserId / existsActiveBorrowing: WHERE user_id = ? [AND inventory_id = ?] AND return_time IS NULL
+CREATE INDEX idx_borrowing_active_user ON borrowing_records(user_id, inventory_id)
+    INCLUDE (borrowing_time)
+    WHERE return_time IS NULL;
+
+-- findByUserIdOrderByBorrowingTimeDesc: WHERE user_id = ? ORDER BY borrowing_time DESC，免排序
+CREATE INDEX idx_borrowing_user_time ON borrowing_records(user_id, borrowing_time DESC)
+    INCLUDE (inventory_id, return_time);
+
+-- 已被上述索引取代（前綴相同或改為篩選索引）
+DROP INDEX IF EXISTS idx_inventory_status ON inventory;
+DROP INDEX IF EXISTS idx_inventory_isbn ON inventory;
+DROP INDEX IF EXISTS idx_borrowing_user ON borrowing_records;
+DROP INDEX IF EXISTS idx_borrowing_return_time ON borrowing_records;
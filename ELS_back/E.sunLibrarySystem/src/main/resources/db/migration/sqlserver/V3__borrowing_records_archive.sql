@@ -0,0 +1,21 @@
+-- 已歸還借閱紀錄的封存表
+-- 由 BorrowingArchiveService 分批將歸還超過保留期限的紀錄搬入，保持 borrowing_records 只包含近期資料
+-- 保留原本的 record_id；不建立外鍵，搬移時不需再檢查 users / inventory
+
+CREATE TABLE borrowing_records_archive (
+    record_id INT PRIMARY KEY,
+    user_id INT NOT NULL,
+    inventory_id INT NOT NULL,
+    borrowing_time DATETIME2,
+    return_time DATETIME2 NOT NULL,
+    archived_time DATETIME2 NOT NULL DEFAULT GETDATE()
+);
+
+-- 包含封存紀錄的借閱歷史: WHERE user_id = ? ORDER BY borrowing_time DESC，與 idx_borrowing_user_time 相同
+CREATE INDEX idx_borrowing_archive_user_time ON borrowing_records_archive(user_id, borrowing_time DESC)
+    INCLUDE (inventory_id, return_time);
+
+-- findArchivableRecordIds: WHERE return_time < ? ORDER BY return_time，只涵蓋已歸還的列
+-- 每批搬移都以索引搜尋取出最舊的紀錄，不必掃描整張借閱表
+CREATE INDEX idx_borrowing_returned ON borrowing_records(return_time)
+    WHERE return_time IS NOT NULL;
@@ -0,0 +1,46 @@
+-- 使用者借閱統計彙總表
+-- 由 BorrowingStatsService 在借書、還書的同一個交易中遞增更新，查詢統計時只需以主鍵讀取，不必彙總 borrowing_records
+
+CREATE TABLE user_borrowing_stats (
+    user_id INT PRIMARY KEY,
+    total_loans INT NOT NULL DEFAULT 0,
+    active_loans INT NOT NULL DEFAULT 0,
+    returned_loans INT NOT NULL DEFAULT 0,
+    total_loan_seconds BIGINT NOT NULL DEFAULT 0,
+    stats_version BIGINT NOT NULL DEFAULT 0,
+    updated_time DATETIME2 DEFAULT GETDATE()
+);
+
+-- 各使用者借閱各作者書籍的次數，用於「最常借閱的作者」
+CREATE TABLE user_author_stats (
+    user_id INT NOT NULL,
+    author NVARCHAR(255) NOT NULL,
+    loans INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, author)
+);
+
+-- 以既有的借閱紀錄（含封存）回填
+INSERT INTO user_borrowing_stats (user_id, total_loans, active_loans, returned_loans, total_loan_seconds)
+SELECT r.user_id,
+       COUNT(*),
+       SUM(CASE WHEN r.return_time IS NULL THEN 1 ELSE 0 END),
+       SUM(CASE WHEN r.return_time IS NULL THEN 0 ELSE 1 END),
+       ISNULL(SUM(CASE WHEN r.return_time IS NULL THEN 0 ELSE DATEDIFF_BIG(SECOND, r.borrowing_time, r.return_time) END), 0)
+FROM (
+    SELECT user_id, borrowing_time, return_time FROM borrowing_records
+    UNION ALL
+    SELECT user_id, borrowing_time, return_time FROM borrowing_records_archive
+) r
+GROUP BY r.user_id;
+
+INSERT INTO user_author_stats (user_id, author, loans)
+SELECT r.user_id, b.author, COUNT(*)
+FROM (
+    SELECT user_id, inventory_id FROM borrowing_records
+    UNION ALL
+    SELECT user_id, inventory_id FROM borrowing_records_archive
+) r
+JOIN inventory i ON i.inventory_id = r.inventory_id
+JOIN books b ON b.isbn = i.isbn
+WHERE b.author IS NOT NULL
+GROUP BY r.user_id, b.author;
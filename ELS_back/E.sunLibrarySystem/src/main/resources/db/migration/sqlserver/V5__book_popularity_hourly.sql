@@ -0,0 +1,20 @@
+-- 書籍熱門度每小時借閱次數
+-- BookPopularityService 在記憶體中以每小時區間計數，定期把新增的次數累加到此表；啟動時讀回最近 30 天重建計數
+
+CREATE TABLE book_popularity_hourly (
+    isbn NVARCHAR(13) NOT NULL,
+    bucket_hour DATETIME2 NOT NULL,
+    borrow_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (isbn, bucket_hour)
+);
+
+-- 啟動重建與過期清除都依 bucket_hour 範圍掃描
+CREATE INDEX idx_book_popularity_hour ON book_popularity_hourly (bucket_hour);
+
+-- 以最近 30 天的借閱紀錄回填
+INSERT INTO book_popularity_hourly (isbn, bucket_hour, borrow_count)
+SELECT i.isbn, DATEADD(HOUR, DATEDIFF(HOUR, 0, r.borrowing_time), 0), COUNT(*)
+FROM borrowing_records r
+JOIN inventory i ON i.inventory_id = r.inventory_id
+WHERE r.borrowing_time >= DATEADD(DAY, -30, GETDATE())
+GROUP BY i.isbn, DATEADD(HOUR, DATEDIFF(HOUR, 0, r.borrowing_time), 0);
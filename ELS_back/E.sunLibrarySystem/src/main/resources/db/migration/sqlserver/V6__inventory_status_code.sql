@@ -0,0 +1,56 @@
+-- 庫存狀態改以 TINYINT 代碼保存（對應 Library.System.entity.InventoryStatus）
+-- 原本的 NVARCHAR(50) 每列佔 2×字元數 位元組加 2 位元組位移（'Available' 為 18 + 2 位元組），代碼只佔 1 位元組：
+-- idx_inventory_isbn_status 每列由約 71 降為 52 位元組（依 SQL Server 列格式估算、未實測，計算方式見 README「庫存狀態代碼 (V6)」），
+-- 每頁可容納的列數增加，掃描與比較也改為整數比較。
+-- 代碼：0 Available、1 Borrowed、2 Processing、3 Lost、4 Damaged、5 Discarded（只能新增，不可變更）
+
+-- 狀態代碼對照表，供報表與預存程序以名稱查詢
+CREATE TABLE inventory_status (
+    code TINYINT PRIMARY KEY,
+    name NVARCHAR(20) NOT NULL UNIQUE
+);
+
+INSERT INTO inventory_status (code, name) VALUES
+    (0, 'Available'), (1, 'Borrowed'), (2, 'Processing'), (3, 'Lost'), (4, 'Damaged'), (5, 'Discarded');
+
+ALTER TABLE inventory ADD status_code TINYINT NULL;
+
+UPDATE inventory SET status_code = s.code
+FROM inventory JOIN inventory_status s ON s.name = inventory.status;
+
+-- 移除依賴舊欄位的索引、檢查條件與 V1 未命名的預設值條件
+DROP INDEX IF EXISTS idx_inventory_available ON inventory;
+DROP INDEX IF EXISTS idx_inventory_isbn_status ON inventory;
+
+ALTER TABLE inventory DROP CONSTRAINT chk_status;
+
+IF 1 = 1
+BEGIN
+    DECLARE @default_name SYSNAME = (
+        SELECT dc.name FROM sys.default_constraints dc
+        JOIN sys.columns c ON c.object_id = dc.parent_object_id AND c.column_id = dc.parent_column_id
+        WHERE dc.parent_object_id = OBJECT_ID('inventory') AND c.name = 'status');
+    IF @default_name IS NOT NULL
+    BEGIN
+        DECLARE @drop_default NVARCHAR(300) = N'ALTER TABLE inventory DROP CONSTRAINT ' + QUOTENAME(@default_name);
+        EXEC sp_executesql @drop_default;
+    END
+END;
+
+ALTER TABLE inventory DROP COLUMN status;
+
+EXEC sp_rename 'inventory.status_code', 'status', 'COLUMN';
+
+ALTER TABLE inventory ALTER COLUMN status TINYINT NOT NULL;
+
+ALTER TABLE inventory ADD CONSTRAINT df_inventory_status DEFAULT 0 FOR status;
+
+ALTER TABLE inventory ADD CONSTRAINT chk_status CHECK (status BETWEEN 0 AND 5);
+
+-- 與 V2 相同的索引，條件改為代碼常數；InventoryRepository 以列舉常值查詢，SQL 中同樣是常數 0，仍可選用篩選索引
+CREATE INDEX idx_inventory_available ON inventory(isbn)
+    INCLUDE (store_time)
+    WHERE status = 0;
+
+CREATE INDEX idx_inventory_isbn_status ON inventory(isbn, status)
+    INCLUDE (store_time);
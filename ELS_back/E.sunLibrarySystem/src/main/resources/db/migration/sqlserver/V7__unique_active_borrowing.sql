@@ -0,0 +1,12 @@
+-- 同一本館藏同時只能有一筆借閱中的紀錄
+-- 借書在同一個交易中檢查庫存狀態、更新狀態並新增借閱紀錄；即使兩個同時進行的借書都通過應用程式的檢查，
+-- 第二筆借閱中紀錄也會被此唯一篩選索引擋下，不會出現一本館藏兩筆借閱中紀錄。
+-- 以相同的鍵、INCLUDE 與篩選條件重建 V2 的 idx_borrowing_active_inventory，查詢計畫不變。
+-- 既有資料若已有重複的借閱中紀錄，建立會失敗，需先以下列查詢找出並人工處理：
+--   SELECT inventory_id, COUNT(*) FROM borrowing_records WHERE return_time IS NULL
+--   GROUP BY inventory_id HAVING COUNT(*) > 1;
+
+CREATE UNIQUE INDEX idx_borrowing_active_inventory ON borrowing_records(inventory_id)
+    INCLUDE (user_id, borrowing_time)
+    WHERE return_time IS NULL
+    WITH (DROP_EXISTING = ON);
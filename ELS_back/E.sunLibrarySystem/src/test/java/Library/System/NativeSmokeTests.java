@@ -0,0 +1,154 @@
+package Library.System;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 原生映像冒煙測試 - 啟動建置好的執行檔（H2 記憶體資料庫），走過註冊、登入、借書、查詢的完整流程
+ *
+ * 涵蓋 RuntimeHints 登錄的路徑：JJWT 簽發與驗證、ApiResponse 包裝的 DTO 與實體序列化、LAZY 關聯的 fetch plan。
+ * 並輸出由程序啟動到第一個請求成功的時間與常駐記憶體（VmRSS），用於與 JVM 版本比較。
+ * 只在指定 native.binary 時執行：
+ * mvn -P native -DskipTests native:compile
+ * mvn -P native test -Dtest=NativeSmokeTests -Dnative.binary=target/E.sunLibrarySystem
+ */
+@EnabledIfSystemProperty(named = "native.binary", matches = ".+")
+class NativeSmokeTests {
+
+    /** 等待第一個請求成功的最長時間 */
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String baseUrl;
+
+    @Test
+    void servesBorrowingFlow() throws Exception {
+        int port = freePort();
+        baseUrl = "http://localhost:" + port;
+        Path log = Path.of("target", "native-smoke.log");
+        Files.createDirectories(log.getParent());
+        Process process = new ProcessBuilder(List.of(System.getProperty("native.binary"),
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:els;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--monitor.tracing.export.file="))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        long launchedAt = System.nanoTime();
+        try {
+            JsonNode books = awaitFirstResponse(process, log);
+            long firstRequestMs = (System.nanoTime() - launchedAt) / 1_000_000;
+            assertTrue(books.isArray());
+
+            post("/api/auth/register", null, "{\"phoneNumber\":\"0987000001\",\"userName\":\"smoke\",\"password\":\"smoke123\"}");
+            String token = post("/api/auth/login", null, "{\"phoneNumber\":\"0987000001\",\"password\":\"smoke123\"}")
+                    .path("token").asText();
+            assertFalse(token.isEmpty());
+
+            JsonNode available = get("/api/borrowing/available-books", null).path("books");
+            assertFalse(available.isEmpty(), "資料初始化後應有可借閱的庫存");
+            assertNotNull(available.get(0).path("book").path("isbn").textValue());
+            int inventoryId = available.get(0).path("inventoryId").asInt();
+
+            post("/api/borrowing/borrow", token, "{\"inventoryId\":" + inventoryId + "}");
+            JsonNode active = get("/api/borrowing/active", token);
+            assertEquals(1, active.size());
+            assertNotNull(active.get(0).path("bookName").textValue());
+
+            JsonNode report = get("/api/admin/startup-report", null);
+            System.out.printf("冒煙測試通過: 執行檔 %s，第一個請求 %d ms（程序內 ready %s ms），VmRSS %s%n",
+                    System.getProperty("native.binary"), firstRequestMs, report.path("readyMs").asText(),
+                    residentSetSize(process.pid()));
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private JsonNode awaitFirstResponse(Process process, Path log) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new AssertionError("執行檔已結束（exit " + process.exitValue() + "），日誌見 " + log.toAbsolutePath());
+            }
+            try {
+                return get("/api/books/available", null);
+            } catch (ConnectException e) {
+                Thread.sleep(20);
+            }
+        }
+        throw new AssertionError("等待第一個請求逾時，日誌見 " + log.toAbsolutePath());
+    }
+
+    private JsonNode get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    private JsonNode post(String path, String token, String json) throws IOException, InterruptedException {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), request.uri() + " 回應: " + response.body());
+        JsonNode body = objectMapper.readTree(response.body());
+        assertTrue(body.path("success").asBoolean(), request.uri() + " 回應: " + response.body());
+        return body.path("data");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String residentSetSize(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return "N/A";
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.substring("VmRSS:".length()).trim())
+                .findFirst()
+                .orElse("N/A");
+    }
+}
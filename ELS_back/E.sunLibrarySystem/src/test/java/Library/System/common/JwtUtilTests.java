@@ -0,0 +1,62 @@
+package Library.System.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * JWT 工具測試 - 刷新區間判斷與會話最長存活時間的上限
+ */
+class JwtUtilTests {
+
+    private static final long MINUTE = 60_000L;
+
+    private JwtUtil newJwtUtil(long maxSessionAge) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", "test-secret-key-must-be-at-least-256-bits-long");
+        ReflectionTestUtils.setField(jwtUtil, "expirationTime", 60 * MINUTE);
+        ReflectionTestUtils.setField(jwtUtil, "expiringSoonThreshold", 30 * MINUTE);
+        ReflectionTestUtils.setField(jwtUtil, "maxSessionAge", maxSessionAge);
+        return jwtUtil;
+    }
+
+    private String tokenWithAuthTime(JwtUtil jwtUtil, long authTime) {
+        return ReflectionTestUtils.invokeMethod(jwtUtil, "generateToken", 1, "0912345678", authTime);
+    }
+
+    @Test
+    void keepsTokenOutsideRefreshWindow() {
+        JwtUtil jwtUtil = newJwtUtil(24 * 60 * MINUTE);
+        String token = jwtUtil.generateToken(1, "0912345678");
+
+        assertEquals(token, jwtUtil.refreshToken(token));
+    }
+
+    @Test
+    void capsRefreshedExpiryAtMaxSessionAge() {
+        // 登入 100 分鐘、會話上限 110 分鐘：刷新後只剩 10 分鐘，而非完整的 60 分鐘
+        JwtUtil jwtUtil = newJwtUtil(110 * MINUTE);
+        long authTime = System.currentTimeMillis() - 100 * MINUTE;
+        String token = tokenWithAuthTime(jwtUtil, authTime);
+
+        String refreshed = jwtUtil.refreshToken(token);
+
+        long expiry = jwtUtil.getExpirationFromToken(refreshed).getTime();
+        assertTrue(expiry <= authTime + 110 * MINUTE, "過期時間超過會話上限: " + expiry);
+        assertTrue(expiry > System.currentTimeMillis() + 9 * MINUTE, "過期時間過早: " + expiry);
+    }
+
+    @Test
+    void rejectsRefreshAfterMaxSessionAge() {
+        // 登入 100 分鐘、會話上限 90 分鐘：Token 仍有效且進入刷新區間，但會話已過期
+        JwtUtil jwtUtil = newJwtUtil(90 * MINUTE);
+        JwtUtil issuer = newJwtUtil(24 * 60 * MINUTE);
+        ReflectionTestUtils.setField(issuer, "expirationTime", 10 * MINUTE);
+        String token = tokenWithAuthTime(issuer, System.currentTimeMillis() - 100 * MINUTE);
+
+        assertThrows(RuntimeException.class, () -> jwtUtil.refreshToken(token));
+    }
+}
@@ -0,0 +1,59 @@
+package Library.System.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import Library.System.dto.ApiResponse;
+import Library.System.dto.BorrowingResponse;
+import Library.System.entity.Book;
+import Library.System.entity.BorrowingRecord;
+import Library.System.entity.InventoryStatus;
+
+/**
+ * 原生映像提示測試 - 確認實體、DTO、JJWT 實作與 ServiceLoader 設定檔都已登錄
+ */
+class NativeImageHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void registerHints() {
+        new NativeImageConfig.Hints().registerHints(hints, getClass().getClassLoader());
+        new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(hints, NativeImageConfig.class);
+    }
+
+    @Test
+    void entitiesAreReflective() throws Exception {
+        for (Class<?> entity : NativeImageConfig.ENTITIES) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(entity)
+                    .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                    .test(hints), entity.getName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onField(BorrowingRecord.class.getDeclaredField("inventory")).test(hints));
+    }
+
+    @Test
+    void responseTypesAreBound() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ApiResponse.class.getMethod("getData")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(BorrowingResponse.class.getMethod("getReturnTime")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Book.class.getMethod("getIsbn")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(InventoryStatus.class.getMethod("getLabel")).test(hints));
+    }
+
+    @Test
+    void jjwtImplementationsAreReflective() {
+        for (String type : NativeImageConfig.JJWT_REFLECTIVE_TYPES) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints), type);
+        }
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Deserializer").test(hints));
+    }
+}
@@ -0,0 +1,114 @@
+package Library.System.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import Library.System.entity.Inventory;
+import Library.System.entity.InventoryStatus;
+import Library.System.entity.User;
+import Library.System.monitor.ReplicaLagMonitor;
+import Library.System.repository.BorrowingRecordRepository;
+import Library.System.repository.InventoryRepository;
+import Library.System.service.BookService;
+import Library.System.service.BorrowingService;
+import Library.System.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 讀寫分離路由測試 - 副本與主資料庫指向同一個 H2 資料庫，以路由計數器驗證連線的去向
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.url=jdbc:h2:mem:els;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.lag-query=",
+        "app.datasource.replica.lag-check-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class ReadWriteRoutingTests {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void replicaAvailable() {
+        replicaLagMonitor.check();
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        double reads = routed("read");
+        double writes = routed("write");
+
+        bookService.getAllBooksWithInventory();
+        assertEquals(reads + 1, routed("read"));
+
+        userService.registerUser("0912000201", "secret123", "路由測試");
+        assertTrue(routed("write") > writes, "寫入交易應使用主資料庫");
+    }
+
+    @Test
+    void recentWriterReadsFromPrimary() {
+        User borrower = userService.registerUser("0912000202", "secret123", "剛借書的使用者");
+        User other = userService.registerUser("0912000203", "secret123", "其他使用者");
+        List<Inventory> inventories = inventoryRepository.findAll();
+        Inventory available = inventories.stream()
+                .filter(inventory -> inventory.getStatus() == InventoryStatus.AVAILABLE)
+                .filter(inventory -> borrowingRecordRepository.findByInventoryIdAndReturnTimeIsNull(inventory.getInventoryId()).isEmpty())
+                .findFirst()
+                .orElseThrow();
+        // 借出後立即歸還，不影響其他測試共用的庫存狀態
+        borrowingService.borrowBook(borrower.getUserId(), available.getInventoryId());
+        borrowingService.returnBook(borrower.getUserId(), available.getInventoryId());
+
+        double pinned = routed("read_your_writes");
+        assertEquals(1, borrowingService.getUserBorrowingHistory(borrower.getUserId()).size());
+        assertEquals(pinned + 1, routed("read_your_writes"));
+
+        double reads = routed("read");
+        borrowingService.getUserBorrowingHistory(other.getUserId());
+        assertEquals(reads + 1, routed("read"));
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToPrimary() {
+        replicaLagMonitor.markUnavailable("測試");
+        double fallbacks = routed("replica_unavailable");
+        bookService.getAllBooksWithInventory();
+        assertEquals(fallbacks + 1, routed("replica_unavailable"));
+
+        replicaLagMonitor.check();
+        double reads = routed("read");
+        bookService.getAllBooksWithInventory();
+        assertEquals(reads + 1, routed("read"));
+    }
+
+    private double routed(String reason) {
+        return meterRegistry.get("library.datasource.routed_connections").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,67 @@
+package Library.System.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 啟動工作執行器測試 - 同步 / 背景執行、執行順序與例外隔離
+ */
+class StartupTasksTests {
+
+    @Test
+    void runsInlineByDefault() {
+        StartupTasks tasks = new StartupTasks();
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        tasks.run("first", () -> order.add(Thread.currentThread().getName()));
+
+        assertEquals(List.of(Thread.currentThread().getName()), order);
+        assertEquals(List.of("first"), List.copyOf(tasks.getDurations().keySet()));
+        assertNotEquals(0, tasks.getCompletedAt());
+    }
+
+    @Test
+    void runsInBackgroundInSubmissionOrder() throws Exception {
+        StartupTasks tasks = new StartupTasks();
+        ReflectionTestUtils.setField(tasks, "async", true);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        try {
+            tasks.run("data", () -> {
+                awaitQuietly(release);
+                order.add("data");
+            });
+            tasks.run("failing", () -> {
+                throw new IllegalStateException("boom");
+            });
+            tasks.run("counts", () -> order.add("counts"));
+
+            assertEquals(0, tasks.getCompletedAt());
+            release.countDown();
+
+            assertTrue(tasks.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("data", "counts"), order);
+            assertEquals(List.of("data", "failing", "counts"), List.copyOf(tasks.getDurations().keySet()));
+            assertNotEquals(0, tasks.getCompletedAt());
+        } finally {
+            tasks.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
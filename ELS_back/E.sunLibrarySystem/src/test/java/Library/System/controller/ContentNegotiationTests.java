@@ -0,0 +1,54 @@
+package Library.System.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * 內容協商測試 - 預設回應 JSON，Accept 指定時改以 CBOR / Smile 回應相同的內容
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ContentNegotiationTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void binaryFormatsCarrySameCatalog() throws Exception {
+        JsonNode json = new ObjectMapper().readTree(fetch(MediaType.ALL, MediaType.APPLICATION_JSON));
+        JsonNode cbor = new CBORMapper().readTree(fetch(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_CBOR));
+        JsonNode smile = new SmileMapper().readTree(fetch(SMILE, SMILE));
+
+        assertTrue(json.path("data").size() > 0);
+        assertEquals(json.path("data"), cbor.path("data"));
+        assertEquals(json.path("data"), smile.path("data"));
+        // 日期沿用 spring.jackson.* 設定，以字串而非時間戳記輸出
+        assertTrue(cbor.path("data").get(0).path("storeTime").isTextual());
+    }
+
+    private byte[] fetch(MediaType accept, MediaType expected) throws Exception {
+        return mockMvc.perform(get("/api/books/all").accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(expected))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,49 @@
+package Library.System.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 庫存狀態測試 - 代碼對應、JSON 名稱與狀態轉換表
+ */
+class InventoryStatusTests {
+
+    @Test
+    void codesRoundTrip() {
+        InventoryStatusConverter converter = new InventoryStatusConverter();
+        for (InventoryStatus status : InventoryStatus.values()) {
+            assertEquals(status, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(status)));
+        }
+        assertEquals(0, InventoryStatus.AVAILABLE.getCode());
+        assertThrows(IllegalArgumentException.class, () -> InventoryStatus.fromCode(6));
+    }
+
+    @Test
+    void serializesAsLegacyLabel() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals("\"Borrowed\"", mapper.writeValueAsString(InventoryStatus.BORROWED));
+        assertEquals(InventoryStatus.LOST, mapper.readValue("\"Lost\"", InventoryStatus.class));
+    }
+
+    @Test
+    void transitionsFollowTable() {
+        Inventory inventory = new Inventory("9789865020059", InventoryStatus.AVAILABLE);
+        assertEquals(InventoryStatus.AVAILABLE, inventory.transitionTo(InventoryStatus.BORROWED));
+        assertEquals(InventoryStatus.BORROWED, inventory.transitionTo(InventoryStatus.AVAILABLE));
+
+        assertThrows(IllegalStateException.class, () -> inventory.transitionTo(InventoryStatus.DISCARDED));
+        assertEquals(InventoryStatus.AVAILABLE, inventory.getStatus());
+        assertFalse(InventoryStatus.BORROWED.canTransitionTo(InventoryStatus.BORROWED));
+        assertFalse(InventoryStatus.DAMAGED.canTransitionTo(InventoryStatus.AVAILABLE));
+        assertTrue(InventoryStatus.LOST.canTransitionTo(InventoryStatus.AVAILABLE));
+        for (InventoryStatus target : InventoryStatus.values()) {
+            assertFalse(InventoryStatus.DISCARDED.canTransitionTo(target));
+        }
+    }
+}
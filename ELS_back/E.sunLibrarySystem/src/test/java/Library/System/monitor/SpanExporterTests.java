@@ -0,0 +1,45 @@
+package Library.System.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 區段匯出器測試 - JSON Lines 檔案超過大小上限時輪替，只保留 max-files 個舊檔
+ */
+class SpanExporterTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rotatesJsonLinesFile() throws Exception {
+        Path file = directory.resolve("traces.jsonl");
+        SpanExporter exporter = new SpanExporter();
+        ReflectionTestUtils.setField(exporter, "file", file.toString());
+        ReflectionTestUtils.setField(exporter, "otlpEndpoint", "");
+        ReflectionTestUtils.setField(exporter, "maxFileSizeMb", 0L);
+        ReflectionTestUtils.setField(exporter, "maxFiles", 2);
+        ReflectionTestUtils.setField(exporter, "spanMapper", new ObjectMapper());
+
+        // 上限為 0 時每批寫完都會輪替
+        for (int i = 1; i <= 4; i++) {
+            TraceSpan span = new TraceSpan("trace", "span" + i, null, "http", "GET /batch" + i, 0, 0);
+            ReflectionTestUtils.invokeMethod(exporter, "deliver", List.of(List.of(span)));
+        }
+
+        assertFalse(Files.exists(file));
+        assertTrue(Files.readString(directory.resolve("traces.jsonl.1")).contains("/batch4"));
+        assertTrue(Files.readString(directory.resolve("traces.jsonl.2")).contains("/batch3"));
+        assertFalse(Files.exists(directory.resolve("traces.jsonl.3")));
+    }
+}
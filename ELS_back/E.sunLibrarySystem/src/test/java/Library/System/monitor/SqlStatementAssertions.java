@@ -0,0 +1,71 @@
+package Library.System.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Supplier;
+
+/**
+ * SQL 語句數斷言工具 - 整合測試中限制一段程式碼可發出的 SQL 語句數量
+ * 
+ * 使用方式：
+ * <pre>
+ * List&lt;InventoryResponse&gt; books = assertMaxQueries(1, () -&gt; bookService.getAllBooksWithInventory());
+ * </pre>
+ * 
+ * 需搭配啟用 DataSourceProxyPostProcessor 的 Spring 測試環境使用。
+ */
+public final class SqlStatementAssertions {
+    
+    private SqlStatementAssertions() {
+    }
+    
+    /**
+     * 執行動作並回傳其 SQL 統計
+     * 
+     * @param action 要統計的動作
+     * @return SqlStatementCounter.Snapshot 統計結果
+     */
+    public static SqlStatementCounter.Snapshot countQueries(Runnable action) {
+        SqlStatementCounter.start();
+        SqlStatementCounter.Snapshot snapshot;
+        try {
+            action.run();
+        } finally {
+            snapshot = SqlStatementCounter.stop();
+        }
+        return snapshot;
+    }
+    
+    /**
+     * 斷言動作發出的 SQL 語句不超過指定數量
+     * 
+     * @param maxStatements 允許的最大語句數
+     * @param action 要統計的動作
+     * @return T 動作的回傳值
+     */
+    public static <T> T assertMaxQueries(int maxStatements, Supplier<T> action) {
+        SqlStatementCounter.start();
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            SqlStatementCounter.Snapshot snapshot = SqlStatementCounter.stop();
+            assertTrue(snapshot.getStatements() <= maxStatements,
+                    () -> "預期最多 " + maxStatements + " 條 SQL 語句，實際為 " + snapshot);
+        }
+        return result;
+    }
+    
+    /**
+     * 斷言動作發出的 SQL 語句不超過指定數量
+     * 
+     * @param maxStatements 允許的最大語句數
+     * @param action 要統計的動作
+     */
+    public static void assertMaxQueries(int maxStatements, Runnable action) {
+        assertMaxQueries(maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
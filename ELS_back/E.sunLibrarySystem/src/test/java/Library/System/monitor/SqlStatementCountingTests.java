@@ -0,0 +1,61 @@
+package Library.System.monitor;
+
+import static Library.System.monitor.SqlStatementAssertions.assertMaxQueries;
+import static Library.System.monitor.SqlStatementAssertions.countQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import Library.System.dto.InventoryResponse;
+import Library.System.entity.Inventory;
+import Library.System.entity.User;
+import Library.System.repository.InventoryRepository;
+import Library.System.service.BookService;
+import Library.System.service.BorrowingService;
+import Library.System.service.UserService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SqlStatementCountingTests {
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private BorrowingService borrowingService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    
+    @Test
+    void catalogListingUsesSingleQuery() {
+        List<InventoryResponse> books = assertMaxQueries(1, () -> bookService.getAllBooksWithInventory());
+        assertFalse(books.isEmpty());
+    }
+    
+    @Test
+    void borrowingHistoryDoesNotGrowWithRecordCount() {
+        User user = userService.registerUser("0912000001", "secret123", "測試使用者");
+        List<Inventory> inventories = inventoryRepository.findAll();
+        
+        borrowingService.borrowBook(user.getUserId(), inventories.get(0).getInventoryId());
+        int oneRecord = countQueries(() -> borrowingService.getUserBorrowingHistory(user.getUserId())).getStatements();
+        assertTrue(oneRecord > 0, "資料來源未被代理，無法統計 SQL 語句");
+        
+        borrowingService.borrowBook(user.getUserId(), inventories.get(1).getInventoryId());
+        borrowingService.borrowBook(user.getUserId(), inventories.get(2).getInventoryId());
+        int threeRecords = countQueries(() -> borrowingService.getUserBorrowingHistory(user.getUserId())).getStatements();
+        
+        assertEquals(oneRecord, threeRecords, "借閱歷史的查詢數不應隨紀錄數增加（N+1 查詢）");
+    }
+}
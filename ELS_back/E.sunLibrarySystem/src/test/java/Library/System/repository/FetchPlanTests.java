@@ -0,0 +1,101 @@
+package Library.System.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import Library.System.entity.BorrowingRecord;
+import Library.System.entity.Inventory;
+import Library.System.entity.User;
+import Library.System.service.BookService;
+import Library.System.service.BorrowingService;
+import Library.System.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Fetch plan 測試 - 關聯預設不載入、具名 fetch plan 只載入所需的關聯，交易外延遲載入直接失敗
+ *
+ * 測試設定檔開啟 monitor.strict-lazy-loading，以下查詢皆在交易外檢查回傳的實體。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FetchPlanTests {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findByIdDoesNotLoadBook() {
+        Inventory inventory = inventoryRepository.findById(firstInventoryId()).orElseThrow();
+        assertFalse(Hibernate.isInitialized(inventory.getBook()));
+        assertThrows(LazyInitializationException.class, () -> inventory.getBook().getName());
+    }
+
+    @Test
+    void availableWithBookLoadsBook() {
+        List<Inventory> inventories = inventoryRepository.findAvailableWithBook();
+        assertFalse(inventories.isEmpty());
+        inventories.forEach(inventory -> assertTrue(Hibernate.isInitialized(inventory.getBook())));
+    }
+
+    @Test
+    void recordDetailLoadsInventoryAndBookButNotUser() {
+        User user = userService.registerUser("0912000451", "secret123", "載入計畫測試");
+        Inventory inventory = bookService.addInventory(inventoryRepository.findById(firstInventoryId()).orElseThrow().getIsbn());
+        BorrowingRecord borrowed = borrowingService.borrowBook(user.getUserId(), inventory.getInventoryId());
+        try {
+            BorrowingRecord record = borrowingRecordRepository.findByIdWithAssociations(borrowed.getRecordId()).orElseThrow();
+            assertTrue(Hibernate.isInitialized(record.getInventory()));
+            assertTrue(Hibernate.isInitialized(record.getInventory().getBook()));
+            assertFalse(Hibernate.isInitialized(record.getUser()));
+
+            List<BorrowingRecord> active = borrowingRecordRepository.findActiveBorrowingsByUserId(user.getUserId());
+            assertEquals(1, active.size());
+            assertTrue(Hibernate.isInitialized(active.get(0).getInventory()));
+            assertFalse(Hibernate.isInitialized(active.get(0).getUser()));
+        } finally {
+            borrowingService.returnBook(user.getUserId(), inventory.getInventoryId());
+        }
+    }
+
+    @Test
+    void lazyLoadWithOpenSessionOutsideTransactionFails() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            Inventory inventory = entityManager.find(Inventory.class, firstInventoryId());
+            assertThrows(LazyInitializationException.class, () -> inventory.getBook().getName());
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private Integer firstInventoryId() {
+        return inventoryRepository.findAll().get(0).getInventoryId();
+    }
+}
@@ -0,0 +1,194 @@
+package Library.System.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import Library.System.monitor.SlowQueryEntry;
+import Library.System.monitor.SlowQueryListener;
+
+/**
+ * 查詢計畫驗證 - 確認熱門 Repository 查詢實際使用 V2 遷移建立的索引
+ * 
+ * 以慢查詢監聽器（門檻設為 0、保留參數實際值）擷取 Hibernate 實際產生的 SQL，再向資料庫取得執行計畫：
+ * H2 使用 EXPLAIN，SQL Server 使用 SET SHOWPLAN_XML ON。
+ * H2 在空表上無法區分各索引的成本，因此先灌入已歸還的借閱紀錄並 ANALYZE 產生統計資訊
+ * （只寫入已歸還紀錄，不影響其他測試的借書流程）。
+ * 預設在 H2 上執行；以 -Dspring.datasource.url=jdbc:sqlserver://... 等參數覆寫資料來源即可在 SQL Server 上驗證
+ * （SQL Server 的最佳化器會依資料量選擇計畫，請先以合成資料集產生器灌入資料）。
+ */
+@SpringBootTest(properties = {
+        "monitor.slow-query.threshold-ms=0",
+        "monitor.slow-query.include-parameter-values=true"
+})
+@ActiveProfiles("test")
+class QueryPlanTests {
+    
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+    
+    @Autowired
+    private SlowQueryListener slowQueryListener;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    /** 灌入的使用者數量 */
+    private static final int SEED_USERS = 200;
+    
+    /** 灌入的已歸還借閱紀錄數量 */
+    private static final int SEED_RECORDS = 5000;
+    
+    /** 同一個 H2 資料庫只需灌入一次 */
+    private static boolean seeded;
+    
+    @BeforeEach
+    void prepare() {
+        if (!seeded && isH2()) {
+            seedReturnedLoans();
+            seeded = true;
+        }
+        slowQueryListener.reset();
+    }
+    
+    @Test
+    void availableBooksUseFilteredIndex() {
+        inventoryRepository.findAvailableBooks();
+        String sql = assertPlanUses("InventoryRepository.findAvailableBooks", "idx_inventory_available");
+        // 篩選索引只在條件為常數時可用，狀態代碼不可被參數化
+        assertFalse(sql.contains("?"), "狀態條件應為常數代碼\nSQL: " + sql);
+    }
+    
+    @Test
+    void inventoryByIsbnUsesIsbnStatusIndex() {
+        assumeFalse(isH2(), "H2 的外鍵單欄索引 (isbn) 與複合索引成本相同，只在 SQL Server 上驗證");
+        inventoryRepository.findByIsbn("9789865020059");
+        assertPlanUses("InventoryRepository.findByIsbn", "idx_inventory_isbn_status");
+    }
+    
+    @Test
+    void activeLoanByInventoryUsesFilteredIndex() {
+        borrowingRecordRepository.findByInventoryIdAndReturnTimeIsNull(1);
+        assertPlanUses("BorrowingRecordRepository.findByInventoryIdAndReturnTimeIsNull", "idx_borrowing_active_inventory");
+    }
+    
+    @Test
+    void activeLoansByUserUseFilteredIndex() {
+        borrowingRecordRepository.findActiveBorrowingsByUserId(1);
+        assertPlanUses("BorrowingRecordRepository.findActiveBorrowingsByUserId", "idx_borrowing_active_user");
+    }
+    
+    @Test
+    void activeLoanCheckUsesFilteredIndex() {
+        borrowingRecordRepository.existsActiveBorrowing(1, 1);
+        assertPlanUses("BorrowingRecordRepository.existsActiveBorrowing", "idx_borrowing_active_user");
+    }
+    
+    @Test
+    void borrowingHistoryUsesUserTimeIndex() {
+        assumeFalse(isH2(), "H2 的外鍵單欄索引 (user_id) 與複合索引成本相同，只在 SQL Server 上驗證");
+        borrowingRecordRepository.findByUserIdOrderByBorrowingTimeDesc(1);
+        assertPlanUses("BorrowingRecordRepository.findByUserIdOrderByBorrowingTimeDesc", "idx_borrowing_user_time");
+    }
+    
+    private String assertPlanUses(String caller, String index) {
+        // getRecent() 由新到舊排序，取該方法發出的第一個語句（之後可能是 EAGER 關聯的補查詢）
+        SlowQueryEntry entry = null;
+        for (SlowQueryEntry candidate : slowQueryListener.getRecent()) {
+            if (caller.equals(candidate.getCaller())) {
+                entry = candidate;
+            }
+        }
+        assertNotNull(entry, "未擷取到 " + caller + " 的 SQL");
+        
+        String sql = entry.getQueries().get(0);
+        List<Object> parameters = new ArrayList<>();
+        if (!entry.getParameters().isEmpty()) {
+            for (String parameter : entry.getParameters().get(0)) {
+                parameters.add(parameter.substring(parameter.indexOf('=') + 1));
+            }
+        }
+        
+        String plan = explain(sql, parameters);
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(index),
+                caller + " 未使用索引 " + index + "\nSQL: " + sql + "\n執行計畫:\n" + plan);
+        return sql;
+    }
+    
+    private boolean isH2() {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                connection.getMetaData().getDatabaseProductName().contains("H2"));
+    }
+    
+    private void seedReturnedLoans() {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < SEED_USERS; i++) {
+            users.add(new Object[] {String.format("0977%06d", i), "hash", "salt", "計畫測試" + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (phone_number, password_hash, salt, user_name) VALUES (?, ?, ?, ?)", users);
+        
+        List<Integer> userIds = jdbcTemplate.queryForList("SELECT user_id FROM users WHERE phone_number LIKE '0977%'", Integer.class);
+        List<Integer> inventoryIds = jdbcTemplate.queryForList("SELECT inventory_id FROM inventory", Integer.class);
+        List<Object[]> records = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        for (int i = 0; i < SEED_RECORDS; i++) {
+            LocalDateTime borrowed = start.plusHours(i);
+            records.add(new Object[] {userIds.get(i % userIds.size()), inventoryIds.get(i % inventoryIds.size()),
+                    borrowed, borrowed.plusDays(7)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO borrowing_records (user_id, inventory_id, borrowing_time, return_time) VALUES (?, ?, ?, ?)", records);
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    private String explain(String sql, List<Object> parameters) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (product.contains("SQL Server")) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET SHOWPLAN_XML ON");
+                    try {
+                        return query(connection.prepareStatement(sql), parameters);
+                    } finally {
+                        statement.execute("SET SHOWPLAN_XML OFF");
+                    }
+                }
+            }
+            return query(connection.prepareStatement("EXPLAIN " + sql), parameters);
+        });
+    }
+    
+    private static String query(PreparedStatement statement, List<Object> parameters) throws java.sql.SQLException {
+        try (statement) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
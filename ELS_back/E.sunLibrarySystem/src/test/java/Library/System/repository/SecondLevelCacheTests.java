@@ -0,0 +1,121 @@
+package Library.System.repository;
+
+import static Library.System.monitor.SqlStatementAssertions.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import Library.System.common.BusinessException;
+import Library.System.dto.BorrowingResponse;
+import Library.System.dto.InventoryResponse;
+import Library.System.entity.Book;
+import Library.System.entity.Inventory;
+import Library.System.entity.InventoryStatus;
+import Library.System.entity.User;
+import Library.System.service.BookService;
+import Library.System.service.BorrowingService;
+import Library.System.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 二級快取測試 - 目錄與借閱歷史的書籍資料由 Book 快取區域取得，不再自資料庫載入
+ * 
+ * 以 Hibernate Statistics 比較實體載入次數：書籍 JOIN 時每次請求都會重新載入每一本書，
+ * 改由快取取得後書籍的載入次數為 0，SQL 語句數不變。
+ * 庫存狀態可能在 Hibernate 之外被更新，借書時不得採用快取中的舊狀態。
+ * 目錄快照會在借書後於背景重建並讀取 Book 快取區域，此處停用以免計入命中次數。
+ */
+@SpringBootTest(properties = "catalog.snapshot.enabled=false")
+@ActiveProfiles("test")
+class SecondLevelCacheTests {
+    
+    private static final String BOOK_REGION = Book.class.getName();
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private BorrowingService borrowingService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void prepare() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @Test
+    void catalogLoadsBooksFromCache() {
+        statistics.clear();
+        List<InventoryResponse> books = assertMaxQueries(1, () -> bookService.getAllBooksWithInventory());
+        
+        assertFalse(books.isEmpty());
+        assertEquals(0, statistics.getEntityStatistics(BOOK_REGION).getLoadCount());
+        long distinctBooks = books.stream().map(InventoryResponse::getIsbn).distinct().count();
+        assertEquals(distinctBooks, statistics.getCacheRegionStatistics(BOOK_REGION).getHitCount());
+    }
+    
+    @Test
+    void borrowingHistoryLoadsBooksFromCache() {
+        User user = userService.registerUser("0912000431", "secret123", "快取測試");
+        List<Inventory> inventories = new ArrayList<>();
+        for (Book book : bookService.findAllBooks().subList(0, 3)) {
+            Inventory inventory = bookService.addInventory(book.getIsbn());
+            borrowingService.borrowBook(user.getUserId(), inventory.getInventoryId());
+            inventories.add(inventory);
+        }
+        
+        // 借書流程的原生 SQL 宣告了影響的資料表，不會清空 Book 快取區域
+        statistics.clear();
+        List<BorrowingResponse> history = borrowingService.getUserBorrowingHistory(user.getUserId());
+        
+        assertEquals(3, history.size());
+        assertEquals(0, statistics.getEntityStatistics(BOOK_REGION).getLoadCount());
+        assertEquals(3, statistics.getCacheRegionStatistics(BOOK_REGION).getHitCount());
+        
+        for (Inventory inventory : inventories) {
+            borrowingService.returnBook(user.getUserId(), inventory.getInventoryId());
+        }
+    }
+    
+    @Test
+    void borrowIgnoresStaleInventoryCache() {
+        User user = userService.registerUser("0912000432", "secret123", "快取測試");
+        Inventory inventory = bookService.addInventory(bookService.findAllBooks().get(0).getIsbn());
+        inventoryRepository.findById(inventory.getInventoryId());
+        assertTrue(entityManagerFactory.getCache().contains(Inventory.class, inventory.getInventoryId()));
+        
+        // 模擬預存程序或其他執行個體直接更新狀態，本節點快取中仍為可借閱
+        jdbcTemplate.update("UPDATE inventory SET status = ? WHERE inventory_id = ?",
+                InventoryStatus.LOST.getCode(), inventory.getInventoryId());
+        
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> borrowingService.borrowBook(user.getUserId(), inventory.getInventoryId()));
+        assertTrue(e.getMessage().contains(InventoryStatus.LOST.toString()), e.getMessage());
+    }
+}
@@ -0,0 +1,93 @@
+package Library.System.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import Library.System.dto.PopularBookResponse;
+import Library.System.entity.BookPopularityHourly;
+import Library.System.entity.Inventory;
+import Library.System.entity.User;
+import Library.System.repository.BookPopularityHourlyRepository;
+
+/**
+ * 書籍熱門度測試 - 借書後排行更新、寫回資料表，以及由資料表重建後次數不變
+ *
+ * 使用本測試新增的書籍，不受其他測試共用的 H2 資料影響。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookPopularityServiceTests {
+
+    private static final String POPULAR_ISBN = "9790000000421";
+
+    private static final String OTHER_ISBN = "9790000000422";
+
+    @Autowired
+    private BookPopularityService bookPopularityService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookPopularityHourlyRepository bookPopularityHourlyRepository;
+
+    @Test
+    void popularBooksAreCountedFlushedAndRebuilt() {
+        bookService.addBook(POPULAR_ISBN, "熱門測試書", "熱門作者", null, null);
+        bookService.addBook(OTHER_ISBN, "冷門測試書", "冷門作者", null, null);
+        bookPopularityService.recordBorrow(POPULAR_ISBN);
+        bookPopularityService.recordBorrow(POPULAR_ISBN);
+        bookPopularityService.recordBorrow(OTHER_ISBN);
+
+        // 實際借書在交易提交後計數
+        User user = userService.registerUser("0912000421", "secret123", "熱門度測試");
+        Inventory inventory = bookService.addInventory(POPULAR_ISBN);
+        borrowingService.borrowBook(user.getUserId(), inventory.getInventoryId());
+        borrowingService.returnBook(user.getUserId(), inventory.getInventoryId());
+
+        assertRanking(3, 1);
+
+        bookPopularityService.flush();
+        assertEquals(3, persistedCount(POPULAR_ISBN));
+        assertEquals(1, persistedCount(OTHER_ISBN));
+
+        bookPopularityService.rebuild();
+        assertRanking(3, 1);
+    }
+
+    private void assertRanking(int popularCount, int otherCount) {
+        for (BookPopularityService.Period period : BookPopularityService.Period.values()) {
+            List<PopularBookResponse> ranking = bookPopularityService.getPopularBooks(period, 50);
+            PopularBookResponse popular = find(ranking, POPULAR_ISBN);
+            PopularBookResponse other = find(ranking, OTHER_ISBN);
+            assertEquals(popularCount, popular.getBorrowCount());
+            assertEquals(otherCount, other.getBorrowCount());
+            assertTrue(popular.getRank() < other.getRank());
+        }
+    }
+
+    private PopularBookResponse find(List<PopularBookResponse> ranking, String isbn) {
+        return ranking.stream().filter(item -> isbn.equals(item.getBook().getIsbn())).findFirst().orElseThrow();
+    }
+
+    private int persistedCount(String isbn) {
+        return bookPopularityHourlyRepository.findByBucketHourGreaterThanEqual(LocalDateTime.now().minusHours(2)).stream()
+                .filter(row -> isbn.equals(row.getIsbn()))
+                .mapToInt(BookPopularityHourly::getBorrowCount)
+                .sum();
+    }
+}
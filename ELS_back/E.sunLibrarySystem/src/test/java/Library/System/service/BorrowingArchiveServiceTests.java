@@ -0,0 +1,80 @@
+package Library.System.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import Library.System.dto.BorrowingResponse;
+import Library.System.entity.Inventory;
+import Library.System.entity.User;
+import Library.System.repository.InventoryRepository;
+
+/**
+ * 借閱紀錄封存測試 - 分批搬移、借閱中紀錄不受影響，以及包含封存紀錄的歷史查詢
+ *
+ * 保留期限設為 24 個月，只會搬移本測試建立的紀錄，不影響其他測試共用的 H2 資料。
+ */
+@SpringBootTest(properties = {
+        "borrowing.archive.retention-months=24",
+        "borrowing.archive.chunk-size=2",
+        "borrowing.archive.pause-ms=0"
+})
+@ActiveProfiles("test")
+class BorrowingArchiveServiceTests {
+
+    @Autowired
+    private BorrowingArchiveService borrowingArchiveService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void archivesOldReturnedRecordsInChunks() {
+        User user = userService.registerUser("0912000101", "secret123", "封存測試");
+        List<Inventory> inventories = inventoryRepository.findAll();
+        LocalDateTime threeYearsAgo = LocalDateTime.now().minusYears(3);
+
+        List<Object[]> records = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            records.add(new Object[] { user.getUserId(), inventories.get(i % inventories.size()).getInventoryId(),
+                    threeYearsAgo.plusDays(i), threeYearsAgo.plusDays(i + 7) });
+        }
+        // 很久以前借出但尚未歸還，必須留在熱表
+        records.add(new Object[] { user.getUserId(), inventories.get(inventories.size() - 1).getInventoryId(), threeYearsAgo, null });
+        // 近期歸還，未超過保留期限
+        records.add(new Object[] { user.getUserId(), inventories.get(1).getInventoryId(),
+                LocalDateTime.now().minusDays(10), LocalDateTime.now().minusDays(3) });
+        jdbcTemplate.batchUpdate("INSERT INTO borrowing_records (user_id, inventory_id, borrowing_time, return_time) VALUES (?, ?, ?, ?)", records);
+
+        assertEquals(5, borrowingArchiveService.archiveReturnedRecords());
+        assertEquals(0, borrowingArchiveService.archiveReturnedRecords());
+
+        List<BorrowingResponse> recent = borrowingService.getUserBorrowingHistory(user.getUserId(), false);
+        assertEquals(2, recent.size());
+
+        List<BorrowingResponse> all = borrowingService.getUserBorrowingHistory(user.getUserId(), true);
+        assertEquals(7, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(!all.get(i).getBorrowingTime().isAfter(all.get(i - 1).getBorrowingTime()), "合併後應依借閱時間由新到舊排序");
+        }
+        assertTrue(all.stream().noneMatch(r -> "Unknown".equals(r.getBookName())), "封存紀錄應帶出書籍資訊");
+    }
+}
@@ -0,0 +1,95 @@
+package Library.System.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import Library.System.entity.BorrowingRecord;
+import Library.System.entity.Inventory;
+import Library.System.entity.InventoryStatus;
+import Library.System.entity.User;
+import Library.System.repository.BorrowingRecordRepository;
+import Library.System.repository.InventoryRepository;
+
+/**
+ * 借書並行測試 - 同時借同一本館藏只有一筆成功，資料庫也不接受第二筆借閱中紀錄
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BorrowingServiceTests {
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Test
+    void concurrentBorrowsCreateOneLoan() throws Exception {
+        int borrowers = 8;
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < borrowers; i++) {
+            users.add(userService.registerUser(String.format("09120044%02d", i), "secret123", "並行測試" + i));
+        }
+        String isbn = inventoryRepository.findAll().get(0).getIsbn();
+
+        for (int round = 0; round < 5; round++) {
+            Integer inventoryId = bookService.addInventory(isbn).getInventoryId();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            try (ExecutorService executor = Executors.newFixedThreadPool(borrowers)) {
+                for (User user : users) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            borrowingService.borrowBook(user.getUserId(), inventoryId);
+                            return true;
+                        } catch (RuntimeException e) {
+                            return false;
+                        }
+                    }));
+                }
+                start.countDown();
+                int succeeded = 0;
+                for (Future<Boolean> result : results) {
+                    succeeded += result.get() ? 1 : 0;
+                }
+                assertEquals(1, succeeded);
+            }
+            assertEquals(InventoryStatus.BORROWED, inventoryRepository.findById(inventoryId).orElseThrow().getStatus());
+            BorrowingRecord loan = borrowingRecordRepository.findByInventoryIdAndReturnTimeIsNull(inventoryId).orElseThrow();
+            borrowingService.returnBook(loan.getUserId(), inventoryId);
+        }
+    }
+
+    @Test
+    void rejectsSecondActiveLoanForSameCopy() {
+        User user = userService.registerUser("0912004499", "secret123", "唯一索引測試");
+        Inventory inventory = bookService.addInventory(inventoryRepository.findAll().get(0).getIsbn());
+        borrowingRecordRepository.save(new BorrowingRecord(user.getUserId(), inventory.getInventoryId()));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> borrowingRecordRepository.save(new BorrowingRecord(user.getUserId(), inventory.getInventoryId())));
+    }
+}
@@ -0,0 +1,122 @@
+package Library.System.service;
+
+import static Library.System.monitor.SqlStatementAssertions.assertMaxQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import Library.System.dto.BorrowingStatsResponse;
+import Library.System.entity.BorrowingRecord;
+import Library.System.entity.Inventory;
+import Library.System.entity.InventoryStatus;
+import Library.System.entity.User;
+import Library.System.entity.UserBorrowingStats;
+import Library.System.repository.BorrowingRecordRepository;
+import Library.System.repository.InventoryRepository;
+import Library.System.repository.UserBorrowingStatsRepository;
+
+/**
+ * 借閱統計測試 - 借還書後快取與彙總表一致、快取命中時不查詢資料庫，彙總表缺少使用者時由借閱紀錄重建
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BorrowingStatsServiceTests {
+
+    @Autowired
+    private BorrowingStatsService borrowingStatsService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserBorrowingStatsRepository userBorrowingStatsRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Test
+    void statsAreMaintainedIncrementally() {
+        User user = userService.registerUser("0912000301", "secret123", "統計測試");
+        BorrowingStatsResponse empty = borrowingStatsService.getUserStats(user.getUserId());
+        assertEquals(0, empty.getTotalLoans());
+        assertNull(empty.getAverageLoanSeconds());
+
+        // 新增兩本同一書籍的庫存，不佔用其他測試共用的庫存
+        String isbn = inventoryRepository.findAll().get(0).getIsbn();
+        Inventory first = bookService.addInventory(isbn);
+        Inventory second = bookService.addInventory(isbn);
+        String author = bookService.findByIsbn(isbn).orElseThrow().getAuthor();
+
+        borrowingService.borrowBook(user.getUserId(), first.getInventoryId());
+        borrowingService.returnBook(user.getUserId(), first.getInventoryId());
+        borrowingService.borrowBook(user.getUserId(), first.getInventoryId());
+        borrowingService.borrowBook(user.getUserId(), second.getInventoryId());
+
+        BorrowingStatsResponse stats = assertMaxQueries(0, () -> borrowingStatsService.getUserStats(user.getUserId()));
+        assertEquals(3, stats.getTotalLoans());
+        assertEquals(2, stats.getActiveLoans());
+        assertEquals(1, stats.getReturnedLoans());
+        assertNotNull(stats.getAverageLoanSeconds());
+        assertEquals(author, stats.getFavouriteAuthors().get(0).getAuthor());
+        assertEquals(3, stats.getFavouriteAuthors().get(0).getLoans());
+
+        UserBorrowingStats persisted = userBorrowingStatsRepository.findById(user.getUserId()).orElseThrow();
+        assertEquals(stats.getTotalLoans(), persisted.getTotalLoans());
+        assertEquals(stats.getActiveLoans(), persisted.getActiveLoans());
+        assertEquals(stats.getReturnedLoans(), persisted.getReturnedLoans());
+        assertEquals(4L, persisted.getStatsVersion());
+
+        borrowingService.returnBook(user.getUserId(), first.getInventoryId());
+        borrowingService.returnBook(user.getUserId(), second.getInventoryId());
+        assertEquals(0, borrowingStatsService.getUserStats(user.getUserId()).getActiveLoans());
+    }
+
+    @Test
+    void missingStatsAreRebuiltFromRecords() {
+        // 模擬合成資料產生器：借閱紀錄直接寫入，彙總表沒有此使用者
+        User user = userService.registerUser("0912000302", "secret123", "重建測試");
+        String isbn = inventoryRepository.findAll().get(0).getIsbn();
+        Inventory returned = bookService.addInventory(isbn);
+        Inventory active = bookService.addInventory(isbn);
+        active.transitionTo(InventoryStatus.BORROWED);
+        inventoryRepository.save(active);
+
+        BorrowingRecord history = new BorrowingRecord(user.getUserId(), returned.getInventoryId());
+        history.setBorrowingTime(LocalDateTime.now().minusDays(3));
+        history.setReturnTime(LocalDateTime.now().minusDays(1));
+        borrowingRecordRepository.save(history);
+        BorrowingRecord loan = new BorrowingRecord(user.getUserId(), active.getInventoryId());
+        loan.setBorrowingTime(LocalDateTime.now().minusDays(1));
+        borrowingRecordRepository.save(loan);
+        assertTrue(userBorrowingStatsRepository.findById(user.getUserId()).isEmpty());
+
+        borrowingService.returnBook(user.getUserId(), active.getInventoryId());
+
+        BorrowingStatsResponse stats = borrowingStatsService.getUserStats(user.getUserId());
+        assertEquals(2, stats.getTotalLoans());
+        assertEquals(0, stats.getActiveLoans());
+        assertEquals(2, stats.getReturnedLoans());
+        assertEquals(2, stats.getFavouriteAuthors().get(0).getLoans());
+
+        borrowingService.borrowBook(user.getUserId(), returned.getInventoryId());
+        assertEquals(3, borrowingStatsService.getUserStats(user.getUserId()).getTotalLoans());
+        assertEquals(3, userBorrowingStatsRepository.findById(user.getUserId()).orElseThrow().getTotalLoans());
+    }
+}
@@ -0,0 +1,115 @@
+package Library.System.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Library.System.entity.Inventory;
+import Library.System.entity.User;
+import Library.System.repository.InventoryRepository;
+
+/**
+ * 目錄快照測試 - 回應直接取自快照的位元組，借還書與新增庫存提交後重建
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogSnapshotServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void servesPreEncodedBytes() throws Exception {
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getSnapshot();
+        assertNotNull(snapshot);
+
+        byte[] plain = mockMvc.perform(get("/api/books/available"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.etag()))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(snapshot.json(), plain);
+
+        byte[] gzipped = mockMvc.perform(get("/api/books/available").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+
+        mockMvc.perform(get("/api/books/available").header(HttpHeaders.IF_NONE_MATCH, snapshot.etag()))
+                .andExpect(status().isNotModified());
+
+        // 二進位格式不使用快照，改走查詢
+        mockMvc.perform(get("/api/books/available").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void rebuildsAfterCommittedChanges() throws Exception {
+        User user = userService.registerUser("0912000491", "secret123", "快照測試");
+        String isbn = inventoryRepository.findAll().get(0).getIsbn();
+        Inventory inventory = bookService.addInventory(isbn);
+        borrowingService.borrowBook(user.getUserId(), inventory.getInventoryId());
+        assertEquals("Borrowed", awaitStatus(inventory.getInventoryId(), "Borrowed"));
+
+        long version = catalogSnapshotService.getSnapshot().version();
+        borrowingService.returnBook(user.getUserId(), inventory.getInventoryId());
+        assertEquals("Available", awaitStatus(inventory.getInventoryId(), "Available"));
+        assertEquals(version + 1, catalogSnapshotService.getSnapshot().version());
+    }
+
+    /**
+     * 等待快照中指定庫存的狀態變為預期值，逾時回傳最後看到的狀態
+     */
+    private String awaitStatus(Integer inventoryId, String expected) throws Exception {
+        String status = null;
+        for (int i = 0; i < 100 && !expected.equals(status); i++) {
+            Thread.sleep(50);
+            status = null;
+            for (JsonNode item : objectMapper.readTree(catalogSnapshotService.getSnapshot().json()).path("data")) {
+                if (item.path("inventoryId").asInt() == inventoryId) {
+                    status = item.path("status").asText();
+                }
+            }
+        }
+        return status;
+    }
+}
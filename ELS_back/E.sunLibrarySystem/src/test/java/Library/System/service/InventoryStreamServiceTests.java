@@ -0,0 +1,200 @@
+package Library.System.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Library.System.entity.Inventory;
+import Library.System.repository.InventoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 庫存狀態串流測試 - 交易提交後推送變更、無法補送的 Last-Event-ID 改送 resync、慢速連線淘汰與閒置心跳
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InventoryStreamServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryStreamService inventoryStreamService;
+
+    /** 測試中自行建立的串流服務 */
+    private final List<InventoryStreamService> services = new ArrayList<>();
+
+    @AfterEach
+    void closeStreams() throws Exception {
+        services.add(inventoryStreamService);
+        for (InventoryStreamService service : services) {
+            service.shutdown();
+            assertTrue(await(() -> service.getClientCount() == 0));
+        }
+    }
+
+    @Test
+    void streamsCommittedChanges() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/books/availability/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        String isbn = inventoryRepository.findAll().get(0).getIsbn();
+        Inventory inventory = bookService.addInventory(isbn);
+
+        String expected = "\"inventoryId\":" + inventory.getInventoryId() + ",\"isbn\":\"" + isbn + "\",\"newStatus\":\"Available\"";
+        String body = await(response, expected);
+        assertTrue(body.contains(expected), body);
+        assertTrue(body.contains("event:availability"), body);
+    }
+
+    @Test
+    void resyncsWhenLastEventIdIsTooOld() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/books/availability/stream").header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        String body = await(response, "event:resync");
+        assertTrue(body.contains("event:resync"), body);
+    }
+
+    @Test
+    void evictsSlowConsumerWithoutDelayingOthers() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InventoryStreamService service = newService(registry, 4, 60_000);
+        CountDownLatch stalled = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(stalled);
+        RecordingEmitter fast = new RecordingEmitter(new CountDownLatch(0));
+        service.subscribe(null, slow);
+        service.subscribe(null, fast);
+
+        // 慢速連線停在第一次寫出，第 5 筆變更時佇列已滿而被淘汰；其他連線照常收到每一筆變更
+        for (int i = 1; i <= 10; i++) {
+            service.publish(i, "9789865020000", "Borrowed");
+            int published = i;
+            assertTrue(await(() -> fast.events() == published), fast.sent());
+        }
+        assertEquals(1, service.getClientCount());
+        assertEquals(1.0, registry.counter("library.inventory.stream.evicted").count());
+
+        stalled.countDown();
+        assertTrue(await(() -> slow.completed), slow.sent());
+        assertEquals(0, slow.events(), slow.sent());
+    }
+
+    @Test
+    void sendsHeartbeatWhenIdle() throws Exception {
+        InventoryStreamService service = newService(new SimpleMeterRegistry(), 256, 50);
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+        service.subscribe(null, emitter);
+
+        assertTrue(await(() -> emitter.sent().contains(":heartbeat")), emitter.sent());
+        assertEquals(1, service.getClientCount());
+    }
+
+    private InventoryStreamService newService(SimpleMeterRegistry registry, int bufferSize, long heartbeatMs) {
+        InventoryStreamService service = new InventoryStreamService();
+        ReflectionTestUtils.setField(service, "maxClients", 10);
+        ReflectionTestUtils.setField(service, "bufferSize", bufferSize);
+        ReflectionTestUtils.setField(service, "replaySize", 64);
+        ReflectionTestUtils.setField(service, "heartbeatMs", heartbeatMs);
+        ReflectionTestUtils.setField(service, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(service, "retryMs", 1_000L);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "meterRegistry", registry);
+        service.init();
+        services.add(service);
+        return service;
+    }
+
+    /**
+     * 等待串流內容出現指定字串，逾時回傳最後的內容
+     */
+    private String await(MockHttpServletResponse response, String expected) throws Exception {
+        String body = response.getContentAsString();
+        for (int i = 0; i < 100 && !body.contains(expected); i++) {
+            Thread.sleep(50);
+            body = response.getContentAsString();
+        }
+        return body;
+    }
+
+    /**
+     * 等待條件成立，最多 5 秒
+     */
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(50);
+        }
+        return condition.getAsBoolean();
+    }
+
+    /**
+     * 記錄寫出內容的串流；gate 開啟前寫出會停住，模擬停止讀取的用戶端
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final StringBuffer sent = new StringBuffer();
+
+        private final CountDownLatch gate;
+
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("寫出中斷", e);
+            }
+            for (DataWithMediaType data : builder.build()) {
+                sent.append(data.getData());
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        String sent() {
+            return sent.toString();
+        }
+
+        int events() {
+            return sent().split("event:availability", -1).length - 1;
+        }
+    }
+}
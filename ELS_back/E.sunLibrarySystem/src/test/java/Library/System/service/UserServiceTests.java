@@ -0,0 +1,45 @@
+package Library.System.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import Library.System.common.PhoneNumberBloomFilter;
+import Library.System.entity.User;
+import Library.System.repository.UserRepository;
+
+/**
+ * 使用者註冊測試 - 布隆過濾器未涵蓋的號碼（例如由其他節點註冊）由唯一約束擋下，仍回應「手機號碼已註冊」
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PhoneNumberBloomFilter phoneNumberFilter;
+
+    @Test
+    void duplicateMissedByFilterIsReportedAsRegistered() {
+        // 模擬其他節點註冊：直接寫入資料庫，本節點的過濾器不知道這個號碼
+        String phoneNumber = "0912000261";
+        userRepository.save(new User(phoneNumber, "hash", "salt", "其他節點"));
+        assertFalse(phoneNumberFilter.mightContain(phoneNumber));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> userService.registerUser(phoneNumber, "secret123", "重複註冊"));
+        assertEquals("手機號碼已註冊", e.getMessage());
+        assertTrue(userService.existsByPhoneNumber(phoneNumber));
+    }
+}
@@ -15,6 +15,61 @@ const api = axios.create({
   },
 });
 
+// Token 剩餘有效時間低於此值時於背景刷新（與後端 jwt.refresh-threshold 一致）
+const TOKEN_REFRESH_THRESHOLD_MS = 60 * 60 * 1000;
+
+// 進行中的刷新請求，避免同時發出多個刷新
+let refreshPromise = null;
+
+/**
+ * 解析 JWT 的過期時間（僅讀取 payload，不做簽章驗證）
+ * @param {string} token - JWT Token
+ * @returns {number|null} 過期時間（毫秒），無法解析時為 null
+ */
+const getTokenExpiry = (token) => {
+  try {
+    const base64 = token.split(".")[1].replace(/-/g, "+").replace(/_/g, "/");
+    const padded = base64 + "=".repeat((4 - (base64.length % 4)) % 4);
+    const payload = JSON.parse(atob(padded));
+    return payload.exp ? payload.exp * 1000 : null;
+  } catch {
+    return null;
+  }
+};
+
+/**
+ * Token 即將過期時向後端換發新 Token（滑動會話），避免使用者重新登入
+ * @returns {Promise|null} 刷新請求，無需刷新時為 null
+ */
+export const refreshTokenIfNeeded = () => {
+  const token = localStorage.getItem("token");
+  if (!token || refreshPromise) {
+    return refreshPromise;
+  }
+
+  const expiry = getTokenExpiry(token);
+  const now = Date.now();
+  if (!expiry || expiry <= now || expiry - now > TOKEN_REFRESH_THRESHOLD_MS) {
+    return null;
+  }
+
+  refreshPromise = api
+    .post("/auth/refresh", null, { skipTokenRefresh: true })
+    .then((response) => {
+      const newToken = response.data?.data?.token;
+      if (newToken) {
+        localStorage.setItem("token", newToken);
+      }
+    })
+    .catch(() => {
+      // 刷新失敗時保留原 Token，過期後由 401 流程導向登入頁
+    })
+    .finally(() => {
+      refreshPromise = null;
+    });
+  return refreshPromise;
+};
+
 // 請求攔截器 - 自動添加認證token
 api.interceptors.request.use(
   (config) => {
@@ -37,9 +92,18 @@ api.interceptors.response.use(
       ElMessage.error(response.data.message || "操作失敗");
       return Promise.reject(new Error(response.data.message || "操作失敗"));
     }
+    // Token 即將過期時於背景換發，不阻塞目前的回應
+    if (!response.config?.skipTokenRefresh) {
+      refreshTokenIfNeeded();
+    }
     return response;
   },
   (error) => {
+    // 背景刷新請求失敗時不顯示錯誤訊息，也不導向登入頁
+    if (error.config?.skipTokenRefresh) {
+      return Promise.reject(error);
+    }
+
     // 處理HTTP錯誤狀態碼
     if (error.response) {
       const { status, data } = error.response;
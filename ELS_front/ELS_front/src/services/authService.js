@@ -30,6 +30,18 @@ export const authService = {
     return response.data;
   },
 
+  /**
+   * 檢查手機號碼是否可註冊
+   * @param {string} phoneNumber - 手機號碼
+   * @returns {Promise} API 回應（data.available 為 true 表示可註冊）
+   */
+  async checkPhoneNumber(phoneNumber) {
+    const response = await api.get("/auth/check-phone", {
+      params: { phoneNumber },
+    });
+    return response.data;
+  },
+
   /**
    * 登出 (清除本地存儲)
    */
@@ -14,6 +14,34 @@ export const bookService = {
     return response.data;
   },
 
+  /**
+   * 訂閱庫存狀態變更（Server-Sent Events）
+   * 斷線時瀏覽器會自動重新連線，並以 Last-Event-ID 補送遺漏的變更
+   * @param {Object} handlers - 事件處理函式
+   * @param {Function} handlers.onChange - 收到狀態變更 { inventoryId, isbn, newStatus, version }
+   * @param {Function} handlers.onResync - 無法補送遺漏的變更，需重新查詢書籍列表
+   * @returns {EventSource} 事件串流，不再使用時呼叫 close()
+   */
+  openAvailabilityStream({ onChange, onResync }) {
+    const source = new EventSource(`${api.defaults.baseURL}/books/availability/stream`);
+    source.addEventListener("availability", (event) => onChange(JSON.parse(event.data)));
+    source.addEventListener("resync", () => onResync());
+    return source;
+  },
+
+  /**
+   * 獲取熱門書籍排行
+   * @param {string} period - 排行期間（week 或 month）
+   * @param {number} limit - 排行筆數
+   * @returns {Promise} 熱門書籍排行
+   */
+  async getPopularBooks(period = "week", limit = 5) {
+    const response = await api.get("/books/popular", {
+      params: { period, limit },
+    });
+    return response.data;
+  },
+
   /**
    * 根據書籍ID獲取書籍詳情
    * @param {number} bookId - 書籍ID